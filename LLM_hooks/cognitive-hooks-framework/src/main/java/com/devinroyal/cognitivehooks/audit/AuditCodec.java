@@ -0,0 +1,239 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.audit;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of audit segments.
+ *
+ * A segment starts with a 16-byte header: magic, format version and the
+ * segment index. Records follow back to back:
+ *
+ * - int body length (0 marks the end of the segment)
+ * - int CRC-32C of the body
+ * - body: varint sequence, varint epoch millis, string event type, varint
+ *   field count, then per field a string key, a one-byte tag and the value
+ *
+ * Strings are a varint byte length plus UTF-8. Integral values are zigzag
+ * varints, so small numbers take one or two bytes. All fixed-width fields
+ * are big-endian.
+ *
+ * One instance encodes on the writer thread into a reusable buffer.
+ */
+final class AuditCodec {
+
+    static final int SEGMENT_MAGIC = 0x43484131; // "CHA1"
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_BYTES = 16;
+    static final int RECORD_HEADER_BYTES = 8;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_TRUE = 4;
+    private static final byte TAG_FALSE = 5;
+
+    private final CRC32C crc = new CRC32C();
+    private byte[] buf = new byte[512];
+    private int len;
+
+    /**
+     * Encodes the entry's body into this codec's buffer.
+     *
+     * @return the body length
+     */
+    int encode(AuditEntry entry) {
+        len = 0;
+        putVarLong(entry.sequence);
+        putVarLong(entry.timestampMillis);
+        putString(entry.eventType);
+        Map<String, Object> details = entry.details == null ? Map.of() : entry.details;
+        putVarLong(details.size());
+        for (Map.Entry<String, Object> field : details.entrySet()) {
+            putString(field.getKey());
+            putValue(field.getValue());
+        }
+        return len;
+    }
+
+    /**
+     * @return CRC-32C of the body last encoded
+     */
+    int checksum() {
+        crc.reset();
+        crc.update(buf, 0, len);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Copies the body last encoded into {@code out}.
+     */
+    void writeBody(ByteBuffer out) {
+        out.put(buf, 0, len);
+    }
+
+    static void writeSegmentHeader(ByteBuffer out, long segmentIndex) {
+        out.putInt(SEGMENT_MAGIC);
+        out.putInt(VERSION);
+        out.putLong(segmentIndex);
+    }
+
+    static int checksum(ByteBuffer body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Decodes a body whose CRC has already been verified.
+     *
+     * @throws IllegalArgumentException if the body is malformed
+     */
+    static AuditRecord decode(ByteBuffer body) {
+        try {
+            long sequence = getVarLong(body);
+            long timestamp = getVarLong(body);
+            String eventType = getString(body);
+            long count = getVarLong(body);
+            if (count < 0 || count > body.remaining()) {
+                throw new IllegalArgumentException("Invalid field count " + count);
+            }
+            Map<String, Object> details = new LinkedHashMap<>();
+            for (long i = 0; i < count; i++) {
+                String key = getString(body);
+                details.put(key, getValue(body));
+            }
+            return new AuditRecord(sequence, timestamp, eventType, Collections.unmodifiableMap(details));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated audit record", e);
+        }
+    }
+
+    private void putValue(Object value) {
+        if (value == null) {
+            putByte(TAG_NULL);
+        } else if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            putByte(TAG_LONG);
+            long v = ((Number) value).longValue();
+            putVarLong((v << 1) ^ (v >> 63));
+        } else if (value instanceof Double || value instanceof Float) {
+            putByte(TAG_DOUBLE);
+            long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[len++] = (byte) (bits >>> shift);
+            }
+        } else if (value instanceof Boolean flag) {
+            putByte(flag ? TAG_TRUE : TAG_FALSE);
+        } else {
+            putByte(TAG_STRING);
+            putString(value.toString());
+        }
+    }
+
+    private static Object getValue(ByteBuffer in) {
+        byte tag = in.get();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> getString(in);
+            case TAG_LONG -> {
+                long v = getVarLong(in);
+                yield (v >>> 1) ^ -(v & 1);
+            }
+            case TAG_DOUBLE -> Double.longBitsToDouble(in.getLong());
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_FALSE -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException("Unknown value tag " + tag);
+        };
+    }
+
+    private void putString(String s) {
+        if (s == null) {
+            s = "";
+        }
+        int n = s.length();
+        int start = len;
+        putVarLong(n);
+        ensure(n);
+        // Common case (ids, enum names): copy ASCII directly, no intermediate array.
+        byte[] b = buf;
+        int p = len;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                len = start;
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                putVarLong(bytes.length);
+                ensure(bytes.length);
+                System.arraycopy(bytes, 0, buf, len, bytes.length);
+                len += bytes.length;
+                return;
+            }
+            b[p++] = (byte) c;
+        }
+        len = p;
+    }
+
+    private static String getString(ByteBuffer in) {
+        long length = getVarLong(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void putVarLong(long v) {
+        ensure(10);
+        byte[] b = buf;
+        int p = len;
+        while ((v & ~0x7FL) != 0) {
+            b[p++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        b[p++] = (byte) v;
+        len = p;
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return v;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private void putByte(byte b) {
+        ensure(1);
+        buf[len++] = b;
+    }
+
+    private void ensure(int extra) {
+        if (len + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,31 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.audit;
+
+import java.util.Map;
+
+/**
+ * An audit event between {@link SegmentedAuditLog#logEvent} and the writer
+ * thread. The sequence is assigned when the entry is enqueued.
+ */
+final class AuditEntry {
+
+    final long timestampMillis;
+    final String eventType;
+    final Map<String, Object> details;
+    long sequence;
+
+    AuditEntry(long timestampMillis, String eventType, Map<String, Object> details) {
+        this.timestampMillis = timestampMillis;
+        this.eventType = eventType;
+        this.details = details;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads back the segments written by {@link SegmentedAuditLog}, oldest
+ * first, verifying each record's CRC.
+ *
+ * A segment ends at the first zero length. A record that fails its checksum
+ * or runs past the end of the file (a torn write from a crash) also ends its
+ * segment; it is logged and reading continues with the next segment.
+ */
+public final class AuditLogReader {
+
+    private static final System.Logger LOG = System.getLogger(AuditLogReader.class.getName());
+
+    private AuditLogReader() {
+    }
+
+    /**
+     * Passes every intact record in {@code directory} to {@code action}.
+     *
+     * @return the number of records read
+     */
+    public static long forEach(Path directory, Consumer<AuditRecord> action) throws IOException {
+        long count = 0;
+        for (Path segment : listSegments(directory)) {
+            count += readSegment(segment, action);
+        }
+        return count;
+    }
+
+    /**
+     * Passes every intact record in one segment file to {@code action}.
+     *
+     * @return the number of records read
+     * @throws IOException if the file is not an audit segment
+     */
+    public static long readSegment(Path segment, Consumer<AuditRecord> action) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.remaining() < AuditCodec.SEGMENT_HEADER_BYTES
+                    || buffer.getInt() != AuditCodec.SEGMENT_MAGIC) {
+                throw new IOException("Not an audit segment: " + segment);
+            }
+            int version = buffer.getInt();
+            if (version != AuditCodec.VERSION) {
+                throw new IOException("Unsupported audit segment version " + version + ": " + segment);
+            }
+            buffer.getLong();
+
+            long count = 0;
+            while (buffer.remaining() >= AuditCodec.RECORD_HEADER_BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                if (length == 0) {
+                    break;
+                }
+                int crc = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    LOG.log(System.Logger.Level.WARNING, "Truncated audit record at offset " + start
+                            + " in " + segment);
+                    break;
+                }
+                ByteBuffer body = buffer.slice(buffer.position(), length);
+                if (AuditCodec.checksum(body) != crc) {
+                    LOG.log(System.Logger.Level.WARNING, "Checksum mismatch at offset " + start + " in " + segment);
+                    break;
+                }
+                AuditRecord record;
+                try {
+                    record = AuditCodec.decode(body);
+                } catch (IllegalArgumentException e) {
+                    LOG.log(System.Logger.Level.WARNING, "Malformed audit record at offset " + start
+                            + " in " + segment, e);
+                    break;
+                }
+                buffer.position(buffer.position() + length);
+                action.accept(record);
+                count++;
+            }
+            return count;
+        } finally {
+            // Records are decoded into copies, so nothing refers to the mapping any more.
+            MappedBuffers.unmap(buffer);
+        }
+    }
+
+    /**
+     * @return the segment files in {@code directory}, oldest first
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(AuditLogReader::isSegment).sorted().forEach(segments::add);
+        }
+        return segments;
+    }
+
+    static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SegmentedAuditLog.SEGMENT_PREFIX.length(),
+                name.length() - SegmentedAuditLog.SEGMENT_SUFFIX.length()));
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SegmentedAuditLog.SEGMENT_PREFIX) || !name.endsWith(SegmentedAuditLog.SEGMENT_SUFFIX)) {
+            return false;
+        }
+        String digits = name.substring(SegmentedAuditLog.SEGMENT_PREFIX.length(),
+                name.length() - SegmentedAuditLog.SEGMENT_SUFFIX.length());
+        return !digits.isEmpty() && digits.chars().allMatch(Character::isDigit);
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer queue of pending audit
+ * entries. Unlike the span ring it never overwrites: a full queue rejects
+ * the offer and the caller decides whether to wait or drop.
+ *
+ * Each slot carries a sequence number. A producer may claim position
+ * {@code p} only when its slot reads {@code p}; it stores the entry and then
+ * sets the slot to {@code p + 1}, which is what the consumer waits for. The
+ * consumer releases the slot for the next lap by setting it to
+ * {@code p + capacity}. Claimed positions are dense, so they double as audit
+ * sequence numbers.
+ */
+final class AuditQueue {
+
+    private final int mask;
+    private final AtomicReferenceArray<AuditEntry> entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    AuditQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.mask = size - 1;
+        this.entries = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Enqueues the entry and assigns its sequence (1-based).
+     *
+     * @return false if the queue is full
+     */
+    boolean offer(AuditEntry entry) {
+        while (true) {
+            long pos = tail.get();
+            int slot = (int) (pos & mask);
+            long diff = sequences.get(slot) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    entry.sequence = pos + 1;
+                    entries.set(slot, entry);
+                    sequences.set(slot, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} published entries into {@code out}, in
+     * sequence order. Stops early at a slot that is claimed but not yet
+     * published. Must only be called from the consumer thread.
+     */
+    int drainTo(List<AuditEntry> out, int max) {
+        int n = 0;
+        while (n < max) {
+            int slot = (int) (head & mask);
+            if (sequences.get(slot) != head + 1) {
+                break;
+            }
+            out.add(entries.get(slot));
+            entries.set(slot, null);
+            sequences.set(slot, head + mask + 1);
+            head++;
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * @return the sequence of the last entry claimed by any producer
+     */
+    long lastClaimed() {
+        return tail.get();
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
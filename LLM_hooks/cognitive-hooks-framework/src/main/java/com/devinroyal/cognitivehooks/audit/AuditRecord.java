@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.audit;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * An audit event read back from a {@link SegmentedAuditLog} directory.
+ *
+ * Detail values come back as {@code String}, {@code Long}, {@code Double},
+ * {@code Boolean} or {@code null}; other types were stored as their
+ * {@code toString()}.
+ */
+public final class AuditRecord {
+
+    private final long sequence;
+    private final long timestampMillis;
+    private final String eventType;
+    private final Map<String, Object> details;
+
+    AuditRecord(long sequence, long timestampMillis, String eventType, Map<String, Object> details) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.eventType = eventType;
+        this.details = details;
+    }
+
+    /**
+     * @return 1-based position in the log, gap-free unless events were
+     *         dropped on overflow or a write failed
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(timestampMillis);
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
+    @Override
+    public String toString() {
+        return "AuditRecord{" +
+                "sequence=" + sequence +
+                ", timestamp=" + getTimestamp() +
+                ", eventType='" + eventType + '\'' +
+                ", details=" + details +
+                '}';
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
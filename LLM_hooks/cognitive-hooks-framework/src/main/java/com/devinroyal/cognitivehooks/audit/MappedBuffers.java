@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.audit;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Releases file mappings eagerly. A {@link MappedByteBuffer} otherwise keeps
+ * its mapping, and a deleted segment file its disk space, until the buffer
+ * is garbage collected, which for a long-running writer may be never.
+ *
+ * Java 17 has no public unmap API, so this uses {@code Unsafe.invokeCleaner}
+ * from the {@code jdk.unsupported} module. Where that is unavailable the
+ * mapping is left to the garbage collector, as before.
+ */
+final class MappedBuffers {
+
+    private static final System.Logger LOG = System.getLogger(MappedBuffers.class.getName());
+
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    private MappedBuffers() {
+    }
+
+    /**
+     * Unmaps {@code buffer}. The caller must drop every reference to it (and
+     * to slices of it) first: any later access may crash the JVM.
+     */
+    static void unmap(MappedByteBuffer buffer) {
+        if (buffer == null || INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact((ByteBuffer) buffer);
+        } catch (Throwable t) {
+            LOG.log(System.Logger.Level.DEBUG, "Could not unmap buffer; leaving it to the garbage collector", t);
+        }
+    }
+
+    private static MethodHandle invokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.log(System.Logger.Level.DEBUG, "Unsafe.invokeCleaner unavailable; mappings are released by GC", e);
+            return null;
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
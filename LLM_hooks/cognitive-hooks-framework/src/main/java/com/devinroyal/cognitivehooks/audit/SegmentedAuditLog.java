@@ -0,0 +1,528 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.audit;
+
+import com.devinroyal.cognitivehooks.core.AuditLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only binary audit log. {@link #logEvent} only enqueues the event
+ * on a bounded lock-free {@link AuditQueue}; a single writer thread encodes
+ * records (see {@link AuditCodec} for the layout) into memory-mapped segment
+ * files in the configured directory.
+ *
+ * The writer drains whatever has accumulated and forces it to disk with one
+ * call (group commit), so the cost of a sync is shared by every event in
+ * the batch. When it syncs depends on the {@link Fsync} policy. Between
+ * batches the writer naps, doubling the nap from 50 µs to about 6 ms while
+ * nothing arrives; callers only read a flag. After that it parks until an
+ * event arrives or its next {@link Fsync#INTERVAL} sync is due, and only
+ * the first caller after such an idle spell pays to wake it. A segment is rotated
+ * when the next record does not fit; each new log instance starts a new
+ * segment, so a crashed writer never appends to a torn segment. Only the
+ * current segment is mapped: the writer unmaps a segment as soon as it
+ * rotates past it or stops, so segments deleted by retention free their
+ * space at once. Read the log back with {@link AuditLogReader}.
+ *
+ * When the queue is full, {@link Overflow#BLOCK} makes callers wait for
+ * room and {@link Overflow#DROP} discards the event and counts it. Events
+ * logged after {@link #close()} are dropped; events logged while it runs may
+ * be lost.
+ *
+ * A record that cannot be encoded or stored is logged, dropped and counted;
+ * the writer carries on with the rest of its batch. If the writer thread
+ * itself dies, later events are dropped instead of queued, blocked callers
+ * give up, and {@link #flush()} throws.
+ */
+public final class SegmentedAuditLog implements AuditLogger, AutoCloseable {
+
+    /**
+     * When written records are forced to storage.
+     */
+    public enum Fsync {
+        /** After every batch the writer drains. */
+        EVERY_BATCH,
+        /** At most once per {@code fsyncInterval}, and on rotation and close. The default. */
+        INTERVAL,
+        /** Only on rotation and close; otherwise left to the OS. */
+        NONE
+    }
+
+    /**
+     * What {@link #logEvent} does when the queue is full.
+     */
+    public enum Overflow {
+        BLOCK,
+        DROP
+    }
+
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final System.Logger LOG = System.getLogger(SegmentedAuditLog.class.getName());
+    private static final long MIN_IDLE_NAP_NANOS = 50_000;
+    private static final int IDLE_NAPS = 8;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final int batchSize;
+    private final Fsync fsync;
+    private final long fsyncIntervalNanos;
+    private final Overflow overflow;
+    private final AuditQueue queue;
+    private final AuditCodec codec = new AuditCodec();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong writeFailures = new AtomicLong();
+    private final Thread writer;
+
+    private volatile boolean closed;
+    private volatile boolean flushRequested;
+    private volatile boolean writerParked;
+    private volatile long writtenSequence;
+    private volatile long durableSequence;
+    private volatile long forceFailedSequence;
+    private volatile IOException forceFailure;
+    private volatile Throwable writerFailure;
+    private final Object flushLock = new Object();
+
+    // Writer thread state.
+    private long segmentIndex;
+    private MappedByteBuffer segment;
+    private int forcedPosition;
+    private long lastForceNanos = System.nanoTime();
+    private int idleNaps;
+    private final List<Path> segments = new ArrayList<>();
+
+    private SegmentedAuditLog(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.segmentBytes = builder.segmentBytes;
+        this.maxSegments = builder.maxSegments;
+        this.batchSize = builder.batchSize;
+        this.fsync = builder.fsync;
+        this.fsyncIntervalNanos = builder.fsyncInterval.toNanos();
+        this.overflow = builder.overflow;
+        this.queue = new AuditQueue(builder.queueCapacity);
+
+        Files.createDirectories(directory);
+        segments.addAll(AuditLogReader.listSegments(directory));
+        segmentIndex = segments.isEmpty() ? 0 : AuditLogReader.segmentIndex(segments.get(segments.size() - 1));
+        openSegment();
+
+        this.writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    /**
+     * Enqueues the event; never touches the disk. The details map is read on
+     * the writer thread, so it must not be modified afterwards.
+     */
+    @Override
+    public void logEvent(String eventType, Map<String, Object> details) {
+        if (closed || writerFailure != null) {
+            dropped.incrementAndGet();
+            return;
+        }
+        AuditEntry entry = new AuditEntry(System.currentTimeMillis(), eventType, details);
+        if (queue.offer(entry)) {
+            wakeWriter();
+        } else if (overflow == Overflow.DROP || !awaitRoom(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Pairs with the writer setting {@code writerParked} and then checking
+     * the queue: either it sees this entry or this sees the flag.
+     */
+    private void wakeWriter() {
+        if (writerParked) {
+            writerParked = false;
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean awaitRoom(AuditEntry entry) {
+        LockSupport.unpark(writer);
+        int spins = 0;
+        while (!queue.offer(entry)) {
+            if (closed || writerFailure != null || !writer.isAlive()) {
+                return false;
+            }
+            if (++spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(50_000);
+            }
+        }
+        wakeWriter();
+        return true;
+    }
+
+    /**
+     * Blocks until every event logged before this call has been written and
+     * forced to storage.
+     *
+     * @throws IOException if the writer has stopped, or forcing those events
+     *         to storage failed
+     */
+    public void flush() throws InterruptedException, IOException {
+        long target = queue.lastClaimed();
+        synchronized (flushLock) {
+            while (durableSequence < target) {
+                if (writerFailure != null || !writer.isAlive()) {
+                    throw new IOException("Audit writer has stopped; events up to sequence " + target
+                            + " are not durable", writerFailure);
+                }
+                if (forceFailedSequence >= target) {
+                    throw new IOException("Failed to force audit events to storage in " + directory, forceFailure);
+                }
+                flushRequested = true;
+                LockSupport.unpark(writer);
+                flushLock.wait(10);
+            }
+        }
+    }
+
+    /**
+     * Events discarded because the queue was full, the log was closed or a
+     * write failed.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Records that could not be encoded or stored, plus failed syncs.
+     */
+    public long getWriteFailureCount() {
+        return writeFailures.get();
+    }
+
+    /**
+     * @return sequence of the last event the writer has handled: written to
+     *         a segment, or dropped because it could not be
+     */
+    public long getWrittenSequence() {
+        return writtenSequence;
+    }
+
+    /**
+     * @return sequence of the last event known to be forced to storage
+     */
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Stops accepting events, writes everything already queued, forces it to
+     * storage and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        try {
+            writeUntilClosed();
+        } catch (Throwable t) {
+            writerFailure = t;
+            long lost = queue.lastClaimed() - writtenSequence;
+            dropped.addAndGet(Math.max(0L, lost));
+            LOG.log(System.Logger.Level.ERROR, "Audit writer for " + directory + " stopped; " + lost
+                    + " queued events lost and further events will be dropped", t);
+            synchronized (flushLock) {
+                flushLock.notifyAll();
+            }
+        } finally {
+            releaseSegment();
+        }
+    }
+
+    private void writeUntilClosed() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (true) {
+            batch.clear();
+            int drained = queue.drainTo(batch, batchSize);
+            if (drained > 0) {
+                write(batch);
+            }
+            if (flushRequested
+                    || (fsync == Fsync.EVERY_BATCH && drained > 0)
+                    || (fsync == Fsync.INTERVAL && durableSequence < writtenSequence
+                        && System.nanoTime() - lastForceNanos >= fsyncIntervalNanos)) {
+                flushRequested = false;
+                force();
+            }
+            if (drained > 0) {
+                idleNaps = 0;
+                continue;
+            }
+            // Producers may hold claimed but unpublished slots; wait for them.
+            if (closed) {
+                if (writtenSequence >= queue.lastClaimed()) {
+                    break;
+                }
+                LockSupport.parkNanos(this, 50_000);
+                continue;
+            }
+            park();
+        }
+        force();
+    }
+
+    /**
+     * Naps while the log has only just gone quiet, then parks until a
+     * producer, flush or close wakes the writer, or the next interval sync
+     * is due.
+     */
+    private void park() {
+        long due = fsync == Fsync.INTERVAL && durableSequence < writtenSequence
+                ? fsyncIntervalNanos - (System.nanoTime() - lastForceNanos)
+                : Long.MAX_VALUE;
+        if (idleNaps < IDLE_NAPS) {
+            long nap = MIN_IDLE_NAP_NANOS << idleNaps++;
+            if (due > 0) {
+                LockSupport.parkNanos(this, Math.min(nap, due));
+            }
+            return;
+        }
+        writerParked = true;
+        if (!queue.isEmpty() || flushRequested || closed) {
+            writerParked = false;
+            return;
+        }
+        if (due == Long.MAX_VALUE) {
+            LockSupport.park(this);
+        } else if (due > 0) {
+            LockSupport.parkNanos(this, due);
+        }
+        writerParked = false;
+    }
+
+    private void write(List<AuditEntry> batch) {
+        for (AuditEntry entry : batch) {
+            try {
+                writeRecord(entry);
+            } catch (RuntimeException e) {
+                LOG.log(System.Logger.Level.ERROR, "Failed to write audit event " + entry.sequence + " ("
+                        + entry.eventType + "); dropped it", e);
+                writeFailures.incrementAndGet();
+                dropped.incrementAndGet();
+            }
+        }
+        writtenSequence = batch.get(batch.size() - 1).sequence;
+    }
+
+    private void writeRecord(AuditEntry entry) {
+        int length = codec.encode(entry);
+        int needed = AuditCodec.RECORD_HEADER_BYTES + length;
+        if (AuditCodec.SEGMENT_HEADER_BYTES + needed > segmentBytes) {
+            LOG.log(System.Logger.Level.WARNING, "Dropped audit event " + entry.sequence + " (" + entry.eventType
+                    + "): " + needed + " bytes exceeds the segment size");
+            dropped.incrementAndGet();
+            return;
+        }
+        try {
+            if (segment == null || segment.remaining() < needed) {
+                rotate();
+            }
+        } catch (IOException e) {
+            LOG.log(System.Logger.Level.ERROR, "Failed to rotate audit segment in " + directory
+                    + "; dropped audit event " + entry.sequence, e);
+            dropped.incrementAndGet();
+            return;
+        }
+        int start = segment.position();
+        // Body and checksum first, length last: a zero length ends the segment.
+        segment.position(start + AuditCodec.RECORD_HEADER_BYTES);
+        codec.writeBody(segment);
+        segment.putInt(start + 4, codec.checksum());
+        segment.putInt(start, length);
+    }
+
+    private void force() {
+        long sequence = writtenSequence;
+        try {
+            if (segment != null && segment.position() > forcedPosition) {
+                segment.force(forcedPosition, segment.position() - forcedPosition);
+                forcedPosition = segment.position();
+            }
+            durableSequence = sequence;
+        } catch (UncheckedIOException e) {
+            LOG.log(System.Logger.Level.ERROR, "Failed to force audit segment in " + directory
+                    + " to storage", e);
+            writeFailures.incrementAndGet();
+            forceFailure = e.getCause();
+            forceFailedSequence = sequence;
+        }
+        lastForceNanos = System.nanoTime();
+        synchronized (flushLock) {
+            flushLock.notifyAll();
+        }
+    }
+
+    private void rotate() throws IOException {
+        force();
+        releaseSegment();
+        openSegment();
+    }
+
+    private void releaseSegment() {
+        MappedByteBuffer released = segment;
+        segment = null;
+        MappedBuffers.unmap(released);
+    }
+
+    private void openSegment() throws IOException {
+        long index = segmentIndex + 1;
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        AuditCodec.writeSegmentHeader(segment, index);
+        forcedPosition = 0;
+        segmentIndex = index;
+        segments.add(file);
+        while (maxSegments > 0 && segments.size() > maxSegments) {
+            Path oldest = segments.remove(0);
+            try {
+                Files.deleteIfExists(oldest);
+            } catch (IOException e) {
+                LOG.log(System.Logger.Level.WARNING, "Failed to delete old audit segment " + oldest, e);
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final Path directory;
+        private int segmentBytes = 64 << 20;
+        private int maxSegments;
+        private int queueCapacity = 65_536;
+        private int batchSize = 4096;
+        private Fsync fsync = Fsync.INTERVAL;
+        private Duration fsyncInterval = Duration.ofSeconds(1);
+        private Overflow overflow = Overflow.BLOCK;
+
+        private Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "directory must not be null");
+        }
+
+        /**
+         * Size of each memory-mapped segment file. Defaults to 64 MiB.
+         */
+        public Builder segmentBytes(int bytes) {
+            if (bytes < 4096) {
+                throw new IllegalArgumentException("segmentBytes must be >= 4096");
+            }
+            this.segmentBytes = bytes;
+            return this;
+        }
+
+        /**
+         * Oldest segments beyond this count are deleted on rotation. 0, the
+         * default, keeps every segment.
+         */
+        public Builder maxSegments(int maxSegments) {
+            if (maxSegments < 0) {
+                throw new IllegalArgumentException("maxSegments must be >= 0");
+            }
+            this.maxSegments = maxSegments;
+            return this;
+        }
+
+        /**
+         * Events buffered between callers and the writer, rounded up to a
+         * power of two. Defaults to 65,536.
+         */
+        public Builder queueCapacity(int capacity) {
+            if (capacity < 2) {
+                throw new IllegalArgumentException("queueCapacity must be >= 2");
+            }
+            this.queueCapacity = capacity;
+            return this;
+        }
+
+        /**
+         * Most events written per group commit. Defaults to 4096.
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("batchSize must be >= 1");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder fsync(Fsync fsync) {
+            this.fsync = Objects.requireNonNull(fsync, "fsync must not be null");
+            return this;
+        }
+
+        /**
+         * Sync period for {@link Fsync#INTERVAL}. Defaults to one second.
+         */
+        public Builder fsyncInterval(Duration interval) {
+            if (interval == null || interval.isNegative()) {
+                throw new IllegalArgumentException("fsyncInterval must not be negative");
+            }
+            this.fsyncInterval = interval;
+            return this;
+        }
+
+        public Builder overflow(Overflow overflow) {
+            this.overflow = Objects.requireNonNull(overflow, "overflow must not be null");
+            return this;
+        }
+
+        /**
+         * Creates the directory if needed, opens a new segment and starts the
+         * writer thread.
+         */
+        public SegmentedAuditLog build() throws IOException {
+            return new SegmentedAuditLog(this);
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
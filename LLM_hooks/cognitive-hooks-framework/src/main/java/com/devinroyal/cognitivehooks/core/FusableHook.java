@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.core;
+
+/**
+ * Optional contract for LLM-backed hooks whose work can be folded into the
+ * orchestrator's final synthesis call instead of making their own LLM call.
+ *
+ * In fused mode the orchestrator appends each hook's instructions to the
+ * synthesis prompt, asks for a JSON object with one section per hook, and
+ * hands each section back to {@link #fromFusedSection}.
+ */
+public interface FusableHook extends Hook {
+
+    /**
+     * Whether this request may be fused. Hooks that prefer their own call
+     * (e.g. because of a local cache) can opt out per request.
+     */
+    default boolean canFuse(HookRequest request, HookExecutionContext ctx) {
+        return true;
+    }
+
+    /**
+     * Instructions describing what to write under this hook's section.
+     * Must be constant for a given hook so the fused prompt prefix stays
+     * cacheable.
+     */
+    String fusedInstructions();
+
+    /**
+     * Builds this hook's result from its section of the fused output.
+     *
+     * @param section JSON text of the section produced by the LLM
+     */
+    HookResult fromFusedSection(String section, HookRequest request, HookExecutionContext ctx) throws HookException;
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -5,13 +5,15 @@
 
 package com.devinroyal.cognitivehooks.core;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.util.Map;
 import java.util.Objects;
 
 /**
- * Runtime container for resources a hook might need: LLM client, DB connection,
- * security context, metrics, audit logging, configuration, etc.
+ * Runtime container for resources a hook might need: LLM client, DB connection
+ * or pooled data source, security context, metrics, audit logging,
+ * configuration, etc.
  */
 public final class HookExecutionContext {
 
@@ -20,6 +22,7 @@ public final class HookExecutionContext {
     private final MetricsRecorder metricsRecorder;
     private final AuditLogger auditLogger;
     private final Connection databaseConnection;
+    private final DataSource dataSource;
     private final Map<String, Object> config;
 
     public HookExecutionContext(LlmClient llmClient,
@@ -28,11 +31,26 @@ public final class HookExecutionContext {
                                 AuditLogger auditLogger,
                                 Connection databaseConnection,
                                 Map<String, Object> config) {
+        this(llmClient, securityContext, metricsRecorder, auditLogger, databaseConnection, null, config);
+    }
+
+    /**
+     * @param dataSource preferred source of DB connections (e.g. a pool);
+     *                   hooks borrow per execution and close to return it
+     */
+    public HookExecutionContext(LlmClient llmClient,
+                                SecurityContext securityContext,
+                                MetricsRecorder metricsRecorder,
+                                AuditLogger auditLogger,
+                                Connection databaseConnection,
+                                DataSource dataSource,
+                                Map<String, Object> config) {
         this.llmClient = llmClient;
         this.securityContext = Objects.requireNonNull(securityContext, "securityContext must not be null");
         this.metricsRecorder = metricsRecorder;
         this.auditLogger = auditLogger;
         this.databaseConnection = databaseConnection;
+        this.dataSource = dataSource;
         this.config = config;
     }
 
@@ -56,6 +74,10 @@ public final class HookExecutionContext {
         return databaseConnection;
     }
 
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T getConfigValue(String key, Class<T> type) {
         if (config == null) {
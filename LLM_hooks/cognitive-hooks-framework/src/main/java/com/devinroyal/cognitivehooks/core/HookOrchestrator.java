@@ -5,11 +5,22 @@
 
 package com.devinroyal.cognitivehooks.core;
 
+import com.devinroyal.cognitivehooks.jfr.OrchestrationEvent;
+import com.devinroyal.cognitivehooks.jfr.PolicyDenialEvent;
 import com.devinroyal.cognitivehooks.policy.HookPolicyEngine;
 import com.devinroyal.cognitivehooks.policy.PolicyDecision;
+import com.devinroyal.cognitivehooks.tracing.ActiveSpan;
+import com.devinroyal.cognitivehooks.tracing.Tracer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -19,19 +30,72 @@ import java.util.Objects;
  */
 public final class HookOrchestrator {
 
+    /**
+     * Config key enabling fused synthesis: {@link FusableHook}s contribute
+     * instructions to the final LLM call instead of making their own.
+     */
+    public static final String FUSED_SYNTHESIS_CONFIG_KEY = "orchestrator.fusedSynthesis";
+
+    /**
+     * Config key; {@code false} disables the fallback that runs a fused hook
+     * on its own when its section is missing from the synthesis output.
+     * Fallback results arrive after the answer was generated, so they never
+     * inform it; disabling trades them for lower latency.
+     */
+    public static final String FUSED_FALLBACK_CONFIG_KEY = "orchestrator.fusedFallback";
+
+    static final String SYNTHESIS_PREFIX_ID = "orchestrator-synthesis-v1";
+
+    /**
+     * Stable synthesis instructions. Sent as the prompt prefix so providers can
+     * cache it; the user prompt and hook outputs go into the variable suffix.
+     */
+    static final String SYNTHESIS_PREFIX =
+            "You are a modular cognitive OS. Answer the user request that follows, " +
+            "using the hook outputs listed after it as additional context.";
+
+    static final String FUSED_PREFIX_ID = "orchestrator-fused-v1";
+
+    /**
+     * Audit event types sent to the context's {@link AuditLogger}. Every
+     * event carries requestId, userId and tenantId; denials add hookId,
+     * hookType, reason and throttled; executions add hookId, hookType,
+     * status and latencyMicros; completions add hookResults and failedHooks.
+     */
+    public static final String AUDIT_HOOK_DENIED = "hook.denied";
+    public static final String AUDIT_HOOK_EXECUTED = "hook.executed";
+    public static final String AUDIT_REQUEST_COMPLETED = "request.completed";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private final HookRegistry registry;
     private final ResilientHookExecutor executor;
     private final HookPolicyEngine policyEngine;
     private final LlmClient llmClient;
+    private final Tracer tracer;
 
     public HookOrchestrator(HookRegistry registry,
                             ResilientHookExecutor executor,
                             HookPolicyEngine policyEngine,
                             LlmClient llmClient) {
+        this(registry, executor, policyEngine, llmClient, Tracer.DISABLED);
+    }
+
+    /**
+     * @param tracer records one trace per {@link #handle} call, with spans
+     *               per hook and stage; pass the same tracer to the
+     *               {@link ResilientHookExecutor} to include attempts
+     */
+    public HookOrchestrator(HookRegistry registry,
+                            ResilientHookExecutor executor,
+                            HookPolicyEngine policyEngine,
+                            LlmClient llmClient,
+                            Tracer tracer) {
         this.registry = Objects.requireNonNull(registry, "registry must not be null");
         this.executor = Objects.requireNonNull(executor, "executor must not be null");
         this.policyEngine = Objects.requireNonNull(policyEngine, "policyEngine must not be null");
         this.llmClient = Objects.requireNonNull(llmClient, "llmClient must not be null");
+        this.tracer = Objects.requireNonNull(tracer, "tracer must not be null");
     }
 
     /**
@@ -40,74 +104,516 @@ public final class HookOrchestrator {
      * 1. Run SAFEGUARD hooks first (pre-processing).
      * 2. Run REASONING + ENTERPRISE + MULTIMODAL hooks as needed.
      * 3. Call LLM for final synthesis, including hook outputs as context.
+     *    Policy-allowed {@link OutputSafeguard}s scan the output as it streams
+     *    and stop generation at the first violation; the response is then
+     *    withheld and each scan is reported as an extra SAFEGUARD result.
+     *
+     * In fused mode, {@link FusableHook}s selected in step 2 are not executed
+     * on their own; their sections are produced by the step 3 call instead.
+     * Hooks whose circuit is open are not fused, so the breaker still applies.
      */
     public HookResponse handle(HookRequest request, HookExecutionContext ctx) {
-        List<HookResult> allResults = new ArrayList<>();
-
-        // 1. SAFEGUARDS
-        for (Hook hook : registry.listByType(HookType.SAFEGUARD)) {
-            PolicyDecision decision = policyEngine.evaluate(hook, request, ctx);
-            if (!decision.allowed()) {
-                allResults.add(deniedResult(hook, decision.reason()));
-                continue;
+        OrchestrationEvent event = new OrchestrationEvent();
+        event.begin();
+        HookResponse response;
+        ActiveSpan root = tracer.startTrace("orchestrate");
+        try {
+            response = orchestrate(request, ctx);
+        } finally {
+            root.close();
+        }
+        event.end();
+        boolean commit = event.shouldCommit();
+        AuditLogger auditLogger = ctx.getAuditLogger();
+        if (commit || auditLogger != null) {
+            int failed = 0;
+            for (HookResult result : response.getHookResults()) {
+                if (result.getStatus() == HookStatus.FAILED || result.getStatus() == HookStatus.CIRCUIT_OPEN) {
+                    failed++;
+                }
             }
-            if (!hook.supports(request, ctx)) {
-                allResults.add(skippedResult(hook, "Hook does not support this request"));
-                continue;
+            if (commit) {
+                event.requestId = request.getRequestId();
+                event.userId = request.getUserId();
+                event.tenantId = ctx.getSecurityContext().getTenantId();
+                event.hookResults = response.getHookResults().size();
+                event.failedHooks = failed;
+                event.commit();
             }
-            HookResult result = executor.execute(hook, request, ctx);
-            allResults.add(result);
-            if (result.getStatus() == HookStatus.FAILED) {
-                // In a strict environment, we might abort here. For demo we continue.
+            if (auditLogger != null) {
+                auditLogger.logEvent(AUDIT_REQUEST_COMPLETED, auditDetails(request, ctx, 2)
+                        .add("hookResults", response.getHookResults().size())
+                        .add("failedHooks", failed));
             }
         }
+        return response;
+    }
 
-        // 2. CORE CAPABILITIES
-        for (HookType type : new HookType[]{HookType.REASONING, HookType.ENTERPRISE, HookType.MULTIMODAL}) {
-            for (Hook hook : registry.listByType(type)) {
-                PolicyDecision decision = policyEngine.evaluate(hook, request, ctx);
+    private HookResponse orchestrate(HookRequest request, HookExecutionContext ctx) {
+        List<HookResult> allResults = new ArrayList<>();
+        boolean fusedMode = Boolean.TRUE.equals(ctx.getConfigValue(FUSED_SYNTHESIS_CONFIG_KEY, Boolean.class));
+        // result slot index -> hook whose result comes from the fused synthesis
+        Map<Integer, FusableHook> fusedSlots = new LinkedHashMap<>();
+        List<OutputSafeguard> outputSafeguards = new ArrayList<>();
+
+        // 1. SAFEGUARDS
+        for (Hook hook : registry.listByType(HookType.SAFEGUARD)) {
+            try (ActiveSpan span = tracer.startSpan("hook", hook.getId())) {
+                PolicyDecision decision = evaluatePolicy(hook, request, ctx);
                 if (!decision.allowed()) {
-                    allResults.add(deniedResult(hook, decision.reason()));
+                    allResults.add(deniedResult(hook, decision, request, ctx));
                     continue;
                 }
-                if (!hook.supports(request, ctx)) {
+                boolean supported = supports(hook, request, ctx);
+                if (!supported && !(hook instanceof OutputSafeguard)) {
                     allResults.add(skippedResult(hook, "Hook does not support this request"));
                     continue;
                 }
-                HookResult result = executor.execute(hook, request, ctx);
+                // An output safeguard scans the response even if it has no pre-check to run.
+                decision = acquirePermits(hook, ctx);
+                if (!decision.allowed()) {
+                    allResults.add(deniedResult(hook, decision, request, ctx));
+                    continue;
+                }
+                if (hook instanceof OutputSafeguard outputSafeguard) {
+                    outputSafeguards.add(outputSafeguard);
+                }
+                if (!supported) {
+                    allResults.add(skippedResult(hook, "Hook does not support this request"));
+                    continue;
+                }
+                HookResult result = audited(executor.execute(hook, request, ctx), request, ctx);
                 allResults.add(result);
+                if (result.getStatus() == HookStatus.FAILED) {
+                    // In a strict environment, we might abort here. For demo we continue.
+                    span.error(result.getMessage());
+                }
+            }
+        }
+
+        // 2. CORE CAPABILITIES
+        for (HookType type : new HookType[]{HookType.REASONING, HookType.ENTERPRISE, HookType.MULTIMODAL}) {
+            for (Hook hook : registry.listByType(type)) {
+                try (ActiveSpan span = tracer.startSpan("hook", hook.getId())) {
+                    PolicyDecision decision = evaluatePolicy(hook, request, ctx);
+                    if (!decision.allowed()) {
+                        allResults.add(deniedResult(hook, decision, request, ctx));
+                        continue;
+                    }
+                    if (!supports(hook, request, ctx)) {
+                        allResults.add(skippedResult(hook, "Hook does not support this request"));
+                        continue;
+                    }
+                    decision = acquirePermits(hook, ctx);
+                    if (!decision.allowed()) {
+                        allResults.add(deniedResult(hook, decision, request, ctx));
+                        continue;
+                    }
+                    if (fusedMode && hook instanceof FusableHook fusable && fusable.canFuse(request, ctx)
+                            && executor.isCallPermitted(hook.getId())) {
+                        fusedSlots.put(allResults.size(), fusable);
+                        allResults.add(null);
+                        continue;
+                    }
+                    HookResult result = audited(executor.execute(hook, request, ctx), request, ctx);
+                    allResults.add(result);
+                    if (result.getStatus() == HookStatus.FAILED) {
+                        span.error(result.getMessage());
+                    }
+                }
             }
         }
 
         // 3. Synthesize via LLM with hook results as context
+        List<HookResult> outputResults = new ArrayList<>();
         String finalContent;
+        ActiveSpan span = tracer.startSpan("synthesize");
+        try {
+            finalContent = fusedSlots.isEmpty()
+                    ? synthesize(request, ctx, allResults, outputSafeguards, outputResults)
+                    : synthesizeFused(request, ctx, allResults, fusedSlots, outputSafeguards, outputResults);
+        } finally {
+            span.close();
+        }
+        allResults.addAll(outputResults);
+
+        return new HookResponse(request.getRequestId(), finalContent, allResults);
+    }
+
+    private PolicyDecision evaluatePolicy(Hook hook, HookRequest request, HookExecutionContext ctx) {
+        try (ActiveSpan span = tracer.startSpan("policy", hook.getId())) {
+            PolicyDecision decision = policyEngine.evaluate(hook, request, ctx);
+            if (!decision.allowed()) {
+                span.error(decision.reason());
+            }
+            return decision;
+        }
+    }
+
+    /**
+     * Charges the hook's rate limits; called only once it is known to run.
+     */
+    private PolicyDecision acquirePermits(Hook hook, HookExecutionContext ctx) {
+        try (ActiveSpan span = tracer.startSpan("throttle", hook.getId())) {
+            PolicyDecision decision = policyEngine.acquirePermits(hook, ctx);
+            if (!decision.allowed()) {
+                span.error(decision.reason());
+            }
+            return decision;
+        }
+    }
+
+    private boolean supports(Hook hook, HookRequest request, HookExecutionContext ctx) {
+        ActiveSpan span = tracer.startSpan("supports", hook.getId());
+        try {
+            return hook.supports(request, ctx);
+        } finally {
+            span.close();
+        }
+    }
+
+    private String synthesize(HookRequest request,
+                              HookExecutionContext ctx,
+                              List<HookResult> allResults,
+                              List<OutputSafeguard> outputSafeguards,
+                              List<HookResult> outputResults) {
         try {
-            StringBuilder contextBuilder = new StringBuilder();
-            contextBuilder.append("You are a modular cognitive OS. Use the following hook outputs:\n");
-            for (HookResult result : allResults) {
-                contextBuilder.append("- Hook ")
-                        .append(result.getHookId())
-                        .append(" [")
-                        .append(result.getStatus())
-                        .append("]: ")
-                        .append(result.getMessage())
-                        .append("\n");
-            }
-            String combinedPrompt = request.getPrompt() + "\n\n" + contextBuilder;
-            finalContent = llmClient.complete(combinedPrompt, null);
+            LlmPrompt prompt = LlmPrompt.of(SYNTHESIS_PREFIX_ID, SYNTHESIS_PREFIX, synthesisSuffix(request, allResults));
+            return generate(prompt, request, ctx, outputSafeguards, outputResults).text();
         } catch (HookException e) {
+            tracer.currentSpan().error(e.getMessage());
+            return "Failed to synthesize final content via LLM: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Runs the synthesis call. Without output safeguards this is a plain
+     * completion; otherwise the output is streamed through every scan and
+     * generation stops at the first violation.
+     */
+    private Generation generate(LlmPrompt prompt,
+                                HookRequest request,
+                                HookExecutionContext ctx,
+                                List<OutputSafeguard> outputSafeguards,
+                                List<HookResult> outputResults) throws HookException {
+        if (outputSafeguards.isEmpty()) {
+            return new Generation(llmClient.complete(prompt, null), false);
+        }
+        OutputScreen screen = new OutputScreen(outputSafeguards, request, ctx);
+        String text;
+        try {
+            text = llmClient.stream(prompt, null, screen);
+            screen.finish();
+        } finally {
+            for (HookResult result : screen.results()) {
+                outputResults.add(audited(result, request, ctx));
+            }
+        }
+        return screen.violation == null
+                ? new Generation(text, false)
+                : new Generation("Response withheld by output safeguard " + screen.violatingHook.getId()
+                        + ": " + screen.violation, true);
+    }
+
+    /**
+     * Synthesis output; {@code withheld} when an output safeguard blocked it
+     * and {@code text} is the notice shown instead.
+     */
+    private record Generation(String text, boolean withheld) {
+    }
+
+    /**
+     * Single LLM call that produces the final answer plus one JSON section per
+     * fused hook. Each section is accounted to its hook through the
+     * executor's metrics and breaker. Sections that are missing or unusable
+     * fall back to running the hook through the executor, unless disabled by
+     * {@value #FUSED_FALLBACK_CONFIG_KEY}; such results are marked since they
+     * did not inform the answer. When an output safeguard withholds the
+     * synthesis, fused hooks are skipped rather than re-run: their sections
+     * were part of the blocked output.
+     */
+    private String synthesizeFused(HookRequest request,
+                                   HookExecutionContext ctx,
+                                   List<HookResult> allResults,
+                                   Map<Integer, FusableHook> fusedSlots,
+                                   List<OutputSafeguard> outputSafeguards,
+                                   List<HookResult> outputResults) {
+        List<FusableHook> ordered = new ArrayList<>(fusedSlots.values());
+        ordered.sort(Comparator.comparing(Hook::getId));
+
+        StringBuilder prefix = new StringBuilder(SYNTHESIS_PREFIX)
+                .append("\n\nRespond with a single JSON object. Put your answer to the user under the key ")
+                .append("\"answer\" (string). Also include these keys:\n");
+        StringBuilder prefixId = new StringBuilder(FUSED_PREFIX_ID);
+        for (FusableHook hook : ordered) {
+            prefix.append("- \"").append(hook.getId()).append("\": ").append(hook.fusedInstructions()).append("\n");
+            prefixId.append(':').append(hook.getId());
+        }
+
+        JsonNode output = null;
+        String finalContent;
+        boolean withheld = false;
+        long startNanos = System.nanoTime();
+        try {
+            LlmPrompt prompt = LlmPrompt.of(prefixId.toString(), prefix.toString(), synthesisSuffix(request, allResults));
+            Generation generation = generate(prompt, request, ctx, outputSafeguards, outputResults);
+            finalContent = generation.text();
+            withheld = generation.withheld();
+            output = withheld ? null : parseJsonObject(finalContent);
+            if (output != null && output.path("answer").isTextual()) {
+                finalContent = output.get("answer").asText();
+            }
+        } catch (HookException e) {
+            tracer.currentSpan().error(e.getMessage());
             finalContent = "Failed to synthesize final content via LLM: " + e.getMessage();
         }
+        long synthesisNanos = System.nanoTime() - startNanos;
+        boolean fallback = !withheld && !Boolean.FALSE.equals(ctx.getConfigValue(FUSED_FALLBACK_CONFIG_KEY, Boolean.class));
 
-        return new HookResponse(request.getRequestId(), finalContent, allResults);
+        for (Map.Entry<Integer, FusableHook> slot : fusedSlots.entrySet()) {
+            FusableHook hook = slot.getValue();
+            if (withheld) {
+                allResults.set(slot.getKey(), skippedResult(hook, "Fused synthesis withheld by output safeguard"));
+                continue;
+            }
+            HookResult result = null;
+            JsonNode section = output == null ? null : output.get(hook.getId());
+            if (section != null && !section.isNull()) {
+                try {
+                    result = hook.fromFusedSection(MAPPER.writeValueAsString(section), request, ctx);
+                } catch (HookException | JsonProcessingException e) {
+                    result = null;
+                }
+            }
+            if (result == null && fallback) {
+                // The fallback run is the hook's only accounted attempt; the
+                // unusable section is not counted against it as well.
+                result = fusedFallback(executor.execute(hook, request, ctx));
+            } else {
+                executor.recordFused(hook, result, synthesisNanos, ctx);
+                if (result == null) {
+                    result = HookResult.builder(hook.getId(), hook.getType(), HookStatus.FAILED)
+                            .message("Fused section missing or unusable")
+                            .build();
+                }
+            }
+            allResults.set(slot.getKey(), audited(result, request, ctx));
+        }
+        return finalContent;
     }
 
-    private HookResult deniedResult(Hook hook, String reason) {
-        return HookResult.builder(hook.getId(), hook.getType(), HookStatus.SKIPPED)
-                .message("Denied by policy: " + reason)
+    /**
+     * Marks a fallback result: it was produced after the answer and did not
+     * inform it.
+     */
+    private static HookResult fusedFallback(HookResult result) {
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        if (result.getDiagnostics() != null) {
+            diagnostics.putAll(result.getDiagnostics());
+        }
+        diagnostics.put("fusedFallback", true);
+        return HookResult.builder(result.getHookId(), result.getHookType(), result.getStatus())
+                .message(result.getMessage() + " (fused fallback; not used in the answer)")
+                .data(result.getData())
+                .latency(result.getLatency())
+                .diagnostics(diagnostics)
                 .build();
     }
 
+    private static JsonNode parseJsonObject(String text) {
+        // Tolerate prose or code fences around the object.
+        int start = text.indexOf('{');
+        int end = text.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            return null;
+        }
+        try {
+            JsonNode node = MAPPER.readTree(text.substring(start, end + 1));
+            return node != null && node.isObject() ? node : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static String synthesisSuffix(HookRequest request, List<HookResult> allResults) {
+        StringBuilder contextBuilder = new StringBuilder();
+        contextBuilder.append("USER REQUEST:\n")
+                .append(request.getPrompt())
+                .append("\n\nHOOK OUTPUTS:\n");
+        for (HookResult result : allResults) {
+            if (result == null) {
+                continue;
+            }
+            contextBuilder.append("- Hook ")
+                    .append(result.getHookId())
+                    .append(" [")
+                    .append(result.getStatus())
+                    .append("]: ")
+                    .append(result.getMessage())
+                    .append("\n");
+        }
+        return contextBuilder.toString();
+    }
+
+    /**
+     * Fans streamed chunks out to one scan per output safeguard and records
+     * the first violation, which stops the stream. The safeguard that blocked
+     * the output, including by failing closed, reports FAILED with
+     * {@code blocked=true}.
+     */
+    private static final class OutputScreen implements LlmStreamListener {
+        private final List<OutputSafeguard> hooks;
+        private final List<OutputSafeguard.Scan> scans = new ArrayList<>();
+        private final long startNanos = System.nanoTime();
+        private long charsScanned;
+        private boolean finished;
+        private boolean stoppedEarly;
+        private OutputSafeguard violatingHook;
+        private String violation;
+        private boolean failedClosed;
+
+        OutputScreen(List<OutputSafeguard> hooks, HookRequest request, HookExecutionContext ctx) {
+            this.hooks = hooks;
+            for (OutputSafeguard hook : hooks) {
+                scans.add(hook.startOutputScan(request, ctx));
+            }
+        }
+
+        @Override
+        public boolean onChunk(String chunk) {
+            if (violation != null) {
+                return false;
+            }
+            charsScanned += chunk.length();
+            for (int i = 0; i < scans.size(); i++) {
+                if (record(i, scanSafely(scans.get(i), chunk))) {
+                    stoppedEarly = true;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void finish() {
+            finished = true;
+            for (int i = 0; i < scans.size() && violation == null; i++) {
+                record(i, scanSafely(scans.get(i), null));
+            }
+        }
+
+        private boolean record(int index, String result) {
+            if (result == null) {
+                return false;
+            }
+            violatingHook = hooks.get(index);
+            violation = result;
+            return true;
+        }
+
+        /**
+         * A scan that throws fails closed: the output is treated as a violation.
+         */
+        private String scanSafely(OutputSafeguard.Scan scan, String chunk) {
+            try {
+                return chunk == null ? scan.finish() : scan.onChunk(chunk);
+            } catch (RuntimeException e) {
+                failedClosed = true;
+                return "output scan failed: " + e.getMessage();
+            }
+        }
+
+        List<HookResult> results() {
+            Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+            List<HookResult> results = new ArrayList<>(hooks.size());
+            for (OutputSafeguard hook : hooks) {
+                boolean blocked = hook == violatingHook;
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("stage", "output");
+                data.put("blocked", blocked);
+                data.put("charsScanned", charsScanned);
+                data.put("generationStopped", stoppedEarly);
+                String message;
+                HookStatus status = HookStatus.SUCCESS;
+                if (blocked) {
+                    data.put("violation", violation);
+                    data.put("failedClosed", failedClosed);
+                    message = failedClosed ? "Output blocked (scan failed closed): " + violation
+                            : "Output blocked: " + violation;
+                    status = HookStatus.FAILED;
+                } else if (violation != null) {
+                    message = "Output scan stopped by " + violatingHook.getId();
+                } else {
+                    message = finished ? "Output passed safeguard scan" : "Output scan incomplete";
+                }
+                results.add(HookResult.builder(hook.getId(), hook.getType(), status)
+                        .message(message)
+                        .data(data)
+                        .latency(latency)
+                        .build());
+            }
+            return results;
+        }
+    }
+
+    private HookResult deniedResult(Hook hook, PolicyDecision decision, HookRequest request, HookExecutionContext ctx) {
+        MetricsRecorder metrics = ctx.getMetricsRecorder();
+        if (metrics != null) {
+            metrics.recordPolicyDenial(hook.getId(), decision.retryAfter() != null);
+        }
+        PolicyDenialEvent event = new PolicyDenialEvent();
+        if (event.shouldCommit()) {
+            event.hookId = hook.getId();
+            event.hookType = hook.getType().name();
+            event.tenantId = ctx.getSecurityContext().getTenantId();
+            event.reason = decision.reason();
+            event.throttled = decision.retryAfter() != null;
+            event.retryAfterMillis = decision.retryAfter() == null ? 0 : decision.retryAfter().toMillis();
+            event.commit();
+        }
+        AuditLogger auditLogger = ctx.getAuditLogger();
+        if (auditLogger != null) {
+            auditLogger.logEvent(AUDIT_HOOK_DENIED, auditDetails(request, ctx, 4)
+                    .add("hookId", hook.getId())
+                    .add("hookType", hook.getType().name())
+                    .add("reason", decision.reason())
+                    .add("throttled", decision.retryAfter() != null));
+        }
+        HookResult.Builder builder = HookResult.builder(hook.getId(), hook.getType(), HookStatus.SKIPPED)
+                .message("Denied by policy: " + decision.reason());
+        if (decision.retryAfter() != null) {
+            builder.diagnostics(Map.of("retryAfterMillis", Math.max(1L, decision.retryAfter().toMillis())));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reports an executed hook's outcome to the audit logger, if any.
+     */
+    private static HookResult audited(HookResult result, HookRequest request, HookExecutionContext ctx) {
+        AuditLogger auditLogger = ctx.getAuditLogger();
+        if (auditLogger != null) {
+            AuditDetails details = auditDetails(request, ctx, 4)
+                    .add("hookId", result.getHookId())
+                    .add("hookType", result.getHookType().name())
+                    .add("status", result.getStatus().name());
+            if (result.getLatency() != null) {
+                details.add("latencyMicros", result.getLatency().toNanos() / 1_000);
+            }
+            auditLogger.logEvent(AUDIT_HOOK_EXECUTED, details);
+        }
+        return result;
+    }
+
+    /**
+     * The fields every audit event carries, with room for {@code extra} more.
+     */
+    private static AuditDetails auditDetails(HookRequest request, HookExecutionContext ctx, int extra) {
+        return new AuditDetails(3 + extra)
+                .add("requestId", request.getRequestId())
+                .add("userId", request.getUserId())
+                .add("tenantId", ctx.getSecurityContext().getTenantId());
+    }
+
     private HookResult skippedResult(Hook hook, String reason) {
         return HookResult.builder(hook.getId(), hook.getType(), HookStatus.SKIPPED)
                 .message(reason)
@@ -38,6 +38,10 @@ public final class HookRegistry {
         return hooksById.get(hookId);
     }
 
+    public int size() {
+        return hooksById.size();
+    }
+
     public List<Hook> listAll() {
         return Collections.unmodifiableList(new ArrayList<>(hooksById.values()));
     }
@@ -19,6 +19,30 @@ public interface LlmClient {
      * a HookException when unrecoverable.
      */
     String complete(String prompt, Map<String, Object> context) throws HookException;
+
+    /**
+     * Sends a structured prompt with a stable prefix and variable suffix.
+     * Providers with prefix caching should override this and pass the prefix
+     * as a separate system segment keyed by {@link LlmPrompt#getPrefixId()}.
+     * The default flattens the prompt with the prefix first.
+     */
+    default String complete(LlmPrompt prompt, Map<String, Object> context) throws HookException {
+        return complete(prompt.render(), context);
+    }
+
+    /**
+     * Like {@link #complete(LlmPrompt, Map)}, but hands generated text to
+     * {@code listener} as it arrives. If the listener returns {@code false},
+     * generation is abandoned and the text received so far is returned.
+     * Streaming providers should override this; the default delivers the
+     * whole completion as a single chunk.
+     */
+    default String stream(LlmPrompt prompt, Map<String, Object> context, LlmStreamListener listener)
+            throws HookException {
+        String text = complete(prompt, context);
+        listener.onChunk(text);
+        return text;
+    }
 }
 
 /*
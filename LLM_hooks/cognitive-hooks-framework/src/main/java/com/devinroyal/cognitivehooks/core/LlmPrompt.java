@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.core;
+
+import java.util.Objects;
+
+/**
+ * Structured LLM prompt split into a stable prefix (system instructions that
+ * are identical across calls) and a variable suffix (per-request content).
+ *
+ * Keeping the prefix first and byte-identical lets providers reuse prefix/KV
+ * caches; the prefix id gives backends a cheap key for that cache.
+ */
+public final class LlmPrompt {
+
+    private final String prefixId;
+    private final String prefix;
+    private final String suffix;
+
+    private LlmPrompt(String prefixId, String prefix, String suffix) {
+        this.prefixId = Objects.requireNonNull(prefixId, "prefixId must not be null");
+        this.prefix = prefix == null ? "" : prefix;
+        this.suffix = suffix == null ? "" : suffix;
+    }
+
+    public static LlmPrompt of(String prefixId, String prefix, String suffix) {
+        return new LlmPrompt(prefixId, prefix, suffix);
+    }
+
+    public String getPrefixId() {
+        return prefixId;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * Flattens the prompt for providers that only accept a single string.
+     * The prefix always comes first so the rendered text still shares a
+     * common leading segment across calls.
+     */
+    public String render() {
+        if (prefix.isEmpty()) {
+            return suffix;
+        }
+        if (suffix.isEmpty()) {
+            return prefix;
+        }
+        return prefix + "\n\n" + suffix;
+    }
+
+    @Override
+    public String toString() {
+        return "LlmPrompt{" +
+                "prefixId='" + prefixId + '\'' +
+                ", prefixLength=" + prefix.length() +
+                ", suffixLength=" + suffix.length() +
+                '}';
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,27 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.core;
+
+/**
+ * Receives generated text incrementally from
+ * {@link LlmClient#stream(LlmPrompt, java.util.Map, LlmStreamListener)}.
+ */
+@FunctionalInterface
+public interface LlmStreamListener {
+
+    /**
+     * Called once per chunk, in order.
+     *
+     * @return {@code false} to stop generation; the client stops reading and
+     *         closes the underlying stream so the provider stops producing tokens
+     */
+    boolean onChunk(String chunk);
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -10,6 +10,11 @@ import java.time.Duration;
 /**
  * Pluggable metrics sink for latency, error counts, etc.
  * Implementations can forward to Prometheus, OpenTelemetry, CloudWatch, etc.
+ *
+ * The framework reports through the {@code *Nanos} variants, which take raw
+ * {@link System#nanoTime()} differences so nothing is allocated per call.
+ * They default to the {@link Duration} methods; allocation-sensitive
+ * implementations override them instead.
  */
 public interface MetricsRecorder {
 
@@ -18,6 +23,39 @@ public interface MetricsRecorder {
     void recordFailure(String hookId, Duration latency, String reason);
 
     void recordCircuitOpen(String hookId);
+
+    /**
+     * A hook gave up on an operation because it exceeded its deadline. This is
+     * reported in addition to the failure the resilience layer records, so the
+     * default is a no-op.
+     */
+    default void recordTimeout(String hookId, Duration elapsed) {
+    }
+
+    /**
+     * The resilience layer is about to retry a failed hook execution.
+     */
+    default void recordRetry(String hookId) {
+    }
+
+    /**
+     * The policy engine denied a hook; {@code throttled} is true for rate
+     * limit and quota denials that carry a retry-after hint.
+     */
+    default void recordPolicyDenial(String hookId, boolean throttled) {
+    }
+
+    default void recordSuccessNanos(String hookId, long latencyNanos) {
+        recordSuccess(hookId, Duration.ofNanos(latencyNanos));
+    }
+
+    default void recordFailureNanos(String hookId, long latencyNanos, String reason) {
+        recordFailure(hookId, Duration.ofNanos(latencyNanos), reason);
+    }
+
+    default void recordTimeoutNanos(String hookId, long elapsedNanos) {
+        recordTimeout(hookId, Duration.ofNanos(elapsedNanos));
+    }
 }
 
 /*
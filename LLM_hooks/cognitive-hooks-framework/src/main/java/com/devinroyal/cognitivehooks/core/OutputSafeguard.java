@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.core;
+
+/**
+ * Optional contract for SAFEGUARD hooks that also screen the synthesized
+ * output. The orchestrator streams the final LLM call through one
+ * {@link Scan} per safeguard and stops generation at the first violation.
+ */
+public interface OutputSafeguard extends Hook {
+
+    /**
+     * Starts a scan of one response. Scans are used by a single thread and
+     * discarded afterwards, so they may keep state across chunks.
+     */
+    Scan startOutputScan(HookRequest request, HookExecutionContext ctx);
+
+    /**
+     * Incremental scan over the output of one LLM call.
+     */
+    interface Scan {
+
+        /**
+         * Consumes the next chunk.
+         *
+         * @return a violation description, or {@code null} to keep going
+         */
+        String onChunk(String chunk);
+
+        /**
+         * Called once after the last chunk, for checks that needed to see
+         * what followed the end of a chunk.
+         *
+         * @return a violation description, or {@code null} if the output is clean
+         */
+        String finish();
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
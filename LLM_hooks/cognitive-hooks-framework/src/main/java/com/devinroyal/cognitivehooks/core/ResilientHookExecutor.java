@@ -5,10 +5,21 @@
 
 package com.devinroyal.cognitivehooks.core;
 
+import com.devinroyal.cognitivehooks.jfr.CircuitTransitionEvent;
+import com.devinroyal.cognitivehooks.jfr.HookAttemptEvent;
+import com.devinroyal.cognitivehooks.jfr.HookExecutionEvent;
+import com.devinroyal.cognitivehooks.jfr.RetryBackoffEvent;
+import com.devinroyal.cognitivehooks.tracing.ActiveSpan;
+import com.devinroyal.cognitivehooks.tracing.Tracer;
+
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -17,17 +28,33 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public final class ResilientHookExecutor {
 
+    /**
+     * Audit event types for breaker transitions, with hookId and
+     * consecutiveFailures.
+     */
+    public static final String AUDIT_CIRCUIT_OPENED = "circuit.opened";
+    public static final String AUDIT_CIRCUIT_CLOSED = "circuit.closed";
+
     private final int maxRetries;
     private final int failureThreshold;
     private final Duration openInterval;
 
     private final MetricsRecorder metricsRecorder;
+    private final Tracer tracer;
     private final Map<String, CircuitState> circuitStates = new ConcurrentHashMap<>();
 
     public ResilientHookExecutor(int maxRetries,
                                  int failureThreshold,
                                  Duration openInterval,
                                  MetricsRecorder metricsRecorder) {
+        this(maxRetries, failureThreshold, openInterval, metricsRecorder, Tracer.DISABLED);
+    }
+
+    public ResilientHookExecutor(int maxRetries,
+                                 int failureThreshold,
+                                 Duration openInterval,
+                                 MetricsRecorder metricsRecorder,
+                                 Tracer tracer) {
         if (maxRetries < 0) {
             throw new IllegalArgumentException("maxRetries must be >= 0");
         }
@@ -38,9 +65,38 @@ public final class ResilientHookExecutor {
         this.failureThreshold = failureThreshold;
         this.openInterval = openInterval == null ? Duration.ofSeconds(30) : openInterval;
         this.metricsRecorder = metricsRecorder;
+        this.tracer = Objects.requireNonNull(tracer, "tracer must not be null");
     }
 
+    /**
+     * Runs the hook with retries. With a recording {@link Tracer}, this is an
+     * "execute" span containing one "attempt" span per try and a "backoff"
+     * span per wait. The same stages are emitted as JFR events.
+     */
     public HookResult execute(Hook hook, HookRequest request, HookExecutionContext ctx) {
+        HookExecutionEvent event = new HookExecutionEvent();
+        event.begin();
+        HookResult result;
+        try (ActiveSpan span = tracer.startSpan("execute", hook.getId())) {
+            result = executeWithRetries(hook, request, ctx, event);
+            if (result.getStatus() != HookStatus.SUCCESS) {
+                span.error(result.getStatus() + ": " + result.getMessage());
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.hookId = hook.getId();
+            event.hookType = hook.getType().name();
+            event.status = result.getStatus().name();
+            event.commit();
+        }
+        return result;
+    }
+
+    private HookResult executeWithRetries(Hook hook,
+                                          HookRequest request,
+                                          HookExecutionContext ctx,
+                                          HookExecutionEvent event) {
         String hookId = hook.getId();
         CircuitState state = circuitStates.computeIfAbsent(hookId, k -> new CircuitState());
 
@@ -54,59 +110,209 @@ public final class ResilientHookExecutor {
         }
 
         int attempt = 0;
-        Instant start = Instant.now();
+        long startNanos = System.nanoTime();
         while (true) {
             attempt++;
-            try {
-                HookResult result = hook.execute(request, ctx);
-                state.onSuccess();
+            event.attempts = attempt;
+            HookAttemptEvent attemptEvent = new HookAttemptEvent();
+            attemptEvent.begin();
+            try (ActiveSpan attemptSpan = tracer.startSpan("attempt", hookId, attempt)) {
+                HookResult result;
+                try {
+                    result = hook.execute(request, ctx);
+                } catch (HookException ex) {
+                    attemptSpan.error(ex.getMessage());
+                    commitAttempt(attemptEvent, hookId, attempt, ex.getMessage());
+                    throw ex;
+                }
+                commitAttempt(attemptEvent, hookId, attempt, null);
+                if (state.onSuccess()) {
+                    commitTransition(hookId, "CLOSED", 0, ctx);
+                }
                 if (metricsRecorder != null) {
-                    metricsRecorder.recordSuccess(hookId, Duration.between(start, Instant.now()));
+                    metricsRecorder.recordSuccessNanos(hookId, System.nanoTime() - startNanos);
                 }
                 return result;
             } catch (HookException ex) {
                 state.onFailure();
-                Duration latency = Duration.between(start, Instant.now());
+                long latencyNanos = System.nanoTime() - startNanos;
                 String reason = ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage();
                 if (metricsRecorder != null) {
-                    metricsRecorder.recordFailure(hookId, latency, reason);
+                    metricsRecorder.recordFailureNanos(hookId, latencyNanos, reason);
                 }
 
                 if (attempt > maxRetries) {
                     return HookResult.builder(hookId, hook.getType(), HookStatus.FAILED)
                             .message("Hook failed after " + attempt + " attempts: " + reason)
+                            .latency(Duration.ofNanos(latencyNanos))
                             .build();
                 }
 
                 if (state.getFailureCount() >= failureThreshold) {
-                    state.open();
+                    if (state.open()) {
+                        commitTransition(hookId, "OPEN", state.getFailureCount(), ctx);
+                    }
                     return HookResult.builder(hookId, hook.getType(), HookStatus.CIRCUIT_OPEN)
                             .message("Hook circuit opened after repeated failures: " + reason)
+                            .latency(Duration.ofNanos(latencyNanos))
                             .build();
                 }
 
+                if (metricsRecorder != null) {
+                    metricsRecorder.recordRetry(hookId);
+                }
+
                 // brief blocking backoff to reduce hammering; in real systems this can be async
+                long backoffMillis = Math.min(200L * attempt, 1000L);
+                RetryBackoffEvent backoffEvent = new RetryBackoffEvent();
+                backoffEvent.begin();
+                boolean interrupted = false;
+                ActiveSpan backoff = tracer.startSpan("backoff", hookId, attempt);
                 try {
-                    Thread.sleep(Math.min(200L * attempt, 1000L));
+                    Thread.sleep(backoffMillis);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
+                    backoff.error("interrupted");
+                    interrupted = true;
+                } finally {
+                    backoff.close();
+                }
+                backoffEvent.end();
+                if (backoffEvent.shouldCommit()) {
+                    backoffEvent.hookId = hookId;
+                    backoffEvent.attempt = attempt;
+                    backoffEvent.plannedMillis = backoffMillis;
+                    backoffEvent.interrupted = interrupted;
+                    backoffEvent.commit();
+                }
+                if (interrupted) {
                     return HookResult.builder(hookId, hook.getType(), HookStatus.FAILED)
                             .message("Hook execution interrupted during backoff")
+                            .latency(Duration.ofNanos(System.nanoTime() - startNanos))
                             .build();
                 }
             }
         }
     }
 
+    /**
+     * Whether {@link #execute} would call the hook now: its circuit is
+     * closed, or has been open long enough for a trial call. Lets callers
+     * that produce a hook's output some other way honor the breaker.
+     */
+    public boolean isCallPermitted(String hookId) {
+        CircuitState state = circuitStates.get(hookId);
+        return state == null || !state.isOpen() || state.canAttemptNow(openInterval);
+    }
+
+    /**
+     * Accounts for a hook whose output came from a fused synthesis call
+     * instead of {@link #execute}, as a single attempt: success or failure
+     * metrics, breaker state and transitions. {@code result} is
+     * {@code null} when the hook's section was missing or unusable, which
+     * counts as a failure.
+     */
+    public void recordFused(Hook hook, HookResult result, long latencyNanos, HookExecutionContext ctx) {
+        String hookId = hook.getId();
+        CircuitState state = circuitStates.computeIfAbsent(hookId, k -> new CircuitState());
+        if (result != null && result.getStatus() == HookStatus.SUCCESS) {
+            if (state.onSuccess()) {
+                commitTransition(hookId, "CLOSED", 0, ctx);
+            }
+            if (metricsRecorder != null) {
+                metricsRecorder.recordSuccessNanos(hookId, latencyNanos);
+            }
+            return;
+        }
+        state.onFailure();
+        if (metricsRecorder != null) {
+            metricsRecorder.recordFailureNanos(hookId, latencyNanos,
+                    result == null ? "fused section missing or unusable" : String.valueOf(result.getMessage()));
+        }
+        if (state.getFailureCount() >= failureThreshold && state.open()) {
+            commitTransition(hookId, "OPEN", state.getFailureCount(), ctx);
+        }
+    }
+
+    private static void commitAttempt(HookAttemptEvent event, String hookId, int attempt, String error) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.hookId = hookId;
+            event.attempt = attempt;
+            event.succeeded = error == null;
+            event.error = error;
+            event.commit();
+        }
+    }
+
+    private static void commitTransition(String hookId,
+                                         String state,
+                                         int consecutiveFailures,
+                                         HookExecutionContext ctx) {
+        CircuitTransitionEvent event = new CircuitTransitionEvent();
+        if (event.shouldCommit()) {
+            event.hookId = hookId;
+            event.state = state;
+            event.consecutiveFailures = consecutiveFailures;
+            event.commit();
+        }
+        AuditLogger auditLogger = ctx.getAuditLogger();
+        if (auditLogger != null) {
+            auditLogger.logEvent(state.equals("OPEN") ? AUDIT_CIRCUIT_OPENED : AUDIT_CIRCUIT_CLOSED,
+                    new AuditDetails(2).add("hookId", hookId).add("consecutiveFailures", consecutiveFailures));
+        }
+    }
+
+    /**
+     * Current breaker state of every hook this executor has run, for
+     * monitoring. Reads only volatile/atomic fields; never blocks execution.
+     */
+    public Map<String, CircuitStatus> getCircuitStates() {
+        Map<String, CircuitStatus> states = new TreeMap<>();
+        circuitStates.forEach((hookId, state) ->
+                states.put(hookId, new CircuitStatus(state.isOpen(), state.getFailureCount())));
+        return Collections.unmodifiableMap(states);
+    }
+
+    /**
+     * Point-in-time breaker state of one hook.
+     */
+    public static final class CircuitStatus {
+        private final boolean open;
+        private final int consecutiveFailures;
+
+        private CircuitStatus(boolean open, int consecutiveFailures) {
+            this.open = open;
+            this.consecutiveFailures = consecutiveFailures;
+        }
+
+        public boolean isOpen() {
+            return open;
+        }
+
+        public int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        @Override
+        public String toString() {
+            return "CircuitStatus{open=" + open + ", consecutiveFailures=" + consecutiveFailures + '}';
+        }
+    }
+
     private static final class CircuitState {
         private final AtomicInteger failureCount = new AtomicInteger(0);
-        private volatile boolean open = false;
+        private final AtomicBoolean open = new AtomicBoolean(false);
         private volatile Instant openedAt;
 
-        void onSuccess() {
+        /**
+         * @return true if this closed an open circuit
+         */
+        boolean onSuccess() {
             failureCount.set(0);
-            open = false;
+            boolean wasOpen = open.getAndSet(false);
             openedAt = null;
+            return wasOpen;
         }
 
         void onFailure() {
@@ -118,16 +324,23 @@ public final class ResilientHookExecutor {
         }
 
         boolean isOpen() {
-            return open;
+            return open.get();
         }
 
-        void open() {
-            open = true;
+        /**
+         * Opens the circuit, or restarts the open interval after a failed
+         * trial call.
+         *
+         * @return true only for the caller that moved it from closed to open
+         */
+        boolean open() {
             openedAt = Instant.now();
+            return open.compareAndSet(false, true);
         }
 
         boolean canAttemptNow(Duration openInterval) {
-            if (!open || openedAt == null) {
+            Instant openedAt = this.openedAt;
+            if (!open.get() || openedAt == null) {
                 return true;
             }
             Instant now = Instant.now();
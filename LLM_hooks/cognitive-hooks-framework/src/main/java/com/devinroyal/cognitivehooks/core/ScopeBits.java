@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.core;
+
+import java.util.Arrays;
+
+/**
+ * Immutable bitset over names interned by a {@link ScopeIndex}. Used for
+ * scope and role checks that would otherwise be string set lookups, and as a
+ * compact, hashable cache key.
+ */
+public final class ScopeBits {
+
+    public static final ScopeBits EMPTY = new ScopeBits(new long[0]);
+
+    private final long[] words;
+    private final int hash;
+
+    ScopeBits(long[] words) {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        this.words = length == words.length ? words : Arrays.copyOf(words, length);
+        this.hash = Arrays.hashCode(this.words);
+    }
+
+    public boolean get(int index) {
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    /**
+     * True if every bit set in {@code other} is also set here.
+     */
+    public boolean containsAll(ScopeBits other) {
+        if (other.words.length > words.length) {
+            return false;
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            if ((other.words[i] & ~words[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean intersects(ScopeBits other) {
+        int n = Math.min(words.length, other.words.length);
+        for (int i = 0; i < n; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public ScopeBits and(ScopeBits other) {
+        int n = Math.min(words.length, other.words.length);
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new ScopeBits(result);
+    }
+
+    public ScopeBits or(ScopeBits other) {
+        long[] result = Arrays.copyOf(words, Math.max(words.length, other.words.length));
+        for (int i = 0; i < other.words.length; i++) {
+            result[i] |= other.words[i];
+        }
+        return new ScopeBits(result);
+    }
+
+    /**
+     * Hash of {@code this.and(mask)} without building it; equal masked sets
+     * hash alike. For allocation-free cache probes.
+     */
+    public int maskedHash(ScopeBits mask) {
+        int n = Math.min(words.length, mask.words.length);
+        int h = 0;
+        for (int i = 0; i < n; i++) {
+            long w = words[i] & mask.words[i];
+            if (w != 0) {
+                h = h * 31 + i + Long.hashCode(w);
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Words of {@code this.and(mask)}, padded to the mask's length; the
+     * stored side of {@link #maskedEquals}.
+     */
+    public long[] maskedWords(ScopeBits mask) {
+        long[] result = new long[mask.words.length];
+        int n = Math.min(words.length, mask.words.length);
+        for (int i = 0; i < n; i++) {
+            result[i] = words[i] & mask.words[i];
+        }
+        return result;
+    }
+
+    /**
+     * True if {@code this.and(mask)} has exactly the bits in {@code masked},
+     * as returned by {@link #maskedWords} for the same mask.
+     */
+    public boolean maskedEquals(ScopeBits mask, long[] masked) {
+        for (int i = 0; i < masked.length; i++) {
+            long w = i < words.length ? words[i] & mask.words[i] : 0L;
+            if (w != masked[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof ScopeBits other && hash == other.hash && Arrays.equals(words, other.words));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < words.length * 64; i++) {
+            if (get(i)) {
+                sb.append(sb.length() > 1 ? ", " : "").append(i);
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
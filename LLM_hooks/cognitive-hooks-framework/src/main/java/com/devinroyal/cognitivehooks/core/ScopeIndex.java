@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide interning of scope and role names to dense bit indexes.
+ * Only names that policy rules refer to are interned ({@link #intern});
+ * callers' names are looked up ({@link #bitsOf}), and names no rule knows
+ * have no bit, so caller-supplied strings cannot grow the index. Indexes
+ * are never reused, so a {@link ScopeBits} stays valid for the life of the
+ * JVM; {@link #size()} only grows and tells holders of older bits when a
+ * name they carry may since have gained one.
+ */
+public final class ScopeIndex {
+
+    public static final ScopeIndex SCOPES = new ScopeIndex();
+    public static final ScopeIndex ROLES = new ScopeIndex();
+
+    private final ConcurrentMap<String, Integer> indexes = new ConcurrentHashMap<>();
+    private volatile int size;
+
+    private ScopeIndex() {
+    }
+
+    /**
+     * Index of {@code name}, or -1 if it has never been interned.
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Index of {@code name}, assigning the next one on first sight.
+     */
+    public int intern(String name) {
+        Integer index = indexes.get(name);
+        if (index != null) {
+            return index;
+        }
+        synchronized (indexes) {
+            index = indexes.computeIfAbsent(name, n -> indexes.size());
+            size = indexes.size();
+            return index;
+        }
+    }
+
+    /**
+     * Bits of the already interned {@code names}; others are left unset.
+     */
+    public ScopeBits bitsOf(Collection<String> names) {
+        return bits(names, false);
+    }
+
+    /**
+     * Bits of {@code names}, interning any not seen before. For names that
+     * rules test, not for caller-supplied ones.
+     */
+    public ScopeBits internAll(Collection<String> names) {
+        return bits(names, true);
+    }
+
+    private ScopeBits bits(Collection<String> names, boolean intern) {
+        if (names.isEmpty()) {
+            return ScopeBits.EMPTY;
+        }
+        long[] words = new long[0];
+        for (String name : names) {
+            int index = intern ? intern(name) : indexOf(name);
+            if (index < 0) {
+                continue;
+            }
+            int word = index >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, word + 1);
+            }
+            words[word] |= 1L << index;
+        }
+        return words.length == 0 ? ScopeBits.EMPTY : new ScopeBits(words);
+    }
+
+    public int size() {
+        return size;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -12,24 +12,46 @@ import java.util.Set;
 
 /**
  * Represents the security posture of the current request:
- * identity, roles, and scopes. Hooks use this to enforce authorization.
+ * identity, tenant, roles, and scopes. Hooks use this to enforce authorization
+ * and to select tenant-specific configuration.
+ *
+ * Roles and scopes are also mapped to {@link ScopeBits} at construction, so
+ * policy checks are word-wise bit tests rather than string lookups. Names
+ * that policy rules interned later are picked up on the next read.
  */
 public final class SecurityContext {
 
     private final String userId;
+    private final String tenantId;
     private final Set<String> roles;
     private final Set<String> scopes;
+    private volatile Bits roleBits;
+    private volatile Bits scopeBits;
 
     public SecurityContext(String userId, Set<String> roles, Set<String> scopes) {
+        this(userId, roles, scopes, null);
+    }
+
+    /**
+     * @param tenantId owning tenant, or {@code null} for single-tenant deployments
+     */
+    public SecurityContext(String userId, Set<String> roles, Set<String> scopes, String tenantId) {
         this.userId = Objects.requireNonNull(userId, "userId must not be null");
+        this.tenantId = tenantId;
         this.roles = roles == null ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(roles));
         this.scopes = scopes == null ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(scopes));
+        this.roleBits = Bits.of(ScopeIndex.ROLES, this.roles);
+        this.scopeBits = Bits.of(ScopeIndex.SCOPES, this.scopes);
     }
 
     public String getUserId() {
         return userId;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
     public Set<String> getRoles() {
         return roles;
     }
@@ -38,6 +60,28 @@ public final class SecurityContext {
         return scopes;
     }
 
+    /**
+     * Roles as bits in {@link ScopeIndex#ROLES}.
+     */
+    public ScopeBits getRoleBits() {
+        Bits bits = roleBits;
+        if (bits.indexSize != ScopeIndex.ROLES.size()) {
+            roleBits = bits = Bits.of(ScopeIndex.ROLES, roles);
+        }
+        return bits.bits;
+    }
+
+    /**
+     * Scopes as bits in {@link ScopeIndex#SCOPES}.
+     */
+    public ScopeBits getScopeBits() {
+        Bits bits = scopeBits;
+        if (bits.indexSize != ScopeIndex.SCOPES.size()) {
+            scopeBits = bits = Bits.of(ScopeIndex.SCOPES, scopes);
+        }
+        return bits.bits;
+    }
+
     public boolean hasRole(String role) {
         return roles.contains(role);
     }
@@ -50,10 +94,23 @@ public final class SecurityContext {
     public String toString() {
         return "SecurityContext{" +
                 "userId='" + userId + '\'' +
+                ", tenantId='" + tenantId + '\'' +
                 ", roles=" + roles +
                 ", scopes=" + scopes +
                 '}';
     }
+
+    /**
+     * Bits of a name set as of an index size; stale once the index grows.
+     */
+    private record Bits(ScopeBits bits, int indexSize) {
+
+        static Bits of(ScopeIndex index, Set<String> names) {
+            // Size first: a name interned meanwhile makes this stale, never missed.
+            int size = index.size();
+            return new Bits(index.bitsOf(names), size);
+        }
+    }
 }
 
 /*
@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.db;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented, immutable block of query rows. Column labels are stored
+ * once; integral, floating-point and boolean columns are held in primitive
+ * arrays with a null bitmap, everything else in an {@code Object[]}.
+ */
+public final class ColumnarResult {
+
+    /**
+     * Physical storage chosen for a column from its JDBC type.
+     */
+    public enum ColumnKind {
+        LONG,
+        DOUBLE,
+        BOOLEAN,
+        OBJECT
+    }
+
+    private final List<String> columnNames;
+    private final ColumnKind[] kinds;
+    private final Object[] columns;
+    private final BitSet[] nulls;
+    private final int rowCount;
+
+    private ColumnarResult(List<String> columnNames, ColumnKind[] kinds, Object[] columns, BitSet[] nulls, int rowCount) {
+        this.columnNames = columnNames;
+        this.kinds = kinds;
+        this.columns = columns;
+        this.nulls = nulls;
+        this.rowCount = rowCount;
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public int getColumnCount() {
+        return kinds.length;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public ColumnKind getColumnKind(int column) {
+        return kinds[column];
+    }
+
+    public boolean isNull(int column, int row) {
+        return nulls[column].get(row);
+    }
+
+    public long getLong(int column, int row) {
+        return ((long[]) columns[column])[row];
+    }
+
+    public double getDouble(int column, int row) {
+        return ((double[]) columns[column])[row];
+    }
+
+    public boolean getBoolean(int column, int row) {
+        return ((boolean[]) columns[column])[row];
+    }
+
+    /**
+     * Boxed access for any column kind; returns {@code null} for SQL NULL.
+     */
+    public Object getObject(int column, int row) {
+        if (nulls[column].get(row)) {
+            return null;
+        }
+        return switch (kinds[column]) {
+            case LONG -> ((long[]) columns[column])[row];
+            case DOUBLE -> ((double[]) columns[column])[row];
+            case BOOLEAN -> ((boolean[]) columns[column])[row];
+            case OBJECT -> ((Object[]) columns[column])[row];
+        };
+    }
+
+    /**
+     * JSON-friendly view: column names plus one array per column.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int c = 0; c < kinds.length; c++) {
+            Object[] values = new Object[rowCount];
+            for (int r = 0; r < rowCount; r++) {
+                values[r] = getObject(c, r);
+            }
+            data.put(columnNames.get(c), Arrays.asList(values));
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("columns", columnNames);
+        map.put("rowCount", rowCount);
+        map.put("data", data);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarResult{columns=" + columnNames + ", rowCount=" + rowCount + '}';
+    }
+
+    /**
+     * Accumulates rows from a result set. Column layout is derived from the
+     * metadata once; {@link #build()} can be called repeatedly to cut batches.
+     */
+    public static final class Builder {
+        private final List<String> columnNames;
+        private final ColumnKind[] kinds;
+        private final int initialCapacity;
+        private Object[] columns;
+        private BitSet[] nulls;
+        private int capacity;
+        private int rowCount;
+
+        public Builder(ResultSetMetaData metaData, int initialCapacity) throws SQLException {
+            int count = metaData.getColumnCount();
+            String[] names = new String[count];
+            this.kinds = new ColumnKind[count];
+            for (int c = 0; c < count; c++) {
+                names[c] = metaData.getColumnLabel(c + 1);
+                kinds[c] = kindOf(metaData, c + 1);
+            }
+            this.columnNames = Collections.unmodifiableList(Arrays.asList(names));
+            this.initialCapacity = Math.max(1, initialCapacity);
+            reset();
+        }
+
+        public List<String> getColumnNames() {
+            return columnNames;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Reads the current row of {@code rs}.
+         */
+        public void appendRow(ResultSet rs) throws SQLException {
+            if (rowCount == capacity) {
+                grow();
+            }
+            for (int c = 0; c < kinds.length; c++) {
+                int index = c + 1;
+                switch (kinds[c]) {
+                    case LONG -> ((long[]) columns[c])[rowCount] = rs.getLong(index);
+                    case DOUBLE -> ((double[]) columns[c])[rowCount] = rs.getDouble(index);
+                    case BOOLEAN -> ((boolean[]) columns[c])[rowCount] = rs.getBoolean(index);
+                    case OBJECT -> ((Object[]) columns[c])[rowCount] = rs.getObject(index);
+                }
+                if (rs.wasNull()) {
+                    nulls[c].set(rowCount);
+                }
+            }
+            rowCount++;
+        }
+
+        /**
+         * Returns the rows accumulated so far and starts a new, empty batch.
+         */
+        public ColumnarResult build() {
+            Object[] trimmed = new Object[kinds.length];
+            for (int c = 0; c < kinds.length; c++) {
+                if (rowCount == capacity) {
+                    // Arrays are exactly full and reset() allocates fresh ones, so hand them over.
+                    trimmed[c] = columns[c];
+                    continue;
+                }
+                trimmed[c] = switch (kinds[c]) {
+                    case LONG -> Arrays.copyOf((long[]) columns[c], rowCount);
+                    case DOUBLE -> Arrays.copyOf((double[]) columns[c], rowCount);
+                    case BOOLEAN -> Arrays.copyOf((boolean[]) columns[c], rowCount);
+                    case OBJECT -> Arrays.copyOf((Object[]) columns[c], rowCount);
+                };
+            }
+            ColumnarResult result = new ColumnarResult(columnNames, kinds, trimmed, nulls, rowCount);
+            reset();
+            return result;
+        }
+
+        private void reset() {
+            columns = new Object[kinds.length];
+            nulls = new BitSet[kinds.length];
+            for (int c = 0; c < kinds.length; c++) {
+                columns[c] = allocate(kinds[c], initialCapacity);
+                nulls[c] = new BitSet();
+            }
+            capacity = initialCapacity;
+            rowCount = 0;
+        }
+
+        private void grow() {
+            int newCapacity = capacity * 2;
+            for (int c = 0; c < kinds.length; c++) {
+                columns[c] = switch (kinds[c]) {
+                    case LONG -> Arrays.copyOf((long[]) columns[c], newCapacity);
+                    case DOUBLE -> Arrays.copyOf((double[]) columns[c], newCapacity);
+                    case BOOLEAN -> Arrays.copyOf((boolean[]) columns[c], newCapacity);
+                    case OBJECT -> Arrays.copyOf((Object[]) columns[c], newCapacity);
+                };
+            }
+            capacity = newCapacity;
+        }
+
+        private static Object allocate(ColumnKind kind, int capacity) {
+            return switch (kind) {
+                case LONG -> new long[capacity];
+                case DOUBLE -> new double[capacity];
+                case BOOLEAN -> new boolean[capacity];
+                case OBJECT -> new Object[capacity];
+            };
+        }
+
+        private static ColumnKind kindOf(ResultSetMetaData metaData, int column) throws SQLException {
+            return switch (metaData.getColumnType(column)) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> ColumnKind.LONG;
+                case Types.REAL, Types.FLOAT, Types.DOUBLE -> ColumnKind.DOUBLE;
+                case Types.BOOLEAN -> ColumnKind.BOOLEAN;
+                // Drivers report flags as BIT(1); wider BIT(n) columns are bit strings.
+                case Types.BIT -> isSingleBit(metaData, column) ? ColumnKind.BOOLEAN : ColumnKind.OBJECT;
+                default -> ColumnKind.OBJECT;
+            };
+        }
+
+        private static boolean isSingleBit(ResultSetMetaData metaData, int column) {
+            try {
+                return metaData.getPrecision(column) <= 1;
+            } catch (SQLException e) {
+                // Width unknown: keep the driver's own value rather than guess.
+                return false;
+            }
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
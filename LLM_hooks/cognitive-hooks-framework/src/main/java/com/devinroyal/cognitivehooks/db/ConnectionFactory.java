@@ -0,0 +1,28 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Creates physical JDBC connections for {@link PooledDataSource}.
+ */
+@FunctionalInterface
+public interface ConnectionFactory {
+
+    Connection create() throws SQLException;
+
+    static ConnectionFactory driverManager(String url, String user, String password) {
+        return () -> DriverManager.getConnection(url, user, password);
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.db;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Point-in-time saturation and lifecycle counters for a {@link PooledDataSource}.
+ */
+public final class PoolStats {
+
+    private final int maxSize;
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final long acquired;
+    private final long acquireTimeouts;
+    private final long created;
+    private final long evicted;
+    private final long leaksDetected;
+    private final long totalAcquireWaitNanos;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+
+    PoolStats(int maxSize, int active, int idle, int waiting, long acquired, long acquireTimeouts,
+              long created, long evicted, long leaksDetected, long totalAcquireWaitNanos,
+              long statementCacheHits, long statementCacheMisses) {
+        this.maxSize = maxSize;
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.acquired = acquired;
+        this.acquireTimeouts = acquireTimeouts;
+        this.created = created;
+        this.evicted = evicted;
+        this.leaksDetected = leaksDetected;
+        this.totalAcquireWaitNanos = totalAcquireWaitNanos;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public long getAcquired() {
+        return acquired;
+    }
+
+    public long getAcquireTimeouts() {
+        return acquireTimeouts;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getEvicted() {
+        return evicted;
+    }
+
+    public long getLeaksDetected() {
+        return leaksDetected;
+    }
+
+    public long getTotalAcquireWaitNanos() {
+        return totalAcquireWaitNanos;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    /**
+     * Fraction of {@code prepareStatement} calls served from the statement
+     * cache, in [0, 1].
+     */
+    public double getStatementCacheHitRate() {
+        long total = statementCacheHits + statementCacheMisses;
+        return total == 0 ? 0.0 : (double) statementCacheHits / total;
+    }
+
+    /**
+     * Fraction of the pool currently checked out, in [0, 1].
+     */
+    public double getUtilization() {
+        return maxSize == 0 ? 0.0 : (double) active / maxSize;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("maxSize", maxSize);
+        map.put("active", active);
+        map.put("idle", idle);
+        map.put("waiting", waiting);
+        map.put("acquired", acquired);
+        map.put("acquireTimeouts", acquireTimeouts);
+        map.put("created", created);
+        map.put("evicted", evicted);
+        map.put("leaksDetected", leaksDetected);
+        map.put("totalAcquireWaitNanos", totalAcquireWaitNanos);
+        map.put("statementCacheHits", statementCacheHits);
+        map.put("statementCacheMisses", statementCacheMisses);
+        map.put("statementCacheHitRate", getStatementCacheHitRate());
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats" + toMap();
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
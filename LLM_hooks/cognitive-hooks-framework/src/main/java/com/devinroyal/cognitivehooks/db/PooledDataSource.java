@@ -0,0 +1,558 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.db;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Bounded, thread-safe JDBC connection pool exposed as a {@link DataSource}.
+ *
+ * A fair semaphore caps checked-out connections and enforces the acquire
+ * timeout. Idle connections are reused LIFO so hot connections stay warm;
+ * connections past their max lifetime are retired, and connections idle
+ * longer than the validation interval are checked with
+ * {@link Connection#isValid(int)} before reuse. Callers get a proxy whose
+ * {@code close()} returns the physical connection to the pool, and
+ * statements created through it report that proxy from
+ * {@code getConnection()}. A connection whose auto-commit, read-only,
+ * isolation, catalog or schema was changed is restored to its initial
+ * settings before reuse. Borrowed connections held longer than the leak
+ * threshold are reported once. The proxies never unwrap to the driver's own
+ * connection or statement objects, since those would bypass the state reset
+ * and leak tracking.
+ *
+ * With a statement cache size configured, each physical connection keeps an
+ * LRU {@link StatementCache} so {@code prepareStatement(sql)} reuses
+ * statements across borrows.
+ */
+public final class PooledDataSource implements DataSource, AutoCloseable {
+
+    /**
+     * Pool size used when the builder does not set one.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10;
+
+    private static final System.Logger LOG = System.getLogger(PooledDataSource.class.getName());
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long acquireTimeoutNanos;
+    private final long maxLifetimeNanos;
+    private final long validationIntervalNanos;
+    private final int validationTimeoutSeconds;
+    private final long leakThresholdNanos;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<Handle> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder acquireTimeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LongAdder acquireWaitNanos = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    private PooledDataSource(Builder builder) {
+        this.factory = Objects.requireNonNull(builder.factory, "factory must not be null");
+        this.maxSize = builder.maxSize;
+        this.acquireTimeoutNanos = builder.acquireTimeout.toNanos();
+        this.maxLifetimeNanos = builder.maxLifetime.toNanos();
+        this.validationIntervalNanos = builder.validationInterval.toNanos();
+        this.validationTimeoutSeconds = (int) Math.max(1, builder.validationTimeout.toSeconds());
+        this.leakThresholdNanos = builder.leakDetectionThreshold == null ? 0L : builder.leakDetectionThreshold.toNanos();
+        this.statementCacheSize = builder.statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        if (leakThresholdNanos > 0) {
+            this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "pooled-datasource-housekeeper");
+                t.setDaemon(true);
+                return t;
+            });
+            long periodMillis = Math.max(100L, TimeUnit.NANOSECONDS.toMillis(leakThresholdNanos) / 2);
+            housekeeper.scheduleAtFixedRate(this::detectLeaks, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.housekeeper = null;
+        }
+    }
+
+    public static Builder builder(ConnectionFactory factory) {
+        return new Builder(factory);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                acquireTimeouts.increment();
+                throw new SQLTimeoutException("Timed out after " + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos)
+                        + " ms waiting for a pooled connection (maxSize=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a pooled connection", e);
+        }
+        acquireWaitNanos.add(System.nanoTime() - waitStart);
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate();
+            acquired.increment();
+            Handle handle = new Handle(pooled);
+            borrowed.add(handle);
+            return handle.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("PooledDataSource uses the credentials of its ConnectionFactory");
+    }
+
+    public PoolStats stats() {
+        int idleCount = idle.size();
+        int active = borrowed.size();
+        return new PoolStats(maxSize, active, idleCount, permits.getQueueLength(),
+                acquired.sum(), acquireTimeouts.sum(), created.sum(), evicted.sum(),
+                leaksDetected.sum(), acquireWaitNanos.sum(),
+                statementCacheHits.sum(), statementCacheMisses.sum());
+    }
+
+    /**
+     * Closes idle connections and stops housekeeping. Borrowed connections are
+     * closed physically when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            long now = System.nanoTime();
+            if (isExpired(pooled, now)) {
+                retire(pooled);
+                continue;
+            }
+            if (now - pooled.lastUsedNanos > validationIntervalNanos && !isValid(pooled)) {
+                retire(pooled);
+                continue;
+            }
+            return pooled;
+        }
+        Connection physical = factory.create();
+        created.increment();
+        StatementCache statements = statementCacheSize > 0
+                ? new StatementCache(statementCacheSize, statementCacheHits, statementCacheMisses)
+                : null;
+        try {
+            return new PooledConnection(physical, statements);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // Connection is being discarded anyway.
+            }
+            throw e;
+        }
+    }
+
+    private void release(Handle handle) {
+        borrowed.remove(handle);
+        PooledConnection pooled = handle.pooled;
+        try {
+            boolean reusable = !closed && !isExpired(pooled, System.nanoTime()) && !pooled.physical.isClosed();
+            if (reusable && handle.stateChanged) {
+                reusable = resetState(pooled);
+            }
+            if (reusable) {
+                pooled.lastUsedNanos = System.nanoTime();
+                idle.offerFirst(pooled);
+            } else {
+                retire(pooled);
+            }
+        } catch (SQLException e) {
+            retire(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static boolean resetState(PooledConnection pooled) {
+        Connection physical = pooled.physical;
+        try {
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            if (physical.getTransactionIsolation() != pooled.initialIsolation) {
+                physical.setTransactionIsolation(pooled.initialIsolation);
+            }
+            if (!Objects.equals(physical.getCatalog(), pooled.initialCatalog)) {
+                physical.setCatalog(pooled.initialCatalog);
+            }
+            if (!Objects.equals(physical.getSchema(), pooled.initialSchema)) {
+                physical.setSchema(pooled.initialSchema);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        return maxLifetimeNanos > 0 && now - pooled.createdNanos > maxLifetimeNanos;
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void retire(PooledConnection pooled) {
+        evicted.increment();
+        closeQuietly(pooled);
+    }
+
+    private static void closeQuietly(PooledConnection pooled) {
+        if (pooled.statements != null) {
+            pooled.statements.closeAll();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException ignored) {
+            // Connection is being discarded anyway.
+        }
+    }
+
+    private void detectLeaks() {
+        long now = System.nanoTime();
+        for (Handle handle : borrowed) {
+            if (!handle.leakReported && now - handle.borrowedNanos > leakThresholdNanos) {
+                handle.leakReported = true;
+                leaksDetected.increment();
+                LOG.log(System.Logger.Level.WARNING,
+                        "Possible connection leak: held for " + TimeUnit.NANOSECONDS.toMillis(now - handle.borrowedNanos)
+                                + " ms by thread " + handle.borrowerThread, handle.borrowSite);
+            }
+        }
+    }
+
+    private static final class PooledConnection {
+        final Connection physical;
+        final StatementCache statements;
+        final int initialIsolation;
+        final String initialCatalog;
+        final String initialSchema;
+        final long createdNanos = System.nanoTime();
+        volatile long lastUsedNanos = createdNanos;
+
+        PooledConnection(Connection physical, StatementCache statements) throws SQLException {
+            this.physical = physical;
+            this.statements = statements;
+            this.initialIsolation = physical.getTransactionIsolation();
+            this.initialCatalog = physical.getCatalog();
+            this.initialSchema = physical.getSchema();
+        }
+    }
+
+    /**
+     * One borrow of a pooled connection. The proxy delegates everything to the
+     * physical connection except {@code close()}, which returns it to the pool.
+     * Statements it creates are wrapped so their {@code getConnection()}
+     * returns the proxy rather than the physical connection.
+     */
+    private final class Handle implements InvocationHandler {
+        final PooledConnection pooled;
+        final Connection proxy;
+        final long borrowedNanos = System.nanoTime();
+        final String borrowerThread = Thread.currentThread().getName();
+        final Throwable borrowSite;
+        final AtomicBoolean returned = new AtomicBoolean();
+        volatile boolean stateChanged;
+        volatile boolean leakReported;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+            this.borrowSite = leakThresholdNanos > 0 ? new Throwable("Connection borrowed here") : null;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                case "unwrap":
+                    return unwrapProxy(proxy, (Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                case "setAutoCommit":
+                case "setReadOnly":
+                case "setTransactionIsolation":
+                case "setCatalog":
+                case "setSchema":
+                    stateChanged = true;
+                    break;
+                default:
+                    break;
+            }
+            if (returned.get()) {
+                throw new SQLException("Connection has been returned to the pool");
+            }
+            if (pooled.statements != null && "prepareStatement".equals(method.getName())
+                    && args.length == 1) {
+                return pooled.statements.prepare(pooled.physical, (Connection) proxy, (String) args[0]);
+            }
+            Object result;
+            try {
+                result = method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return switch (method.getName()) {
+                case "createStatement", "prepareStatement", "prepareCall" ->
+                        OwnedStatement.wrap((Statement) result, method.getReturnType(), (Connection) proxy);
+                default -> result;
+            };
+        }
+    }
+
+    /**
+     * {@code unwrap} for the pool's proxies: only the interfaces the proxy
+     * itself implements, never the physical object behind it.
+     */
+    static Object unwrapProxy(Object proxy, Class<?> iface) throws SQLException {
+        if (iface.isInstance(proxy)) {
+            return iface.cast(proxy);
+        }
+        throw new SQLException("Pooled objects do not unwrap to " + iface.getName());
+    }
+
+    /**
+     * Delegates to an uncached statement, answering {@code getConnection()}
+     * with the pooled proxy so callers never reach the physical connection.
+     */
+    private static final class OwnedStatement implements InvocationHandler {
+        private final Statement physical;
+        private final Connection owner;
+
+        private OwnedStatement(Statement physical, Connection owner) {
+            this.physical = physical;
+            this.owner = owner;
+        }
+
+        static Object wrap(Statement physical, Class<?> type, Connection owner) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new OwnedStatement(physical, owner));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledStatement[" + physical + "]";
+                case "unwrap":
+                    return unwrapProxy(proxy, (Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    // --- DataSource boilerplate ---
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        // Logging goes through System.Logger.
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        // Creation timeouts are the ConnectionFactory's concern.
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("java.util.logging is not used");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    public static final class Builder {
+        private final ConnectionFactory factory;
+        private int maxSize = DEFAULT_MAX_SIZE;
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+        private Duration maxLifetime = Duration.ofMinutes(30);
+        private Duration validationInterval = Duration.ofSeconds(30);
+        private Duration validationTimeout = Duration.ofSeconds(2);
+        private Duration leakDetectionThreshold;
+        private int statementCacheSize;
+
+        private Builder(ConnectionFactory factory) {
+            this.factory = factory;
+        }
+
+        public Builder maxSize(int maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("maxSize must be > 0");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public Builder acquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = Objects.requireNonNull(acquireTimeout, "acquireTimeout must not be null");
+            return this;
+        }
+
+        /**
+         * Connections older than this are retired on their next return or
+         * borrow. {@code Duration.ZERO} disables the limit.
+         */
+        public Builder maxLifetime(Duration maxLifetime) {
+            this.maxLifetime = Objects.requireNonNull(maxLifetime, "maxLifetime must not be null");
+            return this;
+        }
+
+        /**
+         * Idle time after which a connection is validated before reuse.
+         */
+        public Builder validationInterval(Duration validationInterval) {
+            this.validationInterval = Objects.requireNonNull(validationInterval, "validationInterval must not be null");
+            return this;
+        }
+
+        public Builder validationTimeout(Duration validationTimeout) {
+            this.validationTimeout = Objects.requireNonNull(validationTimeout, "validationTimeout must not be null");
+            return this;
+        }
+
+        /**
+         * Reports connections borrowed for longer than this; {@code null}
+         * (the default) disables leak detection.
+         */
+        public Builder leakDetectionThreshold(Duration leakDetectionThreshold) {
+            this.leakDetectionThreshold = leakDetectionThreshold;
+            return this;
+        }
+
+        /**
+         * Prepared statements cached per physical connection; 0 (the default)
+         * disables statement caching.
+         */
+        public Builder statementCacheSize(int statementCacheSize) {
+            if (statementCacheSize < 0) {
+                throw new IllegalArgumentException("statementCacheSize must be >= 0");
+            }
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        public PooledDataSource build() {
+            return new PooledDataSource(this);
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
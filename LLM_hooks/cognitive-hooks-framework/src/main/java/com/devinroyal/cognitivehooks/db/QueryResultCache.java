@@ -0,0 +1,431 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.db;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Read-through cache for SELECT results, keyed on the data source and tenant
+ * ({@link #scope}), normalized SQL and typed bound parameters. Entries expire
+ * after a TTL, the cache is bounded by an estimated byte budget (LRU
+ * eviction), and every entry is tagged with the tables it reads so writers
+ * can call {@link #invalidateTable(String)} when reference data changes.
+ *
+ * Callers take a {@link #stamp()} before running a query and pass it to
+ * {@link #put}; a result whose tables were invalidated after the stamp was
+ * taken is not stored, so a query racing a write cannot cache stale rows.
+ * Per-table invalidation stamps are forgotten once they are older than the
+ * TTL; a result whose stamp predates a forgotten one is then not stored
+ * either, which only turns away queries that ran for longer than the TTL.
+ *
+ * Cached values are shared between callers and must be treated as read-only.
+ */
+public final class QueryResultCache {
+
+    private static final String NAME = "[\\w.\"`\\[\\]]+";
+    /** Optional alias after a table name; never one of the clause keywords that can follow it. */
+    private static final String ALIAS = "(?:\\s+(?:as\\s+)?(?!(?:where|join|inner|left|right|full|cross|natural"
+            + "|outer|on|using|group|order|having|limit|offset|fetch|union|intersect|except|window|for)\\b)\\w+)?";
+    /** FROM / JOIN followed by one table, or a comma-separated list of them. */
+    private static final Pattern TABLE_REF = Pattern.compile(
+            "\\b(?:from|join)\\s+(" + NAME + ALIAS + "(?:\\s*,\\s*" + NAME + ALIAS + ")*)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("\\s*,\\s*");
+
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<String>> keysByTable = new HashMap<>();
+    private final Map<Object, Long> sourceIds = new WeakHashMap<>();
+    private long nextSourceId;
+    private long currentBytes;
+
+    // Invalidation clock: the stamp of each table's last invalidation, oldest first, and a floor below
+    // which every table counts as invalidated (invalidateAll, or per-table stamps that have expired).
+    private long clock;
+    private long invalidatedAllAt;
+    private final LinkedHashMap<String, Invalidation> invalidatedAt = new LinkedHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public QueryResultCache(long maxBytes, Duration ttl) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be > 0");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be > 0");
+        }
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Scope for {@link #key}: which data source answered the query, and for
+     * which tenant, so equal SQL against different databases or on behalf of
+     * different tenants never shares an entry. Sources are told apart by
+     * identity and not retained.
+     */
+    public synchronized String scope(Object source, String tenantId) {
+        Long id = sourceIds.get(source);
+        if (id == null) {
+            id = ++nextSourceId;
+            sourceIds.put(source, id);
+        }
+        return tenantId == null ? "source#" + id : "source#" + id + '/' + tenantId.length() + ':' + tenantId;
+    }
+
+    /**
+     * Builds the cache key. Parameters keep their Java type, so {@code "1"}
+     * and {@code 1} are different keys. {@code variant} distinguishes result
+     * shapes of the same query (e.g. output format and row cap).
+     */
+    public static String key(String scope, String sql, List<?> params, String variant) {
+        StringBuilder key = new StringBuilder(scope).append('\u0000').append(normalize(sql)).append('\u0000');
+        for (Object param : params) {
+            String value = String.valueOf(param);
+            key.append(param == null ? "null" : param.getClass().getName())
+                    .append(':').append(value.length()).append(':').append(value).append('\u0001');
+        }
+        return key.append('\u0000').append(variant).toString();
+    }
+
+    /**
+     * Collapses whitespace and lower-cases text outside quoted literals and
+     * identifiers, and drops a trailing semicolon, so formatting differences
+     * share one entry.
+     */
+    public static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                out.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\'' || c == '"') {
+                quote = c;
+            }
+            out.append(Character.toLowerCase(c));
+        }
+        int end = out.length();
+        while (end > 0 && (out.charAt(end - 1) == ';' || out.charAt(end - 1) == ' ')) {
+            end--;
+        }
+        out.setLength(end);
+        return out.toString();
+    }
+
+    /**
+     * Table names referenced after FROM / JOIN, including every table of a
+     * comma join ({@code FROM a, b}), lower-cased and unquoted, with any
+     * schema prefix kept ({@code schema.table}) and also the bare name.
+     */
+    public static Set<String> tablesOf(String sql) {
+        Set<String> tables = new HashSet<>();
+        Matcher m = TABLE_REF.matcher(sql);
+        while (m.find()) {
+            for (String ref : LIST_SEPARATOR.split(m.group(1))) {
+                String name = ref.split("\\s+", 2)[0].replaceAll("[\"`\\[\\]]", "").toLowerCase(Locale.ROOT);
+                if (name.isEmpty()) {
+                    continue;
+                }
+                tables.add(name);
+                int dot = name.lastIndexOf('.');
+                if (dot >= 0) {
+                    tables.add(name.substring(dot + 1));
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Current invalidation stamp; take it before running the query whose
+     * result will be passed to {@link #put}.
+     */
+    public synchronized long stamp() {
+        return clock;
+    }
+
+    public synchronized Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - entry.storedNanos > ttlNanos) {
+            remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Stores a result read after {@code stamp} was taken. Values larger than
+     * the whole budget are not cached, and neither are results any of whose
+     * tables were invalidated since the stamp.
+     *
+     * @return whether the value was stored
+     */
+    public synchronized boolean put(String key, Object value, long estimatedBytes, Collection<String> tables, long stamp) {
+        if (estimatedBytes > maxBytes) {
+            return false;
+        }
+        Set<String> tags = new HashSet<>();
+        for (String table : tables) {
+            tags.add(table.toLowerCase(Locale.ROOT));
+        }
+        expireInvalidations(System.nanoTime());
+        if (invalidatedAllAt > stamp) {
+            return false;
+        }
+        for (String tag : tags) {
+            Invalidation invalidation = invalidatedAt.get(tag);
+            if (invalidation != null && invalidation.stamp > stamp) {
+                return false;
+            }
+        }
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            remove(key, previous);
+        }
+        Entry entry = new Entry(value, estimatedBytes, tags, System.nanoTime());
+        entries.put(key, entry);
+        currentBytes += estimatedBytes;
+        for (String tag : tags) {
+            keysByTable.computeIfAbsent(tag, t -> new HashSet<>()).add(key);
+        }
+
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            it.remove();
+            untrack(eldest.getKey(), eldest.getValue());
+            evictions.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Drops every entry that reads {@code table}; returns how many were removed.
+     */
+    public synchronized int invalidateTable(String table) {
+        String tag = table.toLowerCase(Locale.ROOT);
+        long now = System.nanoTime();
+        expireInvalidations(now);
+        // Re-inserted so the map stays ordered by stamp.
+        invalidatedAt.remove(tag);
+        invalidatedAt.put(tag, new Invalidation(++clock, now));
+        Set<String> keys = keysByTable.remove(tag);
+        if (keys == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (String key : keys) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                remove(key, entry);
+                removed++;
+            }
+        }
+        invalidations.add(removed);
+        return removed;
+    }
+
+    public synchronized void invalidateAll() {
+        invalidatedAllAt = ++clock;
+        // Every per-table stamp is now older than invalidatedAllAt.
+        invalidatedAt.clear();
+        invalidations.add(entries.size());
+        entries.clear();
+        keysByTable.clear();
+        currentBytes = 0;
+    }
+
+    /**
+     * Tables whose last invalidation is still remembered individually.
+     */
+    synchronized int getTrackedInvalidations() {
+        return invalidatedAt.size();
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("entries", size());
+        map.put("bytes", getCurrentBytes());
+        map.put("maxBytes", maxBytes);
+        map.put("hits", getHits());
+        map.put("misses", getMisses());
+        map.put("evictions", getEvictions());
+        map.put("invalidations", getInvalidations());
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Rough heap footprint of a result value, used only for budgeting.
+     */
+    public static long estimateBytes(Object value) {
+        if (value == null) {
+            return 8;
+        }
+        if (value instanceof CharSequence cs) {
+            return 40L + 2L * cs.length();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 16;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 48;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                bytes += 32 + estimateBytes(e.getKey()) + estimateBytes(e.getValue());
+            }
+            return bytes;
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = 24;
+            for (Object element : collection) {
+                bytes += 8 + estimateBytes(element);
+            }
+            return bytes;
+        }
+        if (value instanceof ColumnarResult columnar) {
+            long bytes = 64;
+            for (int c = 0; c < columnar.getColumnCount(); c++) {
+                bytes += switch (columnar.getColumnKind(c)) {
+                    case LONG, DOUBLE -> 8L * columnar.getRowCount();
+                    case BOOLEAN -> columnar.getRowCount();
+                    case OBJECT -> {
+                        long objectBytes = 4L * columnar.getRowCount();
+                        for (int r = 0; r < columnar.getRowCount(); r++) {
+                            objectBytes += estimateBytes(columnar.getObject(c, r));
+                        }
+                        yield objectBytes;
+                    }
+                };
+            }
+            return bytes;
+        }
+        return 32;
+    }
+
+    /**
+     * Forgets per-table stamps older than the TTL, folding them into
+     * {@link #invalidatedAllAt} so puts stamped before them are still refused.
+     */
+    private void expireInvalidations(long now) {
+        Iterator<Invalidation> it = invalidatedAt.values().iterator();
+        while (it.hasNext()) {
+            Invalidation oldest = it.next();
+            if (now - oldest.nanos <= ttlNanos) {
+                break;
+            }
+            invalidatedAllAt = Math.max(invalidatedAllAt, oldest.stamp);
+            it.remove();
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        untrack(key, entry);
+    }
+
+    private void untrack(String key, Entry entry) {
+        currentBytes -= entry.bytes;
+        for (String tag : entry.tables) {
+            Set<String> keys = keysByTable.get(tag);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTable.remove(tag);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long bytes;
+        final Set<String> tables;
+        final long storedNanos;
+
+        Entry(Object value, long bytes, Set<String> tables, long storedNanos) {
+            this.value = value;
+            this.bytes = bytes;
+            this.tables = tables;
+            this.storedNanos = storedNanos;
+        }
+    }
+
+    private static final class Invalidation {
+        final long stamp;
+        final long nanos;
+
+        Invalidation(long stamp, long nanos) {
+            this.stamp = stamp;
+            this.nanos = nanos;
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,31 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.db;
+
+/**
+ * Receives query results incrementally. A query hook that streams hands over
+ * each batch as soon as it is read instead of materializing the whole
+ * result, so memory stays bounded by the batch size.
+ *
+ * One sink may serve many concurrent queries, so every call carries the id of
+ * the request that produced it. Calls for one request come from a single
+ * worker thread, in row order. Delivery stops as soon as the caller stops
+ * waiting (its deadline passed or it was interrupted); such a query never
+ * reaches {@link #onComplete}, so a sink that buffers per request can drop
+ * whatever it holds for a request that has not completed.
+ */
+public interface RowBatchSink {
+
+    void onBatch(String requestId, ColumnarResult batch);
+
+    default void onComplete(String requestId, long totalRows, boolean truncated) {
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
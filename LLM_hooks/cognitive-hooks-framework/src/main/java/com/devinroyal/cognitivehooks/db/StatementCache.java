@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed on
+ * the SQL text. Repeated query shapes reuse the already parsed and planned
+ * statement; callers still {@code close()} what they get, which clears the
+ * parameters and hands the statement back to the cache.
+ *
+ * A statement that is already checked out is never handed out twice; the
+ * second caller gets an uncached statement instead.
+ */
+public final class StatementCache {
+
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final Map<String, Entry> entries;
+
+    public StatementCache(int maxSize) {
+        this(maxSize, new LongAdder(), new LongAdder());
+    }
+
+    StatementCache(int maxSize, LongAdder hits, LongAdder misses) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0");
+        }
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= StatementCache.this.maxSize) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @param physical the connection to prepare on
+     * @param owner    the connection callers should see from
+     *                 {@link PreparedStatement#getConnection()}
+     */
+    public synchronized PreparedStatement prepare(Connection physical, Connection owner, String sql) throws SQLException {
+        Entry entry = entries.get(sql);
+        if (entry != null && !entry.physical.isClosed()) {
+            if (entry.inUse) {
+                misses.increment();
+                // Leased like a cached one so getConnection() still reports the owner,
+                // but already evicted, so close() closes it.
+                Entry uncached = new Entry(physical.prepareStatement(sql));
+                uncached.evicted = true;
+                return uncached.checkout(owner);
+            }
+            hits.increment();
+            return entry.checkout(owner);
+        }
+        misses.increment();
+        entry = new Entry(physical.prepareStatement(sql));
+        entries.put(sql, entry);
+        return entry.checkout(owner);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void closeAll() {
+        for (Entry entry : entries.values()) {
+            entry.evict();
+        }
+        entries.clear();
+    }
+
+    private final class Entry {
+        final PreparedStatement physical;
+        boolean inUse;
+        boolean evicted;
+
+        Entry(PreparedStatement physical) {
+            this.physical = physical;
+        }
+
+        PreparedStatement checkout(Connection owner) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new Lease(this, owner));
+        }
+
+        void checkin() {
+            synchronized (StatementCache.this) {
+                inUse = false;
+                if (evicted) {
+                    closeQuietly();
+                    return;
+                }
+            }
+            try {
+                physical.clearParameters();
+            } catch (SQLException e) {
+                synchronized (StatementCache.this) {
+                    entries.values().remove(this);
+                }
+                closeQuietly();
+            }
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // Statement is being discarded anyway.
+            }
+        }
+    }
+
+    private static final class Lease implements InvocationHandler {
+        private final Entry entry;
+        private final Connection owner;
+        private boolean closed;
+
+        Lease(Entry entry, Connection owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        entry.checkin();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || entry.physical.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + entry.physical + "]";
+                case "unwrap":
+                    return PooledDataSource.unwrapProxy(proxy, (Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement has been returned to the cache");
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -10,6 +10,7 @@ import com.devinroyal.cognitivehooks.hooks.enterprise.DatabaseQueryHook;
 import com.devinroyal.cognitivehooks.hooks.multimodal.VisionAnalysisHook;
 import com.devinroyal.cognitivehooks.hooks.reasoning.FactCheckHook;
 import com.devinroyal.cognitivehooks.hooks.reasoning.SimulationHook;
+import com.devinroyal.cognitivehooks.metrics.HistogramMetricsRecorder;
 import com.devinroyal.cognitivehooks.policy.HookPolicyEngine;
 import com.devinroyal.cognitivehooks.safeguards.BiasFilterHook;
 
@@ -27,7 +28,7 @@ public class CognitiveHooksDemo {
     public static void main(String[] args) {
         // 1. Build core services
         HookRegistry registry = new HookRegistry();
-        MetricsRecorder metricsRecorder = new ConsoleMetricsRecorder();
+        HistogramMetricsRecorder metricsRecorder = new HistogramMetricsRecorder();
         ResilientHookExecutor executor = new ResilientHookExecutor(
                 2, // max retries
                 3, // failure threshold
@@ -84,29 +85,9 @@ public class CognitiveHooksDemo {
         for (HookResult result : response.getHookResults()) {
             System.out.println(result);
         }
-    }
-
-    /**
-     * Simple console metrics sink.
-     */
-    private static class ConsoleMetricsRecorder implements MetricsRecorder {
-
-        @Override
-        public void recordSuccess(String hookId, Duration latency) {
-            System.out.printf("METRICS: hook=%s status=SUCCESS latencyMs=%d%n",
-                    hookId, latency.toMillis());
-        }
-
-        @Override
-        public void recordFailure(String hookId, Duration latency, String reason) {
-            System.out.printf("METRICS: hook=%s status=FAIL latencyMs=%d reason=%s%n",
-                    hookId, latency.toMillis(), reason);
-        }
-
-        @Override
-        public void recordCircuitOpen(String hookId) {
-            System.out.printf("METRICS: hook=%s status=CIRCUIT_OPEN%n", hookId);
-        }
+        System.out.println();
+        System.out.println("=== HOOK METRICS ===");
+        metricsRecorder.snapshot().values().forEach(System.out::println);
     }
 
     /**
@@ -135,6 +116,12 @@ public class CognitiveHooksDemo {
             }
             return sb.toString();
         }
+
+        @Override
+        public String complete(LlmPrompt prompt, Map<String, Object> context) throws HookException {
+            // A caching provider would look up prompt.getPrefixId() here and only prefill the suffix.
+            return "[prefix " + prompt.getPrefixId() + "] " + complete(prompt.getSuffix(), context);
+        }
     }
 }
 
@@ -12,23 +12,138 @@ import com.devinroyal.cognitivehooks.core.HookRequest;
 import com.devinroyal.cognitivehooks.core.HookResult;
 import com.devinroyal.cognitivehooks.core.HookStatus;
 import com.devinroyal.cognitivehooks.core.HookType;
+import com.devinroyal.cognitivehooks.core.MetricsRecorder;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import com.devinroyal.cognitivehooks.db.ColumnarResult;
+import com.devinroyal.cognitivehooks.db.PooledDataSource;
+import com.devinroyal.cognitivehooks.db.QueryResultCache;
+import com.devinroyal.cognitivehooks.db.RowBatchSink;
 
+import javax.sql.DataSource;
+import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.JDBCType;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Enterprise hook that allows controlled, parameterized database queries.
  * This demonstrates "query database" capabilities without coupling to any one vendor.
+ *
+ * Connections are borrowed from the context's {@link javax.sql.DataSource}
+ * per execution when one is configured, so concurrent executions scale with
+ * the pool. The single shared context connection is only a fallback and is
+ * used under its monitor.
+ *
+ * Optional payload {@code sqlParams} is a list bound positionally to {@code ?}
+ * placeholders. Plain values bind by Java type; a map such as
+ * {@code {"type": "DATE", "value": "2024-01-01"}} binds with an explicit
+ * {@link JDBCType}. A plain {@code null} binds with the type the driver
+ * reports for the placeholder. Statement reuse is left to the connection:
+ * a {@link PooledDataSource} with a statement cache keeps prepared statements
+ * per physical connection and closes them with it; the hook itself closes
+ * every statement it prepares.
+ *
+ * Results are capped at {@value #MAX_ROWS_CONFIG_KEY} rows (payload
+ * {@code sqlMaxRows} may lower it) and fetched {@value #FETCH_SIZE_CONFIG_KEY}
+ * rows at a time. Payload {@code sqlResultFormat: "columnar"} returns a
+ * {@link ColumnarResult} instead of row maps. Payload {@code sqlStream: true}
+ * streams rows in columnar batches to the {@link RowBatchSink} the context
+ * configures under {@value #ROW_BATCH_SINK_CONFIG_KEY}, tagged with the
+ * request id, and the result carries only counts. Batches are delivered on
+ * the query worker and stop once the query deadline passes.
+ *
+ * When constructed with a {@link QueryResultCache}, non-streamed results are
+ * served from and stored in it, tagged with the tables named in the query
+ * (plus any payload {@code sqlCacheTags}) and scoped to the data source and
+ * the caller's tenant. A result is not stored if one of its tables was
+ * invalidated while the query ran. Payload {@code sqlCache: false} bypasses
+ * the cache for one request.
+ *
+ * Queries run on a fixed pool of workers, by default one per connection of a
+ * default-sized {@link PooledDataSource}; size it to the connection pool in
+ * use, since extra workers would only block waiting for a connection. Each
+ * query is bounded by
+ * {@value #QUERY_TIMEOUT_CONFIG_KEY} (milliseconds, default 30s), time spent
+ * queued for a worker included. When the deadline passes or the calling
+ * thread is interrupted, the statement is cancelled so the connection and
+ * worker are freed promptly; a timeout is reported through
+ * {@link MetricsRecorder#recordTimeoutNanos}.
  */
 public class DatabaseQueryHook implements Hook {
 
     private static final String ID = "database-query-hook";
 
+    public static final String FETCH_SIZE_CONFIG_KEY = "db.fetchSize";
+    public static final String MAX_ROWS_CONFIG_KEY = "db.maxRows";
+    public static final String BATCH_SIZE_CONFIG_KEY = "db.batchSize";
+    public static final String ROW_BATCH_SINK_CONFIG_KEY = "db.rowBatchSink";
+    public static final String QUERY_TIMEOUT_CONFIG_KEY = "db.queryTimeoutMillis";
+
+    private static final int DEFAULT_FETCH_SIZE = 500;
+    private static final int DEFAULT_MAX_ROWS = 10_000;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final long DEFAULT_QUERY_TIMEOUT_MILLIS = 30_000L;
+
+    private final QueryResultCache resultCache;
+    private final ExecutorService queryExecutor;
+
+    public DatabaseQueryHook() {
+        this(null);
+    }
+
+    /**
+     * @param resultCache shared result cache, or {@code null} to always query
+     */
+    public DatabaseQueryHook(QueryResultCache resultCache) {
+        this(resultCache, PooledDataSource.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxConcurrentQueries worker threads for this hook; match the
+     *                             connection pool's maximum size
+     */
+    public DatabaseQueryHook(QueryResultCache resultCache, int maxConcurrentQueries) {
+        this(resultCache, queryExecutor(maxConcurrentQueries));
+    }
+
+    /**
+     * @param queryExecutor runs the blocking JDBC work, so its thread count
+     *                      bounds concurrent queries; owned by the caller
+     */
+    public DatabaseQueryHook(QueryResultCache resultCache, ExecutorService queryExecutor) {
+        this.resultCache = resultCache;
+        this.queryExecutor = Objects.requireNonNull(queryExecutor, "queryExecutor must not be null");
+    }
+
+    private static ExecutorService queryExecutor(int maxConcurrentQueries) {
+        if (maxConcurrentQueries <= 0) {
+            throw new IllegalArgumentException("maxConcurrentQueries must be > 0");
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrentQueries, maxConcurrentQueries,
+                1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "db-query");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     @Override
     public String getId() {
         return ID;
@@ -55,8 +170,10 @@ public class DatabaseQueryHook implements Hook {
     @Override
     public HookResult execute(HookRequest request, HookExecutionContext ctx) throws HookException {
         Instant start = Instant.now();
-        Connection connection = ctx.getDatabaseConnection();
-        if (connection == null) {
+        long startNanos = System.nanoTime();
+        DataSource dataSource = ctx.getDataSource();
+        Connection sharedConnection = ctx.getDatabaseConnection();
+        if (dataSource == null && sharedConnection == null) {
             throw new HookException("No database connection available for DatabaseQueryHook");
         }
 
@@ -65,33 +182,373 @@ public class DatabaseQueryHook implements Hook {
             throw new HookException("Payload 'sqlQuery' must be a String");
         }
 
-        if (!sql.trim().toLowerCase().startsWith("select")) {
+        if (!sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
             throw new HookException("Only SELECT statements are allowed");
         }
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            try (ResultSet rs = ps.executeQuery()) {
+        Object paramsObj = request.getPayload().getOrDefault("sqlParams", Collections.emptyList());
+        if (!(paramsObj instanceof List<?> params)) {
+            throw new HookException("Payload 'sqlParams' must be a List");
+        }
+
+        QueryOptions options = QueryOptions.from(request, ctx);
+        options.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(options.timeoutMillis);
+
+        String cacheKey = null;
+        long cacheStamp = 0L;
+        if (resultCache != null && options.sink == null
+                && !Boolean.FALSE.equals(request.getPayload().get("sqlCache"))) {
+            SecurityContext security = ctx.getSecurityContext();
+            String scope = resultCache.scope(dataSource != null ? dataSource : sharedConnection,
+                    security == null ? null : security.getTenantId());
+            cacheKey = QueryResultCache.key(scope, sql, params,
+                    (options.columnar ? "columnar:" : "rows:") + options.maxRows);
+            cacheStamp = resultCache.stamp();
+            Object cached = resultCache.get(cacheKey);
+            if (cached instanceof CachedResult hit) {
+                Map<String, Object> diagnostics = new HashMap<>();
+                diagnostics.put("rowCount", hit.rowCount);
+                diagnostics.put("truncated", hit.truncated);
+                diagnostics.put("cacheHit", true);
+                return HookResult.builder(getId(), getType(), HookStatus.SUCCESS)
+                        .message("Served database query from result cache")
+                        .data(hit.data)
+                        .latency(Duration.between(start, Instant.now()))
+                        .diagnostics(diagnostics)
+                        .build();
+            }
+        }
+
+        AtomicReference<PreparedStatement> running = new AtomicReference<>();
+        Future<QueryOutcome> future = queryExecutor.submit(() -> {
+            if (dataSource != null) {
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement ps = connection.prepareStatement(sql)) {
+                    return runIfNotCancelled(running, ps, params, options);
+                }
+            }
+            synchronized (sharedConnection) {
+                try (PreparedStatement ps = sharedConnection.prepareStatement(sql)) {
+                    return runIfNotCancelled(running, ps, params, options);
+                }
+            }
+        });
+
+        QueryOutcome outcome;
+        try {
+            outcome = future.get(options.timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancel(future, running);
+            MetricsRecorder metrics = ctx.getMetricsRecorder();
+            if (metrics != null) {
+                metrics.recordTimeoutNanos(getId(), System.nanoTime() - startNanos);
+            }
+            throw new HookException("Database query timed out after " + options.timeoutMillis + " ms", e);
+        } catch (InterruptedException e) {
+            cancel(future, running);
+            Thread.currentThread().interrupt();
+            throw new HookException("Database query cancelled: caller interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof HookException he) {
+                throw he;
+            }
+            if (cause instanceof SQLException) {
+                throw new HookException("Database query failed: " + cause.getMessage(), cause);
+            }
+            throw new HookException("Database query failed: " + cause, cause);
+        }
+
+        Map<String, Object> diagnostics = new HashMap<>();
+        diagnostics.put("rowCount", outcome.rowCount);
+        diagnostics.put("truncated", outcome.truncated);
+        if (options.sink != null) {
+            diagnostics.put("batches", outcome.batches);
+        }
+        if (cacheKey != null) {
+            outcome.data = freeze(outcome.data);
+            Set<String> tables = QueryResultCache.tablesOf(sql);
+            if (request.getPayload().get("sqlCacheTags") instanceof Collection<?> extraTags) {
+                extraTags.forEach(tag -> tables.add(String.valueOf(tag)));
+            }
+            boolean stored = resultCache.put(cacheKey,
+                    new CachedResult(outcome.data, outcome.rowCount, outcome.truncated),
+                    QueryResultCache.estimateBytes(outcome.data), tables, cacheStamp);
+            diagnostics.put("cacheHit", false);
+            diagnostics.put("cacheStored", stored);
+        }
+
+        Duration latency = Duration.between(start, Instant.now());
+        return HookResult.builder(getId(), getType(), HookStatus.SUCCESS)
+                .message(outcome.truncated
+                        ? "Successfully executed database query (truncated at " + options.maxRows + " rows)"
+                        : "Successfully executed database query")
+                .data(outcome.data)
+                .latency(latency)
+                .diagnostics(diagnostics)
+                .build();
+    }
+
+    /**
+     * Aborts a query the caller no longer waits for. {@code Statement.cancel()}
+     * is the JDBC-sanctioned cross-thread abort; interrupting the worker also
+     * unblocks a task still waiting for a pooled connection.
+     */
+    private static void cancel(Future<?> future, AtomicReference<PreparedStatement> running) {
+        // Interrupt first: a worker that publishes its statement after this
+        // read still sees the interrupt before executing.
+        future.cancel(true);
+        PreparedStatement ps = running.get();
+        if (ps != null) {
+            try {
+                ps.cancel();
+            } catch (SQLException ignored) {
+                // Statement may already be finished or closed.
+            }
+        }
+    }
+
+    private static QueryOutcome runIfNotCancelled(AtomicReference<PreparedStatement> running, PreparedStatement ps,
+                                                  List<?> params, QueryOptions options)
+            throws SQLException, HookException {
+        running.set(ps);
+        if (Thread.currentThread().isInterrupted()) {
+            throw new SQLException("Query cancelled before execution");
+        }
+        return runQuery(ps, params, options);
+    }
+
+    private static QueryOutcome runQuery(PreparedStatement ps, List<?> params, QueryOptions options)
+            throws SQLException, HookException {
+        for (int i = 0; i < params.size(); i++) {
+            bind(ps, i + 1, params.get(i));
+        }
+        // Driver-side backstop in case cancellation from the caller is lost.
+        ps.setQueryTimeout((int) Math.max(1L, (options.timeoutMillis + 999L) / 1000L));
+        // One extra row tells us whether the cap truncated the result.
+        int maxRows = options.maxRows == Integer.MAX_VALUE ? 0 : options.maxRows + 1;
+        // Cached statements keep their previous limits, and drivers may reject a
+        // fetch size above max rows, so clear the limit before setting both.
+        ps.setMaxRows(0);
+        ps.setFetchSize(maxRows == 0 ? options.fetchSize : Math.min(options.fetchSize, maxRows));
+        ps.setMaxRows(maxRows);
+
+        QueryOutcome outcome = new QueryOutcome();
+        try (ResultSet rs = ps.executeQuery()) {
+            if (options.sink != null) {
+                ColumnarResult.Builder batch = new ColumnarResult.Builder(rs.getMetaData(), options.batchSize);
+                while (rs.next()) {
+                    if (outcome.rowCount == options.maxRows) {
+                        outcome.truncated = true;
+                        break;
+                    }
+                    batch.appendRow(rs);
+                    outcome.rowCount++;
+                    if (batch.getRowCount() == options.batchSize) {
+                        deliver(options, batch.build());
+                        outcome.batches++;
+                    }
+                }
+                if (batch.getRowCount() > 0) {
+                    deliver(options, batch.build());
+                    outcome.batches++;
+                }
+                ensureAwaited(options);
+                options.sink.onComplete(options.requestId, outcome.rowCount, outcome.truncated);
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("streamed", true);
+                summary.put("rowCount", outcome.rowCount);
+                summary.put("batches", outcome.batches);
+                summary.put("truncated", outcome.truncated);
+                outcome.data = summary;
+            } else if (options.columnar) {
+                ColumnarResult.Builder builder = new ColumnarResult.Builder(rs.getMetaData(), Math.min(options.maxRows, 64));
+                while (rs.next()) {
+                    if (outcome.rowCount == options.maxRows) {
+                        outcome.truncated = true;
+                        break;
+                    }
+                    builder.appendRow(rs);
+                    outcome.rowCount++;
+                }
+                outcome.data = builder.build();
+            } else {
                 List<Map<String, Object>> rows = new ArrayList<>();
-                int columnCount = rs.getMetaData().getColumnCount();
+                ResultSetMetaData metaData = rs.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                String[] labels = new String[columnCount];
+                for (int i = 1; i <= columnCount; i++) {
+                    labels[i - 1] = metaData.getColumnLabel(i);
+                }
                 while (rs.next()) {
+                    if (outcome.rowCount == options.maxRows) {
+                        outcome.truncated = true;
+                        break;
+                    }
                     Map<String, Object> row = new LinkedHashMap<>();
                     for (int i = 1; i <= columnCount; i++) {
-                        String colName = rs.getMetaData().getColumnLabel(i);
-                        row.put(colName, rs.getObject(i));
+                        row.put(labels[i - 1], rs.getObject(i));
                     }
                     rows.add(row);
+                    outcome.rowCount++;
                 }
-                Duration latency = Duration.between(start, Instant.now());
-                return HookResult.builder(getId(), getType(), HookStatus.SUCCESS)
-                        .message("Successfully executed database query")
-                        .data(rows)
-                        .latency(latency)
-                        .build();
+                outcome.data = rows;
+            }
+        }
+        return outcome;
+    }
+
+    private static void deliver(QueryOptions options, ColumnarResult batch) throws SQLException {
+        ensureAwaited(options);
+        options.sink.onBatch(options.requestId, batch);
+    }
+
+    /**
+     * Once the caller has given up, its sink must not see more rows: the
+     * request already failed from the caller's point of view.
+     */
+    private static void ensureAwaited(QueryOptions options) throws SQLException {
+        if (Thread.currentThread().isInterrupted() || System.nanoTime() - options.deadlineNanos >= 0) {
+            throw new SQLException("Streaming stopped: caller is no longer waiting for request "
+                    + options.requestId);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, int index, Object value) throws SQLException, HookException {
+        if (value == null) {
+            ps.setNull(index, nullType(ps, index));
+        } else if (value instanceof Map<?, ?> typed) {
+            Object typeName = typed.get("type");
+            if (!(typeName instanceof String)) {
+                throw new HookException("sqlParams[" + (index - 1) + "] must have a String 'type'");
+            }
+            JDBCType type;
+            try {
+                type = JDBCType.valueOf(((String) typeName).toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new HookException("sqlParams[" + (index - 1) + "] has unknown JDBC type '" + typeName + "'", e);
             }
-        } catch (SQLException e) {
-            throw new HookException("Database query failed: " + e.getMessage(), e);
+            Object typedValue = typed.get("value");
+            if (typedValue == null) {
+                ps.setNull(index, type.getVendorTypeNumber());
+            } else {
+                ps.setObject(index, typedValue, type);
+            }
+        } else if (value instanceof String v) {
+            ps.setString(index, v);
+        } else if (value instanceof Integer v) {
+            ps.setInt(index, v);
+        } else if (value instanceof Long v) {
+            ps.setLong(index, v);
+        } else if (value instanceof Double v) {
+            ps.setDouble(index, v);
+        } else if (value instanceof Boolean v) {
+            ps.setBoolean(index, v);
+        } else if (value instanceof BigDecimal v) {
+            ps.setBigDecimal(index, v);
+        } else {
+            ps.setObject(index, value);
         }
     }
+
+    /**
+     * Type for binding an untyped null. Many drivers reject
+     * {@link Types#NULL}, so use the placeholder's declared type when the
+     * driver can describe it, and VARCHAR (accepted almost everywhere)
+     * otherwise.
+     */
+    private static int nullType(PreparedStatement ps, int index) {
+        try {
+            int type = ps.getParameterMetaData().getParameterType(index);
+            return type == Types.NULL ? Types.VARCHAR : type;
+        } catch (SQLException | RuntimeException e) {
+            return Types.VARCHAR;
+        }
+    }
+
+    /**
+     * Cached values are shared across callers, so row maps are made read-only.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object freeze(Object data) {
+        if (data instanceof List<?> rows) {
+            List<Map<String, Object>> frozen = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                frozen.add(Collections.unmodifiableMap((Map<String, Object>) row));
+            }
+            return Collections.unmodifiableList(frozen);
+        }
+        return data;
+    }
+
+    private static final class CachedResult {
+        final Object data;
+        final long rowCount;
+        final boolean truncated;
+
+        CachedResult(Object data, long rowCount, boolean truncated) {
+            this.data = data;
+            this.rowCount = rowCount;
+            this.truncated = truncated;
+        }
+    }
+
+    private static final class QueryOptions {
+        int fetchSize;
+        int maxRows;
+        int batchSize;
+        boolean columnar;
+        long timeoutMillis;
+        long deadlineNanos;
+        String requestId;
+        RowBatchSink sink;
+
+        static QueryOptions from(HookRequest request, HookExecutionContext ctx) throws HookException {
+            QueryOptions options = new QueryOptions();
+            options.fetchSize = positiveConfig(ctx, FETCH_SIZE_CONFIG_KEY, DEFAULT_FETCH_SIZE);
+            options.batchSize = positiveConfig(ctx, BATCH_SIZE_CONFIG_KEY, DEFAULT_BATCH_SIZE);
+            options.requestId = request.getRequestId();
+            if (Boolean.TRUE.equals(request.getPayload().get("sqlStream"))) {
+                options.sink = ctx.getConfigValue(ROW_BATCH_SINK_CONFIG_KEY, RowBatchSink.class);
+                if (options.sink == null) {
+                    throw new HookException("Payload 'sqlStream' requires a RowBatchSink under '"
+                            + ROW_BATCH_SINK_CONFIG_KEY + "'");
+                }
+            }
+            // Streaming keeps memory flat, so it is only capped when a limit is configured explicitly.
+            int defaultMaxRows = options.sink != null ? Integer.MAX_VALUE : DEFAULT_MAX_ROWS;
+            options.maxRows = positiveConfig(ctx, MAX_ROWS_CONFIG_KEY, defaultMaxRows);
+            Number timeout = ctx.getConfigValue(QUERY_TIMEOUT_CONFIG_KEY, Number.class);
+            options.timeoutMillis = timeout != null && timeout.longValue() > 0
+                    ? timeout.longValue()
+                    : DEFAULT_QUERY_TIMEOUT_MILLIS;
+
+            Object requestedMax = request.getPayload().get("sqlMaxRows");
+            if (requestedMax instanceof Number n && n.intValue() > 0) {
+                options.maxRows = Math.min(options.maxRows, n.intValue());
+            }
+
+            Object format = request.getPayload().getOrDefault("sqlResultFormat", "rows");
+            if ("columnar".equals(format)) {
+                options.columnar = true;
+            } else if (!"rows".equals(format)) {
+                throw new HookException("Payload 'sqlResultFormat' must be 'rows' or 'columnar'");
+            }
+            return options;
+        }
+
+        private static int positiveConfig(HookExecutionContext ctx, String key, int defaultValue) {
+            Integer value = ctx.getConfigValue(key, Integer.class);
+            return value != null && value > 0 ? value : defaultValue;
+        }
+    }
+
+    private static final class QueryOutcome {
+        Object data;
+        long rowCount;
+        boolean truncated;
+        int batches;
+    }
 }
 
 /*
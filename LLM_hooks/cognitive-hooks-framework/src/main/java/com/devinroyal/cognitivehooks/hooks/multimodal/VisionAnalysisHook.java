@@ -12,22 +12,128 @@ import com.devinroyal.cognitivehooks.core.HookRequest;
 import com.devinroyal.cognitivehooks.core.HookResult;
 import com.devinroyal.cognitivehooks.core.HookStatus;
 import com.devinroyal.cognitivehooks.core.HookType;
+import com.devinroyal.cognitivehooks.core.MetricsRecorder;
+import com.devinroyal.cognitivehooks.hooks.multimodal.image.ColorHistogram;
+import com.devinroyal.cognitivehooks.hooks.multimodal.image.ImageAnalysisCache;
+import com.devinroyal.cognitivehooks.hooks.multimodal.image.ImageBytes;
+import com.devinroyal.cognitivehooks.hooks.multimodal.image.ImageDecoder;
+import com.devinroyal.cognitivehooks.hooks.multimodal.image.PixelBudget;
 
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystemException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
- * Multimodal hook for vision analysis. In a real deployment this would call
- * a vision model or robotics perception stack. For now it demonstrates the protocol.
+ * Multimodal hook for vision analysis. Loads a local image from a
+ * {@code file:} URI, decodes it at reduced resolution and reports its
+ * dimensions, format, dominant colors and mean luminance. Object detection
+ * would call a vision model or robotics perception stack; this hook supplies
+ * the cheap, deterministic pixel statistics.
+ *
+ * Payload keys: {@code imageUri}, {@code imageMaxDimension} (longest side of
+ * the decoded raster, default 512) and {@code imageColors} (default 5).
+ * Analyses are cached by content hash, so the same image under different URIs
+ * is decoded once. Config {@value #MAX_IMAGE_BYTES_CONFIG_KEY} caps the file
+ * size. Reads are confined to the directory tree named by
+ * {@value #IMAGE_ROOT_CONFIG_KEY}; without it every {@code file:} URI is
+ * rejected. Errors name the requested URI but never the resolved path or
+ * the underlying file-system message.
+ *
+ * Batch mode: payload {@code imageUris} (a list of {@code file:} URIs) analyzes
+ * the images in parallel on the hook's decode executor and returns per-image
+ * results plus aggregates. Decoded rasters of all in-flight images, across
+ * requests, share one {@link PixelBudget}, so a large batch is throttled by
+ * memory rather than allowed to decode everything at once. A failed image is
+ * reported in its entry without failing the rest of the batch. Identical
+ * images decoded concurrently are decoded only once. The whole batch must
+ * finish within {@value #BATCH_TIMEOUT_CONFIG_KEY} (milliseconds, default
+ * 60s); otherwise, or if the caller is interrupted, images still queued or
+ * decoding are cancelled and the request fails.
  */
 public class VisionAnalysisHook implements Hook {
 
     private static final String ID = "vision-analysis-hook";
 
+    public static final String MAX_IMAGE_BYTES_CONFIG_KEY = "vision.maxImageBytes";
+    public static final String IMAGE_ROOT_CONFIG_KEY = "vision.imageRoot";
+    public static final String BATCH_TIMEOUT_CONFIG_KEY = "vision.batchTimeoutMillis";
+
+    private static final long DEFAULT_MAX_IMAGE_BYTES = 64L * 1024 * 1024;
+    private static final int DEFAULT_MAX_DIMENSION = 512;
+    private static final int MAX_DIMENSION_LIMIT = 4096;
+    private static final int DEFAULT_COLORS = 5;
+    private static final int MAX_COLORS = 32;
+    private static final int MAX_BATCH_IMAGES = 256;
+    private static final long DEFAULT_DECODE_BUDGET_BYTES = 256L * 1024 * 1024;
+    private static final long DEFAULT_BATCH_TIMEOUT_MILLIS = 60_000L;
+
+    private final ColorHistogram histogram;
+    private final ImageAnalysisCache analysisCache;
+    private final PixelBudget decodeBudget;
+    private final ExecutorService decodeExecutor;
+    private final ConcurrentMap<String, CompletableFuture<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public VisionAnalysisHook() {
+        this(new ColorHistogram(), new ImageAnalysisCache(512));
+    }
+
+    /**
+     * @param analysisCache content-hash cache, or {@code null} to always decode
+     */
+    public VisionAnalysisHook(ColorHistogram histogram, ImageAnalysisCache analysisCache) {
+        this(histogram, analysisCache, new PixelBudget(DEFAULT_DECODE_BUDGET_BYTES),
+                decodeExecutor(Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @param decodeBudget   bytes of decoded rasters allowed in flight at once
+     * @param decodeExecutor runs per-image work in batch mode; owned by the
+     *                       caller, and may be shared with other hooks
+     */
+    public VisionAnalysisHook(ColorHistogram histogram,
+                              ImageAnalysisCache analysisCache,
+                              PixelBudget decodeBudget,
+                              ExecutorService decodeExecutor) {
+        this.histogram = Objects.requireNonNull(histogram, "histogram must not be null");
+        this.analysisCache = analysisCache;
+        this.decodeBudget = Objects.requireNonNull(decodeBudget, "decodeBudget must not be null");
+        this.decodeExecutor = Objects.requireNonNull(decodeExecutor, "decodeExecutor must not be null");
+    }
+
+    private static ExecutorService decodeExecutor(int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "vision-decode");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     @Override
     public String getId() {
         return ID;
@@ -49,33 +155,299 @@ public class VisionAnalysisHook implements Hook {
 
     @Override
     public boolean supports(HookRequest request, HookExecutionContext ctx) {
-        return request.getPayload().containsKey("imageUri");
+        return request.getPayload().containsKey("imageUri") || request.getPayload().containsKey("imageUris");
     }
 
     @Override
     public HookResult execute(HookRequest request, HookExecutionContext ctx) throws HookException {
         Instant start = Instant.now();
-        Object uriObj = request.getPayload().get("imageUri");
+        Map<String, Object> payload = request.getPayload();
+        int maxDimension = intOption(payload, "imageMaxDimension", DEFAULT_MAX_DIMENSION, MAX_DIMENSION_LIMIT);
+        int colors = intOption(payload, "imageColors", DEFAULT_COLORS, MAX_COLORS);
+
+        if (payload.containsKey("imageUris")) {
+            return executeBatch(payload.get("imageUris"), maxDimension, colors, ctx, start);
+        }
+
+        Object uriObj = payload.get("imageUri");
         if (!(uriObj instanceof String imageUri)) {
             throw new HookException("Payload 'imageUri' must be a String");
         }
+        ImageOutcome outcome = analyzeUri(imageUri, maxDimension, colors, ctx);
+
+        Map<String, Object> data = new HashMap<>(outcome.analysis);
+        data.put("imageUri", imageUri);
+        data.put("cached", outcome.cached);
+
+        Duration latency = Duration.between(start, Instant.now());
+        return HookResult.builder(getId(), getType(), HookStatus.SUCCESS)
+                .message("Vision analysis completed")
+                .data(data)
+                .latency(latency)
+                .build();
+    }
+
+    private HookResult executeBatch(Object urisObj, int maxDimension, int colors,
+                                    HookExecutionContext ctx, Instant start) throws HookException {
+        if (!(urisObj instanceof List<?> rawUris) || rawUris.isEmpty()) {
+            throw new HookException("Payload 'imageUris' must be a non-empty List");
+        }
+        if (rawUris.size() > MAX_BATCH_IMAGES) {
+            throw new HookException("Payload 'imageUris' has " + rawUris.size()
+                    + " entries; limit is " + MAX_BATCH_IMAGES);
+        }
+        List<String> uris = new ArrayList<>(rawUris.size());
+        for (Object uri : rawUris) {
+            if (!(uri instanceof String s)) {
+                throw new HookException("Payload 'imageUris' must contain only Strings");
+            }
+            uris.add(s);
+        }
+
+        long startNanos = System.nanoTime();
+        long timeoutMillis = batchTimeoutMillis(ctx);
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<Future<ImageOutcome>> futures = new ArrayList<>(uris.size());
+        List<Map<String, Object>> images = new ArrayList<>(uris.size());
+        int succeeded = 0;
+        int cacheHits = 0;
+        long totalBytes = 0;
+        double luminanceSum = 0;
+        Map<String, Double> colorShares = new HashMap<>();
+        String firstError = null;
+        boolean collected = false;
+        try {
+            for (String uri : uris) {
+                futures.add(decodeExecutor.submit(() -> analyzeUri(uri, maxDimension, colors, ctx)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("imageUri", uris.get(i));
+                try {
+                    ImageOutcome outcome = futures.get(i).get(deadlineNanos - System.nanoTime(),
+                            TimeUnit.NANOSECONDS);
+                    entry.putAll(outcome.analysis);
+                    entry.put("cached", outcome.cached);
+                    succeeded++;
+                    cacheHits += outcome.cached ? 1 : 0;
+                    totalBytes += ((Number) outcome.analysis.get("bytes")).longValue();
+                    luminanceSum += (Double) outcome.analysis.get("meanLuminance");
+                    for (Object c : (List<?>) outcome.analysis.get("dominantColors")) {
+                        Map<?, ?> color = (Map<?, ?>) c;
+                        colorShares.merge((String) color.get("name"), (Double) color.get("share"), Double::sum);
+                    }
+                } catch (ExecutionException e) {
+                    String error = e.getCause().getMessage();
+                    entry.put("error", error);
+                    firstError = firstError == null ? error : firstError;
+                } catch (TimeoutException e) {
+                    MetricsRecorder metrics = ctx.getMetricsRecorder();
+                    if (metrics != null) {
+                        metrics.recordTimeoutNanos(getId(), System.nanoTime() - startNanos);
+                    }
+                    throw new HookException("Vision batch timed out after " + timeoutMillis + " ms with "
+                            + i + " of " + uris.size() + " images collected", e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new HookException("Vision batch interrupted", e);
+                }
+                images.add(entry);
+            }
+            collected = true;
+        } finally {
+            if (!collected) {
+                // Whatever ended the batch early, queued and running images are no longer wanted.
+                futures.forEach(f -> f.cancel(true));
+            }
+        }
+        if (succeeded == 0) {
+            throw new HookException("All " + uris.size() + " images failed; first error: " + firstError);
+        }
+
+        // Average share per image, so every image weighs the same regardless of size.
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(colorShares.entrySet());
+        ranked.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        Map<String, Object> colorNames = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> e : ranked) {
+            colorNames.put(e.getKey(), e.getValue() / succeeded);
+        }
+
+        Map<String, Object> aggregate = new LinkedHashMap<>();
+        aggregate.put("images", uris.size());
+        aggregate.put("succeeded", succeeded);
+        aggregate.put("failed", uris.size() - succeeded);
+        aggregate.put("cacheHits", cacheHits);
+        aggregate.put("totalBytes", totalBytes);
+        aggregate.put("meanLuminance", luminanceSum / succeeded);
+        aggregate.put("dominantColorNames", colorNames);
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("images", images);
+        data.put("aggregate", aggregate);
 
-        // In a real system, call external vision API / robotics stack here.
-        // For demonstration we synthesize a dummy structured response.
-        Map<String, Object> analysis = Map.of(
-                "imageUri", imageUri,
-                "detectedObjects", new String[]{"screen", "keyboard"},
-                "dominantColors", new String[]{"dark-gray", "blue"},
-                "safetyFlags", new String[]{"safe"}
-        );
+        Map<String, Object> diagnostics = new HashMap<>();
+        diagnostics.put("decodeBudgetBytes", decodeBudget.getMaxBytes());
+        diagnostics.put("decodeBudgetPeakBytes", decodeBudget.getPeakInUse());
 
         Duration latency = Duration.between(start, Instant.now());
         return HookResult.builder(getId(), getType(), HookStatus.SUCCESS)
-                .message("Vision analysis completed (demo)")
-                .data(analysis)
+                .message("Vision analysis completed for " + succeeded + " of " + uris.size() + " images")
+                .data(data)
+                .diagnostics(diagnostics)
                 .latency(latency)
                 .build();
     }
+
+    /**
+     * Reads, hashes and analyzes one image, consulting the content-hash cache
+     * and joining an identical decode already in progress.
+     */
+    private ImageOutcome analyzeUri(String imageUri, int maxDimension, int colors, HookExecutionContext ctx)
+            throws HookException {
+        Path path = resolve(imageUri, ctx);
+        ImageBytes bytes;
+        try {
+            bytes = ImageBytes.read(path, maxImageBytes(ctx));
+        } catch (ImageBytes.RejectedException e) {
+            throw new HookException("Rejected image '" + imageUri + "': " + e.getMessage(), e);
+        } catch (FileSystemException e) {
+            throw new HookException("Image not found or not readable: " + imageUri, e);
+        } catch (IOException e) {
+            throw new HookException("Failed to read image '" + imageUri + "'", e);
+        }
+
+        String key = ImageAnalysisCache.key(bytes.getContentHash(), maxDimension, colors);
+        Map<String, Object> analysis = analysisCache == null ? null : analysisCache.get(key);
+        if (analysis != null) {
+            return new ImageOutcome(analysis, true);
+        }
+
+        CompletableFuture<Map<String, Object>> mine = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            try {
+                return new ImageOutcome(running.get(), true);
+            } catch (ExecutionException e) {
+                throw new HookException("Failed to analyze image '" + imageUri + "': "
+                        + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HookException("Interrupted analyzing image '" + imageUri + "'", e);
+            }
+        }
+        try {
+            analysis = analyze(bytes, maxDimension, colors, imageUri);
+            if (analysisCache != null) {
+                analysisCache.put(key, analysis);
+            }
+            mine.complete(analysis);
+            return new ImageOutcome(analysis, false);
+        } catch (HookException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Map<String, Object> analyze(ImageBytes bytes, int maxDimension, int colors, String imageUri)
+            throws HookException {
+        Map<String, Object> analysis = new LinkedHashMap<>();
+        try (ImageDecoder.DecodedImage decoded = ImageDecoder.decode(bytes.getData(), maxDimension, decodeBudget)) {
+            BufferedImage image = decoded.getImage();
+            ColorHistogram.Result colorStats = histogram.compute(image);
+
+            analysis.put("contentHash", bytes.getContentHash());
+            analysis.put("bytes", bytes.getSize());
+            analysis.put("format", decoded.getFormat());
+            analysis.put("width", decoded.getSourceWidth());
+            analysis.put("height", decoded.getSourceHeight());
+            analysis.put("analyzedWidth", image.getWidth());
+            analysis.put("analyzedHeight", image.getHeight());
+            analysis.put("subsampling", decoded.getSubsampling());
+            analysis.put("dominantColors", colorStats.dominantColors(colors));
+            analysis.put("meanLuminance", colorStats.getMeanLuminance());
+        } catch (IOException e) {
+            throw new HookException("Failed to decode image '" + imageUri + "': " + e.getMessage(), e);
+        }
+        return Collections.unmodifiableMap(analysis);
+    }
+
+    /**
+     * Maps a {@code file:} URI to a real path inside the configured image
+     * root. The lexical path is checked before touching the file system so
+     * that a path outside the root is rejected the same way whether or not
+     * it exists; the real path is checked again to catch symlinks.
+     */
+    private static Path resolve(String imageUri, HookExecutionContext ctx) throws HookException {
+        String root = ctx.getConfigValue(IMAGE_ROOT_CONFIG_KEY, String.class);
+        if (root == null || root.isBlank()) {
+            throw new HookException("Local image access is disabled; configure " + IMAGE_ROOT_CONFIG_KEY);
+        }
+        Path path;
+        try {
+            URI uri = URI.create(imageUri);
+            if (!"file".equalsIgnoreCase(uri.getScheme())) {
+                throw new HookException("Unsupported imageUri scheme (only file: is supported): " + imageUri);
+            }
+            path = Path.of(uri).toAbsolutePath().normalize();
+        } catch (IllegalArgumentException e) {
+            throw new HookException("Invalid imageUri: " + imageUri, e);
+        }
+
+        Path rootPath = Path.of(root).toAbsolutePath().normalize();
+        if (!path.startsWith(rootPath)) {
+            throw new HookException("imageUri is outside the configured image root: " + imageUri);
+        }
+        Path real;
+        try {
+            real = path.toRealPath();
+            rootPath = rootPath.toRealPath();
+        } catch (IOException e) {
+            throw new HookException("Image not found or not readable: " + imageUri, e);
+        }
+        if (!real.startsWith(rootPath)) {
+            throw new HookException("imageUri is outside the configured image root: " + imageUri);
+        }
+        return real;
+    }
+
+    private static long batchTimeoutMillis(HookExecutionContext ctx) {
+        Number configured = ctx.getConfigValue(BATCH_TIMEOUT_CONFIG_KEY, Number.class);
+        return configured != null && configured.longValue() > 0
+                ? configured.longValue()
+                : DEFAULT_BATCH_TIMEOUT_MILLIS;
+    }
+
+    private static long maxImageBytes(HookExecutionContext ctx) {
+        Number configured = ctx.getConfigValue(MAX_IMAGE_BYTES_CONFIG_KEY, Number.class);
+        long max = configured != null && configured.longValue() > 0
+                ? configured.longValue()
+                : DEFAULT_MAX_IMAGE_BYTES;
+        // A single buffer (heap or mapped) is limited to 2 GiB.
+        return Math.min(max, Integer.MAX_VALUE);
+    }
+
+    private static final class ImageOutcome {
+        final Map<String, Object> analysis;
+        final boolean cached;
+
+        ImageOutcome(Map<String, Object> analysis, boolean cached) {
+            this.analysis = analysis;
+            this.cached = cached;
+        }
+    }
+
+    private static int intOption(Map<String, Object> payload, String key, int defaultValue, int max) {
+        Object value = payload.get(key);
+        if (value instanceof Number) {
+            int val = ((Number) value).intValue();
+            if (val > 0 && val <= max) {
+                return val;
+            }
+        }
+        return defaultValue;
+    }
 }
 
 /*
@@ -0,0 +1,250 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.multimodal.image;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Quantized RGB histogram (4 bits per channel, 4096 bins) built in parallel
+ * over horizontal bands of the image. Each band fills its own primitive
+ * arrays, which are merged pairwise, so there is no shared mutable state.
+ * Each bin also keeps channel sums, so reported colors are the mean of the
+ * pixels in the bin rather than the bin's corner.
+ *
+ * Pixels with alpha below 16 are ignored.
+ */
+public final class ColorHistogram {
+
+    private static final int BINS = 4096;
+    private static final int BAND_PIXELS = 64 * 1024;
+    private static final int MIN_ALPHA = 16;
+
+    private final ForkJoinPool pool;
+
+    public ColorHistogram() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ColorHistogram(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool must not be null");
+    }
+
+    public Result compute(BufferedImage image) {
+        int width = image.getWidth();
+        int bandRows = Math.max(1, BAND_PIXELS / Math.max(1, width));
+        return new Result(pool.invoke(new BandTask(image, 0, image.getHeight(), bandRows)));
+    }
+
+    /**
+     * Dominant colors, mean luminance and the number of counted pixels.
+     */
+    public static final class Result {
+        private final Bins bins;
+
+        Result(Bins bins) {
+            this.bins = bins;
+        }
+
+        public long getPixelCount() {
+            return bins.total;
+        }
+
+        /**
+         * Mean Rec. 709 luma in [0, 1]; 0 for a fully transparent image.
+         */
+        public double getMeanLuminance() {
+            if (bins.total == 0) {
+                return 0.0;
+            }
+            double r = 0;
+            double g = 0;
+            double b = 0;
+            for (int i = 0; i < BINS; i++) {
+                r += bins.sums[3 * i];
+                g += bins.sums[3 * i + 1];
+                b += bins.sums[3 * i + 2];
+            }
+            return (0.2126 * r + 0.7152 * g + 0.0722 * b) / (255.0 * bins.total);
+        }
+
+        /**
+         * The {@code limit} most populated bins, most frequent first, as maps
+         * with {@code hex}, {@code name} and {@code share} (fraction of pixels).
+         */
+        public List<Map<String, Object>> dominantColors(int limit) {
+            if (bins.total == 0 || limit <= 0) {
+                return Collections.emptyList();
+            }
+            // Partial selection: limit is small, so repeated max scans beat sorting 4096 bins.
+            boolean[] taken = new boolean[BINS];
+            List<Map<String, Object>> colors = new ArrayList<>(limit);
+            for (int k = 0; k < limit; k++) {
+                int best = -1;
+                for (int i = 0; i < BINS; i++) {
+                    if (!taken[i] && bins.counts[i] > 0 && (best < 0 || bins.counts[i] > bins.counts[best])) {
+                        best = i;
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                taken[best] = true;
+                long count = bins.counts[best];
+                int r = (int) Math.round((double) bins.sums[3 * best] / count);
+                int g = (int) Math.round((double) bins.sums[3 * best + 1] / count);
+                int b = (int) Math.round((double) bins.sums[3 * best + 2] / count);
+
+                Map<String, Object> color = new LinkedHashMap<>();
+                color.put("hex", String.format("#%02x%02x%02x", r, g, b));
+                color.put("name", colorName(r, g, b));
+                color.put("share", (double) count / bins.total);
+                colors.add(Collections.unmodifiableMap(color));
+            }
+            return Collections.unmodifiableList(colors);
+        }
+    }
+
+    /**
+     * Coarse human-readable name from hue, saturation and value.
+     */
+    static String colorName(int r, int g, int b) {
+        int max = Math.max(r, Math.max(g, b));
+        int min = Math.min(r, Math.min(g, b));
+        double value = max / 255.0;
+        double saturation = max == 0 ? 0 : (max - min) / (double) max;
+
+        if (value < 0.15) {
+            return "black";
+        }
+        if (saturation < 0.15) {
+            if (value > 0.9) {
+                return "white";
+            }
+            if (value > 0.65) {
+                return "light-gray";
+            }
+            return value > 0.35 ? "gray" : "dark-gray";
+        }
+
+        double hue;
+        double delta = max - min;
+        if (max == r) {
+            hue = 60 * (((g - b) / delta) % 6);
+        } else if (max == g) {
+            hue = 60 * (((b - r) / delta) + 2);
+        } else {
+            hue = 60 * (((r - g) / delta) + 4);
+        }
+        if (hue < 0) {
+            hue += 360;
+        }
+
+        if (hue < 15 || hue >= 345) {
+            return value < 0.5 ? "dark-red" : "red";
+        }
+        if (hue < 45) {
+            return value < 0.6 ? "brown" : "orange";
+        }
+        if (hue < 70) {
+            return value < 0.5 ? "olive" : "yellow";
+        }
+        if (hue < 165) {
+            return value < 0.5 ? "dark-green" : "green";
+        }
+        if (hue < 195) {
+            return "cyan";
+        }
+        if (hue < 255) {
+            return value < 0.5 ? "navy" : "blue";
+        }
+        if (hue < 290) {
+            return "purple";
+        }
+        return "pink";
+    }
+
+    private static final class Bins {
+        final long[] counts = new long[BINS];
+        final long[] sums = new long[3 * BINS];
+        long total;
+
+        Bins merge(Bins other) {
+            for (int i = 0; i < BINS; i++) {
+                counts[i] += other.counts[i];
+            }
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += other.sums[i];
+            }
+            total += other.total;
+            return this;
+        }
+    }
+
+    private static final class BandTask extends RecursiveTask<Bins> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient BufferedImage image;
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+
+        BandTask(BufferedImage image, int fromRow, int toRow, int bandRows) {
+            this.image = image;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected Bins compute() {
+            if (toRow - fromRow <= bandRows) {
+                return scan();
+            }
+            int mid = (fromRow + toRow) >>> 1;
+            BandTask left = new BandTask(image, fromRow, mid, bandRows);
+            left.fork();
+            Bins right = new BandTask(image, mid, toRow, bandRows).compute();
+            return left.join().merge(right);
+        }
+
+        private Bins scan() {
+            Bins bins = new Bins();
+            int width = image.getWidth();
+            int[] row = new int[width];
+            for (int y = fromRow; y < toRow; y++) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                for (int argb : row) {
+                    if ((argb >>> 24) < MIN_ALPHA) {
+                        continue;
+                    }
+                    int r = (argb >> 16) & 0xFF;
+                    int g = (argb >> 8) & 0xFF;
+                    int b = argb & 0xFF;
+                    int bin = ((r >> 4) << 8) | ((g >> 4) << 4) | (b >> 4);
+                    bins.counts[bin]++;
+                    bins.sums[3 * bin] += r;
+                    bins.sums[3 * bin + 1] += g;
+                    bins.sums[3 * bin + 2] += b;
+                    bins.total++;
+                }
+            }
+            return bins;
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
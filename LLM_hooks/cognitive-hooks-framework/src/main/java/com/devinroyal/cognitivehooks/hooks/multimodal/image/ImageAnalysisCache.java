@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.multimodal.image;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of image analyses keyed on content hash plus analysis
+ * settings, so the same bytes reached through different URIs are decoded
+ * once. Cached maps are immutable and carry no URI.
+ */
+public final class ImageAnalysisCache {
+
+    private final Map<String, Map<String, Object>> entries;
+
+    public ImageAnalysisCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static String key(String contentHash, int maxDimension, int colors) {
+        return contentHash + '|' + maxDimension + '|' + colors;
+    }
+
+    public synchronized Map<String, Object> get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, Map<String, Object> analysis) {
+        entries.put(key, analysis);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.multimodal.image;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Encoded image bytes read from a local file, plus their SHA-256 content hash.
+ * Large files are memory-mapped rather than copied onto the heap; small ones
+ * are read through the channel into a heap buffer, which is cheaper than
+ * setting up a mapping.
+ */
+public final class ImageBytes {
+
+    /** Files at or above this size are memory-mapped. */
+    public static final long MMAP_THRESHOLD = 256 * 1024;
+
+    private final Path path;
+    private final ByteBuffer data;
+    private final String contentHash;
+
+    private ImageBytes(Path path, ByteBuffer data, String contentHash) {
+        this.path = path;
+        this.data = data;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * @param maxBytes files larger than this are rejected before reading
+     * @throws RejectedException if the file is empty or larger than {@code maxBytes}
+     */
+    public static ImageBytes read(Path path, long maxBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                throw new RejectedException("Image file is empty");
+            }
+            if (size > maxBytes) {
+                throw new RejectedException("Image file is " + size + " bytes, limit is " + maxBytes);
+            }
+            ByteBuffer data;
+            if (size >= MMAP_THRESHOLD) {
+                // The mapping stays valid after the channel is closed.
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                data = ByteBuffer.allocate((int) size);
+                while (data.hasRemaining() && channel.read(data) >= 0) {
+                    // keep reading until full or EOF
+                }
+                data.flip();
+            }
+            return new ImageBytes(path, data.asReadOnlyBuffer(), sha256(data.duplicate()));
+        }
+    }
+
+    private static String sha256(ByteBuffer data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(data);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Read-only view positioned at the first byte; callers get their own
+     * duplicate so positions never interfere.
+     */
+    public ByteBuffer getData() {
+        return data.duplicate();
+    }
+
+    public int getSize() {
+        return data.limit();
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * The file was readable but is not acceptable as an image. The message
+     * never names the file, so it is safe to return to callers.
+     */
+    public static final class RejectedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        RejectedException(String message) {
+            super(message);
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.multimodal.image;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Decodes images with ImageIO, subsampling at read time so the decoded
+ * raster's longest side is at most {@code maxDimension}. The reader skips the
+ * dropped pixels while decoding, so a 24-megapixel photo analyzed at 512px
+ * never allocates a full-resolution raster. Input is read straight from the
+ * (possibly memory-mapped) buffer without an intermediate copy.
+ *
+ * With a {@link PixelBudget}, the subsampled raster size is reserved from the
+ * header dimensions before any pixels are decoded; the reservation is held
+ * until the returned image is closed.
+ */
+public final class ImageDecoder {
+
+    /** Packed ARGB or 4-band byte rasters; 16-bit images may use more than the reservation. */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private ImageDecoder() {
+    }
+
+    public static DecodedImage decode(ByteBuffer data, int maxDimension) throws IOException {
+        return decode(data, maxDimension, null);
+    }
+
+    /**
+     * @param budget shared raster budget, or {@code null} for no limit
+     */
+    public static DecodedImage decode(ByteBuffer data, int maxDimension, PixelBudget budget) throws IOException {
+        if (maxDimension <= 0) {
+            throw new IllegalArgumentException("maxDimension must be > 0");
+        }
+        try (ImageInputStream input = new ByteBufferImageInputStream(data)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unrecognized image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int subsampling = Math.max(1, (Math.max(width, height) + maxDimension - 1) / maxDimension);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                long reserved = 0;
+                if (budget != null) {
+                    long pixels = (long) ceilDiv(width, subsampling) * ceilDiv(height, subsampling);
+                    try {
+                        reserved = budget.acquire(pixels * BYTES_PER_PIXEL);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted waiting for decode budget");
+                    }
+                }
+                try {
+                    BufferedImage image = reader.read(0, param);
+                    return new DecodedImage(reader.getFormatName().toLowerCase(Locale.ROOT),
+                            width, height, subsampling, image, budget, reserved);
+                } catch (IOException | RuntimeException e) {
+                    if (budget != null) {
+                        budget.release(reserved);
+                    }
+                    throw e;
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    /**
+     * A decoded, possibly subsampled, image and the dimensions of its source.
+     * Closing it returns its budget reservation, if any; the raster must not
+     * be used afterwards.
+     */
+    public static final class DecodedImage implements AutoCloseable {
+        private final String format;
+        private final int sourceWidth;
+        private final int sourceHeight;
+        private final int subsampling;
+        private final BufferedImage image;
+        private final PixelBudget budget;
+        private long reserved;
+
+        DecodedImage(String format, int sourceWidth, int sourceHeight, int subsampling, BufferedImage image,
+                     PixelBudget budget, long reserved) {
+            this.format = format;
+            this.sourceWidth = sourceWidth;
+            this.sourceHeight = sourceHeight;
+            this.subsampling = subsampling;
+            this.image = image;
+            this.budget = budget;
+            this.reserved = reserved;
+        }
+
+        public String getFormat() {
+            return format;
+        }
+
+        public int getSourceWidth() {
+            return sourceWidth;
+        }
+
+        public int getSourceHeight() {
+            return sourceHeight;
+        }
+
+        public int getSubsampling() {
+            return subsampling;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (budget != null && reserved > 0) {
+                budget.release(reserved);
+                reserved = 0;
+            }
+        }
+    }
+
+    /**
+     * Seekable image stream over a byte buffer. Reads use absolute gets, so
+     * the buffer's own position is never touched.
+     */
+    private static final class ByteBufferImageInputStream extends ImageInputStreamImpl {
+        private final ByteBuffer buffer;
+
+        ByteBufferImageInputStream(ByteBuffer buffer) {
+            this.buffer = buffer.slice();
+        }
+
+        @Override
+        public int read() {
+            if (streamPos >= buffer.limit()) {
+                return -1;
+            }
+            bitOffset = 0;
+            return buffer.get((int) streamPos++) & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            long remaining = buffer.limit() - streamPos;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = (int) Math.min(len, remaining);
+            bitOffset = 0;
+            buffer.get((int) streamPos, b, off, n);
+            streamPos += n;
+            return n;
+        }
+
+        @Override
+        public long length() {
+            return buffer.limit();
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
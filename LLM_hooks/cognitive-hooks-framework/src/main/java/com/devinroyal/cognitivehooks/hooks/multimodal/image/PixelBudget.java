@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.multimodal.image;
+
+/**
+ * Byte budget for decoded rasters that are alive at the same time. Decoders
+ * reserve the raster size before allocating it and release it once the
+ * analysis is done, so concurrent decodes cannot together exceed the budget.
+ *
+ * A reservation larger than the whole budget is clamped to the budget; it
+ * waits until nothing else is in flight and then runs alone.
+ */
+public final class PixelBudget {
+
+    private final long maxBytes;
+    private long available;
+    private long peakInUse;
+
+    public PixelBudget(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be > 0");
+        }
+        this.maxBytes = maxBytes;
+        this.available = maxBytes;
+    }
+
+    /**
+     * Blocks until {@code bytes} can be reserved.
+     *
+     * @return the amount actually reserved, to pass to {@link #release(long)}
+     */
+    public synchronized long acquire(long bytes) throws InterruptedException {
+        long reserved = Math.max(1, Math.min(bytes, maxBytes));
+        while (available < reserved) {
+            wait();
+        }
+        available -= reserved;
+        peakInUse = Math.max(peakInUse, maxBytes - available);
+        return reserved;
+    }
+
+    public synchronized void release(long reserved) {
+        available = Math.min(maxBytes, available + reserved);
+        notifyAll();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getInUse() {
+        return maxBytes - available;
+    }
+
+    /**
+     * Highest reservation total observed since construction.
+     */
+    public synchronized long getPeakInUse() {
+        return peakInUse;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
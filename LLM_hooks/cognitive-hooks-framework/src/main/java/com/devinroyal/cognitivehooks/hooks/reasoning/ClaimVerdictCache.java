@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of per-claim fact-check verdicts, keyed on the
+ * normalized claim text.
+ */
+final class ClaimVerdictCache {
+
+    private final Map<String, Verdict> entries;
+
+    ClaimVerdictCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Verdict> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized Verdict get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, Verdict verdict) {
+        entries.put(key, verdict);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    static String normalize(String claim) {
+        return claim.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Outcome of verifying one claim.
+     */
+    static final class Verdict {
+        final boolean risky;
+        final String note;
+
+        Verdict(boolean risky, String note) {
+            this.risky = risky;
+            this.note = note;
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
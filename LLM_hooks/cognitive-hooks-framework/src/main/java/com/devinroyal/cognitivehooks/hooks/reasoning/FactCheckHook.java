@@ -5,7 +5,7 @@
 
 package com.devinroyal.cognitivehooks.hooks.reasoning;
 
-import com.devinroyal.cognitivehooks.core.Hook;
+import com.devinroyal.cognitivehooks.core.FusableHook;
 import com.devinroyal.cognitivehooks.core.HookExecutionContext;
 import com.devinroyal.cognitivehooks.core.HookException;
 import com.devinroyal.cognitivehooks.core.HookRequest;
@@ -13,21 +13,110 @@ import com.devinroyal.cognitivehooks.core.HookResult;
 import com.devinroyal.cognitivehooks.core.HookStatus;
 import com.devinroyal.cognitivehooks.core.HookType;
 import com.devinroyal.cognitivehooks.core.LlmClient;
+import com.devinroyal.cognitivehooks.core.LlmPrompt;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * Augmented reasoning hook: asks the LLM to verify its own statements
  * against an independent "fact-check" style prompt.
+ *
+ * With config key {@value #CLAIM_LEVEL_CONFIG_KEY} set to {@code true}, the
+ * prompt is split into individual claims; previously verified claims are
+ * served from a bounded verdict cache and only unseen claims are sent to the
+ * LLM, in parallel on a fixed pool of {@code claimParallelism} threads. The
+ * merged output keeps the {@code risky_claims} / {@code notes} JSON shape and
+ * adds {@code unverified_claims} for claims whose verdict could not be
+ * parsed; those are never cached. When one claim fails, claims not yet
+ * started are cancelled and running ones are interrupted; a client that
+ * ignores interrupts finishes its call, but the result is discarded.
+ *
+ * In the orchestrator's fused mode the same JSON shape is produced as a
+ * section of the final synthesis call, saving a separate LLM round trip. A
+ * section without both arrays is rejected so the orchestrator falls back.
  */
-public class FactCheckHook implements Hook {
+public class FactCheckHook implements FusableHook {
+
+    public static final String CLAIM_LEVEL_CONFIG_KEY = "factCheck.claimLevel";
 
     private static final String ID = "fact-check-hook";
 
+    private static final String PREFIX_ID = "fact-check-v1";
+
+    private static final String PREFIX = "You are a strict fact-checking agent. " +
+            "Given the following user query, identify claims that are likely incorrect " +
+            "or require citations. Respond in JSON with fields 'risky_claims' and 'notes'.";
+
+    private static final String CLAIM_PREFIX_ID = "fact-check-claim-v1";
+
+    private static final String CLAIM_PREFIX = "You are a strict fact-checking agent. " +
+            "Given the following single claim, decide whether it is likely incorrect " +
+            "or requires a citation. Respond in JSON with fields 'risky' (boolean) and 'note' (string).";
+
+    private static final Pattern CLAIM_SPLIT = Pattern.compile("(?<=[.!?])\\s+|\\n+");
+    private static final int MIN_CLAIM_LENGTH = 8;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ClaimVerdictCache claimCache;
+    private final ExecutorService claimExecutor;
+
+    public FactCheckHook() {
+        this(10_000, 8);
+    }
+
+    /**
+     * @param claimCacheSize   maximum number of cached claim verdicts
+     * @param claimParallelism threads, and so concurrent per-claim LLM calls;
+     *                         idle threads exit after a minute
+     */
+    public FactCheckHook(int claimCacheSize, int claimParallelism) {
+        this(claimCacheSize, claimExecutor(claimParallelism));
+    }
+
+    /**
+     * @param claimExecutor runs the per-claim LLM calls, so its thread count
+     *                      bounds their concurrency; owned by the caller, and
+     *                      may be shared with other hooks
+     */
+    public FactCheckHook(int claimCacheSize, ExecutorService claimExecutor) {
+        this.claimCache = new ClaimVerdictCache(claimCacheSize);
+        this.claimExecutor = Objects.requireNonNull(claimExecutor, "claimExecutor must not be null");
+    }
+
+    private static ExecutorService claimExecutor(int claimParallelism) {
+        if (claimParallelism <= 0) {
+            throw new IllegalArgumentException("claimParallelism must be > 0");
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(claimParallelism, claimParallelism,
+                1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "fact-check-claim");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     @Override
     public String getId() {
         return ID;
@@ -59,10 +148,11 @@ public class FactCheckHook implements Hook {
             throw new HookException("No LlmClient configured for FactCheckHook");
         }
 
-        String factCheckPrompt = "You are a strict fact-checking agent. " +
-                "Given the following user query, identify claims that are likely incorrect " +
-                "or require citations. Respond in JSON with fields 'risky_claims' and 'notes'.\n\n" +
-                "USER QUERY:\n" + request.getPrompt();
+        if (Boolean.TRUE.equals(ctx.getConfigValue(CLAIM_LEVEL_CONFIG_KEY, Boolean.class))) {
+            return executeClaimLevel(request, llm, start);
+        }
+
+        LlmPrompt factCheckPrompt = LlmPrompt.of(PREFIX_ID, PREFIX, "USER QUERY:\n" + request.getPrompt());
 
         String response = llm.complete(factCheckPrompt, null);
 
@@ -73,6 +163,170 @@ public class FactCheckHook implements Hook {
                 .latency(latency)
                 .build();
     }
+
+    /**
+     * Claim-level mode relies on its verdict cache, so it keeps its own calls.
+     */
+    @Override
+    public boolean canFuse(HookRequest request, HookExecutionContext ctx) {
+        return !Boolean.TRUE.equals(ctx.getConfigValue(CLAIM_LEVEL_CONFIG_KEY, Boolean.class));
+    }
+
+    @Override
+    public String fusedInstructions() {
+        return "an object with fields 'risky_claims' (array of strings) and 'notes' (array of strings) " +
+                "listing claims in the user request that are likely incorrect or require citations.";
+    }
+
+    @Override
+    public HookResult fromFusedSection(String section, HookRequest request, HookExecutionContext ctx)
+            throws HookException {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(section);
+        } catch (JsonProcessingException e) {
+            throw new HookException("Fused fact-check section is not JSON", e);
+        }
+        if (node == null || !node.isObject() || !isTextArray(node.get("risky_claims"))
+                || !isTextArray(node.get("notes"))) {
+            throw new HookException("Fused fact-check section lacks 'risky_claims' and 'notes' string arrays");
+        }
+        return HookResult.builder(getId(), getType(), HookStatus.SUCCESS)
+                .message("Fact check completed (fused)")
+                .data(section)
+                .build();
+    }
+
+    private static boolean isTextArray(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            return false;
+        }
+        for (JsonNode element : node) {
+            if (!element.isTextual()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private HookResult executeClaimLevel(HookRequest request, LlmClient llm, Instant start) throws HookException {
+        Map<String, String> claims = splitClaims(request.getPrompt());
+        Map<String, ClaimVerdictCache.Verdict> verdicts = new LinkedHashMap<>();
+        Map<String, Future<ClaimVerdictCache.Verdict>> pending = new LinkedHashMap<>();
+        int cacheHits = 0;
+
+        for (Map.Entry<String, String> claim : claims.entrySet()) {
+            ClaimVerdictCache.Verdict cached = claimCache.get(claim.getKey());
+            if (cached != null) {
+                verdicts.put(claim.getKey(), cached);
+                cacheHits++;
+            } else {
+                String text = claim.getValue();
+                pending.put(claim.getKey(), claimExecutor.submit(() -> verifyClaim(llm, text)));
+            }
+        }
+
+        for (Map.Entry<String, Future<ClaimVerdictCache.Verdict>> entry : pending.entrySet()) {
+            ClaimVerdictCache.Verdict verdict;
+            try {
+                verdict = entry.getValue().get();
+            } catch (ExecutionException e) {
+                pending.values().forEach(f -> f.cancel(true));
+                Throwable cause = e.getCause();
+                if (cause instanceof HookException he) {
+                    throw he;
+                }
+                throw new HookException("Claim verification failed: " + cause, cause);
+            } catch (InterruptedException e) {
+                pending.values().forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new HookException("Interrupted waiting for claim verification", e);
+            }
+            if (verdict != null) {
+                claimCache.put(entry.getKey(), verdict);
+            }
+            verdicts.put(entry.getKey(), verdict);
+        }
+
+        List<String> riskyClaims = new ArrayList<>();
+        List<String> unverifiedClaims = new ArrayList<>();
+        List<String> notes = new ArrayList<>();
+        for (Map.Entry<String, String> claim : claims.entrySet()) {
+            ClaimVerdictCache.Verdict verdict = verdicts.get(claim.getKey());
+            if (verdict == null) {
+                unverifiedClaims.add(claim.getValue());
+                continue;
+            }
+            if (verdict.risky) {
+                riskyClaims.add(claim.getValue());
+            }
+            if (verdict.note != null && !verdict.note.isBlank()) {
+                notes.add(verdict.note);
+            }
+        }
+
+        Map<String, Object> merged = new LinkedHashMap<>();
+        merged.put("risky_claims", riskyClaims);
+        merged.put("notes", notes);
+        if (!unverifiedClaims.isEmpty()) {
+            merged.put("unverified_claims", unverifiedClaims);
+        }
+        String response;
+        try {
+            response = MAPPER.writeValueAsString(merged);
+        } catch (JsonProcessingException e) {
+            throw new HookException("Failed to encode fact-check result", e);
+        }
+
+        Map<String, Object> diagnostics = new HashMap<>();
+        diagnostics.put("claims", claims.size());
+        diagnostics.put("claimCacheHits", cacheHits);
+        diagnostics.put("claimsVerified", pending.size() - unverifiedClaims.size());
+        diagnostics.put("claimsUnverified", unverifiedClaims.size());
+
+        Duration latency = Duration.between(start, Instant.now());
+        return HookResult.builder(getId(), getType(), HookStatus.SUCCESS)
+                .message("Fact check completed (" + (pending.size() - unverifiedClaims.size()) + " of "
+                        + claims.size() + " claims verified"
+                        + (unverifiedClaims.isEmpty() ? "" : ", " + unverifiedClaims.size() + " unparseable") + ")")
+                .data(response)
+                .latency(latency)
+                .diagnostics(diagnostics)
+                .build();
+    }
+
+    /**
+     * Splits a prompt into distinct claims keyed by normalized text,
+     * preserving first-seen order and dropping fragments too short to check.
+     */
+    private static Map<String, String> splitClaims(String prompt) {
+        Map<String, String> claims = new LinkedHashMap<>();
+        for (String part : CLAIM_SPLIT.split(prompt)) {
+            String claim = part.strip();
+            if (claim.length() < MIN_CLAIM_LENGTH) {
+                continue;
+            }
+            claims.putIfAbsent(ClaimVerdictCache.normalize(claim), claim);
+        }
+        return claims;
+    }
+
+    /**
+     * @return the parsed verdict, or {@code null} when the response is not
+     *         the requested JSON object
+     */
+    private static ClaimVerdictCache.Verdict verifyClaim(LlmClient llm, String claim) throws HookException {
+        String response = llm.complete(LlmPrompt.of(CLAIM_PREFIX_ID, CLAIM_PREFIX, "CLAIM:\n" + claim), null);
+        try {
+            JsonNode node = MAPPER.readTree(response);
+            if (node != null && node.isObject() && node.path("risky").isBoolean()) {
+                return new ClaimVerdictCache.Verdict(node.path("risky").asBoolean(false), node.path("note").asText(""));
+            }
+        } catch (JsonProcessingException e) {
+            // Fall through: an unparseable answer is not a verdict.
+        }
+        return null;
+    }
 }
 
 /*
@@ -12,19 +12,58 @@ import com.devinroyal.cognitivehooks.core.HookRequest;
 import com.devinroyal.cognitivehooks.core.HookResult;
 import com.devinroyal.cognitivehooks.core.HookStatus;
 import com.devinroyal.cognitivehooks.core.HookType;
+import com.devinroyal.cognitivehooks.hooks.reasoning.simulation.MonteCarloEngine;
+import com.devinroyal.cognitivehooks.hooks.reasoning.simulation.PathSimulator;
+import com.devinroyal.cognitivehooks.hooks.reasoning.simulation.SimulationModel;
+import com.devinroyal.cognitivehooks.hooks.reasoning.simulation.SimulationModelRegistry;
+import com.devinroyal.cognitivehooks.hooks.reasoning.simulation.SimulationResultCache;
+import com.devinroyal.cognitivehooks.hooks.reasoning.simulation.SimulationSummary;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Example of a "run simulation" capability. This one runs a simple Monte Carlo
- * style random-walk simulation to show structured external reasoning.
+ * Example of a "run simulation" capability. This one runs a Monte Carlo
+ * simulation over many independent paths to show structured external reasoning.
+ *
+ * Payload keys: {@code simulationModel} (default "random-walk"),
+ * {@code simulationParams}, {@code simulationSteps}, {@code simulationPaths},
+ * {@code simulationSeed} (reproducible runs) and {@code simulationBins}.
+ * The result carries summary statistics, not raw positions. Runs with an
+ * explicit seed are cached, so repeated what-if queries return immediately.
  */
 public class SimulationHook implements Hook {
 
     private static final String ID = "simulation-hook";
 
+    private static final int DEFAULT_STEPS = 20;
+    private static final int DEFAULT_PATHS = 1000;
+    private static final int DEFAULT_BINS = 20;
+    private static final int MAX_BINS = 1000;
+    private static final String DEFAULT_MODEL = "random-walk";
+
+    private final MonteCarloEngine engine;
+    private final SimulationModelRegistry models;
+    private final SimulationResultCache resultCache;
+
+    public SimulationHook() {
+        this(new MonteCarloEngine());
+    }
+
+    public SimulationHook(MonteCarloEngine engine) {
+        this(engine, SimulationModelRegistry.withDefaults(), new SimulationResultCache(1024));
+    }
+
+    public SimulationHook(MonteCarloEngine engine,
+                          SimulationModelRegistry models,
+                          SimulationResultCache resultCache) {
+        this.engine = Objects.requireNonNull(engine, "engine must not be null");
+        this.models = Objects.requireNonNull(models, "models must not be null");
+        this.resultCache = resultCache;
+    }
+
     @Override
     public String getId() {
         return ID;
@@ -53,29 +92,61 @@ public class SimulationHook implements Hook {
     public HookResult execute(HookRequest request, HookExecutionContext ctx) throws HookException {
         Instant start = Instant.now();
 
-        int steps = 20;
-        Object stepsOverride = request.getPayload().get("simulationSteps");
-        if (stepsOverride instanceof Number) {
-            int val = ((Number) stepsOverride).intValue();
-            if (val > 0 && val <= 1000) {
-                steps = val;
-            }
+        Map<String, Object> payload = request.getPayload();
+        int steps = intOption(payload, "simulationSteps", DEFAULT_STEPS, MonteCarloEngine.MAX_STEPS);
+        int paths = intOption(payload, "simulationPaths", DEFAULT_PATHS, MonteCarloEngine.MAX_PATHS);
+        int bins = intOption(payload, "simulationBins", DEFAULT_BINS, MAX_BINS);
+        if ((long) paths * steps > MonteCarloEngine.MAX_WORK) {
+            throw new HookException("simulationPaths * simulationSteps exceeds " + MonteCarloEngine.MAX_WORK);
         }
 
-        double position = 0.0;
-        Random random = new Random();
-        List<Double> positions = new ArrayList<>(steps);
+        Object modelObj = payload.getOrDefault("simulationModel", DEFAULT_MODEL);
+        if (!(modelObj instanceof String modelName)) {
+            throw new HookException("Payload 'simulationModel' must be a String");
+        }
+        SimulationModel model = models.get(modelName);
+        if (model == null) {
+            throw new HookException("Unknown simulation model '" + modelName + "'; available: " + models.listNames());
+        }
 
-        for (int i = 0; i < steps; i++) {
-            position += random.nextBoolean() ? 1.0 : -1.0;
-            positions.add(position);
+        Object paramsObj = payload.getOrDefault("simulationParams", Collections.emptyMap());
+        if (!(paramsObj instanceof Map<?, ?> rawParams)) {
+            throw new HookException("Payload 'simulationParams' must be a Map");
+        }
+        Map<String, Object> params = new HashMap<>();
+        rawParams.forEach((k, v) -> params.put(String.valueOf(k), v));
+
+        Object seedObj = payload.get("simulationSeed");
+        boolean seeded = seedObj instanceof Number;
+        long seed = seeded ? ((Number) seedObj).longValue() : ThreadLocalRandom.current().nextLong();
+
+        PathSimulator simulator;
+        String cacheKey;
+        try {
+            simulator = model.create(params);
+            cacheKey = seeded && resultCache != null
+                    ? SimulationResultCache.key(modelName, model.parameterKey(params), seed, paths, steps, bins)
+                    : null;
+        } catch (IllegalArgumentException e) {
+            throw new HookException("Invalid parameters for model '" + modelName + "': " + e.getMessage(), e);
+        }
+        SimulationSummary summary = cacheKey == null ? null : resultCache.get(cacheKey);
+        boolean cached = summary != null;
+        if (!cached) {
+            summary = engine.run(simulator, paths, steps, seed, bins);
+            if (cacheKey != null) {
+                resultCache.put(cacheKey, summary);
+            }
         }
 
         Map<String, Object> data = new HashMap<>();
-        data.put("type", "random-walk");
+        data.put("type", modelName);
+        data.put("params", params);
         data.put("steps", steps);
-        data.put("finalPosition", position);
-        data.put("positions", positions);
+        data.put("paths", paths);
+        data.put("seed", seed);
+        data.put("cached", cached);
+        data.put("summary", summary.toMap());
 
         Duration latency = Duration.between(start, Instant.now());
         return HookResult.builder(getId(), getType(), HookStatus.SUCCESS)
@@ -84,6 +155,17 @@ public class SimulationHook implements Hook {
                 .latency(latency)
                 .build();
     }
+
+    private static int intOption(Map<String, Object> payload, String key, int defaultValue, int max) {
+        Object value = payload.get(key);
+        if (value instanceof Number) {
+            int val = ((Number) value).intValue();
+            if (val > 0 && val <= max) {
+                return val;
+            }
+        }
+        return defaultValue;
+    }
 }
 
 /*
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bootstrap resampling. Params: {@code samples} (required list of numbers)
+ * and {@code statistic} ("mean" or "sum", default "mean"). Each path draws
+ * {@code steps} observations with replacement and reports the statistic.
+ */
+public final class BootstrapModel implements SimulationModel {
+
+    @Override
+    public String getName() {
+        return "bootstrap";
+    }
+
+    @Override
+    public PathSimulator create(Map<String, Object> params) {
+        double[] samples = samples(params);
+        boolean mean = isMean(params);
+        return (random, steps) -> {
+            double sum = 0.0;
+            for (int i = 0; i < steps; i++) {
+                sum += samples[random.nextInt(samples.length)];
+            }
+            return mean ? sum / steps : sum;
+        };
+    }
+
+    /**
+     * Keys on the samples as doubles, so the list's element types do not
+     * matter; long sample lists are reduced to a digest by the encoding.
+     */
+    @Override
+    public String parameterKey(Map<String, Object> params) {
+        return SimulationResultCache.encode(Map.of(
+                "samples", samples(params),
+                "statistic", isMean(params) ? "mean" : "sum"));
+    }
+
+    private static double[] samples(Map<String, Object> params) {
+        Object samplesObj = params.get("samples");
+        if (!(samplesObj instanceof List<?> list) || list.isEmpty()) {
+            throw new IllegalArgumentException("Parameter 'samples' must be a non-empty list of numbers");
+        }
+        double[] samples = new double[list.size()];
+        for (int i = 0; i < samples.length; i++) {
+            if (!(list.get(i) instanceof Number number)) {
+                throw new IllegalArgumentException("Parameter 'samples' must contain only numbers");
+            }
+            samples[i] = number.doubleValue();
+        }
+        return samples;
+    }
+
+    private static boolean isMean(Map<String, Object> params) {
+        Object statistic = params.getOrDefault("statistic", "mean");
+        if ("mean".equals(statistic)) {
+            return true;
+        }
+        if ("sum".equals(statistic)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Parameter 'statistic' must be 'mean' or 'sum'");
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.util.Map;
+
+/**
+ * Geometric Brownian motion. Params: {@code s0} (100), {@code mu} (0.05),
+ * {@code sigma} (0.2), {@code dt} (1/252). Terminal value is the price after
+ * {@code steps} intervals.
+ *
+ * Only the terminal value is reported, so it is sampled exactly from the
+ * closed-form log-normal distribution with one Gaussian draw per path.
+ */
+public final class GeometricBrownianMotionModel implements SimulationModel {
+
+    @Override
+    public String getName() {
+        return "gbm";
+    }
+
+    @Override
+    public PathSimulator create(Map<String, Object> params) {
+        double s0 = SimulationModel.positiveParam(params, "s0", 100.0);
+        double mu = SimulationModel.doubleParam(params, "mu", 0.05);
+        double sigma = sigma(params);
+        double dt = SimulationModel.positiveParam(params, "dt", 1.0 / 252.0);
+        double drift = mu - 0.5 * sigma * sigma;
+        return (random, steps) -> {
+            double horizon = steps * dt;
+            return s0 * Math.exp(drift * horizon + sigma * Math.sqrt(horizon) * random.nextGaussian());
+        };
+    }
+
+    @Override
+    public String parameterKey(Map<String, Object> params) {
+        return SimulationResultCache.encode(Map.of(
+                "s0", SimulationModel.positiveParam(params, "s0", 100.0),
+                "mu", SimulationModel.doubleParam(params, "mu", 0.05),
+                "sigma", sigma(params),
+                "dt", SimulationModel.positiveParam(params, "dt", 1.0 / 252.0)));
+    }
+
+    private static double sigma(Map<String, Object> params) {
+        double sigma = SimulationModel.doubleParam(params, "sigma", 0.2);
+        if (sigma < 0.0) {
+            throw new IllegalArgumentException("Parameter 'sigma' must be >= 0");
+        }
+        return sigma;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
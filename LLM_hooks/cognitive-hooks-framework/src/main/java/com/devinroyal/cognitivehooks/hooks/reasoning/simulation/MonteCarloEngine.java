@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel Monte Carlo engine. Paths are split into fixed-size blocks, each
+ * seeded deterministically from the run seed and its block index, so a given
+ * seed produces identical results regardless of pool size or work stealing.
+ *
+ * Terminal values are never stored: each block accumulates Welford moments,
+ * exact extremes and a {@link QuantileSketch}, and blocks merge pairwise up
+ * the fork/join tree, so memory does not grow with the path count. Quantiles
+ * and histogram bins come from the sketch and are accurate to within
+ * {@link QuantileSketch#RELATIVE_ACCURACY} of the value.
+ *
+ * Runs use a dedicated pool by default, so long simulations do not occupy
+ * the common pool that parallel streams and async completions rely on.
+ */
+public final class MonteCarloEngine {
+
+    public static final int MAX_PATHS = 10_000_000;
+    public static final int MAX_STEPS = 1_000_000;
+    /** Upper bound on paths x steps for a single run. */
+    public static final long MAX_WORK = 5_000_000_000L;
+
+    private static final int BLOCK_SIZE = 4096;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final ForkJoinPool DEFAULT_POOL = new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(), pool -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setName("monte-carlo-" + t.getPoolIndex());
+                t.setDaemon(true);
+                return t;
+            }, null, false);
+
+    private final ForkJoinPool pool;
+
+    public MonteCarloEngine() {
+        this(DEFAULT_POOL);
+    }
+
+    public MonteCarloEngine(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool must not be null");
+    }
+
+    public SimulationSummary run(PathSimulator simulator, int paths, int steps, long seed, int histogramBins) {
+        Objects.requireNonNull(simulator, "simulator must not be null");
+        if (paths <= 0 || paths > MAX_PATHS) {
+            throw new IllegalArgumentException("paths must be in [1, " + MAX_PATHS + "]");
+        }
+        if (steps <= 0 || steps > MAX_STEPS) {
+            throw new IllegalArgumentException("steps must be in [1, " + MAX_STEPS + "]");
+        }
+        if ((long) paths * steps > MAX_WORK) {
+            throw new IllegalArgumentException("paths * steps must be <= " + MAX_WORK);
+        }
+        if (histogramBins <= 0) {
+            throw new IllegalArgumentException("histogramBins must be > 0");
+        }
+
+        int blocks = (paths + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        Moments moments = pool.invoke(new BlockTask(simulator, paths, steps, seed, 0, blocks));
+
+        double[] quantiles = new double[SimulationSummary.QUANTILES.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            quantiles[i] = moments.sketch.quantile(SimulationSummary.QUANTILES[i], moments.min, moments.max);
+        }
+        long[] histogram = moments.sketch.histogram(histogramBins, moments.min, moments.max);
+
+        double variance = moments.count > 1 ? moments.m2 / (moments.count - 1) : 0.0;
+        return new SimulationSummary(moments.count, moments.mean, variance,
+                moments.min, moments.max, quantiles, histogram);
+    }
+
+    static long blockSeed(long seed, int block) {
+        // SplitMix64 finalizer over (seed + block * gamma) gives well-spread, independent streams.
+        long z = seed + (block + 1L) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Welford moments, extremes and quantile sketch of a run of blocks.
+     */
+    private static final class Moments {
+        final QuantileSketch sketch = new QuantileSketch();
+        long count;
+        double mean;
+        double m2;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        void add(double x) {
+            count++;
+            double delta = x - mean;
+            mean += delta / count;
+            m2 += delta * (x - mean);
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+            sketch.add(x);
+        }
+
+        Moments merge(Moments other) {
+            if (other.count == 0) {
+                return this;
+            }
+            if (count == 0) {
+                return other;
+            }
+            long n = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / n;
+            m2 += other.m2 + delta * delta * ((double) count * other.count / n);
+            count = n;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            sketch.merge(other.sketch);
+            return this;
+        }
+    }
+
+    private static final class BlockTask extends RecursiveTask<Moments> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient PathSimulator simulator;
+        private final int paths;
+        private final int steps;
+        private final long seed;
+        private final int fromBlock;
+        private final int toBlock;
+
+        BlockTask(PathSimulator simulator, int paths, int steps, long seed, int fromBlock, int toBlock) {
+            this.simulator = simulator;
+            this.paths = paths;
+            this.steps = steps;
+            this.seed = seed;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected Moments compute() {
+            if (toBlock - fromBlock > 1) {
+                int mid = (fromBlock + toBlock) >>> 1;
+                BlockTask left = new BlockTask(simulator, paths, steps, seed, fromBlock, mid);
+                left.fork();
+                Moments right = new BlockTask(simulator, paths, steps, seed, mid, toBlock).compute();
+                return left.join().merge(right);
+            }
+            Moments moments = new Moments();
+            SplittableRandom random = new SplittableRandom(blockSeed(seed, fromBlock));
+            int start = fromBlock * BLOCK_SIZE;
+            int end = Math.min(paths, start + BLOCK_SIZE);
+            for (int i = start; i < end; i++) {
+                moments.add(simulator.simulate(random, steps));
+            }
+            return moments;
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
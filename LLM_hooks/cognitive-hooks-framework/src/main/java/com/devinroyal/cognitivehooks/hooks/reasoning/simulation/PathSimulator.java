@@ -0,0 +1,24 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Simulates one independent path and returns its terminal value.
+ * Implementations must be stateless (or thread-confined per call) and must
+ * draw all randomness from the supplied generator so runs are reproducible.
+ */
+@FunctionalInterface
+public interface PathSimulator {
+
+    double simulate(SplittableRandom random, int steps);
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
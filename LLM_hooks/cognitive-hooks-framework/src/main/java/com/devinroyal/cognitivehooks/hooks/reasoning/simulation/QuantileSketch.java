@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+/**
+ * Mergeable quantile sketch with bounded relative error. A value x falls in
+ * bucket ceil(log_gamma |x|), counted in separate dense stores for positive
+ * and negative values, so any reported quantile is within
+ * {@link #RELATIVE_ACCURACY} of a value at that rank. Merging adds counts,
+ * so the result does not depend on how samples were partitioned.
+ *
+ * Memory grows with the log of the value range, not the sample count.
+ */
+final class QuantileSketch {
+
+    static final double RELATIVE_ACCURACY = 0.005;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    /** Magnitudes below this count as zero. */
+    private static final double MIN_MAGNITUDE = 1e-12;
+    private static final int MIN_INDEX = index(MIN_MAGNITUDE);
+    private static final int MAX_INDEX = index(Double.MAX_VALUE);
+
+    private final Store positive = new Store();
+    private final Store negative = new Store();
+    private long zeroCount;
+    private long count;
+
+    void add(double value) {
+        count++;
+        if (value > MIN_MAGNITUDE) {
+            positive.add(clampedIndex(value), 1);
+        } else if (value < -MIN_MAGNITUDE) {
+            negative.add(clampedIndex(-value), 1);
+        } else {
+            // Includes NaN, which has no rank; keeping it here keeps counts consistent.
+            zeroCount++;
+        }
+    }
+
+    QuantileSketch merge(QuantileSketch other) {
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        return this;
+    }
+
+    long count() {
+        return count;
+    }
+
+    /**
+     * Value at rank {@code q * (count - 1)}, clamped to [{@code min},
+     * {@code max}] so the extremes stay exact.
+     */
+    double quantile(double q, double min, double max) {
+        long rank = Math.round(q * (count - 1));
+        long seen = 0;
+        if (negative.counts != null) {
+            for (int i = negative.counts.length - 1; i >= 0; i--) {
+                seen += negative.counts[i];
+                if (seen > rank) {
+                    return clamp(-value(negative.offset + i), min, max);
+                }
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return clamp(0.0, min, max);
+        }
+        if (positive.counts != null) {
+            for (int i = 0; i < positive.counts.length; i++) {
+                seen += positive.counts[i];
+                if (seen > rank) {
+                    return clamp(value(positive.offset + i), min, max);
+                }
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Fixed-width histogram over [{@code min}, {@code max}]; each bucket's
+     * count lands in the bin of its representative value.
+     */
+    long[] histogram(int bins, double min, double max) {
+        long[] counts = new long[bins];
+        double width = (max - min) / bins;
+        if (!(width > 0.0)) {
+            counts[0] = count;
+            return counts;
+        }
+        if (negative.counts != null) {
+            for (int i = 0; i < negative.counts.length; i++) {
+                if (negative.counts[i] != 0) {
+                    counts[bin(-value(negative.offset + i), bins, min, max, width)] += negative.counts[i];
+                }
+            }
+        }
+        if (zeroCount != 0) {
+            counts[bin(0.0, bins, min, max, width)] += zeroCount;
+        }
+        if (positive.counts != null) {
+            for (int i = 0; i < positive.counts.length; i++) {
+                if (positive.counts[i] != 0) {
+                    counts[bin(value(positive.offset + i), bins, min, max, width)] += positive.counts[i];
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static int bin(double value, int bins, double min, double max, double width) {
+        return Math.min(bins - 1, (int) ((clamp(value, min, max) - min) / width));
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / LOG_GAMMA);
+    }
+
+    private static int clampedIndex(double magnitude) {
+        return magnitude == Double.POSITIVE_INFINITY ? MAX_INDEX : Math.max(MIN_INDEX, index(magnitude));
+    }
+
+    /**
+     * Midpoint, in relative terms, of bucket (gamma^(i-1), gamma^i].
+     */
+    private static double value(int index) {
+        return 2 * Math.exp(index * LOG_GAMMA) / (GAMMA + 1);
+    }
+
+    /**
+     * Dense counts for a contiguous, growable range of bucket indices.
+     */
+    private static final class Store {
+        private long[] counts;
+        private int offset;
+
+        void add(int index, long n) {
+            if (counts == null) {
+                counts = new long[64];
+                offset = index - 32;
+            } else if (index < offset || index >= offset + counts.length) {
+                grow(index);
+            }
+            counts[index - offset] += n;
+        }
+
+        void merge(Store other) {
+            if (other.counts == null) {
+                return;
+            }
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) {
+                    add(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+
+        private void grow(int index) {
+            int lo = Math.min(offset, index);
+            int hi = Math.max(offset + counts.length - 1, index);
+            int span = hi - lo + 1;
+            int length = Math.max(span, counts.length * 2);
+            int newOffset = lo - (length - span) / 2;
+            long[] grown = new long[length];
+            System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+            counts = grown;
+            offset = newOffset;
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.util.Map;
+
+/**
+ * M/M/c queue. Params: {@code arrivalRate} (1.0), {@code serviceRate} (1.2),
+ * {@code servers} (1). Each step is one arriving customer; the terminal value
+ * is the mean time customers spent waiting for a server.
+ */
+public final class QueueingModel implements SimulationModel {
+
+    static final int MAX_SERVERS = 1024;
+
+    @Override
+    public String getName() {
+        return "mmc-queue";
+    }
+
+    @Override
+    public PathSimulator create(Map<String, Object> params) {
+        double arrivalRate = SimulationModel.positiveParam(params, "arrivalRate", 1.0);
+        double serviceRate = SimulationModel.positiveParam(params, "serviceRate", 1.2);
+        int servers = servers(params);
+        return (random, steps) -> {
+            double[] freeAt = new double[servers];
+            double clock = 0.0;
+            double totalWait = 0.0;
+            for (int i = 0; i < steps; i++) {
+                clock += -Math.log(1.0 - random.nextDouble()) / arrivalRate;
+                int server = 0;
+                for (int s = 1; s < servers; s++) {
+                    if (freeAt[s] < freeAt[server]) {
+                        server = s;
+                    }
+                }
+                double startService = Math.max(clock, freeAt[server]);
+                totalWait += startService - clock;
+                freeAt[server] = startService - Math.log(1.0 - random.nextDouble()) / serviceRate;
+            }
+            return totalWait / steps;
+        };
+    }
+
+    @Override
+    public String parameterKey(Map<String, Object> params) {
+        return SimulationResultCache.encode(Map.of(
+                "arrivalRate", SimulationModel.positiveParam(params, "arrivalRate", 1.0),
+                "serviceRate", SimulationModel.positiveParam(params, "serviceRate", 1.2),
+                "servers", servers(params)));
+    }
+
+    private static int servers(Map<String, Object> params) {
+        double servers = SimulationModel.positiveParam(params, "servers", 1.0);
+        if (servers != Math.rint(servers) || servers > MAX_SERVERS) {
+            throw new IllegalArgumentException("Parameter 'servers' must be an integer in [1, " + MAX_SERVERS + "]");
+        }
+        return (int) servers;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
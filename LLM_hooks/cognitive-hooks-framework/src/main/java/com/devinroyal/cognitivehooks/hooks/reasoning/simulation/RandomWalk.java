@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Symmetric +/-1 random walk starting at zero. Consumes 64 steps per random
+ * long by counting set bits instead of drawing one boolean per step.
+ */
+public final class RandomWalk implements PathSimulator {
+
+    @Override
+    public double simulate(SplittableRandom random, int steps) {
+        long position = 0;
+        int remaining = steps;
+        while (remaining >= 64) {
+            position += 2L * Long.bitCount(random.nextLong()) - 64;
+            remaining -= 64;
+        }
+        if (remaining > 0) {
+            long bits = random.nextLong() & ((1L << remaining) - 1);
+            position += 2L * Long.bitCount(bits) - remaining;
+        }
+        return position;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.util.Map;
+
+/**
+ * Symmetric random walk. Params: {@code stepSize} (default 1.0).
+ * Terminal value is the final position.
+ */
+public final class RandomWalkModel implements SimulationModel {
+
+    @Override
+    public String getName() {
+        return "random-walk";
+    }
+
+    @Override
+    public PathSimulator create(Map<String, Object> params) {
+        double stepSize = SimulationModel.positiveParam(params, "stepSize", 1.0);
+        RandomWalk walk = new RandomWalk();
+        if (stepSize == 1.0) {
+            return walk;
+        }
+        return (random, steps) -> stepSize * walk.simulate(random, steps);
+    }
+
+    @Override
+    public String parameterKey(Map<String, Object> params) {
+        return SimulationResultCache.encode(Map.of("stepSize", SimulationModel.positiveParam(params, "stepSize", 1.0)));
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.util.Map;
+
+/**
+ * Service-provider contract for simulation models. A model validates its
+ * parameters once and returns a {@link PathSimulator} that the engine runs
+ * across many paths. Register custom models with
+ * {@link SimulationModelRegistry#register(SimulationModel)}.
+ */
+public interface SimulationModel {
+
+    /**
+     * Name used to select the model via the {@code simulationModel} payload key.
+     */
+    String getName();
+
+    /**
+     * Builds a simulator for the given parameters.
+     *
+     * @throws IllegalArgumentException when parameters are missing or invalid
+     */
+    PathSimulator create(Map<String, Object> params);
+
+    /**
+     * Canonical form of the parameters, used to key cached results of
+     * seeded runs: parameters that simulate alike must give equal keys and
+     * any others different keys. Implementations should encode the values
+     * {@link #create} resolved, defaults included, so that an omitted
+     * parameter and its default share an entry. The default encodes the raw
+     * map with {@link SimulationResultCache#encode}.
+     *
+     * @throws IllegalArgumentException when parameters are missing or invalid
+     */
+    default String parameterKey(Map<String, Object> params) {
+        return SimulationResultCache.encode(params);
+    }
+
+    static double doubleParam(Map<String, Object> params, String key, double defaultValue) {
+        Object value = params.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof Number number)) {
+            throw new IllegalArgumentException("Parameter '" + key + "' must be a number");
+        }
+        return number.doubleValue();
+    }
+
+    static double positiveParam(Map<String, Object> params, String key, double defaultValue) {
+        double value = doubleParam(params, key, defaultValue);
+        if (!(value > 0.0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Parameter '" + key + "' must be > 0");
+        }
+        return value;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe registry of simulation models, keyed by model name.
+ */
+public final class SimulationModelRegistry {
+
+    private final ConcurrentMap<String, SimulationModel> modelsByName = new ConcurrentHashMap<>();
+
+    /**
+     * Registry pre-populated with the built-in models: random walk,
+     * geometric Brownian motion, M/M/c queueing and bootstrap resampling.
+     */
+    public static SimulationModelRegistry withDefaults() {
+        SimulationModelRegistry registry = new SimulationModelRegistry();
+        registry.register(new RandomWalkModel());
+        registry.register(new GeometricBrownianMotionModel());
+        registry.register(new QueueingModel());
+        registry.register(new BootstrapModel());
+        return registry;
+    }
+
+    public void register(SimulationModel model) {
+        Objects.requireNonNull(model, "model must not be null");
+        modelsByName.put(model.getName(), model);
+    }
+
+    public SimulationModel get(String name) {
+        if (name == null) {
+            return null;
+        }
+        return modelsByName.get(name);
+    }
+
+    public List<String> listNames() {
+        List<String> names = new ArrayList<>(modelsByName.keySet());
+        Collections.sort(names);
+        return Collections.unmodifiableList(names);
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bounded LRU cache of summaries for seeded runs. Seeded runs are
+ * deterministic, so (model, parameters, seed, paths, steps, bins) fully
+ * identifies the result; entries can be shared by any caller that asks for
+ * the same run.
+ *
+ * Parameters are keyed by {@link SimulationModel#parameterKey}, which
+ * encodes them with {@link #encode}: every value carries a type tag and a
+ * length, so a string can never render like a number or a nested map, and
+ * numbers are compared by value, so {@code 1}, {@code 1L} and {@code 1.0}
+ * share an entry. Encodings longer than {@value #MAX_INLINE_KEY} characters
+ * are replaced by their SHA-256 digest.
+ */
+public final class SimulationResultCache {
+
+    static final int MAX_INLINE_KEY = 256;
+
+    private final Map<String, SimulationSummary> entries;
+
+    public SimulationResultCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SimulationSummary> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param parameterKey the model's {@link SimulationModel#parameterKey}
+     */
+    public static String key(String model, String parameterKey, long seed, int paths, int steps, int bins) {
+        return model.length() + ":" + model + '|' + parameterKey + '|' + seed + '|' + paths + '|' + steps + '|' + bins;
+    }
+
+    /**
+     * Unambiguous encoding of a parameter value: maps (in key order),
+     * collections, {@code double[]}, numbers, booleans, strings and null.
+     * Other objects are encoded by class name and {@code toString()}.
+     */
+    public static String encode(Object value) {
+        StringBuilder out = new StringBuilder();
+        append(out, value);
+        if (out.length() <= MAX_INLINE_KEY) {
+            return out.toString();
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(out.toString().getBytes(StandardCharsets.UTF_8));
+            return "#" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public synchronized SimulationSummary get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, SimulationSummary summary) {
+        entries.put(key, summary);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static void append(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append('z');
+        } else if (value instanceof Boolean b) {
+            out.append(b ? "b1" : "b0");
+        } else if (value instanceof Number number) {
+            appendTagged(out, 'n', canonicalNumber(number));
+        } else if (value instanceof CharSequence text) {
+            appendTagged(out, 's', text.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((k, v) -> sorted.put(String.valueOf(k), v));
+            out.append('m').append(sorted.size()).append('{');
+            sorted.forEach((k, v) -> {
+                appendTagged(out, 's', k);
+                append(out, v);
+            });
+            out.append('}');
+        } else if (value instanceof Collection<?> list) {
+            out.append('l').append(list.size()).append('[');
+            for (Object element : list) {
+                append(out, element);
+            }
+            out.append(']');
+        } else if (value instanceof double[] array) {
+            out.append('l').append(array.length).append('[');
+            for (double element : array) {
+                append(out, element);
+            }
+            out.append(']');
+        } else {
+            appendTagged(out, 'o', value.getClass().getName() + ':' + value);
+        }
+    }
+
+    private static void appendTagged(StringBuilder out, char tag, String text) {
+        out.append(tag).append(text.length()).append(':').append(text);
+    }
+
+    private static String canonicalNumber(Number number) {
+        BigDecimal exact;
+        if (number instanceof BigDecimal decimal) {
+            exact = decimal;
+        } else if (number instanceof BigInteger integer) {
+            exact = new BigDecimal(integer);
+        } else if (number instanceof Double || number instanceof Float) {
+            double d = number.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                return Double.toString(d);
+            }
+            // Exact binary value, so 0.1f and 0.1d (which differ) stay apart.
+            exact = new BigDecimal(d);
+        } else {
+            exact = BigDecimal.valueOf(number.longValue());
+        }
+        return exact.signum() == 0 ? "0" : exact.stripTrailingZeros().toString();
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
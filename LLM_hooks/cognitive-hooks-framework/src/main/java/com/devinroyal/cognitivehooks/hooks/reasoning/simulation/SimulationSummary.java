@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable summary of a Monte Carlo run: moments, extremes, quantiles and a
+ * fixed-width histogram of terminal values. Moments and extremes are exact;
+ * quantiles and histogram bins are sketched (see {@link MonteCarloEngine}).
+ */
+public final class SimulationSummary {
+
+    static final double[] QUANTILES = {0.01, 0.05, 0.25, 0.50, 0.75, 0.95, 0.99};
+
+    private final long paths;
+    private final double mean;
+    private final double variance;
+    private final double min;
+    private final double max;
+    private final double[] quantileValues;
+    private final long[] histogram;
+
+    SimulationSummary(long paths, double mean, double variance, double min, double max,
+                      double[] quantileValues, long[] histogram) {
+        this.paths = paths;
+        this.mean = mean;
+        this.variance = variance;
+        this.min = min;
+        this.max = max;
+        this.quantileValues = quantileValues;
+        this.histogram = histogram;
+    }
+
+    public long getPaths() {
+        return paths;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getVariance() {
+        return variance;
+    }
+
+    public double getStdDev() {
+        return Math.sqrt(variance);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * @param q one of 0.01, 0.05, 0.25, 0.50, 0.75, 0.95, 0.99
+     */
+    public double getQuantile(double q) {
+        for (int i = 0; i < QUANTILES.length; i++) {
+            if (QUANTILES[i] == q) {
+                return quantileValues[i];
+            }
+        }
+        throw new IllegalArgumentException("Unsupported quantile " + q);
+    }
+
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("paths", paths);
+        map.put("mean", mean);
+        map.put("variance", variance);
+        map.put("stdDev", getStdDev());
+        map.put("min", min);
+        map.put("max", max);
+        Map<String, Object> quantiles = new LinkedHashMap<>();
+        for (int i = 0; i < QUANTILES.length; i++) {
+            quantiles.put("p" + Math.round(QUANTILES[i] * 100), quantileValues[i]);
+        }
+        map.put("quantiles", quantiles);
+        Map<String, Object> hist = new LinkedHashMap<>();
+        hist.put("min", min);
+        hist.put("max", max);
+        hist.put("counts", Arrays.stream(histogram).boxed().toList());
+        map.put("histogram", hist);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationSummary" + toMap();
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A hook circuit breaker opening or closing. Instant event.
+ */
+@Name("com.devinroyal.cognitivehooks.CircuitTransition")
+@Label("Circuit Transition")
+@Category({"Cognitive Hooks", "Hooks"})
+@Description("A hook circuit breaker opened or closed")
+@StackTrace(false)
+public final class CircuitTransitionEvent extends Event {
+
+    @Label("Hook Id")
+    public String hookId;
+
+    @Label("State")
+    @Description("OPEN or CLOSED")
+    public String state;
+
+    @Label("Consecutive Failures")
+    public int consecutiveFailures;
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
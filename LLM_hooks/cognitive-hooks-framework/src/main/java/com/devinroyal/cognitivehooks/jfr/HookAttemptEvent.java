@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A single invocation of {@code Hook.execute}.
+ */
+@Name("com.devinroyal.cognitivehooks.HookAttempt")
+@Label("Hook Attempt")
+@Category({"Cognitive Hooks", "Hooks"})
+@Description("One invocation of a hook; retries produce one event each")
+@StackTrace(false)
+public final class HookAttemptEvent extends Event {
+
+    @Label("Hook Id")
+    public String hookId;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    @Label("Error")
+    public String error;
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code ResilientHookExecutor.execute} call, including retries and
+ * backoff.
+ */
+@Name("com.devinroyal.cognitivehooks.HookExecution")
+@Label("Hook Execution")
+@Category({"Cognitive Hooks", "Hooks"})
+@Description("A hook run through the resilience layer, including retries")
+@StackTrace(false)
+public final class HookExecutionEvent extends Event {
+
+    @Label("Hook Id")
+    public String hookId;
+
+    @Label("Hook Type")
+    public String hookType;
+
+    @Label("Status")
+    public String status;
+
+    @Label("Attempts")
+    @Description("Times the hook was invoked; 0 if its circuit was open")
+    public int attempts;
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP call to an LLM endpoint, from send until the response is fully
+ * read. Committed on the thread that completes the call.
+ */
+@Name("com.devinroyal.cognitivehooks.LlmCall")
+@Label("LLM Call")
+@Category({"Cognitive Hooks", "LLM"})
+@Description("A completion request to an LLM endpoint")
+@StackTrace(false)
+public final class LlmCallEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Model")
+    public String model;
+
+    @Label("Prefix Id")
+    public String prefixId;
+
+    @Label("Streamed")
+    public boolean streamed;
+
+    @Label("Prompt Characters")
+    public long promptChars;
+
+    @Label("Response Characters")
+    public long responseChars;
+
+    @Label("Error")
+    public String error;
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code HookOrchestrator.handle} call, from policy checks through
+ * final synthesis.
+ */
+@Name("com.devinroyal.cognitivehooks.Orchestration")
+@Label("Orchestration")
+@Category({"Cognitive Hooks", "Orchestration"})
+@Description("One orchestrated request, end to end")
+@StackTrace(false)
+public final class OrchestrationEvent extends Event {
+
+    @Label("Request Id")
+    public String requestId;
+
+    @Label("User Id")
+    public String userId;
+
+    @Label("Tenant Id")
+    public String tenantId;
+
+    @Label("Hook Results")
+    public int hookResults;
+
+    @Label("Failed Hooks")
+    @Description("Results with status FAILED or CIRCUIT_OPEN")
+    public int failedHooks;
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
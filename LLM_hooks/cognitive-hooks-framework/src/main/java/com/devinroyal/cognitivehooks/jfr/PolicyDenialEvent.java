@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The policy engine denying a hook. Instant event.
+ */
+@Name("com.devinroyal.cognitivehooks.PolicyDenial")
+@Label("Policy Denial")
+@Category({"Cognitive Hooks", "Policy"})
+@Description("A hook denied by a policy rule, rate limit or quota")
+@StackTrace(false)
+public final class PolicyDenialEvent extends Event {
+
+    @Label("Hook Id")
+    public String hookId;
+
+    @Label("Hook Type")
+    public String hookType;
+
+    @Label("Tenant Id")
+    public String tenantId;
+
+    @Label("Reason")
+    public String reason;
+
+    @Label("Throttled")
+    @Description("Denied by a rate limit or quota rather than a rule")
+    public boolean throttled;
+
+    @Label("Retry After")
+    @Timespan(Timespan.MILLISECONDS)
+    public long retryAfterMillis;
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The resilience layer sleeping before a retry.
+ */
+@Name("com.devinroyal.cognitivehooks.RetryBackoff")
+@Label("Retry Backoff")
+@Category({"Cognitive Hooks", "Hooks"})
+@Description("Blocking wait before retrying a failed hook")
+@StackTrace(false)
+public final class RetryBackoffEvent extends Event {
+
+    @Label("Hook Id")
+    public String hookId;
+
+    @Label("Failed Attempt")
+    public int attempt;
+
+    @Label("Planned Backoff")
+    @Timespan(Timespan.MILLISECONDS)
+    public long plannedMillis;
+
+    @Label("Interrupted")
+    @Description("The wait was cut short by an interrupt and the hook was not retried")
+    public boolean interrupted;
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
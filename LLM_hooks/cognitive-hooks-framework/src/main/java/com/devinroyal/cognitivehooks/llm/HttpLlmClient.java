@@ -0,0 +1,520 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.llm;
+
+import com.devinroyal.cognitivehooks.core.HookException;
+import com.devinroyal.cognitivehooks.core.LlmClient;
+import com.devinroyal.cognitivehooks.core.LlmPrompt;
+import com.devinroyal.cognitivehooks.core.LlmStreamListener;
+import com.devinroyal.cognitivehooks.jfr.LlmCallEvent;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Production {@link LlmClient} for OpenAI-compatible chat completion endpoints.
+ *
+ * A single shared {@link HttpClient} negotiates HTTP/2, so concurrent calls are
+ * multiplexed as streams over pooled connections instead of opening a new
+ * connection per call. Requests are sent with {@code sendAsync}, bounded by a
+ * queue of concurrency permits, optionally gzip-compressed, and responses
+ * (plain JSON or server-sent events) are parsed incrementally with the Jackson
+ * streaming API.
+ */
+public final class HttpLlmClient implements LlmClient {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final String model;
+    private final String apiKey;
+    private final Duration requestTimeout;
+    private final Duration acquireTimeout;
+    private final boolean compressRequests;
+    private final boolean streaming;
+    private final Permits permits;
+
+    private HttpLlmClient(Builder builder) {
+        this.endpoint = Objects.requireNonNull(builder.endpoint, "endpoint must not be null");
+        this.model = builder.model;
+        this.apiKey = builder.apiKey;
+        this.requestTimeout = builder.requestTimeout;
+        this.acquireTimeout = builder.acquireTimeout;
+        this.compressRequests = builder.compressRequests;
+        this.streaming = builder.streaming;
+        this.permits = new Permits(builder.maxConcurrentRequests);
+
+        HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(builder.connectTimeout);
+        if (builder.executor != null) {
+            clientBuilder.executor(builder.executor);
+        }
+        this.httpClient = clientBuilder.build();
+    }
+
+    public static Builder builder(URI endpoint) {
+        return new Builder(endpoint);
+    }
+
+    @Override
+    public String complete(String prompt, Map<String, Object> context) throws HookException {
+        return await(completeAsync(LlmPrompt.of("", "", prompt), context));
+    }
+
+    @Override
+    public String complete(LlmPrompt prompt, Map<String, Object> context) throws HookException {
+        return await(completeAsync(prompt, context));
+    }
+
+    /**
+     * Always requests server-sent events. Deltas reach {@code listener} as
+     * they are parsed; when it returns {@code false} the response stream is
+     * closed, which resets the HTTP/2 stream and stops generation upstream.
+     */
+    @Override
+    public String stream(LlmPrompt prompt, Map<String, Object> context, LlmStreamListener listener)
+            throws HookException {
+        Objects.requireNonNull(listener, "listener must not be null");
+        return await(send(prompt, context, listener));
+    }
+
+    /**
+     * Non-blocking variant: the caller's thread never waits. When every
+     * permit is in use the call queues and is sent as soon as one is released.
+     * The returned future completes exceptionally with a {@link HookException}
+     * on transport or protocol failures, or when no permit frees up within
+     * the acquire timeout.
+     */
+    public CompletableFuture<String> completeAsync(LlmPrompt prompt, Map<String, Object> context) {
+        return send(prompt, context, null);
+    }
+
+    private CompletableFuture<String> send(LlmPrompt prompt, Map<String, Object> context, LlmStreamListener listener) {
+        Objects.requireNonNull(prompt, "prompt must not be null");
+        boolean stream = streaming || listener != null;
+        HttpRequest request;
+        try {
+            request = buildRequest(prompt, context, stream);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new HookException("Failed to encode LLM request", e));
+        }
+
+        CompletableFuture<Void> permit = permits.acquire();
+        if (permit.isDone()) {
+            return dispatch(request, prompt, stream, listener);
+        }
+        return permit.orTimeout(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .handle((ignored, error) -> error)
+                .thenCompose(error -> error == null
+                        ? dispatch(request, prompt, stream, listener)
+                        : CompletableFuture.failedFuture(
+                                new HookException("LLM client saturated: no permit within " + acquireTimeout)));
+    }
+
+    /**
+     * Sends with a permit already held and releases it on completion.
+     */
+    private CompletableFuture<String> dispatch(HttpRequest request,
+                                               LlmPrompt prompt,
+                                               boolean stream,
+                                               LlmStreamListener listener) {
+        LlmCallEvent event = new LlmCallEvent();
+        event.begin();
+        CompletableFuture<String> future;
+        try {
+            future = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                    .thenApply(response -> readResponse(response, listener));
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(new HookException("Failed to send LLM request", e));
+        }
+        return future.whenComplete((r, t) -> {
+            permits.release();
+            commitCall(event, prompt, stream, r, t);
+        });
+    }
+
+    /**
+     * Commits on the thread that completed the call, so the event's thread
+     * is usually an HTTP client thread rather than the caller.
+     */
+    private void commitCall(LlmCallEvent event, LlmPrompt prompt, boolean stream, String response, Throwable error) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint.toString();
+            event.model = model;
+            event.prefixId = prompt.getPrefixId();
+            event.streamed = stream;
+            event.promptChars = prompt.getPrefix().length() + prompt.getSuffix().length();
+            event.responseChars = response == null ? 0 : response.length();
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                event.error = cause.getMessage() == null ? cause.getClass().getName() : cause.getMessage();
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * Number of requests currently in flight.
+     */
+    public int inFlight() {
+        return permits.inUse();
+    }
+
+    private HttpRequest buildRequest(LlmPrompt prompt, Map<String, Object> context, boolean stream)
+            throws IOException {
+        byte[] body = encodeBody(prompt, context, stream);
+        HttpRequest.Builder rb = HttpRequest.newBuilder(endpoint)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", stream ? "text/event-stream" : "application/json")
+                .header("Accept-Encoding", "gzip");
+        if (apiKey != null) {
+            rb.header("Authorization", "Bearer " + apiKey);
+        }
+        if (compressRequests) {
+            body = gzip(body);
+            rb.header("Content-Encoding", "gzip");
+        }
+        return rb.POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+    }
+
+    private byte[] encodeBody(LlmPrompt prompt, Map<String, Object> context, boolean stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 + prompt.getPrefix().length() + prompt.getSuffix().length());
+        try (JsonGenerator gen = JSON.createGenerator(out)) {
+            gen.writeStartObject();
+            if (model != null) {
+                gen.writeStringField("model", model);
+            }
+            gen.writeBooleanField("stream", stream);
+            if (!prompt.getPrefixId().isEmpty()) {
+                // OpenAI-compatible servers route requests with the same key to a warm prefix cache.
+                gen.writeStringField("prompt_cache_key", prompt.getPrefixId());
+            }
+            gen.writeArrayFieldStart("messages");
+            if (!prompt.getPrefix().isEmpty()) {
+                writeMessage(gen, "system", prompt.getPrefix());
+            }
+            writeMessage(gen, "user", prompt.getSuffix());
+            gen.writeEndArray();
+            if (context != null && !context.isEmpty()) {
+                gen.writeObjectFieldStart("metadata");
+                for (Map.Entry<String, Object> entry : context.entrySet()) {
+                    gen.writeStringField(entry.getKey(), String.valueOf(entry.getValue()));
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeMessage(JsonGenerator gen, String role, String content) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("role", role);
+        gen.writeStringField("content", content);
+        gen.writeEndObject();
+    }
+
+    private String readResponse(HttpResponse<InputStream> response, LlmStreamListener listener) {
+        try (InputStream raw = response.body();
+             InputStream in = isGzip(response) ? new GZIPInputStream(raw) : raw) {
+            if (response.statusCode() / 100 != 2) {
+                String error = new String(in.readNBytes(2048), StandardCharsets.UTF_8);
+                throw new CompletionException(new HookException(
+                        "LLM endpoint returned HTTP " + response.statusCode() + ": " + error));
+            }
+            String contentType = response.headers().firstValue("Content-Type").orElse("");
+            StringBuilder text = new StringBuilder();
+            if (contentType.startsWith("text/event-stream")) {
+                readEventStream(in, text, listener);
+            } else {
+                try (JsonParser parser = JSON.createParser(in)) {
+                    appendContent(parser, text);
+                }
+                if (listener != null && text.length() > 0) {
+                    listener.onChunk(text.toString());
+                }
+            }
+            return text.toString();
+        } catch (IOException e) {
+            throw new CompletionException(new HookException("Failed to read LLM response: " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Reads events until {@code [DONE]}, EOF, or the listener asks to stop;
+     * returning early lets the caller close the stream mid-generation.
+     */
+    private static void readEventStream(InputStream in, StringBuilder text, LlmStreamListener listener)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+            String data = line.substring(5).trim();
+            if (data.equals("[DONE]")) {
+                break;
+            }
+            if (data.isEmpty()) {
+                continue;
+            }
+            int before = text.length();
+            try (JsonParser parser = JSON.createParser(data)) {
+                appendContent(parser, text);
+            }
+            if (listener != null && text.length() > before && !listener.onChunk(text.substring(before))) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Walks the token stream and appends every {@code content} / {@code text}
+     * string found under {@code choices}, without materializing a tree. This
+     * covers both {@code message.content} and streamed {@code delta.content}.
+     */
+    private static void appendContent(JsonParser parser, StringBuilder text) throws IOException {
+        int choicesDepth = -1;
+        int depth = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> depth++;
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    if (depth < choicesDepth) {
+                        choicesDepth = -1;
+                    }
+                }
+                case FIELD_NAME -> {
+                    String name = parser.currentName();
+                    if (choicesDepth < 0 && "choices".equals(name)) {
+                        choicesDepth = depth + 1;
+                    } else if (choicesDepth >= 0 && ("content".equals(name) || "text".equals(name))) {
+                        if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                            text.append(parser.getText());
+                        } else if (parser.currentToken().isStructStart()) {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static boolean isGzip(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Encoding")
+                .map(v -> v.equalsIgnoreCase("gzip"))
+                .orElse(false);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 64);
+        try (OutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private String await(CompletableFuture<String> future) throws HookException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HookException("Interrupted waiting for LLM response", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause()
+                    : e.getCause();
+            if (cause instanceof HookException he) {
+                throw he;
+            }
+            throw new HookException("LLM call failed: " + cause, cause);
+        }
+    }
+
+    /**
+     * Counting permits whose waiters are futures rather than parked threads.
+     * A released permit goes straight to the oldest waiter still pending;
+     * waiters that timed out are discarded.
+     */
+    private static final class Permits {
+        private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+        private final int max;
+        private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+        private int available;
+
+        Permits(int max) {
+            this.max = max;
+            this.available = max;
+        }
+
+        CompletableFuture<Void> acquire() {
+            CompletableFuture<Void> waiter;
+            synchronized (this) {
+                if (available > 0) {
+                    available--;
+                    return GRANTED;
+                }
+                waiter = new CompletableFuture<>();
+                waiters.add(waiter);
+            }
+            waiter.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    synchronized (this) {
+                        waiters.remove(waiter);
+                    }
+                }
+            });
+            return waiter;
+        }
+
+        void release() {
+            while (true) {
+                CompletableFuture<Void> next;
+                synchronized (this) {
+                    next = waiters.poll();
+                    if (next == null) {
+                        available++;
+                        return;
+                    }
+                }
+                // Completed outside the lock: the waiter's send runs on this thread.
+                if (next.complete(null)) {
+                    return;
+                }
+            }
+        }
+
+        synchronized int inUse() {
+            return max - available;
+        }
+    }
+
+    public static final class Builder {
+        private final URI endpoint;
+        private String model;
+        private String apiKey;
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(60);
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+        private int maxConcurrentRequests = 64;
+        private boolean compressRequests = false;
+        private boolean streaming = false;
+        private Executor executor;
+
+        private Builder(URI endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public Builder model(String model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder apiKey(String apiKey) {
+            this.apiKey = apiKey;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = Objects.requireNonNull(connectTimeout, "connectTimeout must not be null");
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = Objects.requireNonNull(requestTimeout, "requestTimeout must not be null");
+            return this;
+        }
+
+        /**
+         * How long a call may queue for a concurrency permit before failing.
+         */
+        public Builder acquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = Objects.requireNonNull(acquireTimeout, "acquireTimeout must not be null");
+            return this;
+        }
+
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            if (maxConcurrentRequests <= 0) {
+                throw new IllegalArgumentException("maxConcurrentRequests must be > 0");
+            }
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Gzip request bodies. Off by default: most OpenAI-compatible servers
+         * reject {@code Content-Encoding: gzip} on requests, so enable it only
+         * for endpoints known to accept it.
+         */
+        public Builder compressRequests(boolean compressRequests) {
+            this.compressRequests = compressRequests;
+            return this;
+        }
+
+        /**
+         * Requests server-sent events and concatenates the streamed deltas.
+         */
+        public Builder streaming(boolean streaming) {
+            this.streaming = streaming;
+            return this;
+        }
+
+        /**
+         * Executor for the underlying HttpClient's async work; defaults to the
+         * client's own cached pool.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public HttpLlmClient build() {
+            return new HttpLlmClient(this);
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
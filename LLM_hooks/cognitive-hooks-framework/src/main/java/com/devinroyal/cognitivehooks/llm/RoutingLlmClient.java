@@ -0,0 +1,426 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.llm;
+
+import com.devinroyal.cognitivehooks.core.HookException;
+import com.devinroyal.cognitivehooks.core.LlmClient;
+import com.devinroyal.cognitivehooks.core.LlmPrompt;
+import com.devinroyal.cognitivehooks.core.LlmStreamListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Latency-aware {@link LlmClient} that spreads calls over several
+ * interchangeable backends.
+ *
+ * Each backend keeps an EWMA of successful-call latency and of error rate,
+ * plus a sliding window of recent successful latencies. Calls go to the
+ * better of two randomly sampled backends (power-of-two-choices), scored by
+ * EWMA latency weighted by outstanding requests and recent errors. A failed
+ * call fails over to the next-best backend that has not been tried yet.
+ *
+ * Failures never feed the latency statistics, so a backend that fails fast
+ * does not look fast. After several consecutive failures a backend is
+ * ejected: it is only chosen when every untried backend is ejected, until
+ * the ejection expires. Ejection time doubles with each consecutive ejection
+ * and resets on the first success.
+ */
+public final class RoutingLlmClient implements LlmClient {
+
+    private static final double DEFAULT_ALPHA = 0.2;
+    private static final int DEFAULT_WINDOW = 256;
+    private static final double ERROR_DECAY_NANOS = 10_000_000_000.0;
+    private static final int EJECT_AFTER_FAILURES = 3;
+    private static final long EJECT_BASE_NANOS = 1_000_000_000L;
+    private static final long EJECT_MAX_NANOS = 30_000_000_000L;
+
+    private final Backend[] backends;
+    private final int maxAttempts;
+
+    /**
+     * @param backends    named backends; iteration order is used for stats only
+     * @param maxAttempts total attempts per call including failovers
+     */
+    public RoutingLlmClient(Map<String, LlmClient> backends, int maxAttempts) {
+        Objects.requireNonNull(backends, "backends must not be null");
+        if (backends.isEmpty()) {
+            throw new IllegalArgumentException("backends must not be empty");
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be > 0");
+        }
+        this.backends = new Backend[backends.size()];
+        int i = 0;
+        for (Map.Entry<String, LlmClient> entry : backends.entrySet()) {
+            this.backends[i++] = new Backend(entry.getKey(),
+                    Objects.requireNonNull(entry.getValue(), "backend client must not be null"));
+        }
+        this.maxAttempts = Math.min(maxAttempts, this.backends.length);
+    }
+
+    public RoutingLlmClient(Map<String, LlmClient> backends) {
+        this(backends, backends.size());
+    }
+
+    @Override
+    public String complete(String prompt, Map<String, Object> context) throws HookException {
+        return route(client -> client.complete(prompt, context));
+    }
+
+    @Override
+    public String complete(LlmPrompt prompt, Map<String, Object> context) throws HookException {
+        return route(client -> client.complete(prompt, context));
+    }
+
+    /**
+     * Fails over like {@link #complete(LlmPrompt, Map)} until the first chunk
+     * has reached the listener; after that a failure is returned as-is, since
+     * retrying would deliver the output twice.
+     */
+    @Override
+    public String stream(LlmPrompt prompt, Map<String, Object> context, LlmStreamListener listener)
+            throws HookException {
+        AtomicBoolean delivered = new AtomicBoolean();
+        LlmStreamListener tracking = chunk -> {
+            delivered.set(true);
+            return listener.onChunk(chunk);
+        };
+        return route(client -> client.stream(prompt, context, tracking), () -> !delivered.get());
+    }
+
+    /**
+     * Point-in-time per-backend statistics, in registration order.
+     */
+    public List<BackendStats> snapshot() {
+        List<BackendStats> stats = new ArrayList<>(backends.length);
+        for (Backend backend : backends) {
+            stats.add(backend.stats());
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    private String route(Call call) throws HookException {
+        return route(call, () -> true);
+    }
+
+    private String route(Call call, BooleanSupplier retryable) throws HookException {
+        boolean[] tried = new boolean[backends.length];
+        HookException last = null;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            int index = choose(tried);
+            tried[index] = true;
+            Backend backend = backends[index];
+            backend.outstanding.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                String result = call.invoke(backend.client);
+                backend.onSuccess(System.nanoTime() - start);
+                return result;
+            } catch (HookException | RuntimeException e) {
+                backend.onFailure();
+                last = e instanceof HookException he
+                        ? he
+                        : new HookException("Backend " + backend.name + " failed: " + e.getMessage(), e);
+                if (!retryable.getAsBoolean()) {
+                    throw last;
+                }
+            } finally {
+                backend.outstanding.decrementAndGet();
+            }
+        }
+        throw new HookException("All " + maxAttempts + " LLM backend attempts failed: " + last.getMessage(), last);
+    }
+
+    /**
+     * Power-of-two-choices among untried backends that are not ejected (or
+     * among all untried ones when every one is ejected); falls back to a full
+     * scan when fewer than two candidates remain.
+     */
+    private int choose(boolean[] tried) {
+        long now = System.nanoTime();
+        double prior = latencyPrior();
+        boolean[] excluded = tried.clone();
+        boolean anyHealthy = false;
+        for (int i = 0; i < backends.length; i++) {
+            if (!tried[i] && !backends[i].isEjected(now)) {
+                anyHealthy = true;
+            }
+        }
+        int remaining = 0;
+        for (int i = 0; i < backends.length; i++) {
+            if (anyHealthy && backends[i].isEjected(now)) {
+                excluded[i] = true;
+            }
+            if (!excluded[i]) {
+                remaining++;
+            }
+        }
+        if (remaining <= 2) {
+            int best = -1;
+            for (int i = 0; i < backends.length; i++) {
+                if (!excluded[i] && (best < 0 || backends[i].score(prior, now) < backends[best].score(prior, now))) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = nthUntried(excluded, random.nextInt(remaining));
+        int b = nthUntried(excluded, random.nextInt(remaining - 1));
+        if (b >= a) {
+            b = nextUntried(excluded, b);
+        }
+        return backends[a].score(prior, now) <= backends[b].score(prior, now) ? a : b;
+    }
+
+    /**
+     * Latency assumed for backends with no successful call yet: the fastest
+     * measured EWMA, or 1 when nothing is measured, so cold backends are
+     * probed but still spread by outstanding requests.
+     */
+    private double latencyPrior() {
+        double prior = Double.MAX_VALUE;
+        for (Backend backend : backends) {
+            double latency = Double.longBitsToDouble(backend.latencyEwmaBits.get());
+            if (latency > 0.0 && latency < prior) {
+                prior = latency;
+            }
+        }
+        return prior == Double.MAX_VALUE ? 1.0 : prior;
+    }
+
+    private static int nthUntried(boolean[] tried, int n) {
+        for (int i = 0; i < tried.length; i++) {
+            if (!tried[i] && n-- == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("no untried backend");
+    }
+
+    private static int nextUntried(boolean[] tried, int from) {
+        for (int i = from + 1; i < tried.length; i++) {
+            if (!tried[i]) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("no untried backend");
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        String invoke(LlmClient client) throws HookException;
+    }
+
+    private static final class Backend {
+        private final String name;
+        private final LlmClient client;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicLong latencyEwmaBits = new AtomicLong(Double.doubleToLongBits(0.0));
+        private final AtomicLong errorEwmaBits = new AtomicLong(Double.doubleToLongBits(0.0));
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final long[] window = new long[DEFAULT_WINDOW];
+        private final AtomicLong windowCursor = new AtomicLong();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicInteger consecutiveEjections = new AtomicInteger();
+        private volatile long lastFailureNanos;
+        private volatile long ejectedUntilNanos;
+
+        Backend(String name, LlmClient client) {
+            this.name = Objects.requireNonNull(name, "backend name must not be null");
+            this.client = client;
+        }
+
+        void onSuccess(long nanos) {
+            calls.increment();
+            consecutiveFailures.set(0);
+            consecutiveEjections.set(0);
+            updateEwma(latencyEwmaBits, nanos, true);
+            updateEwma(errorEwmaBits, 0.0, false);
+            window[(int) (windowCursor.getAndIncrement() % window.length)] = nanos;
+        }
+
+        /**
+         * Counts the error but leaves latency alone: how long a failure took
+         * says nothing about how fast the backend serves.
+         */
+        void onFailure() {
+            long now = System.nanoTime();
+            lastFailureNanos = now;
+            calls.increment();
+            errors.increment();
+            updateEwma(errorEwmaBits, 1.0, false);
+            if (consecutiveFailures.incrementAndGet() >= EJECT_AFTER_FAILURES && !isEjected(now)) {
+                consecutiveFailures.set(0);
+                int ejections = consecutiveEjections.getAndIncrement();
+                ejectedUntilNanos = now + Math.min(EJECT_MAX_NANOS, EJECT_BASE_NANOS << Math.min(ejections, 5));
+            }
+        }
+
+        boolean isEjected(long now) {
+            return now - ejectedUntilNanos < 0;
+        }
+
+        private static void updateEwma(AtomicLong bits, double sample, boolean seedFromFirstSample) {
+            while (true) {
+                long current = bits.get();
+                double old = Double.longBitsToDouble(current);
+                double updated = seedFromFirstSample && old == 0.0 ? sample : old + DEFAULT_ALPHA * (sample - old);
+                if (bits.compareAndSet(current, Double.doubleToLongBits(updated))) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Lower is better; ejected backends score infinity. Unmeasured
+         * backends use {@code prior} as their latency. The error penalty
+         * decays with time since the last failure so a recovered backend is
+         * eventually retried even without traffic.
+         */
+        double score(double prior, long now) {
+            if (isEjected(now)) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double latency = Double.longBitsToDouble(latencyEwmaBits.get());
+            if (latency == 0.0) {
+                latency = prior;
+            }
+            double errorRate = Double.longBitsToDouble(errorEwmaBits.get());
+            if (errorRate > 0.0) {
+                errorRate *= Math.exp(-(now - lastFailureNanos) / ERROR_DECAY_NANOS);
+            }
+            double errorPenalty = (1.0 + errorRate) / Math.max(1e-3, 1.0 - errorRate);
+            return latency * (outstanding.get() + 1) * errorPenalty;
+        }
+
+        BackendStats stats() {
+            int filled = (int) Math.min(windowCursor.get(), window.length);
+            long[] sorted = Arrays.copyOf(window, filled);
+            Arrays.sort(sorted);
+            return new BackendStats(name,
+                    isEjected(System.nanoTime()),
+                    outstanding.get(),
+                    calls.sum(),
+                    errors.sum(),
+                    Double.longBitsToDouble(latencyEwmaBits.get()),
+                    Double.longBitsToDouble(errorEwmaBits.get()),
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99));
+        }
+
+        private static long percentile(long[] sorted, double q) {
+            if (sorted.length == 0) {
+                return 0L;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(q * sorted.length) - 1)];
+        }
+    }
+
+    /**
+     * Immutable view of a backend's routing statistics.
+     */
+    public static final class BackendStats {
+        private final String name;
+        private final boolean ejected;
+        private final int outstanding;
+        private final long calls;
+        private final long errors;
+        private final double latencyEwmaNanos;
+        private final double errorRateEwma;
+        private final long p50Nanos;
+        private final long p99Nanos;
+
+        BackendStats(String name, boolean ejected, int outstanding, long calls, long errors,
+                     double latencyEwmaNanos, double errorRateEwma, long p50Nanos, long p99Nanos) {
+            this.name = name;
+            this.ejected = ejected;
+            this.outstanding = outstanding;
+            this.calls = calls;
+            this.errors = errors;
+            this.latencyEwmaNanos = latencyEwmaNanos;
+            this.errorRateEwma = errorRateEwma;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Whether the backend is currently ejected after repeated failures.
+         */
+        public boolean isEjected() {
+            return ejected;
+        }
+
+        public int getOutstanding() {
+            return outstanding;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getLatencyEwmaNanos() {
+            return latencyEwmaNanos;
+        }
+
+        public double getErrorRateEwma() {
+            return errorRateEwma;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            map.put("ejected", ejected);
+            map.put("outstanding", outstanding);
+            map.put("calls", calls);
+            map.put("errors", errors);
+            map.put("latencyEwmaNanos", latencyEwmaNanos);
+            map.put("errorRateEwma", errorRateEwma);
+            map.put("p50Nanos", p50Nanos);
+            map.put("p99Nanos", p99Nanos);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return "BackendStats" + toMap();
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
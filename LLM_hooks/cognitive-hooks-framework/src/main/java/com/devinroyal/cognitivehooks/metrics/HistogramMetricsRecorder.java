@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.metrics;
+
+import com.devinroyal.cognitivehooks.core.MetricsRecorder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process {@link MetricsRecorder} keeping, per hook, a
+ * {@link LatencyHistogram} for each outcome (success, failure, timeout) and
+ * counters for retries, circuit-open rejections and policy denials.
+ *
+ * Recording is allocation-free once a hook has been seen: a map lookup, then
+ * atomic updates on that hook's histogram. Failure reasons are not retained,
+ * to keep cardinality bounded. Read the numbers with {@link #snapshot()}.
+ */
+public final class HistogramMetricsRecorder implements MetricsRecorder {
+
+    private final ConcurrentMap<String, HookMetrics> hooks = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordSuccess(String hookId, Duration latency) {
+        recordSuccessNanos(hookId, latency.toNanos());
+    }
+
+    @Override
+    public void recordFailure(String hookId, Duration latency, String reason) {
+        recordFailureNanos(hookId, latency.toNanos(), reason);
+    }
+
+    @Override
+    public void recordCircuitOpen(String hookId) {
+        metricsFor(hookId).circuitOpen.increment();
+    }
+
+    @Override
+    public void recordTimeout(String hookId, Duration elapsed) {
+        recordTimeoutNanos(hookId, elapsed.toNanos());
+    }
+
+    @Override
+    public void recordRetry(String hookId) {
+        metricsFor(hookId).retries.increment();
+    }
+
+    @Override
+    public void recordPolicyDenial(String hookId, boolean throttled) {
+        HookMetrics metrics = metricsFor(hookId);
+        (throttled ? metrics.throttleDenials : metrics.ruleDenials).increment();
+    }
+
+    @Override
+    public void recordSuccessNanos(String hookId, long latencyNanos) {
+        metricsFor(hookId).success.record(latencyNanos);
+    }
+
+    @Override
+    public void recordFailureNanos(String hookId, long latencyNanos, String reason) {
+        metricsFor(hookId).failure.record(latencyNanos);
+    }
+
+    @Override
+    public void recordTimeoutNanos(String hookId, long elapsedNanos) {
+        metricsFor(hookId).timeout.record(elapsedNanos);
+    }
+
+    /**
+     * @return a point-in-time view per hook, sorted by hook id
+     */
+    public Map<String, HookSnapshot> snapshot() {
+        Map<String, HookSnapshot> snapshots = new TreeMap<>();
+        hooks.forEach((hookId, metrics) -> snapshots.put(hookId, metrics.snapshot(hookId)));
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    private HookMetrics metricsFor(String hookId) {
+        HookMetrics metrics = hooks.get(hookId);
+        return metrics != null ? metrics : hooks.computeIfAbsent(hookId, id -> new HookMetrics());
+    }
+
+    private static final class HookMetrics {
+        private final LatencyHistogram success = new LatencyHistogram();
+        private final LatencyHistogram failure = new LatencyHistogram();
+        private final LatencyHistogram timeout = new LatencyHistogram();
+        private final LongAdder circuitOpen = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder ruleDenials = new LongAdder();
+        private final LongAdder throttleDenials = new LongAdder();
+
+        HookSnapshot snapshot(String hookId) {
+            return new HookSnapshot(hookId, success.snapshot(), failure.snapshot(), timeout.snapshot(),
+                    circuitOpen.sum(), retries.sum(), ruleDenials.sum(), throttleDenials.sum());
+        }
+    }
+
+    /**
+     * One hook's metrics at a point in time.
+     */
+    public static final class HookSnapshot {
+
+        private final String hookId;
+        private final LatencyHistogram.Snapshot success;
+        private final LatencyHistogram.Snapshot failure;
+        private final LatencyHistogram.Snapshot timeout;
+        private final long circuitOpenCount;
+        private final long retryCount;
+        private final long ruleDenialCount;
+        private final long throttleDenialCount;
+
+        private HookSnapshot(String hookId,
+                             LatencyHistogram.Snapshot success,
+                             LatencyHistogram.Snapshot failure,
+                             LatencyHistogram.Snapshot timeout,
+                             long circuitOpenCount,
+                             long retryCount,
+                             long ruleDenialCount,
+                             long throttleDenialCount) {
+            this.hookId = hookId;
+            this.success = success;
+            this.failure = failure;
+            this.timeout = timeout;
+            this.circuitOpenCount = circuitOpenCount;
+            this.retryCount = retryCount;
+            this.ruleDenialCount = ruleDenialCount;
+            this.throttleDenialCount = throttleDenialCount;
+        }
+
+        public String getHookId() {
+            return hookId;
+        }
+
+        public LatencyHistogram.Snapshot getSuccess() {
+            return success;
+        }
+
+        public LatencyHistogram.Snapshot getFailure() {
+            return failure;
+        }
+
+        public LatencyHistogram.Snapshot getTimeout() {
+            return timeout;
+        }
+
+        public long getCircuitOpenCount() {
+            return circuitOpenCount;
+        }
+
+        public long getRetryCount() {
+            return retryCount;
+        }
+
+        /**
+         * Denials by policy rules.
+         */
+        public long getRuleDenialCount() {
+            return ruleDenialCount;
+        }
+
+        /**
+         * Denials by rate limits and quotas.
+         */
+        public long getThrottleDenialCount() {
+            return throttleDenialCount;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("success", success.toMap());
+            map.put("failure", failure.toMap());
+            map.put("timeout", timeout.toMap());
+            map.put("circuitOpen", circuitOpenCount);
+            map.put("retries", retryCount);
+            map.put("ruleDenials", ruleDenialCount);
+            map.put("throttleDenials", throttleDenialCount);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return "HookSnapshot{hookId='" + hookId + "', " + toMap() + '}';
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,204 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent latency histogram with HDR-style log-linear buckets: values
+ * below 128 ns are exact, and above that each power of two is split into 64
+ * sub-buckets, so every bucket is within 1/64 (about 1.6%) of the values it
+ * holds. Values are tracked up to {@link #MAX_TRACKABLE_NANOS} (about 73
+ * minutes); larger values are clamped.
+ *
+ * {@link #record(long)} is one bucket computation and three atomic updates,
+ * with no allocation and no locks. Snapshots scan only up to the bucket of
+ * the recorded max and copy only non-empty buckets, so they are cheap and
+ * internally consistent, but may miss recordings made while copying.
+ */
+public final class LatencyHistogram {
+
+    public static final long MAX_TRACKABLE_NANOS = (1L << 42) - 1;
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_HALF = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int BUCKETS = indexOf(MAX_TRACKABLE_NANOS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : Math.min(nanos, MAX_TRACKABLE_NANOS);
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+        long seen = max.get();
+        while (value > seen && !max.compareAndSet(seen, value)) {
+            seen = max.get();
+        }
+    }
+
+    public Snapshot snapshot() {
+        long maxNanos = max.get();
+        int lastBucket = indexOf(maxNanos);
+        int[] indexes = new int[16];
+        long[] bucketCounts = new long[16];
+        int used = 0;
+        long count = 0;
+        for (int i = 0; i <= lastBucket; i++) {
+            long c = counts.get(i);
+            if (c == 0) {
+                continue;
+            }
+            if (used == indexes.length) {
+                indexes = Arrays.copyOf(indexes, used * 2);
+                bucketCounts = Arrays.copyOf(bucketCounts, used * 2);
+            }
+            indexes[used] = i;
+            bucketCounts[used++] = c;
+            count += c;
+        }
+        return new Snapshot(indexes, bucketCounts, used, count, sum.sum(), maxNanos);
+    }
+
+    static int indexOf(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (shift << (SUB_BUCKET_BITS - 1)) + (int) (value >>> shift);
+    }
+
+    /**
+     * Largest value that lands in the given bucket.
+     */
+    static long highestValueIn(int index) {
+        if (index < 2 * SUB_BUCKET_HALF) {
+            return index;
+        }
+        int shift = (index >>> (SUB_BUCKET_BITS - 1)) - 1;
+        long subBucket = index - ((long) shift << (SUB_BUCKET_BITS - 1));
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Point-in-time view of a histogram.
+     */
+    public static final class Snapshot {
+
+        private final int[] indexes;
+        private final long[] counts;
+        private final int buckets;
+        private final long count;
+        private final long sumNanos;
+        private final long maxNanos;
+
+        private Snapshot(int[] indexes, long[] counts, int buckets, long count, long sumNanos, long maxNanos) {
+            this.indexes = indexes;
+            this.counts = counts;
+            this.buckets = buckets;
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSumNanos() {
+            return sumNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0.0 : (double) sumNanos / count;
+        }
+
+        /**
+         * @param percentile in [0, 100]
+         * @return the upper bound of the bucket holding that percentile
+         *         (never above the recorded max), or 0 if empty
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            double p = Math.min(100.0, Math.max(0.0, percentile));
+            long rank = Math.max(1L, (long) Math.ceil(p / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < buckets; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueIn(indexes[i]), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        /**
+         * Number of values at or below each bound, for bounds in ascending
+         * order. Values are compared by bucket, so a value equal to a bound
+         * always counts toward it, as may values up to 1/64 above it.
+         */
+        public long[] getCumulativeCounts(long[] upperBoundsNanos) {
+            long[] cumulative = new long[upperBoundsNanos.length];
+            long seen = 0;
+            int bucket = 0;
+            for (int b = 0; b < upperBoundsNanos.length; b++) {
+                int last = indexOf(Math.min(Math.max(0L, upperBoundsNanos[b]), MAX_TRACKABLE_NANOS));
+                while (bucket < buckets && indexes[bucket] <= last) {
+                    seen += counts[bucket++];
+                }
+                cumulative[b] = seen;
+            }
+            return cumulative;
+        }
+
+        public long getP50Nanos() {
+            return getValueAtPercentile(50.0);
+        }
+
+        public long getP90Nanos() {
+            return getValueAtPercentile(90.0);
+        }
+
+        public long getP99Nanos() {
+            return getValueAtPercentile(99.0);
+        }
+
+        public long getP999Nanos() {
+            return getValueAtPercentile(99.9);
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("meanNanos", Math.round(getMeanNanos()));
+            map.put("p50Nanos", getP50Nanos());
+            map.put("p90Nanos", getP90Nanos());
+            map.put("p99Nanos", getP99Nanos());
+            map.put("p999Nanos", getP999Nanos());
+            map.put("maxNanos", maxNanos);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return "LatencyHistogram.Snapshot" + toMap();
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,343 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.metrics;
+
+import com.devinroyal.cognitivehooks.core.HookRegistry;
+import com.devinroyal.cognitivehooks.core.HookType;
+import com.devinroyal.cognitivehooks.core.ResilientHookExecutor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Optional embedded scrape endpoint serving Prometheus text format (0.0.4)
+ * from the JDK's {@link HttpServer}.
+ *
+ * Exposes, per hook: latency histograms by outcome (cumulative
+ * {@code le} buckets, sum and count, plus the max as a gauge) and retry, circuit-open and policy-denial counters from a
+ * {@link HistogramMetricsRecorder}; breaker state from a
+ * {@link ResilientHookExecutor}; and registry size by hook type from a
+ * {@link HookRegistry}. Executor and registry are optional.
+ *
+ * Latency is exported as a Prometheus histogram rather than a summary so
+ * that quantiles can be taken over any window with
+ * {@code histogram_quantile(0.99, rate(..._bucket[5m]))} and aggregated
+ * across instances; the recorder's own buckets are never reset, so
+ * precomputed quantiles would only ever describe the whole process life.
+ * Bucket bounds default to {@link #DEFAULT_BUCKETS} and can be set with
+ * {@link Builder#buckets(Duration...)}.
+ *
+ * Scrapes only read atomics and copy non-empty histogram buckets, so they
+ * never block hook execution. They run one at a time on a single daemon
+ * thread, and the body is gzipped when the scraper accepts it.
+ */
+public final class PrometheusEndpoint implements AutoCloseable {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Default latency bucket upper bounds: 1 ms to 60 s.
+     */
+    public static final List<Duration> DEFAULT_BUCKETS = List.of(
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25),
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+            Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5), Duration.ofSeconds(10),
+            Duration.ofSeconds(30), Duration.ofSeconds(60));
+
+    private static final String PREFIX = "cognitivehooks_";
+
+    private final HistogramMetricsRecorder recorder;
+    private final ResilientHookExecutor executor;
+    private final HookRegistry registry;
+    private final String path;
+    private final long[] bucketNanos;
+    private final String[] bucketLabels;
+
+    private HttpServer server;
+    private ExecutorService serverThread;
+    private volatile int lastScrapeSize = 4096;
+
+    private PrometheusEndpoint(Builder builder) {
+        this.recorder = builder.recorder;
+        this.executor = builder.executor;
+        this.registry = builder.registry;
+        this.path = builder.path;
+        this.bucketNanos = new long[builder.buckets.size()];
+        this.bucketLabels = new String[builder.buckets.size()];
+        for (int i = 0; i < bucketNanos.length; i++) {
+            bucketNanos[i] = builder.buckets.get(i).toNanos();
+            StringBuilder label = new StringBuilder();
+            seconds(label, bucketNanos[i]);
+            bucketLabels[i] = label.toString();
+        }
+    }
+
+    public static Builder builder(HistogramMetricsRecorder recorder) {
+        return new Builder(recorder);
+    }
+
+    /**
+     * Binds and starts serving. Use port 0 for an ephemeral port and read it
+     * back with {@link #getPort()}.
+     */
+    public synchronized PrometheusEndpoint start(InetSocketAddress address) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Metrics endpoint already started");
+        }
+        HttpServer httpServer = HttpServer.create(address, 0);
+        httpServer.createContext(path, this::handle);
+        serverThread = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "metrics-http");
+            t.setDaemon(true);
+            return t;
+        });
+        httpServer.setExecutor(serverThread);
+        httpServer.start();
+        server = httpServer;
+        return this;
+    }
+
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("Metrics endpoint not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            serverThread.shutdownNow();
+            server = null;
+            serverThread = null;
+        }
+    }
+
+    /**
+     * Renders the current metrics in Prometheus text format.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(lastScrapeSize + lastScrapeSize / 8);
+        Collection<HistogramMetricsRecorder.HookSnapshot> hooks = recorder.snapshot().values();
+
+        family(out, "hook_latency_seconds", "histogram", "Hook execution latency by outcome.");
+        for (HistogramMetricsRecorder.HookSnapshot hook : hooks) {
+            latency(out, hook.getHookId(), "success", hook.getSuccess());
+            latency(out, hook.getHookId(), "failure", hook.getFailure());
+            latency(out, hook.getHookId(), "timeout", hook.getTimeout());
+        }
+
+        family(out, "hook_latency_max_seconds", "gauge", "Largest hook latency observed, by outcome.");
+        for (HistogramMetricsRecorder.HookSnapshot hook : hooks) {
+            maxLatency(out, hook.getHookId(), "success", hook.getSuccess());
+            maxLatency(out, hook.getHookId(), "failure", hook.getFailure());
+            maxLatency(out, hook.getHookId(), "timeout", hook.getTimeout());
+        }
+
+        family(out, "hook_retries_total", "counter", "Hook executions retried after a failure.");
+        for (HistogramMetricsRecorder.HookSnapshot hook : hooks) {
+            sample(out, "hook_retries_total", hook.getHookId(), null, null).append(hook.getRetryCount()).append('\n');
+        }
+
+        family(out, "hook_circuit_open_total", "counter", "Executions rejected because the hook's circuit was open.");
+        for (HistogramMetricsRecorder.HookSnapshot hook : hooks) {
+            sample(out, "hook_circuit_open_total", hook.getHookId(), null, null)
+                    .append(hook.getCircuitOpenCount()).append('\n');
+        }
+
+        family(out, "policy_denials_total", "counter", "Hooks denied by the policy engine, by kind (rule or throttle).");
+        for (HistogramMetricsRecorder.HookSnapshot hook : hooks) {
+            sample(out, "policy_denials_total", hook.getHookId(), "kind", "rule")
+                    .append(hook.getRuleDenialCount()).append('\n');
+            sample(out, "policy_denials_total", hook.getHookId(), "kind", "throttle")
+                    .append(hook.getThrottleDenialCount()).append('\n');
+        }
+
+        if (executor != null) {
+            Map<String, ResilientHookExecutor.CircuitStatus> circuits = executor.getCircuitStates();
+            family(out, "circuit_open", "gauge", "1 if the hook's circuit breaker is open.");
+            circuits.forEach((hookId, status) ->
+                    sample(out, "circuit_open", hookId, null, null).append(status.isOpen() ? 1 : 0).append('\n'));
+            family(out, "circuit_consecutive_failures", "gauge", "Failures since the hook last succeeded.");
+            circuits.forEach((hookId, status) ->
+                    sample(out, "circuit_consecutive_failures", hookId, null, null)
+                            .append(status.getConsecutiveFailures()).append('\n'));
+        }
+
+        if (registry != null) {
+            Map<HookType, Integer> byType = new EnumMap<>(HookType.class);
+            for (HookType type : HookType.values()) {
+                byType.put(type, 0);
+            }
+            registry.listAll().forEach(hook -> byType.merge(hook.getType(), 1, Integer::sum));
+            family(out, "registered_hooks", "gauge", "Hooks in the registry, by type.");
+            byType.forEach((type, count) ->
+                    out.append(PREFIX).append("registered_hooks{type=\"").append(type.name()).append("\"} ")
+                            .append(count).append('\n'));
+        }
+
+        lastScrapeSize = out.length();
+        return out.toString();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (gzip) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, gzip ? 0 : body.length);
+            try (OutputStream os = gzip
+                    ? new GZIPOutputStream(exchange.getResponseBody(), 8192)
+                    : exchange.getResponseBody()) {
+                os.write(body);
+            }
+        }
+    }
+
+    private static void family(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Every bucket is written even while an outcome has no observations, so
+     * rates start from zero.
+     */
+    private void latency(StringBuilder out, String hookId, String outcome, LatencyHistogram.Snapshot snapshot) {
+        long[] cumulative = snapshot.getCumulativeCounts(bucketNanos);
+        for (int i = 0; i < cumulative.length; i++) {
+            bucket(out, hookId, outcome, bucketLabels[i]).append(cumulative[i]).append('\n');
+        }
+        bucket(out, hookId, outcome, "+Inf").append(snapshot.getCount()).append('\n');
+        sample(out, "hook_latency_seconds_sum", hookId, "outcome", outcome);
+        seconds(out, snapshot.getSumNanos()).append('\n');
+        sample(out, "hook_latency_seconds_count", hookId, "outcome", outcome).append(snapshot.getCount()).append('\n');
+    }
+
+    private static StringBuilder bucket(StringBuilder out, String hookId, String outcome, String le) {
+        out.append(PREFIX).append("hook_latency_seconds_bucket{hook=\"");
+        return escape(out, hookId).append("\",outcome=\"").append(outcome).append("\",le=\"").append(le).append("\"} ");
+    }
+
+    private static void maxLatency(StringBuilder out, String hookId, String outcome, LatencyHistogram.Snapshot snapshot) {
+        sample(out, "hook_latency_max_seconds", hookId, "outcome", outcome);
+        seconds(out, snapshot.getMaxNanos()).append('\n');
+    }
+
+    /**
+     * Appends {@code name{hook="id"[,label="value"]} } ready for the value.
+     */
+    private static StringBuilder sample(StringBuilder out, String name, String hookId, String label, String value) {
+        out.append(PREFIX).append(name).append("{hook=\"");
+        escape(out, hookId).append('"');
+        if (label != null) {
+            out.append(',').append(label).append("=\"").append(value).append('"');
+        }
+        return out.append("} ");
+    }
+
+    private static StringBuilder seconds(StringBuilder out, long nanos) {
+        return out.append(nanos / 1_000_000_000.0);
+    }
+
+    private static StringBuilder escape(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+        return out;
+    }
+
+    public static final class Builder {
+        private final HistogramMetricsRecorder recorder;
+        private ResilientHookExecutor executor;
+        private HookRegistry registry;
+        private String path = "/metrics";
+        private List<Duration> buckets = DEFAULT_BUCKETS;
+
+        private Builder(HistogramMetricsRecorder recorder) {
+            this.recorder = Objects.requireNonNull(recorder, "recorder must not be null");
+        }
+
+        public Builder executor(ResilientHookExecutor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder registry(HookRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        public Builder path(String path) {
+            if (path == null || !path.startsWith("/")) {
+                throw new IllegalArgumentException("path must start with '/'");
+            }
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Latency bucket upper bounds, strictly increasing; {@code +Inf} is
+         * always added.
+         */
+        public Builder buckets(Duration... upperBounds) {
+            List<Duration> bounds = List.of(upperBounds);
+            if (bounds.isEmpty()) {
+                throw new IllegalArgumentException("buckets must not be empty");
+            }
+            for (int i = 0; i < bounds.size(); i++) {
+                if (bounds.get(i).isNegative() || (i > 0 && bounds.get(i).compareTo(bounds.get(i - 1)) <= 0)) {
+                    throw new IllegalArgumentException("buckets must be non-negative and strictly increasing");
+                }
+            }
+            this.buckets = bounds;
+            return this;
+        }
+
+        public PrometheusEndpoint build() {
+            return new PrometheusEndpoint(this);
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -9,31 +9,409 @@ import com.devinroyal.cognitivehooks.core.Hook;
 import com.devinroyal.cognitivehooks.core.HookExecutionContext;
 import com.devinroyal.cognitivehooks.core.HookRequest;
 import com.devinroyal.cognitivehooks.core.HookType;
+import com.devinroyal.cognitivehooks.core.ScopeBits;
+import com.devinroyal.cognitivehooks.core.ScopeIndex;
 import com.devinroyal.cognitivehooks.core.SecurityContext;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Policy layer to enforce enterprise compliance, monetization rules, and
  * ethical safeguards.
  *
- * For demo:
- * - Blocks ENTERPRISE hooks when user lacks "enterprise:hooks" scope.
- * - Blocks SAFEGUARD hooks only if explicitly restricted.
+ * Rules are declarative ({@link PolicyRule}, loadable with
+ * {@link PolicyRules}) and compiled once:
+ *
+ * - scope and role conditions become {@link ScopeBits} masks, tested against
+ *   the bits on {@link SecurityContext}; only names the rules mention are
+ *   interned
+ * - each hook gets a table of only the rules whose hook selectors match it,
+ *   built on first use
+ * - each table caches decisions in a fixed-size direct-mapped array keyed
+ *   on the caller bits restricted to the scopes/roles the table tests (and
+ *   the tenant if it tests it), probed without building a key
+ *
+ * so the steady-state cost is a masked hash and compare with no allocation,
+ * independent of how many rules or hooks exist. The default rules block
+ * ENTERPRISE hooks without the "enterprise:hooks" scope and SAFEGUARD hooks
+ * for callers with "skip:safeguards".
+ *
+ * {@link #evaluate} applies the rules only and never consumes anything.
+ * Once the caller knows the hook will actually run, {@link #acquirePermits}
+ * charges it against any {@link RateLimit}s that select it. Limit state is
+ * per tenant and uses CAS-only counters, so throttling adds no locks to the
+ * hot path; an exhausted limit is a denial carrying
+ * {@link PolicyDecision#retryAfter()}. A tenant's state is dropped once it
+ * is back at rest (bucket full, quota window empty), so memory follows the
+ * recently active tenants rather than every tenant ever seen.
  */
 public class HookPolicyEngine {
 
+    /** Decision cache slots per hook table; a power of two. */
+    private static final int DECISION_SLOTS = 256;
+    private static final PolicyDecision ALLOW = PolicyDecision.allow();
+
+    private final List<PolicyRule> rules;
+    private final CompiledRule[] compiled;
+    private final List<RateLimit> limits;
+    private final CompiledLimit[] compiledLimits;
+    private final ConcurrentMap<String, HookTable> tables = new ConcurrentHashMap<>();
+
+    public HookPolicyEngine() {
+        this(PolicyRules.defaults());
+    }
+
+    public HookPolicyEngine(List<PolicyRule> rules) {
+        this(rules, List.of());
+    }
+
+    public HookPolicyEngine(List<PolicyRule> rules, List<RateLimit> limits) {
+        this.rules = List.copyOf(Objects.requireNonNull(rules, "rules must not be null"));
+        this.compiled = new CompiledRule[this.rules.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = new CompiledRule(this.rules.get(i));
+        }
+        this.limits = List.copyOf(Objects.requireNonNull(limits, "limits must not be null"));
+        this.compiledLimits = new CompiledLimit[this.limits.size()];
+        for (int i = 0; i < compiledLimits.length; i++) {
+            compiledLimits[i] = new CompiledLimit(this.limits.get(i));
+        }
+    }
+
+    /**
+     * Whether the rules allow {@code hook} for this caller. Consumes no
+     * rate-limit permits; see {@link #acquirePermits}.
+     */
     public PolicyDecision evaluate(Hook hook, HookRequest request, HookExecutionContext ctx) {
+        HookTable table = tableFor(hook);
+        if (table.rules.length == 0) {
+            return ALLOW;
+        }
         SecurityContext sc = ctx.getSecurityContext();
+        return table.cachedDecision(sc.getScopeBits(), sc.getRoleBits(), sc.getTenantId());
+    }
+
+    /**
+     * Charges one execution of {@code hook} to every rate limit and quota
+     * that selects it, for the caller's tenant. Call only for a hook that
+     * {@link #evaluate} allowed and that is about to run; a denial takes
+     * nothing.
+     */
+    public PolicyDecision acquirePermits(Hook hook, HookExecutionContext ctx) {
+        HookTable table = tableFor(hook);
+        return table.limits.length == 0 ? ALLOW : throttle(table.limits, ctx.getSecurityContext().getTenantId());
+    }
+
+    public List<PolicyRule> getRules() {
+        return rules;
+    }
+
+    public List<RateLimit> getLimits() {
+        return limits;
+    }
+
+    /**
+     * Takes one permit from every applicable limit, or none: if a limit is
+     * exhausted, permits already taken from earlier limits are returned.
+     */
+    private static PolicyDecision throttle(HookLimit[] limits, String tenant) {
+        long now = System.nanoTime();
+        String tenantKey = tenant == null ? "" : tenant;
+        for (int i = 0; i < limits.length; i++) {
+            HookLimit limit = limits[i];
+            if (!limit.appliesTo(tenant)) {
+                continue;
+            }
+            LimitState state = limit.states.get(tenantKey, now);
+            long wait = state.bucket == null ? 0 : state.bucket.tryAcquire(now);
+            String exhausted = "Rate limit";
+            if (wait == 0 && state.quota != null) {
+                wait = state.quota.tryAcquire(now);
+                exhausted = "Quota";
+                if (wait > 0 && state.bucket != null) {
+                    state.bucket.release();
+                }
+            }
+            if (wait > 0) {
+                for (int j = 0; j < i; j++) {
+                    if (limits[j].appliesTo(tenant)) {
+                        limits[j].states.get(tenantKey, now).release(now);
+                    }
+                }
+                Duration retryAfter = Duration.ofNanos(wait);
+                return PolicyDecision.deny(exhausted + " '" + limit.limit.source.getName() + "' exceeded for tenant '"
+                        + tenantKey + "'; retry after " + Math.max(1, retryAfter.toMillis()) + " ms", retryAfter);
+            }
+        }
+        return ALLOW;
+    }
 
-        if (hook.getType() == HookType.ENTERPRISE && !sc.hasScope("enterprise:hooks")) {
-            return PolicyDecision.deny("Missing scope 'enterprise:hooks'");
+    /**
+     * Hook tables are keyed by id and assume a hook's type and tags do not
+     * change after registration; a table built for a different type is
+     * rebuilt.
+     */
+    private HookTable tableFor(Hook hook) {
+        HookTable table = tables.get(hook.getId());
+        if (table == null || table.type != hook.getType()) {
+            table = new HookTable(hook, compiled, compiledLimits);
+            tables.put(hook.getId(), table);
         }
+        return table;
+    }
+
+    /**
+     * One decision-cache slot: the masked caller bits and tenant it was
+     * decided for. Immutable, so slots can be replaced without locking.
+     */
+    private record CachedDecision(long[] scopes, long[] roles, String tenant, PolicyDecision decision) {
+    }
+
+    /**
+     * The rules and limits that can apply to one hook, in order, plus the
+     * union of the scope and role bits the rules look at.
+     */
+    private static final class HookTable {
+        private final HookType type;
+        private final CompiledRule[] rules;
+        private final HookLimit[] limits;
+        private final ScopeBits scopeMask;
+        private final ScopeBits roleMask;
+        private final boolean tenantSensitive;
+        private final CachedDecision[] cache = new CachedDecision[DECISION_SLOTS];
+
+        HookTable(Hook hook, CompiledRule[] all, CompiledLimit[] allLimits) {
+            Set<String> tags = hook.getTags() == null ? Collections.emptySet() : hook.getTags();
+            List<HookLimit> selected = new ArrayList<>();
+            for (CompiledLimit limit : allLimits) {
+                if (limit.selects(hook.getId(), hook.getType(), tags)) {
+                    selected.add(new HookLimit(limit, limit.statesFor(hook)));
+                }
+            }
+            this.limits = selected.toArray(new HookLimit[0]);
+
+            List<CompiledRule> applicable = new ArrayList<>();
+            ScopeBits scopeMask = ScopeBits.EMPTY;
+            ScopeBits roleMask = ScopeBits.EMPTY;
+            boolean tenantSensitive = false;
+            for (CompiledRule rule : all) {
+                if (!rule.selects(hook.getId(), hook.getType(), tags)) {
+                    continue;
+                }
+                applicable.add(rule);
+                scopeMask = scopeMask.or(rule.scopes).or(rule.missingScopes);
+                roleMask = roleMask.or(rule.roles).or(rule.missingRoles);
+                tenantSensitive |= !rule.tenants.isEmpty();
+                if (rule.isUnconditional()) {
+                    break;
+                }
+            }
+            this.type = hook.getType();
+            this.rules = applicable.toArray(new CompiledRule[0]);
+            this.scopeMask = scopeMask;
+            this.roleMask = roleMask;
+            this.tenantSensitive = tenantSensitive;
+        }
+
+        /**
+         * Cached decision for this caller, deciding and caching on a miss. A
+         * colliding caller just replaces the slot.
+         */
+        PolicyDecision cachedDecision(ScopeBits scopes, ScopeBits roles, String tenant) {
+            String keyTenant = tenantSensitive ? tenant : null;
+            int h = scopes.maskedHash(scopeMask) * 31 + roles.maskedHash(roleMask) + Objects.hashCode(keyTenant);
+            int slot = (h ^ (h >>> 16)) & (DECISION_SLOTS - 1);
+            CachedDecision cached = cache[slot];
+            if (cached != null && scopes.maskedEquals(scopeMask, cached.scopes())
+                    && roles.maskedEquals(roleMask, cached.roles()) && Objects.equals(keyTenant, cached.tenant())) {
+                return cached.decision();
+            }
+            PolicyDecision decision = decide(scopes, roles, tenant);
+            cache[slot] = new CachedDecision(scopes.maskedWords(scopeMask), roles.maskedWords(roleMask),
+                    keyTenant, decision);
+            return decision;
+        }
+
+        PolicyDecision decide(ScopeBits scopes, ScopeBits roles, String tenant) {
+            for (CompiledRule rule : rules) {
+                if (rule.applies(scopes, roles, tenant)) {
+                    return rule.decision;
+                }
+            }
+            return ALLOW;
+        }
+    }
+
+    private static final class CompiledRule {
+        private final PolicyRule source;
+        private final PolicyDecision decision;
+        private final ScopeBits scopes;
+        private final ScopeBits missingScopes;
+        private final ScopeBits roles;
+        private final ScopeBits missingRoles;
+        private final Set<String> tenants;
 
-        if (hook.getType() == HookType.SAFEGUARD && sc.hasScope("skip:safeguards")) {
-            return PolicyDecision.deny("User scope skip:safeguards prevents safeguard execution");
+        CompiledRule(PolicyRule rule) {
+            this.source = rule;
+            this.decision = rule.getEffect() == PolicyRule.Effect.ALLOW
+                    ? ALLOW
+                    : PolicyDecision.deny(rule.getReason());
+            this.scopes = ScopeIndex.SCOPES.internAll(rule.getScopes());
+            this.missingScopes = ScopeIndex.SCOPES.internAll(rule.getMissingScopes());
+            this.roles = ScopeIndex.ROLES.internAll(rule.getRoles());
+            this.missingRoles = ScopeIndex.ROLES.internAll(rule.getMissingRoles());
+            this.tenants = rule.getTenants();
         }
 
-        // Future: monetize by tenant, throttle by org, route across clouds, etc.
-        return PolicyDecision.allow();
+        boolean selects(String hookId, HookType hookType, Set<String> hookTags) {
+            if (!source.getHookTypes().isEmpty() && !source.getHookTypes().contains(hookType)) {
+                return false;
+            }
+            if (!source.getHookIds().isEmpty() && !source.getHookIds().contains(hookId)) {
+                return false;
+            }
+            return source.getHookTags().isEmpty() || !Collections.disjoint(source.getHookTags(), hookTags);
+        }
+
+        boolean applies(ScopeBits callerScopes, ScopeBits callerRoles, String tenant) {
+            return callerScopes.containsAll(scopes)
+                    && (missingScopes.isEmpty() || !callerScopes.containsAll(missingScopes))
+                    && callerRoles.containsAll(roles)
+                    && (missingRoles.isEmpty() || !callerRoles.containsAll(missingRoles))
+                    && (tenants.isEmpty() || (tenant != null && tenants.contains(tenant)));
+        }
+
+        /**
+         * True if the rule applies to every caller, so later rules can never
+         * be reached for a hook it selects.
+         */
+        boolean isUnconditional() {
+            return scopes.isEmpty() && missingScopes.isEmpty()
+                    && roles.isEmpty() && missingRoles.isEmpty() && tenants.isEmpty();
+        }
+    }
+
+    /**
+     * Per-tenant limit states currently held, across all limits; for tests.
+     */
+    int tenantStateCount() {
+        int count = 0;
+        for (CompiledLimit limit : compiledLimits) {
+            for (TenantStates states : limit.partitions.values()) {
+                count += states.size();
+            }
+        }
+        return count;
+    }
+
+    private static final class CompiledLimit {
+        private final RateLimit source;
+        private final ConcurrentMap<String, TenantStates> partitions = new ConcurrentHashMap<>();
+
+        CompiledLimit(RateLimit limit) {
+            this.source = limit;
+        }
+
+        boolean selects(String hookId, HookType hookType, Set<String> hookTags) {
+            if (!source.getHookTypes().isEmpty() && !source.getHookTypes().contains(hookType)) {
+                return false;
+            }
+            if (!source.getHookIds().isEmpty() && !source.getHookIds().contains(hookId)) {
+                return false;
+            }
+            return source.getHookTags().isEmpty() || !Collections.disjoint(source.getHookTags(), hookTags);
+        }
+
+        /**
+         * Per-tenant states shared by every hook in the same partition.
+         */
+        TenantStates statesFor(Hook hook) {
+            String partition = source.getPartition() == RateLimit.Partition.TYPE
+                    ? hook.getType().name()
+                    : hook.getId();
+            return partitions.computeIfAbsent(partition, p -> new TenantStates(this));
+        }
+
+        LimitState newState(long nowNanos) {
+            return new LimitState(
+                    source.hasRate() ? new TokenBucket(source.getPermitsPerSecond(), source.getBurst(), nowNanos) : null,
+                    source.hasQuota() ? new RollingQuota(source.getQuota(), source.getQuotaWindow().toNanos()) : null);
+        }
+    }
+
+    /**
+     * A limit as seen from one hook: its tenant states are resolved once,
+     * when the hook table is built.
+     */
+    private record HookLimit(CompiledLimit limit, TenantStates states) {
+
+        boolean appliesTo(String tenant) {
+            Set<String> tenants = limit.source.getTenants();
+            return tenants.isEmpty() || (tenant != null && tenants.contains(tenant));
+        }
+    }
+
+    /**
+     * One partition's states by tenant. When the map has doubled since the
+     * last sweep, states at rest are removed; a fresh state would decide the
+     * same, so this only loses a permit to a caller racing the sweep, like
+     * the overshoot {@link RollingQuota} already allows.
+     */
+    private static final class TenantStates {
+        private static final int MIN_SWEEP_SIZE = 1024;
+
+        private final CompiledLimit limit;
+        private final ConcurrentMap<String, LimitState> states = new ConcurrentHashMap<>();
+        private final AtomicInteger sweepAt = new AtomicInteger(MIN_SWEEP_SIZE);
+
+        TenantStates(CompiledLimit limit) {
+            this.limit = limit;
+        }
+
+        LimitState get(String tenantKey, long nowNanos) {
+            LimitState state = states.get(tenantKey);
+            if (state != null) {
+                return state;
+            }
+            state = states.computeIfAbsent(tenantKey, t -> limit.newState(nowNanos));
+            int threshold = sweepAt.get();
+            if (states.size() >= threshold && sweepAt.compareAndSet(threshold, Integer.MAX_VALUE)) {
+                states.entrySet().removeIf(e -> !e.getKey().equals(tenantKey) && e.getValue().isAtRest(nowNanos));
+                sweepAt.set(Math.max(MIN_SWEEP_SIZE, 2 * states.size()));
+            }
+            return state;
+        }
+
+        int size() {
+            return states.size();
+        }
+    }
+
+    private record LimitState(TokenBucket bucket, RollingQuota quota) {
+
+        /**
+         * True if no permit is outstanding, so the state equals a new one.
+         */
+        boolean isAtRest(long nowNanos) {
+            return (bucket == null || bucket.isFull(nowNanos)) && (quota == null || quota.isEmpty(nowNanos));
+        }
+
+        void release(long nowNanos) {
+            if (bucket != null) {
+                bucket.release();
+            }
+            if (quota != null) {
+                quota.release(nowNanos);
+            }
+        }
     }
 }
 
@@ -5,6 +5,8 @@
 
 package com.devinroyal.cognitivehooks.policy;
 
+import java.time.Duration;
+
 /**
  * Simple decision object to express whether a hook is allowed for a request,
  * and why.
@@ -13,18 +15,28 @@ public final class PolicyDecision {
 
     private final boolean allowed;
     private final String reason;
+    private final Duration retryAfter;
 
-    private PolicyDecision(boolean allowed, String reason) {
+    private PolicyDecision(boolean allowed, String reason, Duration retryAfter) {
         this.allowed = allowed;
         this.reason = reason;
+        this.retryAfter = retryAfter;
     }
 
     public static PolicyDecision allow() {
-        return new PolicyDecision(true, "allowed");
+        return new PolicyDecision(true, "allowed", null);
     }
 
     public static PolicyDecision deny(String reason) {
-        return new PolicyDecision(false, reason == null ? "denied" : reason);
+        return new PolicyDecision(false, reason == null ? "denied" : reason, null);
+    }
+
+    /**
+     * A temporary denial (rate limit or quota) that the caller may retry
+     * after the given delay.
+     */
+    public static PolicyDecision deny(String reason, Duration retryAfter) {
+        return new PolicyDecision(false, reason == null ? "denied" : reason, retryAfter);
     }
 
     public boolean allowed() {
@@ -34,6 +46,14 @@ public final class PolicyDecision {
     public String reason() {
         return reason;
     }
+
+    /**
+     * @return how long to wait before retrying, or {@code null} if the
+     *         decision is not a temporary denial
+     */
+    public Duration retryAfter() {
+        return retryAfter;
+    }
 }
 
 /*
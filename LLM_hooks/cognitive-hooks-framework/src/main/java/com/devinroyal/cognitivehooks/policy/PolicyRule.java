@@ -0,0 +1,226 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.policy;
+
+import com.devinroyal.cognitivehooks.core.HookType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * One declarative policy rule. A rule applies to a hook when the hook
+ * matches every non-empty hook selector (type, id, tag: any-of within each)
+ * and the caller matches every non-empty principal condition:
+ *
+ * - {@code scopes} / {@code roles}: all must be present
+ * - {@code missingScopes} / {@code missingRoles}: at least one must be absent
+ * - {@code tenants}: the caller's tenant is one of these
+ *
+ * Rules are evaluated in order and the first applicable rule decides; if
+ * none applies the request is allowed.
+ */
+public final class PolicyRule {
+
+    /**
+     * What an applicable rule decides.
+     */
+    public enum Effect {
+        ALLOW,
+        DENY
+    }
+
+    private final Effect effect;
+    private final String reason;
+    private final Set<HookType> hookTypes;
+    private final Set<String> hookIds;
+    private final Set<String> hookTags;
+    private final Set<String> scopes;
+    private final Set<String> missingScopes;
+    private final Set<String> roles;
+    private final Set<String> missingRoles;
+    private final Set<String> tenants;
+
+    private PolicyRule(Builder builder) {
+        this.effect = builder.effect;
+        this.reason = builder.reason;
+        this.hookTypes = freeze(builder.hookTypes);
+        this.hookIds = freeze(builder.hookIds);
+        this.hookTags = freeze(builder.hookTags);
+        this.scopes = freeze(builder.scopes);
+        this.missingScopes = freeze(builder.missingScopes);
+        this.roles = freeze(builder.roles);
+        this.missingRoles = freeze(builder.missingRoles);
+        this.tenants = freeze(builder.tenants);
+    }
+
+    public static Builder allow() {
+        return new Builder(Effect.ALLOW, "allowed");
+    }
+
+    public static Builder deny(String reason) {
+        return new Builder(Effect.DENY, reason == null ? "denied" : reason);
+    }
+
+    public Effect getEffect() {
+        return effect;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public Set<HookType> getHookTypes() {
+        return hookTypes;
+    }
+
+    public Set<String> getHookIds() {
+        return hookIds;
+    }
+
+    public Set<String> getHookTags() {
+        return hookTags;
+    }
+
+    public Set<String> getScopes() {
+        return scopes;
+    }
+
+    public Set<String> getMissingScopes() {
+        return missingScopes;
+    }
+
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    public Set<String> getMissingRoles() {
+        return missingRoles;
+    }
+
+    public Set<String> getTenants() {
+        return tenants;
+    }
+
+    @Override
+    public String toString() {
+        return "PolicyRule{" +
+                "effect=" + effect +
+                ", reason='" + reason + '\'' +
+                ", hookTypes=" + hookTypes +
+                ", hookIds=" + hookIds +
+                ", hookTags=" + hookTags +
+                ", scopes=" + scopes +
+                ", missingScopes=" + missingScopes +
+                ", roles=" + roles +
+                ", missingRoles=" + missingRoles +
+                ", tenants=" + tenants +
+                '}';
+    }
+
+    private static <T> Set<T> freeze(Set<T> set) {
+        return set.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(set);
+    }
+
+    public static final class Builder {
+        private final Effect effect;
+        private final String reason;
+        private final Set<HookType> hookTypes = EnumSet.noneOf(HookType.class);
+        private final Set<String> hookIds = new LinkedHashSet<>();
+        private final Set<String> hookTags = new LinkedHashSet<>();
+        private final Set<String> scopes = new LinkedHashSet<>();
+        private final Set<String> missingScopes = new LinkedHashSet<>();
+        private final Set<String> roles = new LinkedHashSet<>();
+        private final Set<String> missingRoles = new LinkedHashSet<>();
+        private final Set<String> tenants = new LinkedHashSet<>();
+
+        private Builder(Effect effect, String reason) {
+            this.effect = Objects.requireNonNull(effect, "effect must not be null");
+            this.reason = reason;
+        }
+
+        public Builder hookTypes(HookType... types) {
+            hookTypes.addAll(Arrays.asList(types));
+            return this;
+        }
+
+        public Builder hookIds(Collection<String> ids) {
+            hookIds.addAll(ids);
+            return this;
+        }
+
+        public Builder hookIds(String... ids) {
+            return hookIds(Arrays.asList(ids));
+        }
+
+        public Builder hookTags(Collection<String> tags) {
+            hookTags.addAll(tags);
+            return this;
+        }
+
+        public Builder hookTags(String... tags) {
+            return hookTags(Arrays.asList(tags));
+        }
+
+        public Builder scopes(Collection<String> required) {
+            scopes.addAll(required);
+            return this;
+        }
+
+        public Builder scopes(String... required) {
+            return scopes(Arrays.asList(required));
+        }
+
+        public Builder missingScopes(Collection<String> absent) {
+            missingScopes.addAll(absent);
+            return this;
+        }
+
+        public Builder missingScopes(String... absent) {
+            return missingScopes(Arrays.asList(absent));
+        }
+
+        public Builder roles(Collection<String> required) {
+            roles.addAll(required);
+            return this;
+        }
+
+        public Builder roles(String... required) {
+            return roles(Arrays.asList(required));
+        }
+
+        public Builder missingRoles(Collection<String> absent) {
+            missingRoles.addAll(absent);
+            return this;
+        }
+
+        public Builder missingRoles(String... absent) {
+            return missingRoles(Arrays.asList(absent));
+        }
+
+        public Builder tenants(Collection<String> tenantIds) {
+            tenants.addAll(tenantIds);
+            return this;
+        }
+
+        public Builder tenants(String... tenantIds) {
+            return tenants(Arrays.asList(tenantIds));
+        }
+
+        public PolicyRule build() {
+            return new PolicyRule(this);
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.policy;
+
+import com.devinroyal.cognitivehooks.core.HookType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Built-in rules and the JSON rule format.
+ *
+ * The document is either an array of rules or an object with a
+ * {@code "rules"} array. Each rule is an object with {@code "effect"}
+ * ({@code "allow"} / {@code "deny"}), an optional {@code "reason"}, and any of
+ * the string-array keys {@code hookTypes}, {@code hookIds}, {@code hookTags},
+ * {@code scopes}, {@code missingScopes}, {@code roles}, {@code missingRoles}
+ * and {@code tenants} (see {@link PolicyRule}). Unknown keys are rejected so
+ * a typo cannot silently widen a rule.
+ *
+ * <pre>
+ * [
+ *   {"effect": "deny", "reason": "Missing scope 'enterprise:hooks'",
+ *    "hookTypes": ["ENTERPRISE"], "missingScopes": ["enterprise:hooks"]}
+ * ]
+ * </pre>
+ */
+public final class PolicyRules {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Set<String> KEYS = Set.of("effect", "reason", "hookTypes", "hookIds", "hookTags",
+            "scopes", "missingScopes", "roles", "missingRoles", "tenants");
+
+    private PolicyRules() {
+    }
+
+    /**
+     * The framework's standard rules: ENTERPRISE hooks need the
+     * {@code enterprise:hooks} scope, and the {@code skip:safeguards} scope
+     * turns SAFEGUARD hooks off.
+     */
+    public static List<PolicyRule> defaults() {
+        return List.of(
+                PolicyRule.deny("Missing scope 'enterprise:hooks'")
+                        .hookTypes(HookType.ENTERPRISE)
+                        .missingScopes("enterprise:hooks")
+                        .build(),
+                PolicyRule.deny("User scope skip:safeguards prevents safeguard execution")
+                        .hookTypes(HookType.SAFEGUARD)
+                        .scopes("skip:safeguards")
+                        .build());
+    }
+
+    public static List<PolicyRule> fromFile(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return fromJson(in);
+        }
+    }
+
+    public static List<PolicyRule> fromJson(InputStream in) throws IOException {
+        JsonNode root = MAPPER.readTree(in);
+        JsonNode rules = root != null && root.isObject() ? root.get("rules") : root;
+        if (rules == null || !rules.isArray()) {
+            throw new IOException("Policy document must be an array of rules or an object with a \"rules\" array");
+        }
+        List<PolicyRule> parsed = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            try {
+                parsed.add(parseRule(rules.get(i)));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid policy rule #" + i + ": " + e.getMessage(), e);
+            }
+        }
+        return parsed;
+    }
+
+    private static PolicyRule parseRule(JsonNode node) {
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("rule must be an object");
+        }
+        Iterator<String> names = node.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!KEYS.contains(name)) {
+                throw new IllegalArgumentException("unknown key '" + name + "'");
+            }
+        }
+
+        String effect = node.path("effect").asText().toLowerCase(Locale.ROOT);
+        String reason = node.hasNonNull("reason") ? node.get("reason").asText() : null;
+        PolicyRule.Builder builder = switch (effect) {
+            case "allow" -> PolicyRule.allow();
+            case "deny" -> PolicyRule.deny(reason);
+            default -> throw new IllegalArgumentException("effect must be \"allow\" or \"deny\"");
+        };
+
+        for (String type : strings(node, "hookTypes")) {
+            builder.hookTypes(HookType.valueOf(type.toUpperCase(Locale.ROOT)));
+        }
+        return builder.hookIds(strings(node, "hookIds"))
+                .hookTags(strings(node, "hookTags"))
+                .scopes(strings(node, "scopes"))
+                .missingScopes(strings(node, "missingScopes"))
+                .roles(strings(node, "roles"))
+                .missingRoles(strings(node, "missingRoles"))
+                .tenants(strings(node, "tenants"))
+                .build();
+    }
+
+    private static List<String> strings(JsonNode rule, String key) {
+        JsonNode node = rule.get(key);
+        if (node == null || node.isNull()) {
+            return List.of();
+        }
+        if (!node.isArray()) {
+            throw new IllegalArgumentException("'" + key + "' must be an array of strings");
+        }
+        List<String> values = new ArrayList<>(node.size());
+        for (JsonNode value : node) {
+            if (!value.isTextual()) {
+                throw new IllegalArgumentException("'" + key + "' must be an array of strings");
+            }
+            values.add(value.asText());
+        }
+        return values;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.policy;
+
+import com.devinroyal.cognitivehooks.core.HookType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A per-tenant throttle on the hooks it selects (type, id, tag: any-of
+ * within each, as for {@link PolicyRule}). Each tenant gets its own state per
+ * hook, or per hook type with {@link Partition#TYPE}; callers without a
+ * tenant share one anonymous state.
+ *
+ * A limit has a token bucket ({@link Builder#rate}), a rolling quota
+ * ({@link Builder#quota}), or both. When any applicable limit is exhausted
+ * the hook is denied with a retry-after hint.
+ */
+public final class RateLimit {
+
+    /**
+     * What one tenant's counters are shared across.
+     */
+    public enum Partition {
+        /** Each selected hook is limited separately. */
+        HOOK,
+        /** All selected hooks of the same type share one limit. */
+        TYPE
+    }
+
+    private final String name;
+    private final Partition partition;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long quota;
+    private final Duration quotaWindow;
+    private final Set<HookType> hookTypes;
+    private final Set<String> hookIds;
+    private final Set<String> hookTags;
+    private final Set<String> tenants;
+
+    private RateLimit(Builder builder) {
+        this.name = builder.name;
+        this.partition = builder.partition;
+        this.permitsPerSecond = builder.permitsPerSecond;
+        this.burst = builder.burst;
+        this.quota = builder.quota;
+        this.quotaWindow = builder.quotaWindow;
+        this.hookTypes = freeze(builder.hookTypes);
+        this.hookIds = freeze(builder.hookIds);
+        this.hookTags = freeze(builder.hookTags);
+        this.tenants = freeze(builder.tenants);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Partition getPartition() {
+        return partition;
+    }
+
+    public boolean hasRate() {
+        return permitsPerSecond > 0;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public boolean hasQuota() {
+        return quota > 0;
+    }
+
+    public long getQuota() {
+        return quota;
+    }
+
+    public Duration getQuotaWindow() {
+        return quotaWindow;
+    }
+
+    public Set<HookType> getHookTypes() {
+        return hookTypes;
+    }
+
+    public Set<String> getHookIds() {
+        return hookIds;
+    }
+
+    public Set<String> getHookTags() {
+        return hookTags;
+    }
+
+    /**
+     * @return the tenants this limit applies to; empty means every tenant
+     */
+    public Set<String> getTenants() {
+        return tenants;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimit{" +
+                "name='" + name + '\'' +
+                ", partition=" + partition +
+                ", permitsPerSecond=" + permitsPerSecond +
+                ", burst=" + burst +
+                ", quota=" + quota +
+                ", quotaWindow=" + quotaWindow +
+                ", hookTypes=" + hookTypes +
+                ", hookIds=" + hookIds +
+                ", hookTags=" + hookTags +
+                ", tenants=" + tenants +
+                '}';
+    }
+
+    private static <T> Set<T> freeze(Set<T> set) {
+        return set.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(set);
+    }
+
+    public static final class Builder {
+        private final String name;
+        private Partition partition = Partition.HOOK;
+        private double permitsPerSecond;
+        private int burst;
+        private long quota;
+        private Duration quotaWindow;
+        private final Set<HookType> hookTypes = EnumSet.noneOf(HookType.class);
+        private final Set<String> hookIds = new LinkedHashSet<>();
+        private final Set<String> hookTags = new LinkedHashSet<>();
+        private final Set<String> tenants = new LinkedHashSet<>();
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "name must not be null");
+        }
+
+        /**
+         * Token bucket: refills at {@code permitsPerSecond} and holds at most
+         * {@code burst} permits.
+         */
+        public Builder rate(double permitsPerSecond, int burst) {
+            if (!(permitsPerSecond > 0) || burst < 1) {
+                throw new IllegalArgumentException("rate must be positive and burst at least 1");
+            }
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Rolling quota: at most {@code limit} executions in any trailing
+         * {@code window}, tracked in 1/60th-window slots.
+         */
+        public Builder quota(long limit, Duration window) {
+            if (limit < 1 || window == null || window.toMillis() < 60) {
+                throw new IllegalArgumentException("quota must be positive and the window at least 60ms");
+            }
+            this.quota = limit;
+            this.quotaWindow = window;
+            return this;
+        }
+
+        public Builder partition(Partition partition) {
+            this.partition = Objects.requireNonNull(partition, "partition must not be null");
+            return this;
+        }
+
+        public Builder hookTypes(HookType... types) {
+            hookTypes.addAll(Arrays.asList(types));
+            return this;
+        }
+
+        public Builder hookIds(Collection<String> ids) {
+            hookIds.addAll(ids);
+            return this;
+        }
+
+        public Builder hookIds(String... ids) {
+            return hookIds(Arrays.asList(ids));
+        }
+
+        public Builder hookTags(Collection<String> tags) {
+            hookTags.addAll(tags);
+            return this;
+        }
+
+        public Builder hookTags(String... tags) {
+            return hookTags(Arrays.asList(tags));
+        }
+
+        public Builder tenants(Collection<String> tenantIds) {
+            tenants.addAll(tenantIds);
+            return this;
+        }
+
+        public Builder tenants(String... tenantIds) {
+            return tenants(Arrays.asList(tenantIds));
+        }
+
+        public RateLimit build() {
+            if (permitsPerSecond <= 0 && quota <= 0) {
+                throw new IllegalStateException("Rate limit '" + name + "' needs a rate, a quota, or both");
+            }
+            return new RateLimit(this);
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
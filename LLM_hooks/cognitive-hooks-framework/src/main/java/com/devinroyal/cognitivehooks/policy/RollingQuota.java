@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.policy;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding-window counter over a ring of {@link #SLOTS} time slots. Each slot
+ * packs its slot number (low 32 bits) and count (high 32 bits) into one long,
+ * so rolling a slot over and counting in it is a single CAS.
+ *
+ * The limit check and the increment are separate steps, so concurrent
+ * callers can overshoot the quota by at most the number of racing threads.
+ */
+final class RollingQuota {
+
+    static final int SLOTS = 60;
+
+    private final long limit;
+    private final long slotNanos;
+    private final AtomicLongArray slots = new AtomicLongArray(SLOTS);
+
+    RollingQuota(long limit, long windowNanos) {
+        this.limit = limit;
+        this.slotNanos = Math.max(1L, windowNanos / SLOTS);
+    }
+
+    /**
+     * @return 0 if the execution was counted, otherwise nanoseconds until the
+     *         oldest counted slot leaves the window
+     */
+    long tryAcquire(long nowNanos) {
+        long slot = Math.floorDiv(nowNanos, slotNanos);
+        long used = 0;
+        long oldestAge = -1;
+        for (int i = 0; i < SLOTS; i++) {
+            long packed = slots.get(i);
+            long age = age(slot, packed);
+            long count = packed >>> 32;
+            if (age < SLOTS && count > 0) {
+                used += count;
+                oldestAge = Math.max(oldestAge, age);
+            }
+        }
+        if (used >= limit) {
+            long expiresAt = (slot - oldestAge + SLOTS) * slotNanos;
+            return Math.max(1L, expiresAt - nowNanos);
+        }
+
+        int index = (int) Math.floorMod(slot, (long) SLOTS);
+        while (true) {
+            long packed = slots.get(index);
+            long count = age(slot, packed) == 0 ? packed >>> 32 : 0;
+            if (slots.compareAndSet(index, packed, pack(slot, count + 1))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Uncounts an execution recorded by {@link #tryAcquire} that did not
+     * happen. A no-op if its slot has already rolled over.
+     */
+    void release(long nowNanos) {
+        long slot = Math.floorDiv(nowNanos, slotNanos);
+        int index = (int) Math.floorMod(slot, (long) SLOTS);
+        while (true) {
+            long packed = slots.get(index);
+            long count = packed >>> 32;
+            if (age(slot, packed) != 0 || count == 0) {
+                return;
+            }
+            if (slots.compareAndSet(index, packed, pack(slot, count - 1))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * True if nothing is counted in the current window, as in a new quota.
+     */
+    boolean isEmpty(long nowNanos) {
+        long slot = Math.floorDiv(nowNanos, slotNanos);
+        for (int i = 0; i < SLOTS; i++) {
+            long packed = slots.get(i);
+            if (age(slot, packed) < SLOTS && (packed >>> 32) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long pack(long slot, long count) {
+        return (count << 32) | (slot & 0xFFFF_FFFFL);
+    }
+
+    private static long age(long slot, long packed) {
+        return (slot - packed) & 0xFFFF_FFFFL;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
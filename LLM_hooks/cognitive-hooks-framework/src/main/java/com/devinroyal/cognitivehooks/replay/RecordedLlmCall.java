@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+/**
+ * One captured LLM call: which prompt, how long it took and what came back.
+ * Prompts are identified by prefix id and a hash of the rendered text
+ * rather than stored.
+ */
+public final class RecordedLlmCall {
+
+    private final long offsetNanos;
+    private final long latencyNanos;
+    private final String prefixId;
+    private final int promptHash;
+    private final int promptLength;
+    private final String response;
+    private final String error;
+
+    RecordedLlmCall(long offsetNanos,
+                    long latencyNanos,
+                    String prefixId,
+                    int promptHash,
+                    int promptLength,
+                    String response,
+                    String error) {
+        this.offsetNanos = offsetNanos;
+        this.latencyNanos = latencyNanos;
+        this.prefixId = prefixId;
+        this.promptHash = promptHash;
+        this.promptLength = promptLength;
+        this.response = response;
+        this.error = error;
+    }
+
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * @return the {@code LlmPrompt} prefix id, or {@code null} for plain
+     *         string prompts
+     */
+    public String getPrefixId() {
+        return prefixId;
+    }
+
+    public int getPromptHash() {
+        return promptHash;
+    }
+
+    public int getPromptLength() {
+        return promptLength;
+    }
+
+    /**
+     * @return the response text, or {@code null} if the call failed
+     */
+    public String getResponse() {
+        return response;
+    }
+
+    /**
+     * @return the failure message, or {@code null} if the call succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    String exactKey() {
+        return prefixId + '\u0000' + promptHash + '\u0000' + promptLength;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One captured JDBC query: the SQL and its parameters, how long it took and
+ * the rows the caller read, or the error it failed with. Values are in
+ * their recorded form (see {@link TrafficFormat#normalize}).
+ */
+public final class RecordedQuery {
+
+    private final long offsetNanos;
+    private final long latencyNanos;
+    private final String sql;
+    private final List<Object> params;
+    private final String[] columnLabels;
+    private final int[] columnTypes;
+    private final List<Object[]> rows;
+    private final String error;
+    private final String sqlState;
+
+    RecordedQuery(long offsetNanos,
+                  long latencyNanos,
+                  String sql,
+                  List<Object> params,
+                  String[] columnLabels,
+                  int[] columnTypes,
+                  List<Object[]> rows,
+                  String error,
+                  String sqlState) {
+        this.offsetNanos = offsetNanos;
+        this.latencyNanos = latencyNanos;
+        this.sql = sql;
+        this.params = Collections.unmodifiableList(params);
+        this.columnLabels = columnLabels;
+        this.columnTypes = columnTypes;
+        this.rows = Collections.unmodifiableList(rows);
+        this.error = error;
+        this.sqlState = sqlState;
+    }
+
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    /**
+     * @return time from execution until the caller closed the result set
+     *         (or the query failed)
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return bound parameters by position, {@code null} for unset ones
+     */
+    public List<Object> getParams() {
+        return params;
+    }
+
+    public List<String> getColumnLabels() {
+        return List.of(columnLabels);
+    }
+
+    /**
+     * @return the {@link java.sql.Types} code of each column
+     */
+    public int[] getColumnTypes() {
+        return columnTypes.clone();
+    }
+
+    /**
+     * @return rows the caller read, which may stop short of the full result
+     */
+    public List<Object[]> getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the failure message, or {@code null} if the query succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    public String getSqlState() {
+        return sqlState;
+    }
+
+    String[] columnLabelArray() {
+        return columnLabels;
+    }
+
+    int[] columnTypeArray() {
+        return columnTypes;
+    }
+
+    String exactKey() {
+        return key(sql, params);
+    }
+
+    /**
+     * Matching key for a statement and its bindings; values compare in
+     * their recorded form, so an {@code int} and a {@code long} 5 differ but
+     * a {@code short} and an {@code int} 5 do not.
+     */
+    static String key(String sql, List<?> params) {
+        StringBuilder key = new StringBuilder(sql.length() + 16 * params.size()).append(sql);
+        for (Object param : params) {
+            Object value = TrafficFormat.normalize(param);
+            key.append('\u0000');
+            if (value != null) {
+                key.append(value.getClass().getSimpleName()).append(':')
+                        .append(value instanceof byte[] bytes ? Arrays.toString(bytes) : value);
+            }
+        }
+        return key.toString();
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import com.devinroyal.cognitivehooks.core.HookRequest;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+
+/**
+ * One captured {@link HookRequest} with the identity it ran under and its
+ * timing in the original run.
+ */
+public final class RecordedRequest {
+
+    private final long offsetNanos;
+    private final long latencyNanos;
+    private final HookRequest request;
+    private final SecurityContext securityContext;
+
+    RecordedRequest(long offsetNanos, long latencyNanos, HookRequest request, SecurityContext securityContext) {
+        this.offsetNanos = offsetNanos;
+        this.latencyNanos = latencyNanos;
+        this.request = request;
+        this.securityContext = securityContext;
+    }
+
+    /**
+     * @return arrival time relative to the start of the capture
+     */
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    /**
+     * @return how long the original orchestration took
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public HookRequest getRequest() {
+        return request;
+    }
+
+    public SecurityContext getSecurityContext() {
+        return securityContext;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,263 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Forward-only, read-only {@link ResultSet} over the rows of a
+ * {@link RecordedQuery}. Covers what data-access code usually calls: cursor
+ * movement with {@code next()}, the common typed getters by index or label,
+ * {@code wasNull()} and column metadata. Anything else fails with
+ * {@link SQLFeatureNotSupportedException}.
+ */
+final class RecordedRows implements InvocationHandler {
+
+    private final RecordedQuery query;
+    private final List<Object[]> rows;
+    private final Statement owner;
+    private int cursor = -1;
+    private boolean lastWasNull;
+    private boolean closed;
+
+    private RecordedRows(RecordedQuery query, int maxRows, Statement owner) {
+        this.query = query;
+        List<Object[]> all = query.getRows();
+        this.rows = maxRows > 0 && maxRows < all.size() ? all.subList(0, maxRows) : all;
+        this.owner = owner;
+    }
+
+    /**
+     * @param maxRows row limit set on the statement, 0 for none
+     */
+    static ResultSet resultSet(RecordedQuery query, int maxRows, Statement owner) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                new RecordedRows(query, maxRows, owner));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "RecordedResultSet[" + query.getSql() + "]";
+            case "close":
+                closed = true;
+                return null;
+            case "isClosed":
+                return closed;
+            case "unwrap":
+                return unwrap(proxy, (Class<?>) args[0]);
+            case "isWrapperFor":
+                return ((Class<?>) args[0]).isInstance(proxy);
+            default:
+                break;
+        }
+        if (closed) {
+            throw new SQLException("Result set is closed");
+        }
+        switch (name) {
+            case "next":
+                if (cursor < rows.size()) {
+                    cursor++;
+                }
+                return cursor < rows.size();
+            case "wasNull":
+                return lastWasNull;
+            case "getStatement":
+                return owner;
+            case "getMetaData":
+                return metaData();
+            case "findColumn":
+                return findColumn((String) args[0]);
+            case "getRow":
+                return cursor < rows.size() ? cursor + 1 : 0;
+            case "isBeforeFirst":
+                return cursor < 0 && !rows.isEmpty();
+            case "isAfterLast":
+                return cursor >= rows.size() && !rows.isEmpty();
+            case "getType":
+                return ResultSet.TYPE_FORWARD_ONLY;
+            case "getConcurrency":
+                return ResultSet.CONCUR_READ_ONLY;
+            case "setFetchSize":
+            case "setFetchDirection":
+            case "clearWarnings":
+                return null;
+            case "getFetchSize":
+                return 0;
+            case "getFetchDirection":
+                return ResultSet.FETCH_FORWARD;
+            case "getWarnings":
+                return null;
+            default:
+                break;
+        }
+        if (name.startsWith("get") && args != null && (args.length == 1 || isTypedGetObject(method))) {
+            int column = args[0] instanceof String label ? findColumn(label) : (Integer) args[0];
+            Object value = value(column);
+            lastWasNull = value == null;
+            return convert(name, method, args, value);
+        }
+        throw new SQLFeatureNotSupportedException(name + " is not supported on a replayed result set");
+    }
+
+    private static boolean isTypedGetObject(Method method) {
+        return "getObject".equals(method.getName()) && method.getParameterTypes()[1] == Class.class;
+    }
+
+    private Object value(int column) throws SQLException {
+        if (cursor < 0 || cursor >= rows.size()) {
+            throw new SQLException("Result set is not positioned on a row");
+        }
+        Object[] row = rows.get(cursor);
+        if (column < 1 || column > row.length) {
+            throw new SQLException("Column index " + column + " out of range 1.." + row.length);
+        }
+        return row[column - 1];
+    }
+
+    private int findColumn(String label) throws SQLException {
+        String[] labels = query.columnLabelArray();
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(label)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("No column labelled " + label);
+    }
+
+    private static Object convert(String getter, Method method, Object[] args, Object value) throws SQLException {
+        return switch (getter) {
+            case "getObject" -> args.length == 2 ? as((Class<?>) args[1], value) : value;
+            case "getString" -> value == null ? null
+                    : value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : value.toString();
+            case "getLong" -> number(value).longValue();
+            case "getInt" -> number(value).intValue();
+            case "getShort" -> number(value).shortValue();
+            case "getByte" -> number(value).byteValue();
+            case "getDouble" -> number(value).doubleValue();
+            case "getFloat" -> number(value).floatValue();
+            case "getBoolean" -> value instanceof Boolean b ? b
+                    : value instanceof Number n ? n.intValue() != 0
+                    : value != null && ("true".equalsIgnoreCase(value.toString()) || "1".equals(value.toString()));
+            case "getBigDecimal" -> value == null ? null
+                    : value instanceof BigDecimal d ? d : new BigDecimal(value.toString());
+            case "getBytes" -> value == null ? null
+                    : value instanceof byte[] bytes ? bytes.clone() : value.toString().getBytes(StandardCharsets.UTF_8);
+            default -> throw new SQLFeatureNotSupportedException(method.getName()
+                    + " is not supported on a replayed result set");
+        };
+    }
+
+    private static Object as(Class<?> type, Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        if (type.isInstance(value)) {
+            return value;
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        if (type == Long.class) {
+            return number(value).longValue();
+        }
+        if (type == Integer.class) {
+            return number(value).intValue();
+        }
+        if (type == Double.class) {
+            return number(value).doubleValue();
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(value.toString());
+        }
+        throw new SQLFeatureNotSupportedException("Cannot replay a " + value.getClass().getSimpleName()
+                + " as " + type.getName());
+    }
+
+    private static Number number(Object value) throws SQLException {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number n) {
+            return n;
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1 : 0;
+        }
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Recorded value is not numeric: " + value, e);
+        }
+    }
+
+    private static Object unwrap(Object proxy, Class<?> iface) throws SQLException {
+        if (iface.isInstance(proxy)) {
+            return iface.cast(proxy);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    private ResultSetMetaData metaData() {
+        String[] labels = query.columnLabelArray();
+        int[] types = query.columnTypeArray();
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "RecordedResultSetMetaData[" + query.getSql() + "]";
+            case "getColumnCount" -> labels.length;
+            case "getColumnLabel", "getColumnName" -> labels[column(args, labels.length)];
+            case "getColumnType" -> types[column(args, labels.length)];
+            case "getColumnTypeName" -> typeName(types[column(args, labels.length)]);
+            case "isNullable" -> ResultSetMetaData.columnNullableUnknown;
+            case "isReadOnly" -> true;
+            case "unwrap" -> unwrap(proxy, (Class<?>) args[0]);
+            case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(proxy);
+            default -> throw new SQLFeatureNotSupportedException(method.getName()
+                    + " is not supported on replayed metadata");
+        };
+        return (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, handler);
+    }
+
+    private static int column(Object[] args, int count) throws SQLException {
+        int column = (Integer) args[0];
+        if (column < 1 || column > count) {
+            throw new SQLException("Column index " + column + " out of range 1.." + count);
+        }
+        return column - 1;
+    }
+
+    private static String typeName(int type) {
+        try {
+            return JDBCType.valueOf(type).getName();
+        } catch (IllegalArgumentException e) {
+            return JDBCType.OTHER.getName();
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
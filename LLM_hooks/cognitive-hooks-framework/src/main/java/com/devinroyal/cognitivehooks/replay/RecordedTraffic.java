@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import com.devinroyal.cognitivehooks.core.HookRequest;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Contents of a capture file written by {@link TrafficRecorder}: requests in
+ * arrival order and the LLM calls and database queries made while serving
+ * them.
+ */
+public final class RecordedTraffic {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final Instant startedAt;
+    private final List<RecordedRequest> requests;
+    private final List<RecordedLlmCall> llmCalls;
+    private final List<RecordedQuery> queries;
+
+    private RecordedTraffic(Instant startedAt,
+                            List<RecordedRequest> requests,
+                            List<RecordedLlmCall> llmCalls,
+                            List<RecordedQuery> queries) {
+        this.startedAt = startedAt;
+        this.requests = List.copyOf(requests);
+        this.llmCalls = List.copyOf(llmCalls);
+        this.queries = List.copyOf(queries);
+    }
+
+    /**
+     * Reads a capture file. A file cut short (e.g. the recorder was not
+     * closed) yields every record before the cut.
+     */
+    public static RecordedTraffic read(Path file) throws IOException {
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw), 1 << 16))) {
+            if (in.readInt() != TrafficFormat.MAGIC) {
+                throw new IOException("Not a traffic capture: " + file);
+            }
+            int version = in.readInt();
+            if (version < TrafficFormat.MIN_VERSION || version > TrafficFormat.VERSION) {
+                throw new IOException("Unsupported traffic capture version " + version + ": " + file);
+            }
+            Instant startedAt = Instant.ofEpochMilli(in.readLong());
+            List<RecordedRequest> requests = new ArrayList<>();
+            List<RecordedLlmCall> llmCalls = new ArrayList<>();
+            List<RecordedQuery> queries = new ArrayList<>();
+            try {
+                while (true) {
+                    int kind = in.read();
+                    if (kind < 0) {
+                        break;
+                    }
+                    if (kind == TrafficFormat.REQUEST) {
+                        requests.add(readRequest(in));
+                    } else if (kind == TrafficFormat.LLM_CALL) {
+                        llmCalls.add(readLlmCall(in));
+                    } else if (kind == TrafficFormat.DB_QUERY) {
+                        queries.add(readQuery(in));
+                    } else {
+                        throw new IOException("Unknown record kind " + kind + " in " + file);
+                    }
+                }
+            } catch (EOFException e) {
+                // Truncated tail; keep what was complete.
+            }
+            // Records are written on completion; replay needs arrival order.
+            requests.sort(Comparator.comparingLong(RecordedRequest::getOffsetNanos));
+            llmCalls.sort(Comparator.comparingLong(RecordedLlmCall::getOffsetNanos));
+            queries.sort(Comparator.comparingLong(RecordedQuery::getOffsetNanos));
+            return new RecordedTraffic(startedAt, requests, llmCalls, queries);
+        }
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * @return captured requests, in arrival order
+     */
+    public List<RecordedRequest> getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return captured LLM calls, in start order
+     */
+    public List<RecordedLlmCall> getLlmCalls() {
+        return llmCalls;
+    }
+
+    /**
+     * @return captured database queries, in start order
+     */
+    public List<RecordedQuery> getQueries() {
+        return queries;
+    }
+
+    private static RecordedRequest readRequest(DataInputStream in) throws IOException {
+        long offset = in.readLong();
+        long latency = in.readLong();
+        String requestId = TrafficFormat.readString(in);
+        String userId = TrafficFormat.readString(in);
+        String prompt = TrafficFormat.readString(in);
+        Instant timestamp = Instant.ofEpochMilli(in.readLong());
+        Map<String, Object> payload = MAPPER.readValue(TrafficFormat.readString(in), PAYLOAD_TYPE);
+        String securityUserId = TrafficFormat.readString(in);
+        String tenantId = TrafficFormat.readString(in);
+        Set<String> roles = readStrings(in);
+        Set<String> scopes = readStrings(in);
+        return new RecordedRequest(offset, latency,
+                new HookRequest(requestId, userId, prompt, payload, timestamp),
+                new SecurityContext(securityUserId, roles, scopes, tenantId));
+    }
+
+    private static RecordedLlmCall readLlmCall(DataInputStream in) throws IOException {
+        long offset = in.readLong();
+        long latency = in.readLong();
+        String prefixId = TrafficFormat.readString(in);
+        int promptHash = in.readInt();
+        int promptLength = in.readInt();
+        String response = TrafficFormat.readString(in);
+        String error = TrafficFormat.readString(in);
+        return new RecordedLlmCall(offset, latency, prefixId, promptHash, promptLength, response, error);
+    }
+
+    private static RecordedQuery readQuery(DataInputStream in) throws IOException {
+        long offset = in.readLong();
+        long latency = in.readLong();
+        String sql = TrafficFormat.readString(in);
+        int paramCount = in.readInt();
+        List<Object> params = new ArrayList<>(Math.min(paramCount, 1024));
+        for (int i = 0; i < paramCount; i++) {
+            params.add(TrafficFormat.readValue(in));
+        }
+        int columns = in.readInt();
+        String[] labels = new String[columns];
+        int[] types = new int[columns];
+        for (int c = 0; c < columns; c++) {
+            labels[c] = TrafficFormat.readString(in);
+        }
+        for (int c = 0; c < columns; c++) {
+            types[c] = in.readInt();
+        }
+        int rowCount = in.readInt();
+        List<Object[]> rows = new ArrayList<>(Math.min(rowCount, 1024));
+        for (int r = 0; r < rowCount; r++) {
+            Object[] row = new Object[columns];
+            for (int c = 0; c < columns; c++) {
+                row[c] = TrafficFormat.readValue(in);
+            }
+            rows.add(row);
+        }
+        String error = TrafficFormat.readString(in);
+        String sqlState = TrafficFormat.readString(in);
+        return new RecordedQuery(offset, latency, sql, params, labels, types, rows, error, sqlState);
+    }
+
+    private static Set<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            values.add(TrafficFormat.readString(in));
+        }
+        return values;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,339 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * {@link DataSource} from {@link TrafficRecorder#wrap(DataSource)}. Queries
+ * run through its connections are recorded with their SQL, bound parameters,
+ * latency and the rows the caller read, so {@link ReplayDataSource} can serve
+ * them back.
+ *
+ * Latency runs from {@code executeQuery} until the caller closes the result
+ * set (or its statement, or executes the statement again), which is the time
+ * the request actually spent on the query, fetches included. Updates and
+ * other statements pass through unrecorded.
+ */
+final class RecordingDataSource implements DataSource {
+
+    private final DataSource delegate;
+    private final TrafficRecorder recorder;
+
+    RecordingDataSource(DataSource delegate, TrafficRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return RecordingConnection.wrap(delegate.getConnection(), recorder);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return RecordingConnection.wrap(delegate.getConnection(username, password), recorder);
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Wraps the statements a connection creates; everything else goes
+     * straight to the physical connection.
+     */
+    private static final class RecordingConnection implements InvocationHandler {
+        private final Connection physical;
+        private final TrafficRecorder recorder;
+
+        private RecordingConnection(Connection physical, TrafficRecorder recorder) {
+            this.physical = physical;
+            this.recorder = recorder;
+        }
+
+        static Connection wrap(Connection physical, TrafficRecorder recorder) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new RecordingConnection(physical, recorder));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "RecordingConnection[" + physical + "]";
+                default:
+                    break;
+            }
+            Object result = forward(physical, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> RecordingStatement.wrap((Statement) result, method.getReturnType(),
+                        null, (Connection) proxy, recorder);
+                case "prepareStatement", "prepareCall" -> RecordingStatement.wrap((Statement) result,
+                        method.getReturnType(), (String) args[0], (Connection) proxy, recorder);
+                default -> result;
+            };
+        }
+    }
+
+    /**
+     * Tracks parameter bindings and the query in flight. A statement is used
+     * by one thread at a time, as JDBC expects.
+     */
+    private static final class RecordingStatement implements InvocationHandler {
+        private final Statement physical;
+        private final String preparedSql;
+        private final Connection owner;
+        private final TrafficRecorder recorder;
+        private final List<Object> params = new ArrayList<>();
+        private Capture current;
+
+        private RecordingStatement(Statement physical, String preparedSql, Connection owner,
+                                   TrafficRecorder recorder) {
+            this.physical = physical;
+            this.preparedSql = preparedSql;
+            this.owner = owner;
+            this.recorder = recorder;
+        }
+
+        static Object wrap(Statement physical, Class<?> type, String preparedSql, Connection owner,
+                           TrafficRecorder recorder) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new RecordingStatement(physical, preparedSql, owner, recorder));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "RecordingStatement[" + physical + "]";
+                case "getConnection":
+                    return owner;
+                case "close":
+                    finishCurrent();
+                    break;
+                case "clearParameters":
+                    params.clear();
+                    break;
+                case "executeQuery":
+                    return executeQuery((Statement) proxy, args);
+                default:
+                    break;
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index
+                    && preparedSql != null) {
+                bind(index, "setNull".equals(name) ? null : args[1]);
+            }
+            return forward(physical, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            while (params.size() < index) {
+                params.add(null);
+            }
+            params.set(index - 1, value);
+        }
+
+        private ResultSet executeQuery(Statement proxy, Object[] args) throws SQLException {
+            finishCurrent();
+            String sql = args == null ? preparedSql : (String) args[0];
+            List<Object> bound = args == null ? recordedParams() : List.of();
+            long start = System.nanoTime();
+            ResultSet rs;
+            try {
+                rs = args == null ? ((PreparedStatement) physical).executeQuery()
+                        : physical.executeQuery(sql);
+            } catch (SQLException e) {
+                recorder.recordQuery(sql, bound, start, System.nanoTime() - start, null, null, List.of(),
+                        String.valueOf(e.getMessage()), e.getSQLState());
+                throw e;
+            }
+            current = new Capture(rs, sql, bound, start, recorder);
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new RecordingResultSet(current, proxy));
+        }
+
+        private List<Object> recordedParams() {
+            List<Object> copy = new ArrayList<>(params.size());
+            for (Object param : params) {
+                copy.add(TrafficFormat.normalize(param));
+            }
+            return copy;
+        }
+
+        private void finishCurrent() {
+            Capture capture = current;
+            current = null;
+            if (capture != null) {
+                capture.finish();
+            }
+        }
+    }
+
+    /**
+     * One executed query: the rows read so far and when it started.
+     */
+    private static final class Capture {
+        final ResultSet physical;
+        final String sql;
+        final List<Object> params;
+        final long start;
+        final TrafficRecorder recorder;
+        final List<Object[]> rows = new ArrayList<>();
+        final String[] labels;
+        final int[] types;
+        boolean finished;
+
+        Capture(ResultSet physical, String sql, List<Object> params, long start, TrafficRecorder recorder)
+                throws SQLException {
+            this.physical = physical;
+            this.sql = sql;
+            this.params = params;
+            this.start = start;
+            this.recorder = recorder;
+            ResultSetMetaData meta = physical.getMetaData();
+            int columns = meta.getColumnCount();
+            this.labels = new String[columns];
+            this.types = new int[columns];
+            for (int c = 0; c < columns; c++) {
+                labels[c] = meta.getColumnLabel(c + 1);
+                types[c] = meta.getColumnType(c + 1);
+            }
+        }
+
+        void readRow() throws SQLException {
+            Object[] row = new Object[labels.length];
+            for (int c = 0; c < row.length; c++) {
+                row[c] = TrafficFormat.normalize(physical.getObject(c + 1));
+            }
+            rows.add(row);
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                recorder.recordQuery(sql, params, start, System.nanoTime() - start, labels, types, rows, null, null);
+            }
+        }
+    }
+
+    /**
+     * Copies each row the caller moves to and records the query once the
+     * result set is closed.
+     */
+    private static final class RecordingResultSet implements InvocationHandler {
+        private final Capture capture;
+        private final Statement owner;
+
+        RecordingResultSet(Capture capture, Statement owner) {
+            this.capture = capture;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "RecordingResultSet[" + capture.physical + "]";
+                case "getStatement":
+                    return owner;
+                default:
+                    break;
+            }
+            Object result = forward(capture.physical, method, args);
+            switch (method.getName()) {
+                case "next":
+                    if ((Boolean) result && !capture.finished) {
+                        capture.readRow();
+                    }
+                    break;
+                case "close":
+                    capture.finish();
+                    break;
+                default:
+                    break;
+            }
+            return result;
+        }
+    }
+
+    // --- DataSource boilerplate ---
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
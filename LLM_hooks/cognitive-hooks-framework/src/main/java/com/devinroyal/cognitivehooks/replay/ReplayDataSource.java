@@ -0,0 +1,306 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Stub {@link DataSource} for replays: instead of querying a database it
+ * waits for a recorded query's latency and returns its rows (or throws its
+ * error), so hooks that read from a database see production timing without
+ * one.
+ *
+ * Queries are matched by SQL and bound parameters, then by SQL alone;
+ * matches cycle through the candidates, like {@link ReplayLlmClient}. A query
+ * that was never recorded fails with an {@link SQLException}. Connections
+ * and statements support querying through {@code createStatement} and
+ * {@code prepareStatement}; transaction calls are accepted and ignored, and
+ * updates are not supported.
+ */
+public final class ReplayDataSource implements DataSource {
+
+    private final Map<String, Candidates> exact = new HashMap<>();
+    private final Map<String, Candidates> bySql = new HashMap<>();
+    private final LongAdder exactMatches = new LongAdder();
+    private final LongAdder sqlMatches = new LongAdder();
+    private final LongAdder unmatched = new LongAdder();
+
+    public ReplayDataSource(RecordedTraffic traffic) {
+        Map<String, List<RecordedQuery>> exactLists = new HashMap<>();
+        Map<String, List<RecordedQuery>> sqlLists = new HashMap<>();
+        for (RecordedQuery query : traffic.getQueries()) {
+            exactLists.computeIfAbsent(query.exactKey(), k -> new ArrayList<>()).add(query);
+            sqlLists.computeIfAbsent(query.getSql(), k -> new ArrayList<>()).add(query);
+        }
+        exactLists.forEach((k, v) -> exact.put(k, new Candidates(v)));
+        sqlLists.forEach((k, v) -> bySql.put(k, new Candidates(v)));
+    }
+
+    @Override
+    public Connection getConnection() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ReplayConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    /**
+     * Queries answered with their own recorded rows.
+     */
+    public long getExactMatches() {
+        return exactMatches.sum();
+    }
+
+    /**
+     * Queries answered from the same SQL with other parameters.
+     */
+    public long getSqlMatches() {
+        return sqlMatches.sum();
+    }
+
+    /**
+     * Queries that failed because nothing was recorded for their SQL.
+     */
+    public long getUnmatched() {
+        return unmatched.sum();
+    }
+
+    private ResultSet replay(String sql, List<Object> params, int maxRows, Statement owner) throws SQLException {
+        RecordedQuery query;
+        Candidates candidates = exact.get(RecordedQuery.key(sql, params));
+        if (candidates != null) {
+            exactMatches.increment();
+            query = candidates.next();
+        } else if ((candidates = bySql.get(sql)) != null) {
+            sqlMatches.increment();
+            query = candidates.next();
+        } else {
+            unmatched.increment();
+            throw new SQLException("No recorded query for " + sql);
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(query.getLatencyNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while replaying query latency", e);
+        }
+        if (query.getError() != null) {
+            throw new SQLException("Replayed query failure: " + query.getError(), query.getSqlState());
+        }
+        return RecordedRows.resultSet(query, maxRows, owner);
+    }
+
+    private static Object unwrap(Object proxy, Class<?> iface) throws SQLException {
+        if (iface.isInstance(proxy)) {
+            return iface.cast(proxy);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    private final class ReplayConnection implements InvocationHandler {
+        private boolean closed;
+        private boolean autoCommit = true;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ReplayConnection";
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "isValid":
+                    return !closed;
+                case "unwrap":
+                    return unwrap(proxy, (Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            return switch (name) {
+                case "createStatement" -> statement(Statement.class, null, (Connection) proxy);
+                case "prepareStatement" -> statement(PreparedStatement.class, (String) args[0], (Connection) proxy);
+                case "getAutoCommit" -> autoCommit;
+                case "setAutoCommit" -> {
+                    autoCommit = (Boolean) args[0];
+                    yield null;
+                }
+                case "commit", "rollback", "setReadOnly", "setTransactionIsolation", "setCatalog", "setSchema",
+                     "clearWarnings" -> null;
+                case "getWarnings" -> null;
+                default -> throw new SQLFeatureNotSupportedException(name + " is not supported during replay");
+            };
+        }
+
+        private Object statement(Class<?> type, String sql, Connection owner) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new ReplayStatement(sql, owner));
+        }
+    }
+
+    private final class ReplayStatement implements InvocationHandler {
+        private final String preparedSql;
+        private final Connection owner;
+        private final List<Object> params = new ArrayList<>();
+        private int maxRows;
+        private boolean closed;
+
+        ReplayStatement(String preparedSql, Connection owner) {
+            this.preparedSql = preparedSql;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ReplayStatement[" + preparedSql + "]";
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "unwrap":
+                    return unwrap(proxy, (Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            switch (name) {
+                case "executeQuery":
+                    return args == null
+                            ? replay(preparedSql, new ArrayList<>(params), maxRows, (Statement) proxy)
+                            : replay((String) args[0], List.of(), maxRows, (Statement) proxy);
+                case "getConnection":
+                    return owner;
+                case "setMaxRows":
+                    maxRows = (Integer) args[0];
+                    return null;
+                case "getMaxRows":
+                    return maxRows;
+                case "clearParameters":
+                    params.clear();
+                    return null;
+                case "setQueryTimeout":
+                case "setFetchSize":
+                case "cancel":
+                case "clearWarnings":
+                case "getWarnings":
+                    return null;
+                default:
+                    break;
+            }
+            if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                while (params.size() < index) {
+                    params.add(null);
+                }
+                params.set(index - 1, "setNull".equals(name) ? null : args[1]);
+                return null;
+            }
+            throw new SQLFeatureNotSupportedException(name + " is not supported during replay");
+        }
+    }
+
+    private static final class Candidates {
+        private final RecordedQuery[] queries;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Candidates(List<RecordedQuery> queries) {
+            this.queries = queries.toArray(new RecordedQuery[0]);
+        }
+
+        RecordedQuery next() {
+            return queries[Math.floorMod(next.getAndIncrement(), queries.length)];
+        }
+    }
+
+    // --- DataSource boilerplate ---
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        // Nothing is logged during replay.
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        // No connections are opened.
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("java.util.logging is not used");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
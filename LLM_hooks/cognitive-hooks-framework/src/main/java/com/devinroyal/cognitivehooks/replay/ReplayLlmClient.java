@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import com.devinroyal.cognitivehooks.core.HookException;
+import com.devinroyal.cognitivehooks.core.LlmClient;
+import com.devinroyal.cognitivehooks.core.LlmPrompt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stub {@link LlmClient} for replays: instead of calling a model it waits
+ * for a recorded call's latency and returns its response (or throws its
+ * error).
+ *
+ * Calls are matched by prefix id and prompt hash, so an unchanged prompt
+ * gets its own recorded answer. A prompt the new build renders differently
+ * falls back to calls with the same prefix id, then to any recorded call;
+ * matches cycle through the candidates. Matching does not depend on the
+ * calling thread, so hooks that fan out to their own pools are covered.
+ */
+public final class ReplayLlmClient implements LlmClient {
+
+    private final Map<String, Candidates> exact = new HashMap<>();
+    private final Map<String, Candidates> byPrefix = new HashMap<>();
+    private final Candidates all;
+    private final LongAdder exactMatches = new LongAdder();
+    private final LongAdder prefixMatches = new LongAdder();
+    private final LongAdder fallbackMatches = new LongAdder();
+    private final LongAdder unmatched = new LongAdder();
+
+    public ReplayLlmClient(RecordedTraffic traffic) {
+        Map<String, List<RecordedLlmCall>> exactLists = new HashMap<>();
+        Map<String, List<RecordedLlmCall>> prefixLists = new HashMap<>();
+        for (RecordedLlmCall call : traffic.getLlmCalls()) {
+            exactLists.computeIfAbsent(call.exactKey(), k -> new ArrayList<>()).add(call);
+            prefixLists.computeIfAbsent(String.valueOf(call.getPrefixId()), k -> new ArrayList<>()).add(call);
+        }
+        exactLists.forEach((k, v) -> exact.put(k, new Candidates(v)));
+        prefixLists.forEach((k, v) -> byPrefix.put(k, new Candidates(v)));
+        this.all = traffic.getLlmCalls().isEmpty() ? null : new Candidates(traffic.getLlmCalls());
+    }
+
+    @Override
+    public String complete(String prompt, Map<String, Object> context) throws HookException {
+        return replay(null, prompt);
+    }
+
+    @Override
+    public String complete(LlmPrompt prompt, Map<String, Object> context) throws HookException {
+        return replay(prompt.getPrefixId(), prompt.render());
+    }
+
+    /**
+     * Calls answered with their own recorded response.
+     */
+    public long getExactMatches() {
+        return exactMatches.sum();
+    }
+
+    /**
+     * Calls answered from another prompt with the same prefix id.
+     */
+    public long getPrefixMatches() {
+        return prefixMatches.sum();
+    }
+
+    /**
+     * Calls answered from an arbitrary recorded call.
+     */
+    public long getFallbackMatches() {
+        return fallbackMatches.sum();
+    }
+
+    /**
+     * Calls answered with an empty string because nothing was recorded.
+     */
+    public long getUnmatched() {
+        return unmatched.sum();
+    }
+
+    private String replay(String prefixId, String text) throws HookException {
+        RecordedLlmCall call;
+        Candidates candidates = exact.get(prefixId + '\u0000' + text.hashCode() + '\u0000' + text.length());
+        if (candidates != null) {
+            exactMatches.increment();
+            call = candidates.next();
+        } else if ((candidates = byPrefix.get(String.valueOf(prefixId))) != null) {
+            prefixMatches.increment();
+            call = candidates.next();
+        } else if (all != null) {
+            fallbackMatches.increment();
+            call = all.next();
+        } else {
+            unmatched.increment();
+            return "";
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(call.getLatencyNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HookException("Interrupted while replaying LLM latency", e);
+        }
+        if (call.getError() != null) {
+            throw new HookException("Replayed LLM failure: " + call.getError());
+        }
+        return call.getResponse();
+    }
+
+    private static final class Candidates {
+        private final RecordedLlmCall[] calls;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Candidates(List<RecordedLlmCall> calls) {
+            this.calls = calls.toArray(new RecordedLlmCall[0]);
+        }
+
+        RecordedLlmCall next() {
+            return calls[Math.floorMod(next.getAndIncrement(), calls.length)];
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
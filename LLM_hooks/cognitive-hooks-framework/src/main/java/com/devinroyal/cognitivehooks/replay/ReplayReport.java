@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import com.devinroyal.cognitivehooks.metrics.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * Latency and throughput of one run: a replay from {@link TrafficReplayer},
+ * or the original capture via {@link #ofRecording}. Compare two runs with
+ * {@link #compare}.
+ *
+ * Response time is measured from when a request was due to be sent, so
+ * time spent waiting for a free replay thread counts against the build
+ * (no coordinated omission). Service time runs from when the
+ * orchestrator actually started it.
+ */
+public final class ReplayReport {
+
+    private final String label;
+    private final long requests;
+    private final long errors;
+    private final long hookFailures;
+    private final long wallNanos;
+    private final LatencyHistogram.Snapshot responseTime;
+    private final LatencyHistogram.Snapshot serviceTime;
+
+    ReplayReport(String label,
+                 long requests,
+                 long errors,
+                 long hookFailures,
+                 long wallNanos,
+                 LatencyHistogram.Snapshot responseTime,
+                 LatencyHistogram.Snapshot serviceTime) {
+        this.label = label;
+        this.requests = requests;
+        this.errors = errors;
+        this.hookFailures = hookFailures;
+        this.wallNanos = wallNanos;
+        this.responseTime = responseTime;
+        this.serviceTime = serviceTime;
+    }
+
+    /**
+     * Report for the captured run itself, from the latencies measured in
+     * production. Errors and hook failures were not captured and are -1.
+     */
+    public static ReplayReport ofRecording(RecordedTraffic traffic) {
+        LatencyHistogram latencies = new LatencyHistogram();
+        long first = Long.MAX_VALUE;
+        long last = 0;
+        for (RecordedRequest request : traffic.getRequests()) {
+            latencies.record(request.getLatencyNanos());
+            first = Math.min(first, request.getOffsetNanos());
+            last = Math.max(last, request.getOffsetNanos() + request.getLatencyNanos());
+        }
+        long wall = traffic.getRequests().isEmpty() ? 0 : last - first;
+        LatencyHistogram.Snapshot snapshot = latencies.snapshot();
+        return new ReplayReport("recorded", traffic.getRequests().size(), -1, -1, wall, snapshot, snapshot);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return requests whose orchestration threw, or -1 if unknown
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return hook results with status FAILED or CIRCUIT_OPEN, or -1 if
+     *         unknown
+     */
+    public long getHookFailures() {
+        return hookFailures;
+    }
+
+    /**
+     * @return from the first request's arrival to the last completion
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return completed requests per second of wall time
+     */
+    public double getThroughput() {
+        return wallNanos <= 0 ? 0 : requests * 1e9 / wallNanos;
+    }
+
+    public LatencyHistogram.Snapshot getResponseTime() {
+        return responseTime;
+    }
+
+    public LatencyHistogram.Snapshot getServiceTime() {
+        return serviceTime;
+    }
+
+    /**
+     * Side-by-side table of two runs with the relative change of each
+     * metric, e.g. the recording against a replay, or two builds.
+     */
+    public static String compare(ReplayReport baseline, ReplayReport candidate) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-18s %14s %14s %9s%n", "", baseline.label, candidate.label, "change"));
+        count(out, "requests", baseline.requests, candidate.requests);
+        row(out, "throughput req/s", baseline.getThroughput(), candidate.getThroughput(), "%.1f");
+        row(out, "mean ms", baseline.responseTime.getMeanNanos() / 1e6, candidate.responseTime.getMeanNanos() / 1e6, "%.3f");
+        millis(out, "p50 ms", baseline.responseTime.getP50Nanos(), candidate.responseTime.getP50Nanos());
+        millis(out, "p90 ms", baseline.responseTime.getP90Nanos(), candidate.responseTime.getP90Nanos());
+        millis(out, "p99 ms", baseline.responseTime.getP99Nanos(), candidate.responseTime.getP99Nanos());
+        millis(out, "p99.9 ms", baseline.responseTime.getP999Nanos(), candidate.responseTime.getP999Nanos());
+        millis(out, "max ms", baseline.responseTime.getMaxNanos(), candidate.responseTime.getMaxNanos());
+        millis(out, "service p99 ms", baseline.serviceTime.getP99Nanos(), candidate.serviceTime.getP99Nanos());
+        count(out, "errors", baseline.errors, candidate.errors);
+        count(out, "hook failures", baseline.hookFailures, candidate.hookFailures);
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayReport{" +
+                "label='" + label + '\'' +
+                ", requests=" + requests +
+                ", errors=" + errors +
+                ", hookFailures=" + hookFailures +
+                ", throughput=" + String.format(Locale.ROOT, "%.1f", getThroughput()) +
+                ", responseTime=" + responseTime.toMap() +
+                ", serviceTime=" + serviceTime.toMap() +
+                '}';
+    }
+
+    private static void millis(StringBuilder out, String name, long baselineNanos, long candidateNanos) {
+        row(out, name, baselineNanos / 1e6, candidateNanos / 1e6, "%.3f");
+    }
+
+    private static void count(StringBuilder out, String name, long baseline, long candidate) {
+        out.append(String.format(Locale.ROOT, "%-18s %14s %14s %9s%n", name,
+                baseline < 0 ? "-" : Long.toString(baseline),
+                candidate < 0 ? "-" : Long.toString(candidate),
+                change(baseline, candidate)));
+    }
+
+    private static void row(StringBuilder out, String name, double baseline, double candidate, String format) {
+        out.append(String.format(Locale.ROOT, "%-18s %14s %14s %9s%n", name,
+                String.format(Locale.ROOT, format, baseline),
+                String.format(Locale.ROOT, format, candidate),
+                change(baseline, candidate)));
+    }
+
+    private static String change(double baseline, double candidate) {
+        if (baseline <= 0 || candidate < 0) {
+            return "";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (candidate - baseline) * 100.0 / baseline);
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout of traffic capture files. The whole file is gzipped; inside:
+ *
+ * - header: int magic, int version, long capture start (epoch millis)
+ * - records until end of stream, each a one-byte kind followed by
+ *   - REQUEST: long arrival offset (ns), long latency (ns), request id,
+ *     user id, prompt, long timestamp (epoch millis), payload as JSON,
+ *     security user id, tenant id, roles, scopes
+ *   - LLM_CALL: long start offset (ns), long latency (ns), prefix id,
+ *     int prompt hash, int prompt length, response, error
+ *   - DB_QUERY (version 2): long start offset (ns), long latency (ns), sql,
+ *     parameters, int column count, column labels, int JDBC types, int row
+ *     count, rows of values, error, SQL state
+ *
+ * Strings are an int byte length (-1 for null) plus UTF-8; string sets are
+ * an int count plus strings. Values are a one-byte tag and the value (see
+ * {@link #writeValue}); parameter lists are an int count plus values.
+ * Version 1 files, which have no DB_QUERY records, are still read.
+ */
+final class TrafficFormat {
+
+    static final int MAGIC = 0x43485452; // "CHTR"
+    static final int VERSION = 2;
+    static final int MIN_VERSION = 1;
+    static final byte REQUEST = 1;
+    static final byte LLM_CALL = 2;
+    static final byte DB_QUERY = 3;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_INT = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_BOOLEAN = 4;
+    private static final byte TAG_DECIMAL = 5;
+    private static final byte TAG_STRING = 6;
+    private static final byte TAG_BYTES = 7;
+
+    private TrafficFormat() {
+    }
+
+    static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The form a JDBC value is recorded and replayed in: smaller integers
+     * widen to Integer, Float to Double, and anything that is not a number,
+     * boolean, string or byte array (dates, for instance) to its string form.
+     */
+    static Object normalize(Object value) {
+        if (value == null || value instanceof Integer || value instanceof Long || value instanceof Double
+                || value instanceof Boolean || value instanceof BigDecimal || value instanceof String
+                || value instanceof byte[]) {
+            return value;
+        }
+        if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof Float f) {
+            return f.doubleValue();
+        }
+        if (value instanceof BigInteger big) {
+            return new BigDecimal(big);
+        }
+        return value.toString();
+    }
+
+    static void writeValue(DataOutputStream out, Object value) throws IOException {
+        Object v = normalize(value);
+        if (v == null) {
+            out.writeByte(TAG_NULL);
+        } else if (v instanceof Integer i) {
+            out.writeByte(TAG_INT);
+            out.writeInt(i);
+        } else if (v instanceof Long l) {
+            out.writeByte(TAG_LONG);
+            out.writeLong(l);
+        } else if (v instanceof Double d) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(d);
+        } else if (v instanceof Boolean b) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean(b);
+        } else if (v instanceof BigDecimal d) {
+            out.writeByte(TAG_DECIMAL);
+            writeString(out, d.toString());
+        } else if (v instanceof byte[] bytes) {
+            out.writeByte(TAG_BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else {
+            out.writeByte(TAG_STRING);
+            writeString(out, (String) v);
+        }
+    }
+
+    static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_INT -> in.readInt();
+            case TAG_LONG -> in.readLong();
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_BOOLEAN -> in.readBoolean();
+            case TAG_DECIMAL -> new BigDecimal(readString(in));
+            case TAG_STRING -> readString(in);
+            case TAG_BYTES -> readBytes(in);
+            default -> throw new IOException("Unknown value tag " + tag);
+        };
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,364 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import com.devinroyal.cognitivehooks.core.HookException;
+import com.devinroyal.cognitivehooks.core.HookExecutionContext;
+import com.devinroyal.cognitivehooks.core.HookOrchestrator;
+import com.devinroyal.cognitivehooks.core.HookRequest;
+import com.devinroyal.cognitivehooks.core.HookResponse;
+import com.devinroyal.cognitivehooks.core.LlmClient;
+import com.devinroyal.cognitivehooks.core.LlmPrompt;
+import com.devinroyal.cognitivehooks.core.LlmStreamListener;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Captures production traffic for {@link TrafficReplayer}: each
+ * {@link HookRequest} with its payload, security context, arrival time and
+ * latency, plus every LLM call made through a client from
+ * {@link #wrap(LlmClient)} and every query made through a data source from
+ * {@link #wrap(DataSource)}.
+ *
+ * Records are encoded on the calling thread and handed to a bounded queue;
+ * a single writer thread compresses them into the file, so request threads
+ * never wait on gzip or disk. When the queue is full the record is dropped
+ * and counted rather than slowing the request. Write failures are logged and
+ * counted, never thrown into the request path. See {@link TrafficFormat} for
+ * the layout.
+ */
+public final class TrafficRecorder implements AutoCloseable {
+
+    private static final System.Logger LOG = System.getLogger(TrafficRecorder.class.getName());
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final Pending END = new Pending((byte) 0, new ByteArrayOutputStream(0));
+
+    private final Path file;
+    private final DataOutputStream out;
+    private final long startNanos = System.nanoTime();
+    private final BlockingQueue<Pending> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong llmCalls = new AtomicLong();
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile boolean closed;
+
+    private TrafficRecorder(Path file) throws IOException {
+        this.file = file;
+        OutputStream raw = Files.newOutputStream(file);
+        this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(raw, 1 << 16), 1 << 16));
+        out.writeInt(TrafficFormat.MAGIC);
+        out.writeInt(TrafficFormat.VERSION);
+        out.writeLong(System.currentTimeMillis());
+        this.writer = new Thread(this::runWriter, "traffic-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Creates (or truncates) the capture file.
+     */
+    public static TrafficRecorder open(Path file) throws IOException {
+        return new TrafficRecorder(Objects.requireNonNull(file, "file must not be null"));
+    }
+
+    /**
+     * Runs the request through the orchestrator and records it, including
+     * when orchestration throws.
+     */
+    public HookResponse handle(HookOrchestrator orchestrator, HookRequest request, HookExecutionContext ctx) {
+        long start = System.nanoTime();
+        try {
+            return orchestrator.handle(request, ctx);
+        } finally {
+            record(request, ctx.getSecurityContext(), start, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a request served some other way.
+     *
+     * @param arrivalNanos {@link System#nanoTime()} when the request arrived
+     */
+    public void record(HookRequest request, SecurityContext securityContext, long arrivalNanos, long latencyNanos) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256 + request.getPrompt().length());
+        DataOutputStream record = new DataOutputStream(buffer);
+        try {
+            record.writeByte(TrafficFormat.REQUEST);
+            record.writeLong(arrivalNanos - startNanos);
+            record.writeLong(latencyNanos);
+            TrafficFormat.writeString(record, request.getRequestId());
+            TrafficFormat.writeString(record, request.getUserId());
+            TrafficFormat.writeString(record, request.getPrompt());
+            record.writeLong(request.getTimestamp().toEpochMilli());
+            TrafficFormat.writeString(record, payloadJson(request.getPayload()));
+            TrafficFormat.writeString(record, securityContext.getUserId());
+            TrafficFormat.writeString(record, securityContext.getTenantId());
+            writeStrings(record, securityContext.getRoles());
+            writeStrings(record, securityContext.getScopes());
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory encoding failed", e);
+        }
+        enqueue(TrafficFormat.REQUEST, buffer);
+    }
+
+    /**
+     * @return a client that forwards to {@code delegate} and records each
+     *         call's latency and response
+     */
+    public LlmClient wrap(LlmClient delegate) {
+        return new RecordingLlmClient(Objects.requireNonNull(delegate, "delegate must not be null"));
+    }
+
+    /**
+     * @return a data source whose connections forward to {@code delegate}
+     *         and record each query's parameters, latency and rows read
+     */
+    public DataSource wrap(DataSource delegate) {
+        return new RecordingDataSource(Objects.requireNonNull(delegate, "delegate must not be null"), this);
+    }
+
+    public long getRecordedRequests() {
+        return requests.get();
+    }
+
+    public long getRecordedLlmCalls() {
+        return llmCalls.get();
+    }
+
+    public long getRecordedQueries() {
+        return queries.get();
+    }
+
+    /**
+     * Records lost because the queue was full, the recorder was closed or
+     * the file could not be written.
+     */
+    public long getFailedWrites() {
+        return failures.get();
+    }
+
+    /**
+     * Writes out everything queued so far and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.interrupt();
+        }
+        failures.addAndGet(queue.size());
+        queue.clear();
+        out.close();
+    }
+
+    private void recordLlmCall(String prefixId, String prompt, long start, long latency, String response, String error) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + (response == null ? 0 : response.length()));
+        DataOutputStream record = new DataOutputStream(buffer);
+        try {
+            record.writeByte(TrafficFormat.LLM_CALL);
+            record.writeLong(start - startNanos);
+            record.writeLong(latency);
+            TrafficFormat.writeString(record, prefixId);
+            record.writeInt(prompt.hashCode());
+            record.writeInt(prompt.length());
+            TrafficFormat.writeString(record, response);
+            TrafficFormat.writeString(record, error);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory encoding failed", e);
+        }
+        enqueue(TrafficFormat.LLM_CALL, buffer);
+    }
+
+    void recordQuery(String sql, List<Object> params, long start, long latency, String[] labels, int[] types,
+                     List<Object[]> rows, String error, String sqlState) {
+        int columns = labels == null ? 0 : labels.length;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + sql.length() + 16 * rows.size() * columns);
+        DataOutputStream record = new DataOutputStream(buffer);
+        try {
+            record.writeByte(TrafficFormat.DB_QUERY);
+            record.writeLong(start - startNanos);
+            record.writeLong(latency);
+            TrafficFormat.writeString(record, sql);
+            record.writeInt(params.size());
+            for (Object param : params) {
+                TrafficFormat.writeValue(record, param);
+            }
+            record.writeInt(columns);
+            for (int c = 0; c < columns; c++) {
+                TrafficFormat.writeString(record, labels[c]);
+            }
+            for (int c = 0; c < columns; c++) {
+                record.writeInt(types[c]);
+            }
+            record.writeInt(rows.size());
+            for (Object[] row : rows) {
+                for (Object value : row) {
+                    TrafficFormat.writeValue(record, value);
+                }
+            }
+            TrafficFormat.writeString(record, error);
+            TrafficFormat.writeString(record, sqlState);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory encoding failed", e);
+        }
+        enqueue(TrafficFormat.DB_QUERY, buffer);
+    }
+
+    private void enqueue(byte kind, ByteArrayOutputStream record) {
+        if (closed || !queue.offer(new Pending(kind, record))) {
+            failures.incrementAndGet();
+        }
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(256);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, 255);
+                for (Pending pending : batch) {
+                    if (pending == END) {
+                        return;
+                    }
+                    write(pending);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Pending pending) {
+        try {
+            pending.bytes().writeTo(out);
+        } catch (IOException e) {
+            if (failures.getAndIncrement() == 0) {
+                LOG.log(System.Logger.Level.WARNING, "Failed to write traffic capture " + file, e);
+            }
+            return;
+        }
+        switch (pending.kind()) {
+            case TrafficFormat.REQUEST -> requests.incrementAndGet();
+            case TrafficFormat.LLM_CALL -> llmCalls.incrementAndGet();
+            default -> queries.incrementAndGet();
+        }
+    }
+
+    private static String payloadJson(Map<String, Object> payload) {
+        try {
+            return MAPPER.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            // Keep the request replayable even if a value is not JSON-serializable.
+            Map<String, Object> fallback = new LinkedHashMap<>();
+            payload.forEach((k, v) -> fallback.put(k, v == null ? null : String.valueOf(v)));
+            try {
+                return MAPPER.writeValueAsString(fallback);
+            } catch (JsonProcessingException ignored) {
+                return "{}";
+            }
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, Set<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            TrafficFormat.writeString(out, value);
+        }
+    }
+
+    private record Pending(byte kind, ByteArrayOutputStream bytes) {
+    }
+
+    private final class RecordingLlmClient implements LlmClient {
+
+        private final LlmClient delegate;
+
+        RecordingLlmClient(LlmClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String complete(String prompt, Map<String, Object> context) throws HookException {
+            long start = System.nanoTime();
+            try {
+                String response = delegate.complete(prompt, context);
+                recordLlmCall(null, prompt, start, System.nanoTime() - start, response, null);
+                return response;
+            } catch (HookException | RuntimeException e) {
+                recordLlmCall(null, prompt, start, System.nanoTime() - start, null, String.valueOf(e.getMessage()));
+                throw e;
+            }
+        }
+
+        @Override
+        public String complete(LlmPrompt prompt, Map<String, Object> context) throws HookException {
+            long start = System.nanoTime();
+            try {
+                String response = delegate.complete(prompt, context);
+                recordLlmCall(prompt.getPrefixId(), prompt.render(), start, System.nanoTime() - start, response, null);
+                return response;
+            } catch (HookException | RuntimeException e) {
+                recordLlmCall(prompt.getPrefixId(), prompt.render(), start, System.nanoTime() - start,
+                        null, String.valueOf(e.getMessage()));
+                throw e;
+            }
+        }
+
+        @Override
+        public String stream(LlmPrompt prompt, Map<String, Object> context, LlmStreamListener listener)
+                throws HookException {
+            long start = System.nanoTime();
+            try {
+                String response = delegate.stream(prompt, context, listener);
+                recordLlmCall(prompt.getPrefixId(), prompt.render(), start, System.nanoTime() - start, response, null);
+                return response;
+            } catch (HookException | RuntimeException e) {
+                recordLlmCall(prompt.getPrefixId(), prompt.render(), start, System.nanoTime() - start,
+                        null, String.valueOf(e.getMessage()));
+                throw e;
+            }
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
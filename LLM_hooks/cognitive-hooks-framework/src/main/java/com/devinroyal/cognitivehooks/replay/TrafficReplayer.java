@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import com.devinroyal.cognitivehooks.core.HookExecutionContext;
+import com.devinroyal.cognitivehooks.core.HookOrchestrator;
+import com.devinroyal.cognitivehooks.core.HookResponse;
+import com.devinroyal.cognitivehooks.core.HookResult;
+import com.devinroyal.cognitivehooks.core.HookStatus;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import com.devinroyal.cognitivehooks.metrics.LatencyHistogram;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Re-issues captured traffic against a {@link HookOrchestrator}, open-loop:
+ * each request is dispatched when it is due, at the original pace divided
+ * by {@code speed}, whether or not earlier ones have finished.
+ *
+ * Wire a {@link ReplayLlmClient} into the orchestrator and the contexts
+ * built by the context factory so LLM calls replay their recorded
+ * latencies instead of reaching a model, and a {@link ReplayDataSource}
+ * wherever hooks look up data so queries do the same. The factory receives each
+ * request's recorded {@link SecurityContext}, so policy decisions and rate
+ * limits see the original identities.
+ */
+public final class TrafficReplayer {
+
+    private final HookOrchestrator orchestrator;
+    private final Function<SecurityContext, HookExecutionContext> contextFactory;
+    private final String label;
+    private final double speed;
+    private final int threads;
+
+    private TrafficReplayer(Builder builder) {
+        this.orchestrator = builder.orchestrator;
+        this.contextFactory = builder.contextFactory;
+        this.label = builder.label;
+        this.speed = builder.speed;
+        this.threads = builder.threads;
+    }
+
+    public static Builder builder(HookOrchestrator orchestrator,
+                                  Function<SecurityContext, HookExecutionContext> contextFactory) {
+        return new Builder(orchestrator, contextFactory);
+    }
+
+    /**
+     * Replays every request and blocks until all have completed.
+     */
+    public ReplayReport replay(RecordedTraffic traffic) throws InterruptedException {
+        List<RecordedRequest> requests = traffic.getRequests();
+        LatencyHistogram responseTimes = new LatencyHistogram();
+        LatencyHistogram serviceTimes = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        LongAdder hookFailures = new LongAdder();
+        AtomicLong lastEnd = new AtomicLong();
+
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "replay-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long firstOffset = requests.isEmpty() ? 0 : requests.get(0).getOffsetNanos();
+        long start = System.nanoTime();
+        try {
+            for (RecordedRequest recorded : requests) {
+                long due = start + (long) ((recorded.getOffsetNanos() - firstOffset) / speed);
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                pool.execute(() -> {
+                    long begin = System.nanoTime();
+                    try {
+                        HookResponse response = orchestrator.handle(recorded.getRequest(),
+                                contextFactory.apply(recorded.getSecurityContext()));
+                        for (HookResult result : response.getHookResults()) {
+                            if (result.getStatus() == HookStatus.FAILED
+                                    || result.getStatus() == HookStatus.CIRCUIT_OPEN) {
+                                hookFailures.increment();
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        errors.increment();
+                    }
+                    long end = System.nanoTime();
+                    responseTimes.record(end - due);
+                    serviceTimes.record(end - begin);
+                    lastEnd.accumulateAndGet(end, Math::max);
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        long wall = requests.isEmpty() ? 0 : lastEnd.get() - start;
+        return new ReplayReport(label, requests.size(), errors.sum(), hookFailures.sum(), wall,
+                responseTimes.snapshot(), serviceTimes.snapshot());
+    }
+
+    public static final class Builder {
+        private final HookOrchestrator orchestrator;
+        private final Function<SecurityContext, HookExecutionContext> contextFactory;
+        private String label = "replay";
+        private double speed = 1.0;
+        private int threads = 64;
+
+        private Builder(HookOrchestrator orchestrator,
+                        Function<SecurityContext, HookExecutionContext> contextFactory) {
+            this.orchestrator = Objects.requireNonNull(orchestrator, "orchestrator must not be null");
+            this.contextFactory = Objects.requireNonNull(contextFactory, "contextFactory must not be null");
+        }
+
+        /**
+         * Name of this run in reports, e.g. a build id. Defaults to "replay".
+         */
+        public Builder label(String label) {
+            this.label = Objects.requireNonNull(label, "label must not be null");
+            return this;
+        }
+
+        /**
+         * Pace multiplier: 1 replays at the original rate, 2 at twice the
+         * rate. Defaults to 1.
+         */
+        public Builder speed(double speed) {
+            if (!(speed > 0) || Double.isInfinite(speed)) {
+                throw new IllegalArgumentException("speed must be a positive finite number");
+            }
+            this.speed = speed;
+            return this;
+        }
+
+        /**
+         * Requests in flight at once. Size it above the expected
+         * concurrency; excess requests queue and that wait shows up in the
+         * response time. Defaults to 64.
+         */
+        public Builder threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("threads must be >= 1");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        public TrafficReplayer build() {
+            return new TrafficReplayer(this);
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
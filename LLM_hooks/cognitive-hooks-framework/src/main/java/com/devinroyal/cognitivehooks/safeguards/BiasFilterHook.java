@@ -5,35 +5,64 @@
 
 package com.devinroyal.cognitivehooks.safeguards;
 
-import com.devinroyal.cognitivehooks.core.Hook;
 import com.devinroyal.cognitivehooks.core.HookExecutionContext;
 import com.devinroyal.cognitivehooks.core.HookException;
 import com.devinroyal.cognitivehooks.core.HookRequest;
 import com.devinroyal.cognitivehooks.core.HookResult;
 import com.devinroyal.cognitivehooks.core.HookStatus;
 import com.devinroyal.cognitivehooks.core.HookType;
+import com.devinroyal.cognitivehooks.core.OutputSafeguard;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.regex.Pattern;
 
 /**
- * Ethical safeguard hook that scans user prompts for disallowed patterns
+ * Ethical safeguard hook that scans user prompts for disallowed terms
  * or sensitive content and annotates the request.
+ *
+ * The term list is compiled once into a {@link TermMatcher}, so a single
+ * pass over the prompt finds every case-insensitive, whole-word occurrence
+ * regardless of how many terms are configured. Matches are reported with
+ * their offsets.
+ *
+ * Backed by a {@link TermSetRegistry}, the term set is chosen per request
+ * from the {@link SecurityContext}'s tenant and can be reloaded from files
+ * without restarting.
+ *
+ * As an {@link OutputSafeguard} it also scans the synthesized output while it
+ * streams, carrying matcher state across chunk boundaries, and reports the
+ * first banned term so the orchestrator can stop generation.
  */
-public class BiasFilterHook implements Hook {
+public class BiasFilterHook implements OutputSafeguard {
 
     private static final String ID = "bias-filter-hook";
 
-    private final List<Pattern> bannedPatterns;
+    private final TermSetRegistry termSets;
 
     public BiasFilterHook() {
-        // Minimal illustrative patterns; production systems would load from
+        // Minimal illustrative terms; production systems would load from
         // configuration or centralized policy.
-        this.bannedPatterns = new ArrayList<>();
-        bannedPatterns.add(Pattern.compile("\\b(?i)kill\\b"));
-        bannedPatterns.add(Pattern.compile("\\b(?i)genocide\\b"));
+        this(List.of("kill", "genocide"));
+    }
+
+    public BiasFilterHook(Collection<String> bannedTerms) {
+        this(TermSetRegistry.of(Objects.requireNonNull(bannedTerms, "bannedTerms must not be null")));
+    }
+
+    /**
+     * @param bannedTerms pre-compiled matcher, e.g. shared between hook instances
+     */
+    public BiasFilterHook(TermMatcher bannedTerms) {
+        this(TermSetRegistry.of(bannedTerms));
+    }
+
+    /**
+     * @param termSets base and per-tenant term sets, possibly file-backed and hot-reloaded
+     */
+    public BiasFilterHook(TermSetRegistry termSets) {
+        this.termSets = Objects.requireNonNull(termSets, "termSets must not be null");
     }
 
     @Override
@@ -63,16 +92,18 @@ public class BiasFilterHook implements Hook {
     public HookResult execute(HookRequest request, HookExecutionContext ctx) throws HookException {
         Instant start = Instant.now();
         String prompt = request.getPrompt();
-        List<String> matches = new ArrayList<>();
+        List<TermMatcher.Match> found = matcherFor(ctx).findAll(prompt);
 
-        for (Pattern pattern : bannedPatterns) {
-            if (pattern.matcher(prompt).find()) {
-                matches.add(pattern.pattern());
-            }
+        Set<String> matches = new LinkedHashSet<>();
+        List<Map<String, Object>> occurrences = new ArrayList<>(found.size());
+        for (TermMatcher.Match match : found) {
+            matches.add(match.getTerm());
+            occurrences.add(match.toMap());
         }
 
         Map<String, Object> data = new HashMap<>();
-        data.put("flaggedPatterns", matches);
+        data.put("flaggedPatterns", new ArrayList<>(matches));
+        data.put("matches", occurrences);
         data.put("safe", matches.isEmpty());
 
         Duration latency = Duration.between(start, Instant.now());
@@ -87,6 +118,35 @@ public class BiasFilterHook implements Hook {
                 .latency(latency)
                 .build();
     }
+
+    @Override
+    public Scan startOutputScan(HookRequest request, HookExecutionContext ctx) {
+        TermMatcher.Scanner scanner = matcherFor(ctx).scanner();
+        return new Scan() {
+            @Override
+            public String onChunk(String chunk) {
+                return describe(scanner.feed(chunk));
+            }
+
+            @Override
+            public String finish() {
+                return describe(scanner.finish());
+            }
+        };
+    }
+
+    private TermMatcher matcherFor(HookExecutionContext ctx) {
+        SecurityContext security = ctx.getSecurityContext();
+        return termSets.matcherFor(security == null ? null : security.getTenantId());
+    }
+
+    private static String describe(List<TermMatcher.Match> matches) {
+        if (matches.isEmpty()) {
+            return null;
+        }
+        TermMatcher.Match first = matches.get(0);
+        return "banned term '" + first.getTerm() + "' at offset " + first.getStart();
+    }
 }
 
 /*
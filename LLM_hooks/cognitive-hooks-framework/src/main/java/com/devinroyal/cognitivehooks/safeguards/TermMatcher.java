@@ -0,0 +1,393 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.safeguards;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton over a fixed term list. One left-to-right pass over
+ * the text reports every occurrence of every term, so scan cost depends on
+ * the text length and the number of matches, not on how many terms there are.
+ *
+ * Matching is case-insensitive (per-char lower-casing, which keeps offsets
+ * aligned with the original text) and whole-word: a term whose first or last
+ * character is a letter, digit or underscore only matches where that edge is
+ * not adjacent to another such character, like a regex {@code \b}.
+ *
+ * {@link #scanner()} matches incrementally over text that arrives in chunks
+ * (e.g. streamed LLM output), carrying automaton state across chunk
+ * boundaries.
+ *
+ * Instances are immutable and safe to share between threads. After
+ * construction the automaton is a flat DFA: failure links are folded into a
+ * dense transition table over the distinct characters of the terms (all
+ * other characters share one class), with states numbered breadth-first so
+ * the shallow states most scans stay in are adjacent in memory. Each text
+ * character costs two array reads, however many terms there are;
+ * {@code TermMatcherBenchmark} in the tests measures this. The table holds
+ * (trie states) x (distinct term characters + 1) ints. Character classes
+ * are looked up in a table that only reaches the highest term character
+ * (at least ASCII); rarer characters are lower-cased on the fly.
+ */
+public final class TermMatcher {
+
+    private static final int ROOT = 0;
+
+    private final List<String> terms;
+    private final int[] termLengths;
+    private final int maxTermLength;
+
+    /**
+     * Folded character class of every char below the table length; 0 for
+     * chars in no term. Every folded term char is below the length.
+     */
+    private final char[] classOf;
+    private final int width;
+    /** Next state of state s on class k at {@code s * width + k}. */
+    private final int[] delta;
+    private final int[] termAt;
+    private final int[] dictLink;
+
+    private TermMatcher(List<String> terms, int[] termLengths, char[] classOf, int width,
+                        int[] delta, int[] termAt, int[] dictLink) {
+        this.terms = terms;
+        this.termLengths = termLengths;
+        this.maxTermLength = Arrays.stream(termLengths).max().orElse(0);
+        this.classOf = classOf;
+        this.width = width;
+        this.delta = delta;
+        this.termAt = termAt;
+        this.dictLink = dictLink;
+    }
+
+    /**
+     * Compiles {@code terms}. Blank entries are skipped and terms that fold to
+     * the same text are reported under their first spelling.
+     */
+    public static TermMatcher compile(Collection<String> terms) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        List<Integer> terminal = new ArrayList<>();
+        terminal.add(-1);
+        List<String> kept = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (String term : terms) {
+            if (term == null || term.isBlank()) {
+                continue;
+            }
+            String folded = fold(term.strip());
+            if (!seen.add(folded)) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < folded.length(); i++) {
+                char c = folded.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(-1);
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            terminal.set(state, kept.size());
+            kept.add(term.strip());
+            lengths.add(folded.length());
+        }
+
+        // Character classes: 1..n for the distinct folded term chars, 0 for the rest.
+        TreeMap<Character, Integer> classes = new TreeMap<>();
+        for (TreeMap<Character, Integer> node : trie) {
+            for (char c : node.keySet()) {
+                classes.putIfAbsent(c, 0);
+            }
+        }
+        int width = classes.size() + 1;
+        int k = 1;
+        for (Map.Entry<Character, Integer> entry : classes.entrySet()) {
+            entry.setValue(k++);
+        }
+        int tableSize = classes.isEmpty() ? 128 : Math.max(128, classes.lastKey() + 1);
+        char[] classOf = new char[tableSize];
+        for (int c = 0; c < tableSize; c++) {
+            Integer cls = classes.get(Character.toLowerCase((char) c));
+            classOf[c] = cls == null ? 0 : (char) (int) cls;
+        }
+
+        int states = trie.size();
+        if ((long) states * width > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Term list too large: " + states + " states x " + width + " classes");
+        }
+
+        // Number states breadth-first; a state's fail link is always shallower,
+        // so it is complete before the state itself is filled in.
+        int[] order = new int[states];
+        int[] id = new int[states];
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            for (int child : trie.get(order[head]).values()) {
+                id[child] = tail;
+                order[tail++] = child;
+            }
+        }
+
+        int[] delta = new int[states * width];
+        int[] fail = new int[states];
+        int[] termAt = new int[states];
+        int[] dictLink = new int[states];
+        Arrays.fill(dictLink, -1);
+        for (int s = 0; s < states; s++) {
+            TreeMap<Character, Integer> node = trie.get(order[s]);
+            termAt[s] = terminal.get(order[s]);
+            int row = s * width;
+            int failRow = fail[s] * width;
+            for (int cls = 0; cls < width; cls++) {
+                delta[row + cls] = s == ROOT ? ROOT : delta[failRow + cls];
+            }
+            for (Map.Entry<Character, Integer> edge : node.entrySet()) {
+                int cls = classes.get(edge.getKey());
+                int child = id[edge.getValue()];
+                int childFail = s == ROOT ? ROOT : delta[failRow + cls];
+                fail[child] = childFail;
+                dictLink[child] = terminal.get(order[childFail]) >= 0 ? childFail : dictLink[childFail];
+                delta[row + cls] = child;
+            }
+        }
+
+        int[] termLengths = new int[lengths.size()];
+        for (int i = 0; i < termLengths.length; i++) {
+            termLengths[i] = lengths.get(i);
+        }
+        return new TermMatcher(Collections.unmodifiableList(kept), termLengths, classOf, width,
+                delta, termAt, dictLink);
+    }
+
+    /**
+     * Every whole-word occurrence of every term, ordered by end offset.
+     * Overlapping matches are all reported.
+     */
+    public List<Match> findAll(CharSequence text) {
+        List<Match> matches = new ArrayList<>();
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = delta[state * width + classOf(text.charAt(i))];
+            for (int s = termAt[state] >= 0 ? state : dictLink[state]; s >= 0; s = dictLink[s]) {
+                int term = termAt[s];
+                int end = i + 1;
+                int begin = end - termLengths[term];
+                if (isWholeWord(text, begin, end)) {
+                    matches.add(new Match(term, terms.get(term), begin, end));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * True if any term occurs; stops at the first whole-word match.
+     */
+    public boolean matchesAny(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = delta[state * width + classOf(text.charAt(i))];
+            for (int s = termAt[state] >= 0 ? state : dictLink[state]; s >= 0; s = dictLink[s]) {
+                int end = i + 1;
+                if (isWholeWord(text, end - termLengths[termAt[s]], end)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts an incremental scan. The scanner is not thread-safe; use one per
+     * text stream.
+     */
+    public Scanner scanner() {
+        return new Scanner();
+    }
+
+    public List<String> getTerms() {
+        return terms;
+    }
+
+    public int size() {
+        return terms.size();
+    }
+
+    /**
+     * A char beyond the table can still fold into it (e.g. the Kelvin sign
+     * to 'k'); anything that folds beyond it is in no term.
+     */
+    private int classOf(char c) {
+        if (c < classOf.length) {
+            return classOf[c];
+        }
+        char folded = Character.toLowerCase(c);
+        return folded < classOf.length ? classOf[folded] : 0;
+    }
+
+    private static boolean isWholeWord(CharSequence text, int begin, int end) {
+        return leftBoundary(text, begin) && !(isWordChar(text.charAt(end - 1))
+                && end < text.length() && isWordChar(text.charAt(end)));
+    }
+
+    private static boolean leftBoundary(CharSequence text, int begin) {
+        return !(isWordChar(text.charAt(begin)) && begin > 0 && isWordChar(text.charAt(begin - 1)));
+    }
+
+    private static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    private static String fold(String term) {
+        char[] chars = term.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Incremental matcher over a sequence of chunks. Offsets in reported
+     * matches are relative to the start of the whole stream. A match that
+     * ends on a word character exactly at a chunk boundary is held until the
+     * next chunk (or {@link #finish()}) shows whether the word continues.
+     */
+    public final class Scanner {
+        private final StringBuilder window = new StringBuilder();
+        private final List<Match> pending = new ArrayList<>();
+        private int state = ROOT;
+        private int consumed;
+
+        private Scanner() {
+        }
+
+        /**
+         * Consumes {@code chunk} and returns the matches it completed.
+         */
+        public List<Match> feed(CharSequence chunk) {
+            List<Match> found = new ArrayList<>();
+            if (chunk.length() == 0) {
+                return found;
+            }
+            if (!pending.isEmpty()) {
+                if (!isWordChar(chunk.charAt(0))) {
+                    found.addAll(pending);
+                }
+                pending.clear();
+            }
+
+            // window = up to maxTermLength chars of history + this chunk, which
+            // covers every match ending in this chunk plus the char before it.
+            int history = window.length();
+            int origin = consumed - history;
+            window.append(chunk);
+            for (int i = history; i < window.length(); i++) {
+                state = delta[state * width + classOf(window.charAt(i))];
+                for (int s = termAt[state] >= 0 ? state : dictLink[state]; s >= 0; s = dictLink[s]) {
+                    int term = termAt[s];
+                    int end = i + 1;
+                    int begin = end - termLengths[term];
+                    Match match = new Match(term, terms.get(term), origin + begin, origin + end);
+                    if (end == window.length() && isWordChar(window.charAt(end - 1))) {
+                        if (leftBoundary(window, begin)) {
+                            pending.add(match);
+                        }
+                    } else if (isWholeWord(window, begin, end)) {
+                        found.add(match);
+                    }
+                }
+            }
+            consumed += chunk.length();
+            if (window.length() > maxTermLength) {
+                window.delete(0, window.length() - maxTermLength);
+            }
+            return found;
+        }
+
+        /**
+         * Ends the stream and returns matches that were waiting on the next char.
+         */
+        public List<Match> finish() {
+            List<Match> found = new ArrayList<>(pending);
+            pending.clear();
+            return found;
+        }
+
+        /**
+         * Characters consumed so far.
+         */
+        public int getConsumed() {
+            return consumed;
+        }
+    }
+
+    /**
+     * One occurrence: the term as configured and its [start, end) offsets in
+     * the scanned text.
+     */
+    public static final class Match {
+        private final int termIndex;
+        private final String term;
+        private final int start;
+        private final int end;
+
+        Match(int termIndex, String term, int start, int end) {
+            this.termIndex = termIndex;
+            this.term = term;
+            this.start = start;
+            this.end = end;
+        }
+
+        public int getTermIndex() {
+            return termIndex;
+        }
+
+        public String getTerm() {
+            return term;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("term", term);
+            map.put("start", start);
+            map.put("end", end);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return "Match{term='" + term + "', start=" + start + ", end=" + end + '}';
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
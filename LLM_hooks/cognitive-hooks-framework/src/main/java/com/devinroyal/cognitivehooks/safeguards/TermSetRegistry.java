@@ -0,0 +1,268 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.safeguards;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Safeguard term sets: a base list plus optional per-tenant overlays, each
+ * compiled to a {@link TermMatcher}.
+ *
+ * File layout: the base file holds one term per line ({@code #} starts a
+ * comment, blank lines are ignored). The overlay directory holds
+ * {@code <tenantId>.terms} files in the same format, where a plain or
+ * {@code +}-prefixed line adds a term and a {@code -}-prefixed line removes a
+ * base term for that tenant.
+ *
+ * All compiled state lives in one immutable snapshot behind a volatile
+ * field. {@link #reload()} builds a complete new snapshot (recompiling only
+ * sets whose contents changed) and publishes it with a single write, so
+ * scans never wait on a reload and never see a half-built set. Tenants whose
+ * effective term set is identical share one matcher instance. Identity is
+ * exact, spelling included: matching is case-insensitive, but
+ * {@link TermMatcher.Match#getTerm()} reports the term as its own set spells
+ * it, so sets that differ only in case are compiled separately.
+ */
+public final class TermSetRegistry implements AutoCloseable {
+
+    private static final System.Logger LOG = System.getLogger(TermSetRegistry.class.getName());
+
+    private static final String OVERLAY_SUFFIX = ".terms";
+
+    private final Path baseFile;
+    private final Path overlayDir;
+    private volatile Snapshot snapshot;
+    private ScheduledExecutorService watcher;
+
+    private TermSetRegistry(Path baseFile, Path overlayDir, Snapshot initial) {
+        this.baseFile = baseFile;
+        this.overlayDir = overlayDir;
+        this.snapshot = initial;
+    }
+
+    /**
+     * Fixed term list with no files and no tenant overlays.
+     */
+    public static TermSetRegistry of(Collection<String> terms) {
+        return of(TermMatcher.compile(terms));
+    }
+
+    public static TermSetRegistry of(TermMatcher matcher) {
+        Objects.requireNonNull(matcher, "matcher must not be null");
+        return new TermSetRegistry(null, null, new Snapshot(matcher, Collections.emptyMap(),
+                Map.of(canonical(matcher.getTerms()), matcher), Collections.emptyMap()));
+    }
+
+    /**
+     * Loads the base file and, if {@code overlayDir} is non-null, every
+     * tenant overlay in it. Fails if the initial load fails; later reload
+     * failures keep the last good snapshot.
+     */
+    public static TermSetRegistry fromFiles(Path baseFile, Path overlayDir) throws IOException {
+        Objects.requireNonNull(baseFile, "baseFile must not be null");
+        TermSetRegistry registry = new TermSetRegistry(baseFile, overlayDir, null);
+        registry.snapshot = registry.load(null);
+        return registry;
+    }
+
+    /**
+     * Matcher for {@code tenantId}, falling back to the base set for
+     * {@code null} or tenants without an overlay. Never blocks.
+     */
+    public TermMatcher matcherFor(String tenantId) {
+        Snapshot current = snapshot;
+        if (tenantId != null) {
+            TermMatcher tenant = current.tenants.get(tenantId);
+            if (tenant != null) {
+                return tenant;
+            }
+        }
+        return current.base;
+    }
+
+    /**
+     * Re-reads the files if any changed since the last load and publishes a
+     * new snapshot. Returns whether a new snapshot was published.
+     */
+    public synchronized boolean reload() throws IOException {
+        if (baseFile == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        if (current.fingerprints.equals(fingerprint())) {
+            return false;
+        }
+        snapshot = load(current);
+        return true;
+    }
+
+    /**
+     * Polls the files every {@code interval} on a daemon thread and reloads
+     * on change. Failed reloads are logged and retried on the next tick.
+     */
+    public synchronized void startWatching(Duration interval) {
+        if (baseFile == null) {
+            throw new IllegalStateException("Registry has no backing files");
+        }
+        if (watcher != null) {
+            return;
+        }
+        long millis = Math.max(1, interval.toMillis());
+        watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "term-set-reload");
+            t.setDaemon(true);
+            return t;
+        });
+        watcher.scheduleWithFixedDelay(() -> {
+            try {
+                if (reload()) {
+                    LOG.log(System.Logger.Level.INFO, "Reloaded safeguard term sets from {0}", baseFile);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.log(System.Logger.Level.WARNING, "Safeguard term reload failed; keeping previous sets", e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+    }
+
+    public Set<String> getTenants() {
+        return snapshot.tenants.keySet();
+    }
+
+    /**
+     * Number of distinct compiled matchers currently held (shared sets count once).
+     */
+    public int getCompiledMatcherCount() {
+        return snapshot.compiled.size();
+    }
+
+    private Snapshot load(Snapshot previous) throws IOException {
+        Map<Path, List<Object>> fingerprints = fingerprint();
+        List<String> baseTerms = readTerms(baseFile);
+
+        Map<String, List<String>> tenantTerms = new TreeMap<>();
+        if (overlayDir != null && Files.isDirectory(overlayDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(overlayDir, "*" + OVERLAY_SUFFIX)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    String tenantId = name.substring(0, name.length() - OVERLAY_SUFFIX.length());
+                    tenantTerms.put(tenantId, applyOverlay(baseTerms, readTerms(file)));
+                }
+            }
+        }
+
+        // Reuse matchers from the previous snapshot for unchanged sets, and
+        // share one matcher between all sets with the same contents.
+        Map<List<String>, TermMatcher> reusable = previous == null ? Collections.emptyMap() : previous.compiled;
+        Map<List<String>, TermMatcher> compiled = new HashMap<>();
+        TermMatcher base = compiled.computeIfAbsent(canonical(baseTerms),
+                key -> reusable.containsKey(key) ? reusable.get(key) : TermMatcher.compile(baseTerms));
+        Map<String, TermMatcher> tenants = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : tenantTerms.entrySet()) {
+            List<String> terms = entry.getValue();
+            tenants.put(entry.getKey(), compiled.computeIfAbsent(canonical(terms),
+                    key -> reusable.containsKey(key) ? reusable.get(key) : TermMatcher.compile(terms)));
+        }
+        return new Snapshot(base, Collections.unmodifiableMap(tenants), compiled, fingerprints);
+    }
+
+    private Map<Path, List<Object>> fingerprint() throws IOException {
+        Map<Path, List<Object>> fingerprints = new HashMap<>();
+        fingerprints.put(baseFile, List.of(Files.getLastModifiedTime(baseFile), Files.size(baseFile)));
+        if (overlayDir != null && Files.isDirectory(overlayDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(overlayDir, "*" + OVERLAY_SUFFIX)) {
+                for (Path file : files) {
+                    fingerprints.put(file, List.of(Files.getLastModifiedTime(file), Files.size(file)));
+                }
+            }
+        }
+        return fingerprints;
+    }
+
+    private static List<String> readTerms(Path file) throws IOException {
+        List<String> terms = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int comment = line.indexOf('#');
+            String term = (comment >= 0 ? line.substring(0, comment) : line).strip();
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> applyOverlay(List<String> baseTerms, List<String> overlay) {
+        Map<String, String> byFolded = new LinkedHashMap<>();
+        for (String term : baseTerms) {
+            byFolded.putIfAbsent(term.toLowerCase(Locale.ROOT), term);
+        }
+        for (String line : overlay) {
+            if (line.startsWith("-")) {
+                byFolded.remove(line.substring(1).strip().toLowerCase(Locale.ROOT));
+            } else {
+                String term = line.startsWith("+") ? line.substring(1).strip() : line;
+                byFolded.putIfAbsent(term.toLowerCase(Locale.ROOT), term);
+            }
+        }
+        return new ArrayList<>(byFolded.values());
+    }
+
+    /**
+     * Order-independent identity of a term set: its distinct terms as
+     * spelled, sorted.
+     */
+    private static List<String> canonical(List<String> terms) {
+        List<String> sorted = new ArrayList<>(new TreeSet<>(terms));
+        return Collections.unmodifiableList(sorted);
+    }
+
+    private static final class Snapshot {
+        final TermMatcher base;
+        final Map<String, TermMatcher> tenants;
+        final Map<List<String>, TermMatcher> compiled;
+        final Map<Path, List<Object>> fingerprints;
+
+        Snapshot(TermMatcher base, Map<String, TermMatcher> tenants,
+                 Map<List<String>, TermMatcher> compiled, Map<Path, List<Object>> fingerprints) {
+            this.base = base;
+            this.tenants = tenants;
+            this.compiled = compiled;
+            this.fingerprints = fingerprints;
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
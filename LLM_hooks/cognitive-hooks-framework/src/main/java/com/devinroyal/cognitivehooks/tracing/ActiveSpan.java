@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.tracing;
+
+/**
+ * A span in progress, opened by {@link Tracer#startTrace} or
+ * {@link Tracer#startSpan} and ended by {@link #close()}, normally through
+ * try-with-resources. A span must be closed on the thread that opened it,
+ * innermost first.
+ *
+ * When the trace is not being recorded the tracer hands out the shared
+ * {@link #NOOP} span, so untraced requests allocate nothing.
+ */
+public final class ActiveSpan implements AutoCloseable {
+
+    /**
+     * Span for requests that are not recorded; every method is a no-op.
+     */
+    public static final ActiveSpan NOOP = new ActiveSpan(null, null, null, 0, null, null, 0);
+
+    final Tracer tracer;
+    final Tracer.Trace trace;
+    final ActiveSpan parent;
+    final int spanId;
+    final String name;
+    final String hookId;
+    final int attempt;
+    final long startNanos;
+    String error;
+
+    ActiveSpan(Tracer tracer,
+               Tracer.Trace trace,
+               ActiveSpan parent,
+               int spanId,
+               String name,
+               String hookId,
+               int attempt) {
+        this.tracer = tracer;
+        this.trace = trace;
+        this.parent = parent;
+        this.spanId = spanId;
+        this.name = name;
+        this.hookId = hookId;
+        this.attempt = attempt;
+        this.startNanos = trace == null ? 0 : System.nanoTime();
+    }
+
+    public boolean isRecording() {
+        return trace != null;
+    }
+
+    /**
+     * @return the trace id, or 0 if not recording
+     */
+    public long getTraceId() {
+        return trace == null ? 0 : trace.traceId;
+    }
+
+    /**
+     * Marks this stage as failed. Errors also make the trace eligible for
+     * tail sampling.
+     */
+    public void error(String description) {
+        if (trace != null) {
+            error = description == null ? "error" : description;
+            trace.error = true;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (trace != null) {
+            tracer.end(this, System.nanoTime());
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
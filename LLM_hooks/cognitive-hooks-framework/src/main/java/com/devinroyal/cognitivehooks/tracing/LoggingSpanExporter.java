@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.tracing;
+
+import java.util.List;
+
+/**
+ * Writes each span to {@link System.Logger} at DEBUG; handy during
+ * development and as a reference exporter.
+ */
+public final class LoggingSpanExporter implements SpanExporter {
+
+    private static final System.Logger LOG = System.getLogger(LoggingSpanExporter.class.getName());
+
+    @Override
+    public void export(List<Span> spans) {
+        if (!LOG.isLoggable(System.Logger.Level.DEBUG)) {
+            return;
+        }
+        for (Span span : spans) {
+            LOG.log(System.Logger.Level.DEBUG, span.toString());
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.tracing;
+
+/**
+ * A finished, immutable span as handed to {@link SpanExporter}s. Span ids are
+ * unique within their trace; the root span has parent id 0.
+ */
+public final class Span {
+
+    private final long traceId;
+    private final int spanId;
+    private final int parentSpanId;
+    private final String name;
+    private final String hookId;
+    private final int attempt;
+    private final long startEpochNanos;
+    private final long durationNanos;
+    private final String error;
+
+    Span(long traceId,
+         int spanId,
+         int parentSpanId,
+         String name,
+         String hookId,
+         int attempt,
+         long startEpochNanos,
+         long durationNanos,
+         String error) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.hookId = hookId;
+        this.attempt = attempt;
+        this.startEpochNanos = startEpochNanos;
+        this.durationNanos = durationNanos;
+        this.error = error;
+    }
+
+    public long getTraceId() {
+        return traceId;
+    }
+
+    public String getTraceIdHex() {
+        return String.format("%016x", traceId);
+    }
+
+    public int getSpanId() {
+        return spanId;
+    }
+
+    public int getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public boolean isRoot() {
+        return parentSpanId == 0;
+    }
+
+    /**
+     * Pipeline stage, e.g. "orchestrate", "hook", "policy", "supports",
+     * "execute", "attempt", "backoff" or "synthesize".
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the hook this span belongs to, or {@code null} for
+     *         request-level stages
+     */
+    public String getHookId() {
+        return hookId;
+    }
+
+    /**
+     * @return the 1-based attempt number for "attempt" and "backoff" spans,
+     *         otherwise 0
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public boolean isError() {
+        return error != null;
+    }
+
+    /**
+     * @return the error description, or {@code null} if the stage succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "Span{" +
+                "traceId=" + getTraceIdHex() +
+                ", spanId=" + spanId +
+                ", parentSpanId=" + parentSpanId +
+                ", name='" + name + '\'' +
+                (hookId == null ? "" : ", hookId='" + hookId + '\'') +
+                (attempt == 0 ? "" : ", attempt=" + attempt) +
+                ", durationMicros=" + durationNanos / 1_000 +
+                (error == null ? "" : ", error='" + error + '\'') +
+                '}';
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
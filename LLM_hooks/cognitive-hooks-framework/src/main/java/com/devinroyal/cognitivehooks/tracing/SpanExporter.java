@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.tracing;
+
+import java.util.List;
+
+/**
+ * Destination for finished spans (log, OTLP, Zipkin, a file, ...). Called in
+ * batches from the tracer's export thread, never from the request path.
+ * Implementations can be registered directly on {@link Tracer.Builder} or
+ * discovered through {@link java.util.ServiceLoader}.
+ */
+public interface SpanExporter {
+
+    /**
+     * Exports one batch, in completion order. Exceptions are logged and the
+     * batch is dropped.
+     */
+    void export(List<Span> spans);
+
+    /**
+     * Called once when the tracer is closed, after the final flush.
+     */
+    default void close() {
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
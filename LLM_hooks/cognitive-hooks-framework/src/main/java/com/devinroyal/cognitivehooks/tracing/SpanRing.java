@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.tracing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free multi-producer ring of finished spans with a single draining
+ * consumer. Producers claim a sequence with one atomic increment and never
+ * wait; when the consumer falls more than a ring behind, the oldest spans
+ * are overwritten and counted as dropped.
+ *
+ * Each slot records the sequence of the span it holds, written after the
+ * span, so the consumer can tell a slot that is still being filled (stop and
+ * retry on the next drain) from one already overwritten by a later lap
+ * (skip).
+ */
+final class SpanRing {
+
+    private final int mask;
+    private final AtomicReferenceArray<Span> spans;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long tail;
+
+    SpanRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.mask = size - 1;
+        this.spans = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, -1);
+        }
+    }
+
+    void offer(Span span) {
+        long seq = head.getAndIncrement();
+        int slot = (int) (seq & mask);
+        spans.set(slot, span);
+        sequences.set(slot, seq);
+    }
+
+    /**
+     * Moves every published span into {@code out}, oldest first. Must not be
+     * called concurrently with itself.
+     */
+    synchronized void drainTo(List<Span> out) {
+        long end = head.get();
+        int capacity = mask + 1;
+        if (end - tail > capacity) {
+            dropped.addAndGet(end - tail - capacity);
+            tail = end - capacity;
+        }
+        while (tail < end) {
+            int slot = (int) (tail & mask);
+            long seq = sequences.get(slot);
+            if (seq < tail) {
+                return;
+            }
+            Span span = spans.get(slot);
+            if (seq == tail && sequences.get(slot) == tail) {
+                out.add(span);
+            } else {
+                dropped.incrementAndGet();
+            }
+            tail++;
+        }
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,322 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.tracing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span tracer for the orchestration pipeline.
+ *
+ * Sampling is decided per request:
+ *
+ * - head: a trace is recorded with probability {@code sampleRate}, decided
+ *   when it starts
+ * - tail: if a latency threshold or error retention is configured, every
+ *   trace is recorded in memory and, when its root closes, kept if it was
+ *   head-sampled, ran at least the threshold, or had an error
+ *
+ * Unrecorded requests get {@link ActiveSpan#NOOP}: their child spans cost
+ * one thread-local read, or a field read when sampling is off entirely
+ * (rate 0, no tail sampling, as in {@link #DISABLED}). Kept traces are published into a
+ * lock-free {@link SpanRing} and handed to the {@link SpanExporter}s in
+ * batches on a daemon thread.
+ *
+ * The current span is tracked per thread, so a trace follows the thread
+ * that started it; work a hook hands to other threads is not traced.
+ */
+public final class Tracer implements AutoCloseable {
+
+    /**
+     * Tracer that never records. Shared default for components built
+     * without one.
+     */
+    public static final Tracer DISABLED = builder().build();
+
+    private static final System.Logger LOG = System.getLogger(Tracer.class.getName());
+
+    private final double sampleRate;
+    private final long tailThresholdNanos;
+    private final boolean keepErrorTraces;
+    private final boolean tailSampling;
+    private final boolean enabled;
+    private final List<SpanExporter> exporters;
+    private final SpanRing ring;
+    private final ThreadLocal<ActiveSpan> current = new ThreadLocal<>();
+    private final ScheduledExecutorService exportThread;
+
+    private Tracer(Builder builder) {
+        this.sampleRate = builder.sampleRate;
+        this.tailThresholdNanos = builder.tailLatencyThreshold == null ? 0 : builder.tailLatencyThreshold.toNanos();
+        this.keepErrorTraces = builder.keepErrorTraces;
+        this.tailSampling = tailThresholdNanos > 0 || keepErrorTraces;
+        this.enabled = sampleRate > 0 || tailSampling;
+        this.exporters = List.copyOf(builder.exporters);
+        this.ring = new SpanRing(builder.ringCapacity);
+        if (exporters.isEmpty() || !enabled) {
+            this.exportThread = null;
+        } else {
+            this.exportThread = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "trace-export");
+                t.setDaemon(true);
+                return t;
+            });
+            long interval = builder.exportInterval.toMillis();
+            exportThread.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Opens the root span of a new trace on this thread, applying head
+     * sampling.
+     */
+    public ActiveSpan startTrace(String name) {
+        boolean sampled = sampleRate >= 1.0
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        if (!sampled && !tailSampling) {
+            return ActiveSpan.NOOP;
+        }
+        Trace trace = new Trace(nextTraceId(), sampled);
+        return open(trace, null, name, null, 0);
+    }
+
+    public ActiveSpan startSpan(String name) {
+        return startSpan(name, null, 0);
+    }
+
+    public ActiveSpan startSpan(String name, String hookId) {
+        return startSpan(name, hookId, 0);
+    }
+
+    /**
+     * Opens a child of this thread's current span, or returns
+     * {@link ActiveSpan#NOOP} if the thread is not in a recorded trace.
+     */
+    public ActiveSpan startSpan(String name, String hookId, int attempt) {
+        if (!enabled) {
+            return ActiveSpan.NOOP;
+        }
+        ActiveSpan parent = current.get();
+        if (parent == null) {
+            return ActiveSpan.NOOP;
+        }
+        return open(parent.trace, parent, name, hookId, attempt);
+    }
+
+    /**
+     * @return this thread's innermost open span, or {@link ActiveSpan#NOOP}
+     */
+    public ActiveSpan currentSpan() {
+        if (!enabled) {
+            return ActiveSpan.NOOP;
+        }
+        ActiveSpan span = current.get();
+        return span == null ? ActiveSpan.NOOP : span;
+    }
+
+    /**
+     * Exports everything published so far. Runs on the export thread; call
+     * directly to force delivery.
+     */
+    public synchronized void flush() {
+        List<Span> batch = new ArrayList<>();
+        ring.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Span> spans = List.copyOf(batch);
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(spans);
+            } catch (RuntimeException e) {
+                LOG.log(System.Logger.Level.WARNING, "Span exporter " + exporter.getClass().getName()
+                        + " failed; dropped " + spans.size() + " spans", e);
+            }
+        }
+    }
+
+    /**
+     * Spans lost because exporters fell a full ring behind.
+     */
+    public long getDroppedSpanCount() {
+        return ring.getDroppedCount();
+    }
+
+    @Override
+    public void close() {
+        if (exportThread != null) {
+            exportThread.shutdown();
+            try {
+                exportThread.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.close();
+            } catch (RuntimeException e) {
+                LOG.log(System.Logger.Level.WARNING, "Span exporter " + exporter.getClass().getName()
+                        + " failed to close", e);
+            }
+        }
+    }
+
+    private ActiveSpan open(Trace trace, ActiveSpan parent, String name, String hookId, int attempt) {
+        ActiveSpan span = new ActiveSpan(this, trace, parent, ++trace.lastSpanId, name, hookId, attempt);
+        current.set(span);
+        return span;
+    }
+
+    void end(ActiveSpan span, long endNanos) {
+        if (span.parent == null) {
+            current.remove();
+        } else {
+            current.set(span.parent);
+        }
+        Trace trace = span.trace;
+        long duration = endNanos - span.startNanos;
+        trace.finished.add(new Span(trace.traceId, span.spanId, span.parent == null ? 0 : span.parent.spanId,
+                span.name, span.hookId, span.attempt,
+                trace.epochOriginNanos + (span.startNanos - trace.nanoOrigin), duration, span.error));
+        if (span.parent != null) {
+            return;
+        }
+        boolean keep = trace.sampled
+                || (tailThresholdNanos > 0 && duration >= tailThresholdNanos)
+                || (keepErrorTraces && trace.error);
+        if (keep) {
+            for (Span finished : trace.finished) {
+                ring.offer(finished);
+            }
+        }
+    }
+
+    private static long nextTraceId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    /**
+     * Per-request recording state. Only touched by the thread that owns the
+     * trace.
+     */
+    static final class Trace {
+        final long traceId;
+        final boolean sampled;
+        final long nanoOrigin = System.nanoTime();
+        final long epochOriginNanos;
+        final List<Span> finished = new ArrayList<>();
+        int lastSpanId;
+        boolean error;
+
+        Trace(long traceId, boolean sampled) {
+            this.traceId = traceId;
+            this.sampled = sampled;
+            Instant now = Instant.now();
+            this.epochOriginNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        }
+    }
+
+    public static final class Builder {
+        private double sampleRate;
+        private Duration tailLatencyThreshold;
+        private boolean keepErrorTraces;
+        private int ringCapacity = 8192;
+        private Duration exportInterval = Duration.ofSeconds(1);
+        private final List<SpanExporter> exporters = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Head sampling probability in [0, 1]. Defaults to 0.
+         */
+        public Builder sampleRate(double sampleRate) {
+            if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+                throw new IllegalArgumentException("sampleRate must be in [0, 1]");
+            }
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Tail sampling: also keep unsampled traces whose root span took at
+         * least this long.
+         */
+        public Builder tailLatencyThreshold(Duration threshold) {
+            this.tailLatencyThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Tail sampling: also keep unsampled traces in which any span was
+         * marked as an error.
+         */
+        public Builder keepErrorTraces(boolean keep) {
+            this.keepErrorTraces = keep;
+            return this;
+        }
+
+        /**
+         * Spans buffered between exports, rounded up to a power of two.
+         */
+        public Builder ringCapacity(int capacity) {
+            if (capacity < 2) {
+                throw new IllegalArgumentException("ringCapacity must be >= 2");
+            }
+            this.ringCapacity = capacity;
+            return this;
+        }
+
+        public Builder exportInterval(Duration interval) {
+            if (interval == null || interval.toMillis() < 1) {
+                throw new IllegalArgumentException("exportInterval must be at least 1 ms");
+            }
+            this.exportInterval = interval;
+            return this;
+        }
+
+        public Builder exporter(SpanExporter exporter) {
+            exporters.add(Objects.requireNonNull(exporter, "exporter must not be null"));
+            return this;
+        }
+
+        /**
+         * Adds every {@link SpanExporter} registered with
+         * {@link ServiceLoader} on the context class loader.
+         */
+        public Builder loadExporters() {
+            ServiceLoader.load(SpanExporter.class).forEach(exporters::add);
+            return this;
+        }
+
+        public Tracer build() {
+            return new Tracer(this);
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
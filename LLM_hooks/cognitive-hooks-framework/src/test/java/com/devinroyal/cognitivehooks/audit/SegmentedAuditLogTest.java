@@ -0,0 +1,204 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.audit;
+
+import com.devinroyal.cognitivehooks.core.Hook;
+import com.devinroyal.cognitivehooks.core.HookExecutionContext;
+import com.devinroyal.cognitivehooks.core.HookOrchestrator;
+import com.devinroyal.cognitivehooks.core.HookRegistry;
+import com.devinroyal.cognitivehooks.core.HookRequest;
+import com.devinroyal.cognitivehooks.core.HookResult;
+import com.devinroyal.cognitivehooks.core.HookStatus;
+import com.devinroyal.cognitivehooks.core.HookType;
+import com.devinroyal.cognitivehooks.core.ResilientHookExecutor;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import com.devinroyal.cognitivehooks.policy.HookPolicyEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class SegmentedAuditLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void flushedEventsCanBeReadBack() throws Exception {
+        try (SegmentedAuditLog log = SegmentedAuditLog.builder(dir).segmentBytes(4096).build()) {
+            for (int i = 0; i < 500; i++) {
+                log.logEvent("test.event", Map.of("i", i));
+            }
+            log.flush();
+            assertEquals(500, log.getDurableSequence());
+        }
+        List<Object> seen = new ArrayList<>();
+        AuditLogReader.forEach(dir, record -> seen.add(record.getDetails().get("i")));
+        assertEquals(500, seen.size());
+        assertEquals(499L, seen.get(499));
+    }
+
+    @Test
+    void unwritableEventIsDroppedAndTheWriterCarriesOn() throws Exception {
+        try (SegmentedAuditLog log = SegmentedAuditLog.builder(dir).build()) {
+            log.logEvent("before", Map.of());
+            log.logEvent("broken", Map.of("value", new Unprintable(new IllegalStateException("no text"))));
+            log.logEvent("after", Map.of());
+            log.flush();
+            assertEquals(1, log.getDroppedCount());
+            assertEquals(1, log.getWriteFailureCount());
+        }
+        List<String> types = new ArrayList<>();
+        AuditLogReader.forEach(dir, record -> types.add(record.getEventType()));
+        assertEquals(List.of("before", "after"), types);
+    }
+
+    @Test
+    void deadWriterFailsFlushAndStopsBlockingCallers() throws Exception {
+        try (SegmentedAuditLog log = SegmentedAuditLog.builder(dir).queueCapacity(4).build()) {
+            log.logEvent("fatal", Map.of("value", new Unprintable(new AssertionError("writer killed"))));
+            IOException e = assertThrows(IOException.class, log::flush);
+            assertTrue(e.getMessage().startsWith("Audit writer has stopped"), e.getMessage());
+
+            // BLOCK overflow must not wait for a writer that will never drain the queue.
+            for (int i = 0; i < 16; i++) {
+                log.logEvent("later", Map.of());
+            }
+            assertEquals(17, log.getDroppedCount());
+        }
+    }
+
+    @Test
+    void rotatedAndRetiredSegmentsAreUnmapped() throws Exception {
+        Path maps = Path.of("/proc/self/maps");
+        assumeTrue(Files.isReadable(maps), "needs /proc/self/maps");
+        String prefix = dir.toRealPath().toString();
+
+        try (SegmentedAuditLog log = SegmentedAuditLog.builder(dir).segmentBytes(4096).maxSegments(2).build()) {
+            for (int i = 0; i < 2_000; i++) {
+                log.logEvent("test.event", Map.of("i", i));
+            }
+            log.flush();
+            assertEquals(2, AuditLogReader.listSegments(dir).size());
+            assertEquals(1, mappings(maps, prefix), "only the current segment stays mapped");
+        }
+        assertEquals(0, mappings(maps, prefix));
+
+        AuditLogReader.forEach(dir, record -> { });
+        assertEquals(0, mappings(maps, prefix));
+    }
+
+    @Test
+    void everyAuditedRequestIsWritten() throws Exception {
+        int hooks = 4;
+        int threads = 4;
+        int requestsPerThread = 500;
+        HookRegistry registry = new HookRegistry();
+        for (int i = 0; i < hooks; i++) {
+            registry.register(new NoopHook("noop-" + i));
+        }
+        HookOrchestrator orchestrator = new HookOrchestrator(registry,
+                new ResilientHookExecutor(0, 5, Duration.ofSeconds(10), null), new HookPolicyEngine(List.of()),
+                (prompt, context) -> "ok");
+        SecurityContext sc = new SecurityContext("u1", Set.of(), Set.of(), "acme");
+
+        try (SegmentedAuditLog log = SegmentedAuditLog.builder(dir).segmentBytes(64 * 1024).queueCapacity(256)
+                .build()) {
+            HookExecutionContext ctx = new HookExecutionContext(null, sc, null, log, null, Map.of());
+            List<Thread> callers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                Thread caller = new Thread(() -> {
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        orchestrator.handle(new HookRequest(thread + "-" + i, "u1", "hello", Map.of(), Instant.now()),
+                                ctx);
+                    }
+                });
+                caller.start();
+                callers.add(caller);
+            }
+            for (Thread caller : callers) {
+                caller.join();
+            }
+            log.flush();
+            assertEquals(0, log.getDroppedCount());
+        }
+
+        int requests = threads * requestsPerThread;
+        Map<String, AtomicLong> byType = new ConcurrentHashMap<>();
+        long read = AuditLogReader.forEach(dir,
+                record -> byType.computeIfAbsent(record.getEventType(), k -> new AtomicLong()).incrementAndGet());
+        assertEquals((long) requests * (hooks + 1), read);
+        assertEquals(requests, byType.get(HookOrchestrator.AUDIT_REQUEST_COMPLETED).get());
+        assertEquals((long) requests * hooks, byType.get(HookOrchestrator.AUDIT_HOOK_EXECUTED).get());
+    }
+
+    /**
+     * Memory mappings of files under {@code prefix} in this process.
+     */
+    private static long mappings(Path maps, String prefix) throws IOException {
+        return Files.readAllLines(maps).stream().filter(line -> line.contains(prefix)).count();
+    }
+
+    private record NoopHook(String id) implements Hook {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public HookType getType() {
+            return HookType.REASONING;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return Set.of();
+        }
+
+        @Override
+        public boolean supports(HookRequest request, HookExecutionContext ctx) {
+            return true;
+        }
+
+        @Override
+        public HookResult execute(HookRequest request, HookExecutionContext ctx) {
+            return HookResult.builder(id, HookType.REASONING, HookStatus.SUCCESS).message("ok").build();
+        }
+    }
+
+    private record Unprintable(Throwable failure) {
+
+        @Override
+        public String toString() {
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) failure;
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,304 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.core;
+
+import com.devinroyal.cognitivehooks.policy.HookPolicyEngine;
+import com.devinroyal.cognitivehooks.policy.RateLimit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HookOrchestratorFusedTest {
+
+    private final List<String> metrics = new ArrayList<>();
+    private final MetricsRecorder recorder = new MetricsRecorder() {
+        @Override
+        public void recordSuccess(String hookId, Duration latency) {
+            metrics.add("success:" + hookId);
+        }
+
+        @Override
+        public void recordFailure(String hookId, Duration latency, String reason) {
+            metrics.add("failure:" + hookId);
+        }
+
+        @Override
+        public void recordCircuitOpen(String hookId) {
+            metrics.add("open:" + hookId);
+        }
+    };
+
+    @Test
+    void fusedSectionIsAccountedThroughTheExecutor() {
+        StubFusableHook hook = new StubFusableHook();
+        HookOrchestrator orchestrator = orchestrator(hook, null,
+                (prompt, context) -> "{\"answer\":\"42\",\"stub-fused\":{\"ok\":true}}");
+
+        HookResponse response = orchestrator.handle(request(), context(Map.of()));
+
+        assertEquals("42", response.getFinalContent());
+        HookResult result = response.getHookResults().get(0);
+        assertEquals(HookStatus.SUCCESS, result.getStatus());
+        assertEquals(0, hook.executions.get());
+        assertEquals(List.of("success:stub-fused"), metrics);
+    }
+
+    @Test
+    void missingSectionFallsBackAndIsMarked() {
+        StubFusableHook hook = new StubFusableHook();
+        HookOrchestrator orchestrator = orchestrator(hook, null, (prompt, context) -> "{\"answer\":\"42\"}");
+
+        HookResult result = orchestrator.handle(request(), context(Map.of())).getHookResults().get(0);
+
+        assertEquals(1, hook.executions.get());
+        assertEquals(HookStatus.SUCCESS, result.getStatus());
+        assertEquals(Boolean.TRUE, result.getDiagnostics().get("fusedFallback"));
+        assertEquals(List.of("success:stub-fused"), metrics);
+    }
+
+    @Test
+    void failedFallbackCountsOneFailure() {
+        StubFusableHook hook = new StubFusableHook();
+        hook.fail = true;
+        HookOrchestrator orchestrator = orchestrator(hook, null,
+                (prompt, context) -> "{\"answer\":\"42\",\"stub-fused\":null}");
+
+        HookResult result = orchestrator.handle(request(), context(Map.of())).getHookResults().get(0);
+
+        assertEquals(1, hook.executions.get());
+        assertEquals(HookStatus.FAILED, result.getStatus());
+        assertEquals(List.of("failure:stub-fused"), metrics);
+    }
+
+    @Test
+    void missingSectionWithFallbackDisabledFails() {
+        StubFusableHook hook = new StubFusableHook();
+        HookOrchestrator orchestrator = orchestrator(hook, null, (prompt, context) -> "{\"answer\":\"42\"}");
+
+        HookResult result = orchestrator.handle(request(),
+                context(Map.of(HookOrchestrator.FUSED_FALLBACK_CONFIG_KEY, false))).getHookResults().get(0);
+
+        assertEquals(0, hook.executions.get());
+        assertEquals(HookStatus.FAILED, result.getStatus());
+        assertEquals(List.of("failure:stub-fused"), metrics);
+    }
+
+    @Test
+    void withheldSynthesisSkipsFusedHooksWithoutFallback() {
+        StubFusableHook hook = new StubFusableHook();
+        LlmClient llm = (prompt, context) -> "{\"answer\":\"forbidden\",\"stub-fused\":{\"ok\":true}}";
+        HookOrchestrator orchestrator = orchestrator(hook, new BlockingSafeguard(), llm);
+
+        HookResponse response = orchestrator.handle(request(), context(Map.of()));
+
+        assertTrue(response.getFinalContent().startsWith("Response withheld"), response.getFinalContent());
+        HookResult fused = response.getHookResults().stream()
+                .filter(r -> r.getHookId().equals("stub-fused")).findFirst().orElseThrow();
+        assertEquals(HookStatus.SKIPPED, fused.getStatus());
+        assertEquals(0, hook.executions.get());
+        assertFalse(metrics.contains("success:stub-fused"));
+
+        HookResult blocker = outputResult(response, "blocker");
+        assertEquals(HookStatus.FAILED, blocker.getStatus());
+        assertEquals(Boolean.TRUE, ((Map<?, ?>) blocker.getData()).get("blocked"));
+        assertEquals(Boolean.FALSE, ((Map<?, ?>) blocker.getData()).get("failedClosed"));
+    }
+
+    @Test
+    void failingOutputScanBlocksAndReportsFailure() {
+        BlockingSafeguard safeguard = new BlockingSafeguard();
+        safeguard.throwing = true;
+        HookOrchestrator orchestrator = orchestrator(new StubFusableHook(), safeguard,
+                (prompt, context) -> "{\"answer\":\"fine\",\"stub-fused\":{\"ok\":true}}");
+
+        HookResponse response = orchestrator.handle(request(), context(Map.of()));
+
+        assertTrue(response.getFinalContent().startsWith("Response withheld"), response.getFinalContent());
+        HookResult blocker = outputResult(response, "blocker");
+        assertEquals(HookStatus.FAILED, blocker.getStatus());
+        assertTrue(blocker.getMessage().startsWith("Output blocked (scan failed closed)"), blocker.getMessage());
+        assertEquals(Boolean.TRUE, ((Map<?, ?>) blocker.getData()).get("blocked"));
+        assertEquals(Boolean.TRUE, ((Map<?, ?>) blocker.getData()).get("failedClosed"));
+    }
+
+    @Test
+    void openCircuitIsNotFused() {
+        StubFusableHook hook = new StubFusableHook();
+        hook.fail = true;
+        ResilientHookExecutor executor = new ResilientHookExecutor(1, 1, Duration.ofMinutes(1), recorder);
+        HookRegistry registry = new HookRegistry();
+        registry.register(hook);
+        HookOrchestrator orchestrator = new HookOrchestrator(registry, executor,
+                new HookPolicyEngine(List.of()), (prompt, context) -> "{\"answer\":\"42\",\"stub-fused\":{\"ok\":true}}");
+        // Trip the breaker through a non-fused run: one failure at threshold 1.
+        orchestrator.handle(request(), context(Map.of(HookOrchestrator.FUSED_SYNTHESIS_CONFIG_KEY, false)));
+        assertTrue(executor.getCircuitStates().get("stub-fused").isOpen());
+
+        HookResult result = orchestrator.handle(request(), context(Map.of())).getHookResults().get(0);
+        assertEquals(HookStatus.CIRCUIT_OPEN, result.getStatus());
+    }
+
+    @Test
+    void unsupportedHooksSpendNoPermits() {
+        StubFusableHook hook = new StubFusableHook();
+        hook.supported = false;
+        HookRegistry registry = new HookRegistry();
+        registry.register(hook);
+        HookPolicyEngine policy = new HookPolicyEngine(List.of(), List.of(
+                RateLimit.builder("one per hour").hookIds("stub-fused").quota(1, Duration.ofHours(1)).build()));
+        HookOrchestrator orchestrator = new HookOrchestrator(registry,
+                new ResilientHookExecutor(0, 3, Duration.ofSeconds(10), recorder), policy,
+                (prompt, context) -> "{\"answer\":\"42\"}");
+        HookExecutionContext ctx = context(Map.of(HookOrchestrator.FUSED_SYNTHESIS_CONFIG_KEY, false));
+
+        for (int i = 0; i < 3; i++) {
+            HookResult skipped = orchestrator.handle(request(), ctx).getHookResults().get(0);
+            assertEquals("Hook does not support this request", skipped.getMessage());
+        }
+        hook.supported = true;
+        assertEquals(HookStatus.SUCCESS, orchestrator.handle(request(), ctx).getHookResults().get(0).getStatus());
+        HookResult throttled = orchestrator.handle(request(), ctx).getHookResults().get(0);
+        assertTrue(throttled.getMessage().startsWith("Denied by policy"), throttled.getMessage());
+        assertEquals(1, hook.executions.get());
+    }
+
+    private HookOrchestrator orchestrator(Hook hook, Hook safeguard, LlmClient llm) {
+        HookRegistry registry = new HookRegistry();
+        registry.register(hook);
+        if (safeguard != null) {
+            registry.register(safeguard);
+        }
+        return new HookOrchestrator(registry, new ResilientHookExecutor(0, 3, Duration.ofSeconds(10), recorder),
+                new HookPolicyEngine(List.of()), llm);
+    }
+
+    private static HookResult outputResult(HookResponse response, String hookId) {
+        return response.getHookResults().stream()
+                .filter(r -> r.getHookId().equals(hookId)
+                        && r.getData() instanceof Map<?, ?> data && "output".equals(data.get("stage")))
+                .findFirst().orElseThrow();
+    }
+
+    private static HookRequest request() {
+        return new HookRequest("r1", "u1", "What is the answer?", Map.of(), Instant.now());
+    }
+
+    private HookExecutionContext context(Map<String, Object> overrides) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(HookOrchestrator.FUSED_SYNTHESIS_CONFIG_KEY, true);
+        config.putAll(overrides);
+        return new HookExecutionContext(null, new SecurityContext("u1", Set.of(), Set.of()), recorder, null, null,
+                config);
+    }
+
+    private static final class StubFusableHook implements FusableHook {
+        final AtomicInteger executions = new AtomicInteger();
+        boolean fail;
+        boolean supported = true;
+
+        @Override
+        public String getId() {
+            return "stub-fused";
+        }
+
+        @Override
+        public HookType getType() {
+            return HookType.REASONING;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return Set.of();
+        }
+
+        @Override
+        public boolean supports(HookRequest request, HookExecutionContext ctx) {
+            return supported;
+        }
+
+        @Override
+        public HookResult execute(HookRequest request, HookExecutionContext ctx) throws HookException {
+            executions.incrementAndGet();
+            if (fail) {
+                throw new HookException("stub failure");
+            }
+            return HookResult.builder(getId(), getType(), HookStatus.SUCCESS).message("ran").build();
+        }
+
+        @Override
+        public String fusedInstructions() {
+            return "an object with field 'ok'";
+        }
+
+        @Override
+        public HookResult fromFusedSection(String section, HookRequest request, HookExecutionContext ctx) {
+            return HookResult.builder(getId(), getType(), HookStatus.SUCCESS).message("fused").data(section).build();
+        }
+    }
+
+    private static final class BlockingSafeguard implements OutputSafeguard {
+        boolean throwing;
+
+        @Override
+        public String getId() {
+            return "blocker";
+        }
+
+        @Override
+        public HookType getType() {
+            return HookType.SAFEGUARD;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return Set.of();
+        }
+
+        @Override
+        public boolean supports(HookRequest request, HookExecutionContext ctx) {
+            return false;
+        }
+
+        @Override
+        public HookResult execute(HookRequest request, HookExecutionContext ctx) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Scan startOutputScan(HookRequest request, HookExecutionContext ctx) {
+            return new Scan() {
+                @Override
+                public String onChunk(String chunk) {
+                    if (throwing) {
+                        throw new IllegalStateException("scanner crashed");
+                    }
+                    return chunk.contains("forbidden") ? "forbidden word" : null;
+                }
+
+                @Override
+                public String finish() {
+                    return null;
+                }
+            };
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResilientHookExecutorTest {
+
+    private static final HookRequest REQUEST = new HookRequest("r1", "u1", "hi", Map.of(), Instant.now());
+
+    private final List<String> audit = new CopyOnWriteArrayList<>();
+    private final HookExecutionContext ctx = new HookExecutionContext(null,
+            new SecurityContext("u1", Set.of(), Set.of()), null, (type, details) -> audit.add(type), null,
+            new HashMap<>());
+
+    @Test
+    void concurrentFailuresOpenTheCircuitOnce() throws Exception {
+        int threads = 8;
+        CountDownLatch together = new CountDownLatch(threads);
+        FailingHook hook = new FailingHook(together);
+        ResilientHookExecutor executor = new ResilientHookExecutor(1, 1, Duration.ofMinutes(1), null);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> executor.execute(hook, REQUEST, ctx));
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertTrue(executor.getCircuitStates().get("failing").isOpen());
+        assertEquals(List.of(ResilientHookExecutor.AUDIT_CIRCUIT_OPENED), audit);
+    }
+
+    @Test
+    void failuresWhileOpenDoNotReportAnotherOpening() {
+        FailingHook hook = new FailingHook(null);
+        ResilientHookExecutor executor = new ResilientHookExecutor(0, 2, Duration.ofMinutes(1), null);
+
+        for (int i = 0; i < 5; i++) {
+            executor.recordFused(hook, null, 1_000L, ctx);
+        }
+        executor.recordFused(hook, HookResult.builder("failing", HookType.REASONING, HookStatus.SUCCESS).build(),
+                1_000L, ctx);
+
+        assertEquals(List.of(ResilientHookExecutor.AUDIT_CIRCUIT_OPENED, ResilientHookExecutor.AUDIT_CIRCUIT_CLOSED),
+                audit);
+    }
+
+    @Test
+    void interruptedBackoffFailsWithoutRetrying() {
+        FailingHook hook = new FailingHook(null);
+        ResilientHookExecutor executor = new ResilientHookExecutor(3, 10, Duration.ofMinutes(1), null);
+
+        Thread.currentThread().interrupt();
+        HookResult result;
+        try {
+            result = executor.execute(hook, REQUEST, ctx);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        assertEquals(HookStatus.FAILED, result.getStatus());
+        assertEquals("Hook execution interrupted during backoff", result.getMessage());
+        assertTrue(result.getLatency().toNanos() > 0, "the failed attempt's time is reported");
+        assertEquals(1, hook.calls);
+    }
+
+    private static final class FailingHook implements Hook {
+        private final CountDownLatch together;
+        private volatile int calls;
+
+        FailingHook(CountDownLatch together) {
+            this.together = together;
+        }
+
+        @Override
+        public String getId() {
+            return "failing";
+        }
+
+        @Override
+        public HookType getType() {
+            return HookType.REASONING;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return Set.of();
+        }
+
+        @Override
+        public boolean supports(HookRequest request, HookExecutionContext ctx) {
+            return true;
+        }
+
+        @Override
+        public HookResult execute(HookRequest request, HookExecutionContext ctx) throws HookException {
+            calls++;
+            if (together != null) {
+                together.countDown();
+                try {
+                    together.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            throw new HookException("down");
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnarResultTest {
+
+    @Test
+    void onlySingleBitColumnsAreStoredAsBooleans() throws Exception {
+        ResultSetMetaData metaData = metaData(new int[]{Types.BIT, Types.BIT, Types.BOOLEAN}, new int[]{1, 8, 1});
+
+        ColumnarResult result = new ColumnarResult.Builder(metaData, 4).build();
+        assertEquals(ColumnarResult.ColumnKind.BOOLEAN, result.getColumnKind(0));
+        assertEquals(ColumnarResult.ColumnKind.OBJECT, result.getColumnKind(1));
+        assertEquals(ColumnarResult.ColumnKind.BOOLEAN, result.getColumnKind(2));
+    }
+
+    private static ResultSetMetaData metaData(int[] types, int[] precisions) {
+        return (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> types.length;
+                    case "getColumnLabel" -> "C" + args[0];
+                    case "getColumnType" -> types[(Integer) args[0] - 1];
+                    case "getPrecision" -> precisions[(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
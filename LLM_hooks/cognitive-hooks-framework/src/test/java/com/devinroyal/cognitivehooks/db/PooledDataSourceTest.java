@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledDataSourceTest {
+
+    private PooledDataSource pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        pool = PooledDataSource.builder(ConnectionFactory.driverManager(url, "sa", ""))
+                .maxSize(1)
+                .acquireTimeout(Duration.ofMillis(200))
+                .statementCacheSize(4)
+                .build();
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA OTHER");
+            statement.execute("CREATE TABLE ITEMS (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+            statement.execute("INSERT INTO ITEMS VALUES (1, 'one'), (2, 'two')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void reusesThePhysicalConnectionAndCachedStatements() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT NAME FROM ITEMS WHERE ID = ?")) {
+                statement.setInt(1, 2);
+                try (ResultSet rs = statement.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals("two", rs.getString(1));
+                }
+            }
+        }
+        PoolStats stats = pool.stats();
+        assertEquals(1, stats.getCreated());
+        assertEquals(1, stats.getStatementCacheMisses());
+        assertEquals(2, stats.getStatementCacheHits());
+        assertEquals(0, stats.getActive());
+        assertEquals(1, stats.getIdle());
+    }
+
+    @Test
+    void statementsReportThePooledConnection() throws Exception {
+        try (Connection connection = pool.getConnection();
+             Statement plain = connection.createStatement();
+             PreparedStatement cached = connection.prepareStatement("SELECT 1");
+             PreparedStatement concurrent = connection.prepareStatement("SELECT 1");
+             PreparedStatement uncached = connection.prepareStatement("SELECT 2", Statement.RETURN_GENERATED_KEYS);
+             CallableStatement call = connection.prepareCall("SELECT 3")) {
+            assertSame(connection, plain.getConnection());
+            assertSame(connection, cached.getConnection());
+            assertSame(connection, concurrent.getConnection());
+            assertSame(connection, uncached.getConnection());
+            assertSame(connection, call.getConnection());
+            try (ResultSet rs = plain.executeQuery("SELECT COUNT(*) FROM ITEMS")) {
+                assertTrue(rs.next());
+                assertEquals(2, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    void proxiesDoNotUnwrapToDriverObjects() throws Exception {
+        try (Connection connection = pool.getConnection();
+             Statement plain = connection.createStatement();
+             PreparedStatement cached = connection.prepareStatement("SELECT 1")) {
+            assertSame(connection, connection.unwrap(Connection.class));
+            assertFalse(connection.isWrapperFor(org.h2.jdbc.JdbcConnection.class));
+            assertThrows(SQLException.class, () -> connection.unwrap(org.h2.jdbc.JdbcConnection.class));
+            assertFalse(plain.isWrapperFor(org.h2.jdbc.JdbcStatement.class));
+            assertThrows(SQLException.class, () -> plain.unwrap(org.h2.jdbc.JdbcStatement.class));
+            assertSame(cached, cached.unwrap(PreparedStatement.class));
+            assertThrows(SQLException.class, () -> cached.unwrap(org.h2.jdbc.JdbcPreparedStatement.class));
+        }
+    }
+
+    @Test
+    void sessionStateIsResetBeforeReuse() throws Exception {
+        int isolation;
+        String schema;
+        try (Connection connection = pool.getConnection()) {
+            isolation = connection.getTransactionIsolation();
+            schema = connection.getSchema();
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            connection.setSchema("OTHER");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO PUBLIC.ITEMS VALUES (3, 'three')");
+            }
+        }
+        try (Connection connection = pool.getConnection()) {
+            assertTrue(connection.getAutoCommit());
+            assertFalse(connection.isReadOnly());
+            assertEquals(isolation, connection.getTransactionIsolation());
+            assertEquals(schema, connection.getSchema());
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM ITEMS")) {
+                assertTrue(rs.next());
+                assertEquals(2, rs.getInt(1), "uncommitted insert was not rolled back");
+            }
+        }
+        assertEquals(1, pool.stats().getCreated());
+    }
+
+    @Test
+    void acquireTimesOutWhenExhausted() throws Exception {
+        try (Connection held = pool.getConnection()) {
+            assertThrows(SQLTimeoutException.class, pool::getConnection);
+            assertEquals(1, pool.stats().getAcquireTimeouts());
+        }
+        try (Connection connection = pool.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryResultCacheTest {
+
+    private final QueryResultCache cache = new QueryResultCache(1 << 20, Duration.ofMinutes(1));
+
+    @Test
+    void tablesIncludeCommaJoins() {
+        assertEquals(Set.of("orders", "customers", "sales.regions", "regions"),
+                QueryResultCache.tablesOf("SELECT * FROM orders o, customers AS c, \"sales\".\"regions\" "
+                        + "WHERE o.customer_id = c.id"));
+        assertEquals(Set.of("a", "b", "c"),
+                QueryResultCache.tablesOf("select * from a, b join c on b.id = c.id where 1 = 1"));
+        assertEquals(Set.of("a", "b"),
+                QueryResultCache.tablesOf("select * from a left join b using (id)"));
+        assertEquals(Set.of("inner_t"),
+                QueryResultCache.tablesOf("select * from (select * from inner_t) x"));
+    }
+
+    @Test
+    void keysKeepParameterTypesAndScope() {
+        String scope = cache.scope(new Object(), null);
+        assertNotEquals(QueryResultCache.key(scope, "select ?", List.of(1), "rows"),
+                QueryResultCache.key(scope, "select ?", List.of("1"), "rows"));
+        assertEquals(QueryResultCache.key(scope, "SELECT  ?;", List.of(1), "rows"),
+                QueryResultCache.key(scope, "select ?", List.of(1), "rows"));
+
+        Object source = new Object();
+        assertEquals(cache.scope(source, "acme"), cache.scope(source, "acme"));
+        assertNotEquals(cache.scope(source, "acme"), cache.scope(source, "globex"));
+        assertNotEquals(cache.scope(source, null), cache.scope(new Object(), null));
+    }
+
+    @Test
+    void invalidationDuringQueryPreventsStaleStore() {
+        long stamp = cache.stamp();
+        cache.invalidateTable("ORDERS");
+        assertFalse(cache.put("k", "stale", 64, Set.of("orders"), stamp));
+        assertNull(cache.get("k"));
+
+        // Other tables, and queries started after the invalidation, still cache.
+        assertTrue(cache.put("other", "fresh", 64, Set.of("customers"), stamp));
+        assertTrue(cache.put("k", "fresh", 64, Set.of("orders"), cache.stamp()));
+        assertEquals("fresh", cache.get("k"));
+
+        long before = cache.stamp();
+        cache.invalidateAll();
+        assertFalse(cache.put("k", "stale", 64, Set.of("customers"), before));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidationStampsExpireWithTheTtl() throws Exception {
+        QueryResultCache shortLived = new QueryResultCache(1 << 20, Duration.ofMillis(50));
+        long beforeAll = shortLived.stamp();
+        for (int i = 0; i < 100; i++) {
+            shortLived.invalidateTable("t" + i);
+        }
+        assertEquals(100, shortLived.getTrackedInvalidations());
+        long afterAll = shortLived.stamp();
+
+        Thread.sleep(60);
+        shortLived.invalidateTable("orders");
+        assertEquals(1, shortLived.getTrackedInvalidations());
+
+        // A forgotten stamp still refuses results stamped before it, on any table.
+        assertFalse(shortLived.put("k", "stale", 64, Set.of("customers"), beforeAll));
+        assertFalse(shortLived.put("k", "stale", 64, Set.of("orders"), afterAll));
+        assertTrue(shortLived.put("k", "fresh", 64, Set.of("t1"), shortLived.stamp()));
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
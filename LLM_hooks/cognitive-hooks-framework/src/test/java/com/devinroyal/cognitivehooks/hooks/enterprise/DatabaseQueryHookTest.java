@@ -0,0 +1,291 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.enterprise;
+
+import com.devinroyal.cognitivehooks.core.HookException;
+import com.devinroyal.cognitivehooks.core.HookExecutionContext;
+import com.devinroyal.cognitivehooks.core.HookRequest;
+import com.devinroyal.cognitivehooks.core.HookResult;
+import com.devinroyal.cognitivehooks.core.MetricsRecorder;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import com.devinroyal.cognitivehooks.db.ColumnarResult;
+import com.devinroyal.cognitivehooks.db.ConnectionFactory;
+import com.devinroyal.cognitivehooks.db.PooledDataSource;
+import com.devinroyal.cognitivehooks.db.RowBatchSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseQueryHookTest {
+
+    private static final SecurityContext SECURITY = new SecurityContext("u1", Set.of(), Set.of(), "acme");
+
+    private PooledDataSource pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        pool = PooledDataSource.builder(ConnectionFactory.driverManager(url, "sa", "")).maxSize(4).build();
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE ORDERS (ID INT PRIMARY KEY, CUSTOMER VARCHAR(20), "
+                    + "PLACED DATE, NOTE VARCHAR(20))");
+            statement.execute("INSERT INTO ORDERS VALUES (1, 'acme', DATE '2024-01-01', NULL), "
+                    + "(2, 'acme', DATE '2024-02-01', 'rush'), (3, 'globex', DATE '2024-03-01', NULL)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void bindsPlainTypedAndNullParameters() throws Exception {
+        DatabaseQueryHook hook = new DatabaseQueryHook();
+        String sql = "SELECT ID FROM ORDERS WHERE CUSTOMER = ? AND ID >= ? AND PLACED > ? "
+                + "AND (NOTE = ? OR ? IS NULL) ORDER BY ID";
+        List<Object> params = Arrays.asList("acme", 1L, Map.of("type", "date", "value", "2024-01-15"), null, null);
+
+        assertEquals(List.of(2), ids(hook.execute(request(sql, params), pooled())));
+        try (Connection shared = pool.getConnection()) {
+            HookExecutionContext ctx = new HookExecutionContext(null, SECURITY, null, null, shared, Map.of());
+            assertEquals(List.of(2), ids(hook.execute(request(sql, params), ctx)));
+            assertEquals(List.of(2), ids(hook.execute(request(sql, params), ctx)));
+        }
+
+        List<Object> typedNull = Arrays.asList("acme", 0, Map.of("type", "DATE", "value", "2023-12-31"),
+                "rush", "rush");
+        assertEquals(List.of(2), ids(hook.execute(request(sql, typedNull), pooled())));
+    }
+
+    @Test
+    void capsRowsAndReportsTruncation() throws Exception {
+        DatabaseQueryHook hook = new DatabaseQueryHook();
+        HookExecutionContext capped = pooled(Map.of(DatabaseQueryHook.MAX_ROWS_CONFIG_KEY, 2));
+        String sql = "SELECT ID FROM ORDERS ORDER BY ID";
+
+        HookResult result = hook.execute(request(sql, List.of()), capped);
+        assertEquals(List.of(1, 2), ids(result));
+        assertEquals(true, result.getDiagnostics().get("truncated"));
+
+        HookRequest lowered = request(sql, List.of(), Map.of("sqlMaxRows", 1));
+        assertEquals(List.of(1), ids(hook.execute(lowered, capped)));
+
+        HookResult exact = hook.execute(request(sql, List.of()),
+                pooled(Map.of(DatabaseQueryHook.MAX_ROWS_CONFIG_KEY, 3)));
+        assertEquals(List.of(1, 2, 3), ids(exact));
+        assertEquals(false, exact.getDiagnostics().get("truncated"));
+    }
+
+    @Test
+    void columnarResultsKeepColumnKindsAndNulls() throws Exception {
+        HookRequest request = request("SELECT ID, NOTE, ID > 1 AS LATE FROM ORDERS ORDER BY ID", List.of(),
+                Map.of("sqlResultFormat", "columnar"));
+
+        ColumnarResult result = (ColumnarResult) new DatabaseQueryHook().execute(request, pooled()).getData();
+        assertEquals(List.of("ID", "NOTE", "LATE"), result.getColumnNames());
+        assertEquals(3, result.getRowCount());
+        assertEquals(ColumnarResult.ColumnKind.LONG, result.getColumnKind(0));
+        assertEquals(ColumnarResult.ColumnKind.OBJECT, result.getColumnKind(1));
+        assertEquals(ColumnarResult.ColumnKind.BOOLEAN, result.getColumnKind(2));
+        assertEquals(3L, result.getLong(0, 2));
+        assertTrue(result.isNull(1, 0));
+        assertNull(result.getObject(1, 0));
+        assertEquals("rush", result.getObject(1, 1));
+        assertTrue(result.getBoolean(2, 1));
+    }
+
+    @Test
+    void streamsOnlyWhenRequestedAndTagsBatchesWithTheRequest() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        Map<String, Object> config = Map.of(DatabaseQueryHook.ROW_BATCH_SINK_CONFIG_KEY, sink,
+                DatabaseQueryHook.BATCH_SIZE_CONFIG_KEY, 2);
+        DatabaseQueryHook hook = new DatabaseQueryHook();
+        String sql = "SELECT ID FROM ORDERS ORDER BY ID";
+
+        assertEquals(List.of(1, 2, 3), ids(hook.execute(request(sql, List.of()), pooled(config))));
+        assertTrue(sink.events.isEmpty());
+
+        HookRequest streamed = request(sql, List.of(), Map.of("sqlStream", true));
+        HookResult result = hook.execute(streamed, pooled(config));
+        assertEquals(2, result.getDiagnostics().get("batches"));
+        assertEquals(List.of("r1:batch:2", "r1:batch:1", "r1:complete:3:false"), sink.events);
+
+        HookRequest noSink = request(sql, List.of(), Map.of("sqlStream", true));
+        assertThrows(HookException.class, () -> hook.execute(noSink, pooled()));
+    }
+
+    @Test
+    void streamingStopsOnceTheCallerTimesOut() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink() {
+            @Override
+            public void onBatch(String requestId, ColumnarResult batch) {
+                super.onBatch(requestId, batch);
+                try {
+                    // Outlive the caller's deadline, then keep going as a careless sink would.
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                released.countDown();
+            }
+        };
+        Map<String, Object> config = Map.of(DatabaseQueryHook.ROW_BATCH_SINK_CONFIG_KEY, sink,
+                DatabaseQueryHook.BATCH_SIZE_CONFIG_KEY, 1, DatabaseQueryHook.QUERY_TIMEOUT_CONFIG_KEY, 100);
+        HookRequest streamed = request("SELECT ID FROM ORDERS ORDER BY ID", List.of(),
+                Map.of("sqlStream", true));
+
+        assertThrows(HookException.class, () -> new DatabaseQueryHook().execute(streamed, pooled(config)));
+        assertTrue(released.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(List.of("r1:batch:1"), sink.events);
+    }
+
+    @Test
+    void timedOutQueryIsReportedAndFreesItsWorker() throws Exception {
+        createSleepAlias();
+        AtomicLong timeoutNanos = new AtomicLong(-1);
+        MetricsRecorder metrics = new MetricsRecorder() {
+            @Override
+            public void recordSuccess(String hookId, Duration latency) {
+            }
+
+            @Override
+            public void recordFailure(String hookId, Duration latency, String reason) {
+            }
+
+            @Override
+            public void recordCircuitOpen(String hookId) {
+            }
+
+            @Override
+            public void recordTimeoutNanos(String hookId, long elapsedNanos) {
+                timeoutNanos.set(elapsedNanos);
+            }
+        };
+        DatabaseQueryHook hook = new DatabaseQueryHook(null, 1);
+        HookExecutionContext ctx = new HookExecutionContext(null, SECURITY, metrics, null, null, pool,
+                Map.of(DatabaseQueryHook.QUERY_TIMEOUT_CONFIG_KEY, 200));
+
+        long start = System.nanoTime();
+        HookException failure = assertThrows(HookException.class,
+                () -> hook.execute(request("SELECT SLEEP_MS(30000) FROM ORDERS WHERE ID = 1", List.of()), ctx));
+        assertTrue(failure.getMessage().contains("timed out"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+        assertTrue(timeoutNanos.get() >= TimeUnit.MILLISECONDS.toNanos(200));
+
+        // The only worker was cancelled, so the next query gets it.
+        assertEquals(List.of(1, 2, 3), ids(hook.execute(request("SELECT ID FROM ORDERS ORDER BY ID", List.of()),
+                ctx)));
+    }
+
+    @Test
+    void interruptedCallerCancelsItsQuery() throws Exception {
+        createSleepAlias();
+        DatabaseQueryHook hook = new DatabaseQueryHook(null, 1);
+        HookExecutionContext ctx = pooled();
+        AtomicLong interruptedAfter = new AtomicLong();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        Thread caller = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                hook.execute(request("SELECT SLEEP_MS(30000) FROM ORDERS WHERE ID = 1", List.of()), ctx);
+            } catch (HookException e) {
+                failures.add(e);
+                interruptedAfter.set(Thread.currentThread().isInterrupted() ? System.nanoTime() - start : -1);
+            }
+        });
+        caller.start();
+        Thread.sleep(200);
+        caller.interrupt();
+        caller.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(caller.isAlive());
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0).getMessage().contains("cancelled"));
+        assertTrue(interruptedAfter.get() > 0, "interrupt status must be preserved");
+        assertEquals(List.of(1, 2, 3), ids(hook.execute(request("SELECT ID FROM ORDERS ORDER BY ID", List.of()),
+                ctx)));
+    }
+
+    /**
+     * H2 runs Java functions on the querying thread, so a sleeping query is
+     * released by the interrupt the hook sends when it gives up.
+     */
+    private void createSleepAlias() throws Exception {
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE ALIAS SLEEP_MS FOR 'java.lang.Thread.sleep(long)'");
+        }
+    }
+
+    private HookExecutionContext pooled() {
+        return pooled(Map.of());
+    }
+
+    private HookExecutionContext pooled(Map<String, Object> config) {
+        return new HookExecutionContext(null, SECURITY, null, null, null, pool, config);
+    }
+
+    private static HookRequest request(String sql, List<Object> params) {
+        return request(sql, params, Map.of());
+    }
+
+    private static HookRequest request(String sql, List<Object> params, Map<String, Object> options) {
+        Map<String, Object> payload = new HashMap<>(options);
+        payload.put("sqlQuery", sql);
+        payload.put("sqlParams", params);
+        return new HookRequest("r1", "u1", "query", payload, Instant.now());
+    }
+
+    private static class RecordingSink implements RowBatchSink {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onBatch(String requestId, ColumnarResult batch) {
+            events.add(requestId + ":batch:" + batch.getRowCount());
+        }
+
+        @Override
+        public void onComplete(String requestId, long totalRows, boolean truncated) {
+            events.add(requestId + ":complete:" + totalRows + ":" + truncated);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> ids(HookResult result) {
+        return ((List<Map<String, Object>>) result.getData()).stream().map(row -> row.get("ID")).toList();
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
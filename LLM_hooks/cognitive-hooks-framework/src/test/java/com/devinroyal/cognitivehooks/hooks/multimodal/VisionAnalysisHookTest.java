@@ -0,0 +1,240 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.multimodal;
+
+import com.devinroyal.cognitivehooks.core.HookException;
+import com.devinroyal.cognitivehooks.core.HookExecutionContext;
+import com.devinroyal.cognitivehooks.core.HookRequest;
+import com.devinroyal.cognitivehooks.core.HookResult;
+import com.devinroyal.cognitivehooks.core.HookStatus;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import com.devinroyal.cognitivehooks.hooks.multimodal.image.ColorHistogram;
+import com.devinroyal.cognitivehooks.hooks.multimodal.image.ImageAnalysisCache;
+import com.devinroyal.cognitivehooks.hooks.multimodal.image.PixelBudget;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VisionAnalysisHookTest {
+
+    @TempDir
+    Path dir;
+
+    private final VisionAnalysisHook hook = new VisionAnalysisHook();
+
+    @Test
+    void analyzesImagesInsideTheRoot() throws Exception {
+        Path root = Files.createDirectory(dir.resolve("images"));
+        Path image = root.resolve("red.png");
+        BufferedImage red = new BufferedImage(8, 4, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 8; x++) {
+                red.setRGB(x, y, 0xFF0000);
+            }
+        }
+        ImageIO.write(red, "png", image.toFile());
+
+        HookResult result = hook.execute(request(image.toUri().toString()), context(root));
+        assertEquals(HookStatus.SUCCESS, result.getStatus());
+        Map<?, ?> data = (Map<?, ?>) result.getData();
+        assertEquals(8, data.get("width"));
+        assertEquals(4, data.get("height"));
+    }
+
+    @Test
+    void fileUrisNeedAnImageRoot() throws Exception {
+        Path image = Files.writeString(dir.resolve("secret.txt"), "not an image");
+        HookException e = assertThrows(HookException.class,
+                () -> hook.execute(request(image.toUri().toString()), context(null)));
+        assertTrue(e.getMessage().contains(VisionAnalysisHook.IMAGE_ROOT_CONFIG_KEY), e.getMessage());
+    }
+
+    @Test
+    void pathsOutsideTheRootFailAlikeWhetherOrNotTheyExist() throws Exception {
+        Path root = Files.createDirectory(dir.resolve("images"));
+        Path existing = Files.writeString(dir.resolve("secret.txt"), "top secret");
+        String missing = dir.resolve("missing.png").toUri().toString();
+        String traversal = root.toUri() + "../secret.txt";
+
+        String existingError = assertThrows(HookException.class,
+                () -> hook.execute(request(existing.toUri().toString()), context(root))).getMessage();
+        String missingError = assertThrows(HookException.class,
+                () -> hook.execute(request(missing), context(root))).getMessage();
+        String traversalError = assertThrows(HookException.class,
+                () -> hook.execute(request(traversal), context(root))).getMessage();
+
+        assertTrue(existingError.startsWith("imageUri is outside the configured image root"), existingError);
+        assertTrue(missingError.startsWith("imageUri is outside the configured image root"), missingError);
+        assertTrue(traversalError.startsWith("imageUri is outside the configured image root"), traversalError);
+    }
+
+    @Test
+    void readErrorsDoNotLeakFileSystemDetails() throws Exception {
+        Path root = Files.createDirectory(dir.resolve("images"));
+        String missing = root.resolve("missing.png").toUri().toString();
+        HookException e = assertThrows(HookException.class, () -> hook.execute(request(missing), context(root)));
+        assertEquals("Image not found or not readable: " + missing, e.getMessage());
+
+        Path empty = Files.createFile(root.resolve("empty.png"));
+        HookException rejected = assertThrows(HookException.class,
+                () -> hook.execute(request(empty.toUri().toString()), context(root)));
+        assertEquals("Rejected image '" + empty.toUri() + "': Image file is empty", rejected.getMessage());
+    }
+
+    @Test
+    void batchReportsEachImageAndAggregates() throws Exception {
+        Path root = Files.createDirectory(dir.resolve("images"));
+        Path red = solid(root.resolve("red.png"), 8, 4, 0xFF0000);
+        Path blue = solid(root.resolve("blue.png"), 4, 4, 0x0000FF);
+        Path redCopy = Files.copy(red, root.resolve("red-copy.png"));
+        String missing = root.resolve("missing.png").toUri().toString();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            VisionAnalysisHook batchHook = new VisionAnalysisHook(new ColorHistogram(), new ImageAnalysisCache(16),
+                    new PixelBudget(1024 * 1024), executor);
+            HookResult result = batchHook.execute(batch(red, blue, redCopy, missing), context(root));
+
+            Map<?, ?> data = (Map<?, ?>) result.getData();
+            List<?> images = (List<?>) data.get("images");
+            assertEquals(4, images.size());
+            Map<?, ?> redEntry = (Map<?, ?>) images.get(0);
+            Map<?, ?> blueEntry = (Map<?, ?>) images.get(1);
+            assertEquals(8, redEntry.get("width"));
+            assertEquals(false, redEntry.get("cached"));
+            assertEquals(true, ((Map<?, ?>) images.get(2)).get("cached"));
+            assertEquals("Image not found or not readable: " + missing, ((Map<?, ?>) images.get(3)).get("error"));
+
+            Map<?, ?> aggregate = (Map<?, ?>) data.get("aggregate");
+            assertEquals(4, aggregate.get("images"));
+            assertEquals(3, aggregate.get("succeeded"));
+            assertEquals(1, aggregate.get("failed"));
+            assertEquals(1, aggregate.get("cacheHits"));
+            assertEquals(2 * Files.size(red) + Files.size(blue), aggregate.get("totalBytes"));
+            double redLuminance = (Double) redEntry.get("meanLuminance");
+            double blueLuminance = (Double) blueEntry.get("meanLuminance");
+            assertEquals((2 * redLuminance + blueLuminance) / 3, (Double) aggregate.get("meanLuminance"), 1e-9);
+            Map<?, ?> colorNames = (Map<?, ?>) aggregate.get("dominantColorNames");
+            assertEquals(List.of(colorName(redEntry), colorName(blueEntry)), new ArrayList<>(colorNames.keySet()));
+            assertEquals(2.0 / 3, (Double) colorNames.get(colorName(redEntry)), 1e-9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentDecodesStayWithinThePixelBudget() throws Exception {
+        Path root = Files.createDirectory(dir.resolve("images"));
+        List<Object> uris = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            uris.add(solid(root.resolve("img" + i + ".png"), 16, 16, 0x010101 * (i * 20)).toUri().toString());
+        }
+        // Each 16x16 raster reserves 1 KiB, so at most two decode at once.
+        PixelBudget budget = new PixelBudget(2048);
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            VisionAnalysisHook batchHook = new VisionAnalysisHook(new ColorHistogram(), null, budget, executor);
+            HookResult result = batchHook.execute(new HookRequest("r1", "u1", "describe",
+                    Map.of("imageUris", uris), Instant.now()), context(root));
+
+            assertEquals(12, ((Map<?, ?>) ((Map<?, ?>) result.getData()).get("aggregate")).get("succeeded"));
+            assertTrue(budget.getPeakInUse() > 0);
+            assertTrue(budget.getPeakInUse() <= budget.getMaxBytes(), "peak " + budget.getPeakInUse());
+            assertEquals(budget.getPeakInUse(), result.getDiagnostics().get("decodeBudgetPeakBytes"));
+            assertEquals(0, budget.getInUse());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void batchPastItsDeadlineCancelsOutstandingImages() throws Exception {
+        Path root = Files.createDirectory(dir.resolve("images"));
+        Path red = solid(root.resolve("red.png"), 8, 4, 0xFF0000);
+        Path blue = solid(root.resolve("blue.png"), 4, 4, 0x0000FF);
+        PixelBudget budget = new PixelBudget(1024 * 1024);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            VisionAnalysisHook batchHook = new VisionAnalysisHook(new ColorHistogram(), null, budget, executor);
+            Map<String, Object> config = new HashMap<>();
+            config.put(VisionAnalysisHook.IMAGE_ROOT_CONFIG_KEY, root.toString());
+            config.put(VisionAnalysisHook.BATCH_TIMEOUT_CONFIG_KEY, 200);
+            HookExecutionContext ctx = new HookExecutionContext(null, new SecurityContext("u1", Set.of(), Set.of()),
+                    null, null, null, config);
+
+            // Hold the whole budget so every decode blocks.
+            long held = budget.acquire(budget.getMaxBytes());
+            HookException e = assertThrows(HookException.class,
+                    () -> batchHook.execute(batch(red, blue), ctx));
+            assertTrue(e.getMessage().startsWith("Vision batch timed out after 200 ms"), e.getMessage());
+
+            // The blocked decode was interrupted and the queued one cancelled, so the worker is free again.
+            assertEquals(1, executor.submit(() -> 1).get(5, TimeUnit.SECONDS));
+            assertEquals(budget.getMaxBytes(), budget.getInUse());
+            budget.release(held);
+            Map<?, ?> data = (Map<?, ?>) batchHook.execute(batch(red, blue), ctx).getData();
+            assertEquals(2, ((Map<?, ?>) data.get("aggregate")).get("succeeded"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Path solid(Path file, int width, int height, int rgb) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        ImageIO.write(image, "png", file.toFile());
+        return file;
+    }
+
+    private static String colorName(Map<?, ?> entry) {
+        return (String) ((Map<?, ?>) ((List<?>) entry.get("dominantColors")).get(0)).get("name");
+    }
+
+    private static HookRequest batch(Object... images) {
+        List<String> uris = new ArrayList<>();
+        for (Object image : images) {
+            uris.add(image instanceof Path path ? path.toUri().toString() : (String) image);
+        }
+        return new HookRequest("r1", "u1", "describe", Map.of("imageUris", uris), Instant.now());
+    }
+
+    private static HookRequest request(String imageUri) {
+        return new HookRequest("r1", "u1", "describe", Map.of("imageUri", imageUri), Instant.now());
+    }
+
+    private static HookExecutionContext context(Path root) {
+        Map<String, Object> config = new HashMap<>();
+        if (root != null) {
+            config.put(VisionAnalysisHook.IMAGE_ROOT_CONFIG_KEY, root.toString());
+        }
+        return new HookExecutionContext(null, new SecurityContext("u1", Set.of(), Set.of()), null, null, null, config);
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning;
+
+import com.devinroyal.cognitivehooks.core.HookException;
+import com.devinroyal.cognitivehooks.core.HookExecutionContext;
+import com.devinroyal.cognitivehooks.core.HookRequest;
+import com.devinroyal.cognitivehooks.core.HookResult;
+import com.devinroyal.cognitivehooks.core.HookStatus;
+import com.devinroyal.cognitivehooks.core.LlmClient;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FactCheckHookTest {
+
+    private static final String CLAIM = "The Eiffel Tower is in Berlin.";
+
+    @Test
+    void unparseableVerdictIsReportedUnverifiedAndNotCached() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        LlmClient llm = (prompt, context) -> calls.incrementAndGet() == 1
+                ? "I think this is probably wrong"
+                : "{\"risky\": true, \"note\": \"It is in Paris.\"}";
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            FactCheckHook hook = new FactCheckHook(100, executor);
+            HookExecutionContext ctx = context(llm);
+
+            HookResult first = hook.execute(request(), ctx);
+            assertTrue(first.getData().toString().contains("\"unverified_claims\":[\"" + CLAIM + "\"]"),
+                    first.getData().toString());
+            assertEquals(1, first.getDiagnostics().get("claimsUnverified"));
+
+            HookResult second = hook.execute(request(), ctx);
+            assertEquals(2, calls.get());
+            assertEquals("{\"risky_claims\":[\"" + CLAIM + "\"],\"notes\":[\"It is in Paris.\"]}",
+                    second.getData());
+
+            HookResult third = hook.execute(request(), ctx);
+            assertEquals(2, calls.get());
+            assertEquals(1, third.getDiagnostics().get("claimCacheHits"));
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedClaimCancelsClaimsNotYetStarted() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        LlmClient llm = (prompt, context) -> {
+            calls.incrementAndGet();
+            throw new HookException("model unavailable");
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            FactCheckHook hook = new FactCheckHook(100, executor);
+            HookRequest request = new HookRequest("r1", "u1",
+                    CLAIM + " The Moon is made of cheese. Water boils at 50 degrees.", Map.of(), Instant.now());
+            HookException e = assertThrows(HookException.class, () -> hook.execute(request, context(llm)));
+            assertEquals("model unavailable", e.getMessage());
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void fusedSectionMustHaveTheExpectedShape() throws Exception {
+        FactCheckHook hook = new FactCheckHook(100, 1);
+        HookExecutionContext ctx = context(null);
+        String valid = "{\"risky_claims\":[\"" + CLAIM + "\"],\"notes\":[]}";
+        assertEquals(HookStatus.SUCCESS, hook.fromFusedSection(valid, request(), ctx).getStatus());
+        for (String invalid : new String[]{"\"ok\"", "{}", "{\"risky_claims\":[1],\"notes\":[]}",
+                "{\"risky_claims\":[],\"notes\":\"none\"}", "not json"}) {
+            assertThrows(HookException.class, () -> hook.fromFusedSection(invalid, request(), ctx), invalid);
+        }
+    }
+
+    private static HookRequest request() {
+        return new HookRequest("r1", "u1", CLAIM, Map.of(), Instant.now());
+    }
+
+    private static HookExecutionContext context(LlmClient llm) {
+        return new HookExecutionContext(llm, new SecurityContext("u1", Set.of(), Set.of()), null, null, null,
+                Map.of(FactCheckHook.CLAIM_LEVEL_CONFIG_KEY, true));
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
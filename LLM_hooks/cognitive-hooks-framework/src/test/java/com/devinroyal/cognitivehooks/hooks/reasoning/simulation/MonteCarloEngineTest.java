@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonteCarloEngineTest {
+
+    /** Random walk ending anywhere in roughly [-4 sqrt(steps), 4 sqrt(steps)], including zero. */
+    private static final PathSimulator WALK = (random, steps) -> {
+        double x = 0;
+        for (int i = 0; i < steps; i++) {
+            x += random.nextGaussian();
+        }
+        return x;
+    };
+
+    /** Heavy right tail over several orders of magnitude. */
+    private static final PathSimulator LOGNORMAL = (random, steps) -> Math.exp(3 * random.nextGaussian());
+
+    @Test
+    void sketchedQuantilesStayWithinRelativeAccuracy() {
+        int paths = 50_000;
+        for (PathSimulator simulator : new PathSimulator[]{WALK, LOGNORMAL}) {
+            SimulationSummary summary = new MonteCarloEngine().run(simulator, paths, 16, 7L, 20);
+            double[] exact = exactValues(simulator, paths, 16, 7L);
+
+            assertEquals(exact[0], summary.getMin());
+            assertEquals(exact[paths - 1], summary.getMax());
+            assertEquals(Arrays.stream(exact).average().orElseThrow(), summary.getMean(), 1e-9 * Math.abs(summary.getMean()) + 1e-9);
+            for (double q : SimulationSummary.QUANTILES) {
+                double expected = exact[(int) Math.round(q * (paths - 1))];
+                double actual = summary.getQuantile(q);
+                assertTrue(Math.abs(actual - expected) <= QuantileSketch.RELATIVE_ACCURACY * Math.abs(expected) + 1e-9,
+                        "q=" + q + " expected " + expected + " got " + actual);
+            }
+            assertEquals(paths, Arrays.stream(summary.getHistogram()).sum());
+        }
+    }
+
+    @Test
+    void resultsDoNotDependOnPoolSize() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool quad = new ForkJoinPool(4);
+        try {
+            SimulationSummary a = new MonteCarloEngine(single).run(WALK, 100_000, 8, 42L, 30);
+            SimulationSummary b = new MonteCarloEngine(quad).run(WALK, 100_000, 8, 42L, 30);
+            assertEquals(a.toMap(), b.toMap());
+            assertArrayEquals(a.getHistogram(), b.getHistogram());
+        } finally {
+            single.shutdown();
+            quad.shutdown();
+        }
+    }
+
+    @Test
+    void constantOutputFillsFirstBin() {
+        SimulationSummary summary = new MonteCarloEngine().run((random, steps) -> 3.0, 1000, 1, 1L, 5);
+        assertEquals(3.0, summary.getQuantile(0.5));
+        assertArrayEquals(new long[]{1000, 0, 0, 0, 0}, summary.getHistogram());
+    }
+
+    /** Same block seeding as the engine, collected and sorted for comparison. */
+    private static double[] exactValues(PathSimulator simulator, int paths, int steps, long seed) {
+        double[] values = new double[paths];
+        for (int block = 0; block * 4096 < paths; block++) {
+            SplittableRandom random = new SplittableRandom(MonteCarloEngine.blockSeed(seed, block));
+            for (int i = block * 4096; i < Math.min(paths, (block + 1) * 4096); i++) {
+                values[i] = simulator.simulate(random, steps);
+            }
+        }
+        Arrays.sort(values);
+        return values;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
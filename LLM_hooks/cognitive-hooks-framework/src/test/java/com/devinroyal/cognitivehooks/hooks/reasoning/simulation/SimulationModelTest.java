@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationModelTest {
+
+    private final MonteCarloEngine engine = new MonteCarloEngine();
+
+    @Test
+    void registryListsBuiltInModels() {
+        assertEquals(List.of("bootstrap", "gbm", "mmc-queue", "random-walk"),
+                SimulationModelRegistry.withDefaults().listNames());
+    }
+
+    @Test
+    void randomWalkScalesWithStepSize() {
+        SimulationModel walk = new RandomWalkModel();
+        SimulationSummary unit = engine.run(walk.create(Map.of()), 20_000, 100, 3L, 10);
+        SimulationSummary scaled = engine.run(walk.create(Map.of("stepSize", 2.5)), 20_000, 100, 3L, 10);
+        assertEquals(100.0, unit.getVariance(), 5.0);
+        assertEquals(2.5 * 2.5 * unit.getVariance(), scaled.getVariance(), 1e-6);
+        assertThrows(IllegalArgumentException.class, () -> walk.create(Map.of("stepSize", -1)));
+    }
+
+    @Test
+    void gbmMeanGrowsAtDrift() {
+        SimulationModel gbm = new GeometricBrownianMotionModel();
+        Map<String, Object> params = Map.of("s0", 100, "mu", 0.1, "sigma", 0.2, "dt", 1.0);
+        SimulationSummary summary = engine.run(gbm.create(params), 100_000, 1, 5L, 10);
+        assertEquals(100.0 * Math.exp(0.1), summary.getMean(), 0.5);
+        assertTrue(summary.getMin() > 0.0);
+        assertThrows(IllegalArgumentException.class, () -> gbm.create(Map.of("sigma", -0.1)));
+        assertThrows(IllegalArgumentException.class, () -> gbm.create(Map.of("mu", "fast")));
+    }
+
+    @Test
+    void queueWaitMatchesMm1Theory() {
+        // M/M/1 with lambda 1 and mu 2: mean wait in queue is lambda / (mu (mu - lambda)) = 0.5.
+        SimulationModel queue = new QueueingModel();
+        SimulationSummary summary = engine.run(queue.create(Map.of("arrivalRate", 1.0, "serviceRate", 2.0)),
+                2_000, 5_000, 9L, 10);
+        assertEquals(0.5, summary.getMean(), 0.05);
+
+        SimulationSummary pooled = engine.run(queue.create(Map.of("arrivalRate", 1.0, "serviceRate", 2.0,
+                "servers", 2)), 2_000, 5_000, 9L, 10);
+        assertTrue(pooled.getMean() < summary.getMean());
+        assertThrows(IllegalArgumentException.class, () -> queue.create(Map.of("servers", 1.5)));
+    }
+
+    @Test
+    void bootstrapResamplesTheGivenValues() {
+        SimulationModel bootstrap = new BootstrapModel();
+        SimulationSummary mean = engine.run(bootstrap.create(Map.of("samples", List.of(1, 2, 3, 4))),
+                20_000, 50, 11L, 10);
+        assertEquals(2.5, mean.getMean(), 0.02);
+        assertTrue(mean.getMin() >= 1.0 && mean.getMax() <= 4.0);
+
+        SimulationSummary sum = engine.run(bootstrap.create(Map.of("samples", List.of(2), "statistic", "sum")),
+                10, 50, 11L, 1);
+        assertEquals(100.0, sum.getMean());
+        assertThrows(IllegalArgumentException.class, () -> bootstrap.create(Map.of("samples", List.of())));
+        assertThrows(IllegalArgumentException.class,
+                () -> bootstrap.create(Map.of("samples", List.of(1), "statistic", "median")));
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.hooks.reasoning.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationResultCacheTest {
+
+    @Test
+    void stringsCannotImitateOtherParameters() {
+        String forged = SimulationResultCache.encode(Map.of("a", "1, s0=200"));
+        String real = SimulationResultCache.encode(Map.of("a", 1, "s0", 200));
+        assertNotEquals(forged, real);
+        assertNotEquals(SimulationResultCache.encode(Map.of("a", "1")), SimulationResultCache.encode(Map.of("a", 1)));
+        assertNotEquals(SimulationResultCache.encode(List.of("a", "b")), SimulationResultCache.encode(List.of("a,b")));
+        assertNotEquals(SimulationResultCache.key("m|x", "z", 1, 1, 1, 1), SimulationResultCache.key("m", "x|z", 1, 1, 1, 1));
+    }
+
+    @Test
+    void numbersCompareByValue() {
+        String key = SimulationResultCache.encode(Map.of("x", 1));
+        assertEquals(key, SimulationResultCache.encode(Map.of("x", 1L)));
+        assertEquals(key, SimulationResultCache.encode(Map.of("x", 1.0)));
+        assertEquals(key, SimulationResultCache.encode(Map.of("x", new BigDecimal("1.000"))));
+        assertNotEquals(SimulationResultCache.encode(0.1f), SimulationResultCache.encode(0.1d));
+    }
+
+    @Test
+    void builtInModelsKeyOnResolvedParameters() {
+        SimulationModel gbm = new GeometricBrownianMotionModel();
+        assertEquals(gbm.parameterKey(Map.of()), gbm.parameterKey(Map.of("s0", 100, "sigma", 0.2)));
+        assertNotEquals(gbm.parameterKey(Map.of()), gbm.parameterKey(Map.of("s0", 200)));
+
+        SimulationModel queue = new QueueingModel();
+        assertEquals(queue.parameterKey(Map.of("servers", 2)), queue.parameterKey(Map.of("servers", 2.0)));
+    }
+
+    @Test
+    void longSampleListsAreDigested() {
+        List<Object> samples = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            samples.add(i % 2 == 0 ? i : (long) i);
+        }
+        SimulationModel bootstrap = new BootstrapModel();
+        String key = bootstrap.parameterKey(Map.of("samples", samples));
+        assertTrue(key.length() <= SimulationResultCache.MAX_INLINE_KEY, key);
+
+        List<Object> doubles = new ArrayList<>();
+        samples.forEach(s -> doubles.add(((Number) s).doubleValue()));
+        assertEquals(key, bootstrap.parameterKey(Map.of("samples", doubles, "statistic", "mean")));
+        doubles.set(9_999, 0.0);
+        assertNotEquals(key, bootstrap.parameterKey(Map.of("samples", doubles)));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        SimulationResultCache cache = new SimulationResultCache(2);
+        SimulationSummary summary = new MonteCarloEngine().run((random, steps) -> 1.0, 10, 1, 1L, 1);
+        cache.put("a", summary);
+        cache.put("b", summary);
+        assertNotNull(cache.get("a"));
+        cache.put("c", summary);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
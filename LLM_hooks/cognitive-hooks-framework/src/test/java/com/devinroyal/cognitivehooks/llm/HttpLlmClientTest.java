@@ -0,0 +1,221 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.llm;
+
+import com.devinroyal.cognitivehooks.core.HookException;
+import com.devinroyal.cognitivehooks.core.LlmPrompt;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives {@link HttpLlmClient} end to end against a stub chat completion
+ * endpoint on the JDK's {@link HttpServer}.
+ */
+class HttpLlmClientTest {
+
+    private static final String COMPLETION =
+            "{\"id\":\"c1\",\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"Hello there\"}}]}";
+
+    private HttpServer server;
+    private final AtomicReference<String> lastBody = new AtomicReference<>();
+    private final AtomicReference<String> lastEncoding = new AtomicReference<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void parsesJsonCompletionAndSendsPlainBodyByDefault() throws Exception {
+        handle("/v1/chat", exchange -> reply(exchange, 200, "application/json", COMPLETION));
+        HttpLlmClient client = HttpLlmClient.builder(uri("/v1/chat")).model("test-model").build();
+
+        String answer = client.complete(LlmPrompt.of("sys-v1", "You are terse.", "Say hello"), Map.of("tenant", "t1"));
+
+        assertEquals("Hello there", answer);
+        assertNull(lastEncoding.get());
+        String body = lastBody.get();
+        assertTrue(body.contains("\"model\":\"test-model\""), body);
+        assertTrue(body.contains("\"prompt_cache_key\":\"sys-v1\""), body);
+        assertTrue(body.contains("{\"role\":\"system\",\"content\":\"You are terse.\"}"), body);
+        assertTrue(body.contains("{\"role\":\"user\",\"content\":\"Say hello\"}"), body);
+        assertTrue(body.contains("\"metadata\":{\"tenant\":\"t1\"}"), body);
+        assertEquals(0, client.inFlight());
+    }
+
+    @Test
+    void gzipsRequestBodyWhenEnabled() throws Exception {
+        handle("/v1/chat", exchange -> reply(exchange, 200, "application/json", COMPLETION));
+        HttpLlmClient client = HttpLlmClient.builder(uri("/v1/chat")).compressRequests(true).build();
+
+        assertEquals("Hello there", client.complete("Say hello", Map.of()));
+        assertEquals("gzip", lastEncoding.get());
+        assertTrue(lastBody.get().contains("Say hello"));
+    }
+
+    @Test
+    void streamsServerSentEventsAndStopsWhenListenerDeclines() throws Exception {
+        String events = "data: {\"choices\":[{\"delta\":{\"content\":\"one \"}}]}\n\n"
+                + "data: {\"choices\":[{\"delta\":{\"content\":\"two \"}}]}\n\n"
+                + "data: {\"choices\":[{\"delta\":{\"content\":\"three\"}}]}\n\n"
+                + "data: [DONE]\n\n";
+        handle("/v1/chat", exchange -> reply(exchange, 200, "text/event-stream", events));
+        HttpLlmClient client = HttpLlmClient.builder(uri("/v1/chat")).build();
+
+        List<String> chunks = new ArrayList<>();
+        String all = client.stream(LlmPrompt.of("", "", "count"), Map.of(), chunk -> {
+            chunks.add(chunk);
+            return true;
+        });
+        assertEquals("one two three", all);
+        assertEquals(List.of("one ", "two ", "three"), chunks);
+        assertTrue(lastBody.get().contains("\"stream\":true"));
+
+        String partial = client.stream(LlmPrompt.of("", "", "count"), Map.of(), chunk -> false);
+        assertEquals("one ", partial);
+    }
+
+    @Test
+    void surfacesHttpErrorsAsHookException() {
+        handle("/v1/chat", exchange -> reply(exchange, 429, "application/json", "{\"error\":\"rate limited\"}"));
+        HttpLlmClient client = HttpLlmClient.builder(uri("/v1/chat")).build();
+
+        HookException e = assertThrows(HookException.class, () -> client.complete("hi", Map.of()));
+        assertTrue(e.getMessage().contains("HTTP 429"), e.getMessage());
+        assertTrue(e.getMessage().contains("rate limited"), e.getMessage());
+        assertEquals(0, client.inFlight());
+    }
+
+    @Test
+    void completeAsyncQueuesForPermitWithoutBlockingCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        handle("/v1/chat", exchange -> {
+            await(release);
+            reply(exchange, 200, "application/json", COMPLETION);
+        });
+        HttpLlmClient client = HttpLlmClient.builder(uri("/v1/chat"))
+                .maxConcurrentRequests(1)
+                .acquireTimeout(Duration.ofSeconds(10))
+                .build();
+
+        CompletableFuture<String> first = client.completeAsync(LlmPrompt.of("", "", "a"), Map.of());
+        long start = System.nanoTime();
+        CompletableFuture<String> second = client.completeAsync(LlmPrompt.of("", "", "b"), Map.of());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "caller blocked on permit");
+        assertFalse(second.isDone());
+        assertEquals(1, client.inFlight());
+
+        release.countDown();
+        assertEquals("Hello there", first.get(10, TimeUnit.SECONDS));
+        assertEquals("Hello there", second.get(10, TimeUnit.SECONDS));
+        assertEquals(0, client.inFlight());
+    }
+
+    @Test
+    void completeAsyncFailsWhenNoPermitWithinTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        handle("/v1/chat", exchange -> {
+            await(release);
+            reply(exchange, 200, "application/json", COMPLETION);
+        });
+        HttpLlmClient client = HttpLlmClient.builder(uri("/v1/chat"))
+                .maxConcurrentRequests(1)
+                .acquireTimeout(Duration.ofMillis(100))
+                .build();
+
+        CompletableFuture<String> first = client.completeAsync(LlmPrompt.of("", "", "a"), Map.of());
+        CompletableFuture<String> second = client.completeAsync(LlmPrompt.of("", "", "b"), Map.of());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(HookException.class, e.getCause());
+        assertTrue(e.getCause().getMessage().contains("saturated"), e.getCause().getMessage());
+
+        release.countDown();
+        assertEquals("Hello there", first.get(10, TimeUnit.SECONDS));
+        assertEquals(0, client.inFlight());
+    }
+
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private void handle(String path, Handler handler) {
+        server.createContext(path, exchange -> {
+            try (exchange) {
+                String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+                lastEncoding.set(encoding);
+                try (InputStream raw = exchange.getRequestBody();
+                     InputStream in = "gzip".equals(encoding) ? new GZIPInputStream(raw) : raw) {
+                    lastBody.set(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                handler.handle(exchange);
+            }
+        });
+    }
+
+    private static void reply(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IOException("Test latch never released");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.llm;
+
+import com.devinroyal.cognitivehooks.core.HookException;
+import com.devinroyal.cognitivehooks.core.LlmClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoutingLlmClientTest {
+
+    @Test
+    void fastFailuresDoNotLookFast() throws Exception {
+        AtomicInteger brokenCalls = new AtomicInteger();
+        AtomicInteger healthyCalls = new AtomicInteger();
+        Map<String, LlmClient> backends = new LinkedHashMap<>();
+        backends.put("broken", (LlmClient) (prompt, context) -> {
+            brokenCalls.incrementAndGet();
+            throw new HookException("connection refused");
+        });
+        backends.put("healthy", (LlmClient) (prompt, context) -> {
+            healthyCalls.incrementAndGet();
+            sleepMillis(2);
+            return "ok";
+        });
+        RoutingLlmClient client = new RoutingLlmClient(backends);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals("ok", client.complete("hi", Map.of()));
+        }
+
+        List<RoutingLlmClient.BackendStats> stats = client.snapshot();
+        RoutingLlmClient.BackendStats broken = stats.get(0);
+        assertEquals(0.0, broken.getLatencyEwmaNanos());
+        assertEquals(0L, broken.getP50Nanos());
+        assertEquals(brokenCalls.get(), broken.getErrors());
+        assertTrue(brokenCalls.get() <= 3, "broken backend kept receiving traffic: " + brokenCalls.get());
+        assertEquals(50, healthyCalls.get());
+    }
+
+    @Test
+    void repeatedFailuresEjectTheBackend() {
+        Map<String, LlmClient> backends = Map.of("broken", (LlmClient) (prompt, context) -> {
+            throw new HookException("connection refused");
+        });
+        RoutingLlmClient client = new RoutingLlmClient(backends);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HookException.class, () -> client.complete("hi", Map.of()));
+        }
+        assertTrue(client.snapshot().get(0).isEjected());
+        // The only backend is still tried while ejected rather than failing without a call.
+        HookException e = assertThrows(HookException.class, () -> client.complete("hi", Map.of()));
+        assertTrue(e.getMessage().contains("connection refused"), e.getMessage());
+    }
+
+    @Test
+    void coldBackendsAreSpreadByOutstandingRequests() throws Exception {
+        Map<String, LlmClient> backends = new LinkedHashMap<>();
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        RoutingLlmClient[] self = new RoutingLlmClient[1];
+        // While a call to "a" is outstanding, a nested call must prefer "b".
+        backends.put("a", (LlmClient) (prompt, context) -> {
+            first.incrementAndGet();
+            return "nested".equals(prompt) ? "a" : self[0].complete("nested", context);
+        });
+        backends.put("b", (LlmClient) (prompt, context) -> {
+            second.incrementAndGet();
+            return "b";
+        });
+        self[0] = new RoutingLlmClient(backends);
+
+        String answer = self[0].complete("outer", Map.of());
+        assertEquals("b", answer);
+        assertEquals(1, first.get());
+        assertEquals(1, second.get());
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
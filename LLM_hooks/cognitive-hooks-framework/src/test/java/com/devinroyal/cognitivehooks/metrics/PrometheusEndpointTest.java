@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrometheusEndpointTest {
+
+    @Test
+    void latencyIsACumulativeHistogram() {
+        HistogramMetricsRecorder recorder = new HistogramMetricsRecorder();
+        recorder.recordSuccess("h\"1", Duration.ofMillis(3));
+        recorder.recordSuccess("h\"1", Duration.ofMillis(40));
+        recorder.recordSuccess("h\"1", Duration.ofSeconds(2));
+        PrometheusEndpoint endpoint = PrometheusEndpoint.builder(recorder)
+                .buckets(Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofSeconds(1))
+                .build();
+
+        List<String> lines = endpoint.scrape().lines().toList();
+
+        assertTrue(lines.contains("# TYPE cognitivehooks_hook_latency_seconds histogram"));
+        assertFalse(lines.stream().anyMatch(line -> line.contains("quantile=")));
+        String prefix = "cognitivehooks_hook_latency_seconds_bucket{hook=\"h\\\"1\",outcome=\"success\",le=";
+        assertTrue(lines.contains(prefix + "\"0.01\"} 1"), String.join("\n", lines));
+        assertTrue(lines.contains(prefix + "\"0.1\"} 2"));
+        assertTrue(lines.contains(prefix + "\"1.0\"} 2"));
+        assertTrue(lines.contains(prefix + "\"+Inf\"} 3"));
+        assertTrue(lines.contains(
+                "cognitivehooks_hook_latency_seconds_count{hook=\"h\\\"1\",outcome=\"success\"} 3"));
+        // Outcomes with no observations still expose every bucket at zero.
+        assertTrue(lines.contains(
+                "cognitivehooks_hook_latency_seconds_bucket{hook=\"h\\\"1\",outcome=\"timeout\",le=\"+Inf\"} 0"));
+    }
+
+    @Test
+    void boundsIncludeValuesEqualToThem() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1_000_000; nanos *= 10) {
+            histogram.record(nanos);
+        }
+        long[] counts = histogram.snapshot().getCumulativeCounts(new long[]{0, 9, 10, 98_000, 100_000, 5_000_000});
+        assertEquals(List.of(0L, 1L, 2L, 5L, 6L, 7L), Arrays.stream(counts).boxed().toList());
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.policy;
+
+import com.devinroyal.cognitivehooks.core.Hook;
+import com.devinroyal.cognitivehooks.core.HookExecutionContext;
+import com.devinroyal.cognitivehooks.core.HookRequest;
+import com.devinroyal.cognitivehooks.core.HookResult;
+import com.devinroyal.cognitivehooks.core.HookStatus;
+import com.devinroyal.cognitivehooks.core.HookType;
+import com.devinroyal.cognitivehooks.core.ScopeIndex;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HookPolicyEngineTest {
+
+    private static final HookRequest REQUEST = new HookRequest("r1", "u1", "hi", Map.of(), Instant.now());
+
+    private final Hook hook = new StubHook("stub", HookType.ENTERPRISE);
+
+    @Test
+    void callerNamesAreNotInterned() {
+        String scope = "caller-only-" + UUID.randomUUID();
+        SecurityContext sc = new SecurityContext("u1", Set.of(scope), Set.of(scope));
+        assertEquals(-1, ScopeIndex.SCOPES.indexOf(scope));
+        assertEquals(-1, ScopeIndex.ROLES.indexOf(scope));
+        assertTrue(sc.getScopeBits().isEmpty());
+    }
+
+    @Test
+    void contextsBuiltBeforeTheRulesSeeTheirNames() {
+        String scope = "late-" + UUID.randomUUID();
+        SecurityContext early = new SecurityContext("u1", Set.of(), Set.of(scope));
+
+        HookPolicyEngine engine = new HookPolicyEngine(List.of(
+                PolicyRule.deny("needs " + scope).hookTypes(HookType.ENTERPRISE).missingScopes(scope).build()));
+
+        assertTrue(engine.evaluate(hook, REQUEST, context(early)).allowed());
+        assertFalse(engine.evaluate(hook, REQUEST, context(new SecurityContext("u2", Set.of(), Set.of()))).allowed());
+    }
+
+    @Test
+    void cachedDecisionsFollowTheCallersBits() {
+        HookPolicyEngine engine = new HookPolicyEngine(List.of(
+                PolicyRule.deny("admins only").hookTypes(HookType.ENTERPRISE).missingRoles("admin").build(),
+                PolicyRule.deny("needs read").hookTypes(HookType.ENTERPRISE).missingScopes("read").build(),
+                PolicyRule.deny("acme is frozen").hookTypes(HookType.ENTERPRISE).tenants("acme").build()));
+
+        for (int i = 0; i < 2_000; i++) {
+            Set<String> roles = new HashSet<>();
+            Set<String> scopes = new HashSet<>();
+            if (i % 2 == 0) {
+                roles.add("admin");
+            }
+            if (i % 3 == 0) {
+                scopes.add("read");
+            }
+            // Names no rule mentions must not change the outcome or the cache key.
+            scopes.add("noise-" + (i % 7));
+            String tenant = i % 5 == 0 ? "acme" : "tenant-" + (i % 11);
+            boolean expected = i % 2 == 0 && i % 3 == 0 && i % 5 != 0;
+            SecurityContext sc = new SecurityContext("u" + i, roles, scopes, tenant);
+            assertEquals(expected, engine.evaluate(hook, REQUEST, context(sc)).allowed(), "caller " + i);
+        }
+    }
+
+    @Test
+    void steadyStateEvaluationDoesNotAllocate() {
+        HookPolicyEngine engine = new HookPolicyEngine();
+        HookExecutionContext ctx = context(new SecurityContext("u1", Set.of("analyst"),
+                Set.of("enterprise:hooks", "read"), "acme"));
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < 20_000; i++) {
+            engine.evaluate(hook, REQUEST, ctx);
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        boolean allowed = true;
+        for (int i = 0; i < 100_000; i++) {
+            allowed &= engine.evaluate(hook, REQUEST, ctx).allowed();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(allowed);
+        assertTrue(allocated < 100_000, "allocated " + allocated + " bytes over 100000 evaluations");
+    }
+
+    @Test
+    void evaluationSpendsNoPermits() {
+        HookPolicyEngine engine = new HookPolicyEngine(List.of(), List.of(
+                RateLimit.builder("one per hour").hookTypes(HookType.ENTERPRISE).quota(1, Duration.ofHours(1)).build()));
+        HookExecutionContext ctx = context(new SecurityContext("u1", Set.of(), Set.of(), "acme"));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(engine.evaluate(hook, REQUEST, ctx).allowed());
+        }
+        assertTrue(engine.acquirePermits(hook, ctx).allowed());
+        PolicyDecision throttled = engine.acquirePermits(hook, ctx);
+        assertFalse(throttled.allowed());
+        assertNotNull(throttled.retryAfter());
+        assertTrue(engine.evaluate(hook, REQUEST, ctx).allowed());
+    }
+
+    @Test
+    void restingTenantStatesAreDropped() throws InterruptedException {
+        HookPolicyEngine engine = new HookPolicyEngine(List.of(), List.of(
+                RateLimit.builder("fast").hookTypes(HookType.ENTERPRISE).rate(1_000, 1).build()));
+        for (int i = 0; i < 10_000; i++) {
+            HookExecutionContext ctx = context(new SecurityContext("u1", Set.of(), Set.of(), "tenant-" + i));
+            assertTrue(engine.acquirePermits(hook, ctx).allowed());
+            if (i % 1_000 == 0) {
+                // Lets earlier buckets refill, so they are at rest when the next sweep runs.
+                Thread.sleep(5);
+            }
+        }
+        assertTrue(engine.tenantStateCount() < 5_000, "kept " + engine.tenantStateCount() + " tenant states");
+    }
+
+    private static HookExecutionContext context(SecurityContext sc) {
+        return new HookExecutionContext(null, sc, null, null, null, Map.of());
+    }
+
+    private record StubHook(String id, HookType type) implements Hook {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public HookType getType() {
+            return type;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return Set.of();
+        }
+
+        @Override
+        public boolean supports(HookRequest request, HookExecutionContext ctx) {
+            return true;
+        }
+
+        @Override
+        public HookResult execute(HookRequest request, HookExecutionContext ctx) {
+            return HookResult.builder(id, type, HookStatus.SUCCESS).build();
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
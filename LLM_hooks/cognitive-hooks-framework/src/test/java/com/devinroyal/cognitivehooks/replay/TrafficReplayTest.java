@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.replay;
+
+import com.devinroyal.cognitivehooks.core.HookRequest;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import com.devinroyal.cognitivehooks.db.ConnectionFactory;
+import com.devinroyal.cognitivehooks.db.PooledDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrafficReplayTest {
+
+    private static final String LOOKUP = "SELECT ID, NAME, PRICE FROM ITEMS WHERE ID >= ? ORDER BY ID";
+    private static final String DIVIDE = "SELECT 1 / ? FROM ITEMS";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordedQueriesReplayTheirRows() throws Exception {
+        Path file = dir.resolve("capture.bin");
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        TrafficRecorder recorder = TrafficRecorder.open(file);
+        try (PooledDataSource pool = PooledDataSource.builder(ConnectionFactory.driverManager(url, "sa", "")).build();
+             recorder) {
+            try (Connection connection = pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE ITEMS (ID INT PRIMARY KEY, NAME VARCHAR(20), PRICE DECIMAL(8,2))");
+                statement.execute("INSERT INTO ITEMS VALUES (1, 'one', 1.50), (2, 'two', NULL), (3, 'three', 3.00)");
+            }
+            DataSource recording = recorder.wrap(pool);
+            assertEquals(List.of("two|null", "three|3.00"), lookup(recording, 2));
+            try (Connection connection = recording.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(DIVIDE)) {
+                statement.setInt(1, 0);
+                assertThrows(SQLException.class, statement::executeQuery);
+            }
+        }
+        assertEquals(2, recorder.getRecordedQueries());
+        assertEquals(0, recorder.getFailedWrites());
+
+        RecordedTraffic traffic = RecordedTraffic.read(file);
+        assertEquals(2, traffic.getQueries().size());
+        RecordedQuery recorded = traffic.getQueries().get(0);
+        assertEquals(LOOKUP, recorded.getSql());
+        assertEquals(List.of(2), recorded.getParams());
+        assertEquals(List.of("ID", "NAME", "PRICE"), recorded.getColumnLabels());
+
+        ReplayDataSource replay = new ReplayDataSource(traffic);
+        assertEquals(List.of("two|null", "three|3.00"), lookup(replay, 2));
+        assertEquals(List.of("two|null", "three|3.00"), lookup(replay, 1));
+        try (Connection connection = replay.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DIVIDE)) {
+            statement.setInt(1, 0);
+            SQLException failure = assertThrows(SQLException.class, statement::executeQuery);
+            assertEquals(traffic.getQueries().get(1).getSqlState(), failure.getSQLState());
+            assertThrows(SQLException.class, () -> connection.createStatement().executeQuery("SELECT 1"));
+        }
+        assertEquals(2, replay.getExactMatches());
+        assertEquals(1, replay.getSqlMatches());
+        assertEquals(1, replay.getUnmatched());
+    }
+
+    @Test
+    void requestsFromManyThreadsAreAllWritten() throws Exception {
+        Path file = dir.resolve("requests.bin");
+        int threads = 4;
+        int perThread = 500;
+        SecurityContext sc = new SecurityContext("u1", Set.of("reader"), Set.of(), "acme");
+        try (TrafficRecorder recorder = TrafficRecorder.open(file)) {
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                Thread worker = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        HookRequest request = new HookRequest(thread + "-" + i, "u1", "prompt " + i, Map.of(),
+                                Instant.now());
+                        recorder.record(request, sc, System.nanoTime(), 1_000L);
+                    }
+                });
+                worker.start();
+                workers.add(worker);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+
+        RecordedTraffic traffic = RecordedTraffic.read(file);
+        assertEquals(threads * perThread, traffic.getRequests().size());
+        assertEquals("acme", traffic.getRequests().get(0).getSecurityContext().getTenantId());
+    }
+
+    private static List<String> lookup(DataSource dataSource, int fromId) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(LOOKUP)) {
+            statement.setInt(1, fromId);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString("NAME");
+                    String price = String.valueOf(rs.getBigDecimal(3));
+                    rows.add(name + "|" + (rs.wasNull() ? "null" : price));
+                }
+                assertFalse(rs.next());
+            }
+        }
+        return rows;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
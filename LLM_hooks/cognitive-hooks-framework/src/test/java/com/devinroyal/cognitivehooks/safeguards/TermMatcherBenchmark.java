@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.safeguards;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Scan throughput of {@link TermMatcher} as the term list grows, next to a
+ * per-term {@code indexOf} loop for contrast. The text and its matches are
+ * the same for every size; only the number of terms changes.
+ *
+ * Run with {@code mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.devinroyal.cognitivehooks.safeguards.TermMatcherBenchmark},
+ * or from an IDE. The last line compares the largest list with the smallest:
+ * a per-term loop grows with the list, the matcher should stay within a small
+ * factor (the larger table misses cache more often). Timing is only checked
+ * here, never in unit tests.
+ */
+final class TermMatcherBenchmark {
+
+    static final int[] TERM_COUNTS = {10, 100, 1_000, 10_000};
+
+    private static final long SEED = 42L;
+
+    private TermMatcherBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        String text = text(1 << 20);
+        System.out.printf(Locale.ROOT, "text: %d chars%n", text.length());
+        System.out.printf(Locale.ROOT, "%8s %14s %14s %8s%n", "terms", "matcher ns/ch", "indexOf ns/ch", "matches");
+        double smallestNanos = 0;
+        double largestNanos = 0;
+        for (int count : TERM_COUNTS) {
+            List<String> terms = terms(count);
+            TermMatcher matcher = TermMatcher.compile(terms);
+            double matcherNanos = nanosPerChar(matcher, text, 20);
+            smallestNanos = smallestNanos == 0 ? matcherNanos : smallestNanos;
+            largestNanos = matcherNanos;
+            double naiveNanos = naiveNanosPerChar(terms, text, count >= 1_000 ? 2 : 10);
+            System.out.printf(Locale.ROOT, "%8d %14.2f %14.2f %8d%n",
+                    count, matcherNanos, naiveNanos, matcher.findAll(text).size());
+        }
+        System.out.printf(Locale.ROOT, "matcher cost, %d vs %d terms: %.1fx%n",
+                TERM_COUNTS[TERM_COUNTS.length - 1], TERM_COUNTS[0], largestNanos / smallestNanos);
+    }
+
+    /**
+     * Best-of-{@code rounds} scan time of {@code text}, after the same number
+     * of warm-up scans.
+     */
+    private static double nanosPerChar(TermMatcher matcher, String text, int rounds) {
+        long best = Long.MAX_VALUE;
+        int sink = 0;
+        for (int i = 0; i < 2 * rounds; i++) {
+            long start = System.nanoTime();
+            sink += matcher.findAll(text).size();
+            long elapsed = System.nanoTime() - start;
+            if (i >= rounds) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        if (sink < 0) {
+            throw new AssertionError();
+        }
+        return (double) best / text.length();
+    }
+
+    private static double naiveNanosPerChar(List<String> terms, String text, int rounds) {
+        String folded = text.toLowerCase(Locale.ROOT);
+        long best = Long.MAX_VALUE;
+        int sink = 0;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            for (String term : terms) {
+                for (int at = folded.indexOf(term); at >= 0; at = folded.indexOf(term, at + 1)) {
+                    sink++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (sink < 0) {
+            throw new AssertionError();
+        }
+        return (double) best / text.length();
+    }
+
+    /**
+     * {@code count} distinct lower-case words of 6 to 12 letters. The first
+     * ten are the same for every count, so the text matches equally often.
+     */
+    static List<String> terms(int count) {
+        Random random = new Random(SEED);
+        List<String> terms = new ArrayList<>(count);
+        Set<String> seen = new HashSet<>();
+        while (terms.size() < count) {
+            String word = word(random, 6 + random.nextInt(7));
+            if (seen.add(word)) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Roughly {@code length} chars of random words, one in 500 of them drawn
+     * from the ten terms every list shares.
+     */
+    static String text(int length) {
+        List<String> shared = terms(10);
+        Random random = new Random(SEED + 1);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            String word = random.nextInt(500) == 0
+                    ? shared.get(random.nextInt(shared.size())).toUpperCase(Locale.ROOT)
+                    : word(random, 2 + random.nextInt(9));
+            text.append(word).append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return text.toString();
+    }
+
+    private static String word(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.safeguards;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TermMatcherTest {
+
+    @Test
+    void matchesWholeWordsCaseInsensitively() {
+        TermMatcher matcher = TermMatcher.compile(List.of("he", "she", "hers", "his", "ab-c"));
+        List<String> found = describe(matcher.findAll("She ushers HERS his; ab-c, xab-c"));
+        assertEquals(List.of("she@0", "hers@11", "his@16", "ab-c@21"), found);
+        assertTrue(matcher.matchesAny("oh, HE did"));
+        assertFalse(matcher.matchesAny("hershey"));
+    }
+
+    @Test
+    void agreesWithARegexOnRandomText() {
+        List<String> terms = TermMatcherBenchmark.terms(300);
+        String text = TermMatcherBenchmark.text(50_000);
+        TermMatcher matcher = TermMatcher.compile(terms);
+
+        List<String> expected = new ArrayList<>();
+        for (String term : terms) {
+            Matcher m = Pattern.compile("\\b" + Pattern.quote(term) + "\\b", Pattern.CASE_INSENSITIVE).matcher(text);
+            while (m.find()) {
+                expected.add(term + "@" + m.start());
+            }
+        }
+        List<String> actual = describe(matcher.findAll(text));
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.stream().sorted().toList(), actual.stream().sorted().toList());
+    }
+
+    @Test
+    void scannerFindsMatchesAcrossChunkBoundaries() {
+        TermMatcher matcher = TermMatcher.compile(List.of("alpha beta", "beta", "gamma"));
+        String text = "alpha beta gammas gamma. Beta";
+        TermMatcher.Scanner scanner = matcher.scanner();
+        List<TermMatcher.Match> found = new ArrayList<>();
+        for (int i = 0; i < text.length(); i += 3) {
+            found.addAll(scanner.feed(text.substring(i, Math.min(text.length(), i + 3))));
+        }
+        found.addAll(scanner.finish());
+        assertEquals(describe(matcher.findAll(text)), describe(found));
+        assertEquals(List.of("alpha beta@0", "beta@6", "gamma@18", "beta@25"), describe(found));
+    }
+
+    @Test
+    void largeTermListsFindTheSameSharedMatches() {
+        String text = TermMatcherBenchmark.text(1 << 16);
+        TermMatcher small = TermMatcher.compile(TermMatcherBenchmark.terms(10));
+        TermMatcher large = TermMatcher.compile(TermMatcherBenchmark.terms(10_000));
+        List<String> found = describe(small.findAll(text));
+        assertFalse(found.isEmpty());
+        assertEquals(found, describe(large.findAll(text)));
+    }
+
+    @Test
+    void foldsCharactersOutsideTheTermAlphabet() {
+        // U+212A KELVIN SIGN lower-cases to 'k'; U+0130 to 'i'.
+        TermMatcher matcher = TermMatcher.compile(List.of("kit", "\u00e9t\u00e9", "\u03c9mega"));
+        String text = "\u212aIT, \u0130t, \u00c9T\u00c9, \u03a9MEGA \u4e2d kit";
+        assertEquals(List.of("kit@0", "\u00e9t\u00e9@9", "\u03c9mega@14", "kit@22"),
+                describe(matcher.findAll(text)));
+        assertFalse(matcher.matchesAny("\u4e2d\u6587 \u212a\u0130"));
+    }
+
+    private static List<String> describe(List<TermMatcher.Match> matches) {
+        List<String> out = new ArrayList<>();
+        for (TermMatcher.Match match : matches) {
+            out.add(match.getTerm().toLowerCase(Locale.ROOT) + "@" + match.getStart());
+        }
+        return out;
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
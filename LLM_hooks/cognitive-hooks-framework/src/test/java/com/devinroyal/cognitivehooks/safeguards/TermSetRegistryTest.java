@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.safeguards;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TermSetRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void overlaysAddAndRemoveBaseTermsPerTenant() throws Exception {
+        Path base = write(dir.resolve("base.terms"), "alpha\nbeta  # trailing comment\n\n# whole-line comment\ngamma\n");
+        Path overlays = Files.createDirectory(dir.resolve("tenants"));
+        write(overlays.resolve("acme.terms"), "+delta\n-BETA\nepsilon\n");
+
+        try (TermSetRegistry registry = TermSetRegistry.fromFiles(base, overlays)) {
+            assertEquals(List.of("alpha", "beta", "gamma"), registry.matcherFor(null).getTerms());
+            assertEquals(List.of("alpha", "gamma", "delta", "epsilon"), registry.matcherFor("acme").getTerms());
+            assertSame(registry.matcherFor(null), registry.matcherFor("unknown"));
+            assertEquals(Set.of("acme"), registry.getTenants());
+        }
+    }
+
+    @Test
+    void identicalSetsShareOneMatcherButSpellingsStayApart() throws Exception {
+        Path base = write(dir.resolve("base.terms"), "alpha\nbeta\n");
+        Path overlays = Files.createDirectory(dir.resolve("tenants"));
+        write(overlays.resolve("acme.terms"), "delta\n");
+        write(overlays.resolve("globex.terms"), "+delta\n-gamma\n");
+        write(overlays.resolve("initech.terms"), "Delta\n");
+        write(overlays.resolve("plain.terms"), "# no changes\n");
+
+        try (TermSetRegistry registry = TermSetRegistry.fromFiles(base, overlays)) {
+            assertSame(registry.matcherFor("acme"), registry.matcherFor("globex"));
+            assertSame(registry.matcherFor(null), registry.matcherFor("plain"));
+            assertNotSame(registry.matcherFor("acme"), registry.matcherFor("initech"));
+            assertEquals(3, registry.getCompiledMatcherCount());
+
+            assertEquals("delta", registry.matcherFor("acme").findAll("DELTA force").get(0).getTerm());
+            assertEquals("Delta", registry.matcherFor("initech").findAll("DELTA force").get(0).getTerm());
+        }
+    }
+
+    @Test
+    void reloadPublishesEditsAndReusesUnchangedMatchers() throws Exception {
+        Path base = write(dir.resolve("base.terms"), "alpha\nbeta\n");
+        Path overlays = Files.createDirectory(dir.resolve("tenants"));
+        Path acme = write(overlays.resolve("acme.terms"), "delta\n");
+        write(overlays.resolve("globex.terms"), "-alpha\n");
+
+        try (TermSetRegistry registry = TermSetRegistry.fromFiles(base, overlays)) {
+            TermMatcher baseMatcher = registry.matcherFor(null);
+            TermMatcher acmeMatcher = registry.matcherFor("acme");
+            TermMatcher globexMatcher = registry.matcherFor("globex");
+            assertFalse(registry.reload());
+
+            edit(acme, "delta\nepsilon\n");
+            write(overlays.resolve("initech.terms"), "zeta\n");
+            assertTrue(registry.reload());
+            assertEquals(List.of("alpha", "beta", "delta", "epsilon"), registry.matcherFor("acme").getTerms());
+            assertNotSame(acmeMatcher, registry.matcherFor("acme"));
+            assertSame(baseMatcher, registry.matcherFor(null));
+            assertSame(globexMatcher, registry.matcherFor("globex"));
+            assertEquals(List.of("alpha", "beta", "zeta"), registry.matcherFor("initech").getTerms());
+            assertEquals(4, registry.getCompiledMatcherCount());
+
+            // A broken reload keeps serving the last good snapshot.
+            Files.delete(base);
+            assertThrows(IOException.class, registry::reload);
+            assertEquals(List.of("alpha", "beta", "delta", "epsilon"), registry.matcherFor("acme").getTerms());
+        }
+    }
+
+    @Test
+    void watcherReloadsEditedFiles() throws Exception {
+        Path base = write(dir.resolve("base.terms"), "alpha\n");
+
+        try (TermSetRegistry registry = TermSetRegistry.fromFiles(base, null)) {
+            registry.startWatching(Duration.ofMillis(10));
+            edit(base, "alpha\nomega\n");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!registry.matcherFor(null).getTerms().contains("omega") && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(List.of("alpha", "omega"), registry.matcherFor(null).getTerms());
+        }
+    }
+
+    private static Path write(Path file, String content) throws IOException {
+        return Files.writeString(file, content);
+    }
+
+    /**
+     * Rewrites {@code file} and moves its modification time forward, so the
+     * change is seen even on file systems with coarse timestamps.
+     */
+    private static void edit(Path file, String content) throws IOException {
+        FileTime before = Files.getLastModifiedTime(file);
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(before.toMillis() + 2_000));
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */
+
+package com.devinroyal.cognitivehooks.tracing;
+
+import com.devinroyal.cognitivehooks.core.Hook;
+import com.devinroyal.cognitivehooks.core.HookException;
+import com.devinroyal.cognitivehooks.core.HookExecutionContext;
+import com.devinroyal.cognitivehooks.core.HookRequest;
+import com.devinroyal.cognitivehooks.core.HookResult;
+import com.devinroyal.cognitivehooks.core.HookStatus;
+import com.devinroyal.cognitivehooks.core.HookType;
+import com.devinroyal.cognitivehooks.core.ResilientHookExecutor;
+import com.devinroyal.cognitivehooks.core.SecurityContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracerTest {
+
+    private final List<Span> exported = Collections.synchronizedList(new ArrayList<>());
+    private final SpanExporter collector = exported::addAll;
+
+    @Test
+    void headSamplingRecordsWholeTracesOrNothing() {
+        try (Tracer off = Tracer.builder().exporter(collector).build()) {
+            ActiveSpan root = off.startTrace("orchestrate");
+            assertSame(ActiveSpan.NOOP, root);
+            assertSame(ActiveSpan.NOOP, off.startSpan("hook", "h1"));
+            root.close();
+            off.flush();
+        }
+        assertTrue(exported.isEmpty());
+
+        try (Tracer always = Tracer.builder().sampleRate(1.0).exporter(collector).build()) {
+            try (ActiveSpan root = always.startTrace("orchestrate")) {
+                assertTrue(root.isRecording());
+                always.startSpan("hook", "h1").close();
+            }
+            always.flush();
+        }
+        assertEquals(List.of("hook", "orchestrate"), names(exported));
+    }
+
+    @Test
+    void tailSamplingKeepsSlowAndFailedTracesOnly() throws Exception {
+        try (Tracer tracer = Tracer.builder().tailLatencyThreshold(Duration.ofMillis(50)).keepErrorTraces(true)
+                .exporter(collector).build()) {
+            try (ActiveSpan fast = tracer.startTrace("fast")) {
+                assertTrue(fast.isRecording(), "unsampled traces are recorded until their root decides");
+            }
+            try (ActiveSpan failed = tracer.startTrace("failed")) {
+                try (ActiveSpan child = tracer.startSpan("execute", "h1")) {
+                    child.error("boom");
+                }
+            }
+            try (ActiveSpan slow = tracer.startTrace("slow")) {
+                Thread.sleep(60);
+            }
+            tracer.flush();
+        }
+        assertEquals(List.of("execute", "failed", "slow"), names(exported));
+        assertEquals("boom", exported.get(0).getError());
+        assertFalse(exported.get(1).isError());
+    }
+
+    @Test
+    void childSpansLinkToTheirParents() {
+        try (Tracer tracer = Tracer.builder().sampleRate(1.0).exporter(collector).build()) {
+            assertSame(ActiveSpan.NOOP, tracer.startSpan("orphan"));
+            try (ActiveSpan root = tracer.startTrace("orchestrate")) {
+                try (ActiveSpan hook = tracer.startSpan("hook", "h1")) {
+                    try (ActiveSpan attempt = tracer.startSpan("attempt", "h1", 1)) {
+                        assertSame(attempt, tracer.currentSpan());
+                    }
+                    assertSame(hook, tracer.currentSpan());
+                }
+                tracer.startSpan("synthesize").close();
+                assertSame(root, tracer.currentSpan());
+            }
+            assertSame(ActiveSpan.NOOP, tracer.currentSpan());
+            tracer.flush();
+        }
+
+        Span attempt = byName("attempt");
+        Span hook = byName("hook");
+        Span synthesize = byName("synthesize");
+        Span root = byName("orchestrate");
+        assertTrue(root.isRoot());
+        assertEquals(root.getSpanId(), hook.getParentSpanId());
+        assertEquals(hook.getSpanId(), attempt.getParentSpanId());
+        assertEquals(root.getSpanId(), synthesize.getParentSpanId());
+        assertEquals(1, attempt.getAttempt());
+        assertEquals("h1", attempt.getHookId());
+        assertNull(synthesize.getHookId());
+        for (Span span : exported) {
+            assertEquals(root.getTraceId(), span.getTraceId());
+        }
+        assertEquals(4, exported.stream().mapToInt(Span::getSpanId).distinct().count());
+        assertTrue(hook.getDurationNanos() <= root.getDurationNanos());
+        assertTrue(attempt.getStartEpochNanos() >= root.getStartEpochNanos());
+    }
+
+    @Test
+    void failedAttemptsAreMarkedAsErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        Hook flaky = new FlakyHook(calls);
+        try (Tracer tracer = Tracer.builder().sampleRate(1.0).exporter(collector).build()) {
+            ResilientHookExecutor executor = new ResilientHookExecutor(1, 5, Duration.ofMinutes(1), null, tracer);
+            HookExecutionContext ctx = new HookExecutionContext(null, new SecurityContext("u1", Set.of(), Set.of()),
+                    null, null, null, Map.of());
+            try (ActiveSpan root = tracer.startTrace("orchestrate")) {
+                HookResult result = executor.execute(flaky,
+                        new HookRequest("r1", "u1", "hello", Map.of(), Instant.now()), ctx);
+                assertEquals(HookStatus.SUCCESS, result.getStatus());
+            }
+            tracer.flush();
+        }
+
+        assertEquals(List.of("attempt", "backoff", "attempt", "execute", "orchestrate"), names(exported));
+        Span first = exported.get(0);
+        Span second = exported.get(2);
+        Span execute = exported.get(3);
+        assertEquals(1, first.getAttempt());
+        assertEquals("transient failure", first.getError());
+        assertEquals(2, second.getAttempt());
+        assertFalse(second.isError());
+        assertFalse(execute.isError(), "a retried success is not an error");
+        assertEquals(execute.getSpanId(), first.getParentSpanId());
+        assertEquals(execute.getSpanId(), second.getParentSpanId());
+    }
+
+    private Span byName(String name) {
+        return exported.stream().filter(span -> span.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    private static List<String> names(List<Span> spans) {
+        return spans.stream().map(Span::getName).toList();
+    }
+
+    private record FlakyHook(AtomicInteger calls) implements Hook {
+
+        @Override
+        public String getId() {
+            return "flaky";
+        }
+
+        @Override
+        public HookType getType() {
+            return HookType.REASONING;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return Set.of();
+        }
+
+        @Override
+        public boolean supports(HookRequest request, HookExecutionContext ctx) {
+            return true;
+        }
+
+        @Override
+        public HookResult execute(HookRequest request, HookExecutionContext ctx) throws HookException {
+            if (calls.incrementAndGet() == 1) {
+                throw new HookException("transient failure");
+            }
+            return HookResult.builder(getId(), getType(), HookStatus.SUCCESS).message("ok").build();
+        }
+    }
+}
+
+/*
+ * Copyright © 2025 Devin B. Royal.
+ * All Rights Reserved.
+ */